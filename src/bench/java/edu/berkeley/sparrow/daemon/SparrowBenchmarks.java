@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.daemon;
+
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Runs the JMH microbenchmarks in src/bench/java. Takes the same arguments as JMH's own
+ * launcher (e.g., a regular expression selecting benchmarks, "-p tasksPerJob=10", or
+ * "-rf json" to write machine-readable results), but enables JMH's GC profiler unless another
+ * profiler is given, so that every run reports the bytes allocated per operation alongside
+ * its latency.
+ *
+ * Build with "mvn -P benchmarks package -Dmaven.test.skip=true", then run with
+ * "java -cp target/sparrow-1.0-SNAPSHOT.jar edu.berkeley.sparrow.daemon.SparrowBenchmarks".
+ */
+public class SparrowBenchmarks {
+  public static void main(String[] args) throws Exception {
+    List<String> jmhArgs = Lists.newArrayList(args);
+    if (!jmhArgs.contains("-prof")) {
+      jmhArgs.add("-prof");
+      jmhArgs.add("gc");
+    }
+    Main.main(jmhArgs.toArray(new String[jmhArgs.size()]));
+  }
+}
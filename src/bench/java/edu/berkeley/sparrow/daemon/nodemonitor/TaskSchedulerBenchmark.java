@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.daemon.nodemonitor;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Measures a node monitor's {@link TaskScheduler} for each queueing policy: how long it takes
+ * to enqueue a request's reservations and run a task for each of them (launching and finishing
+ * tasks the way {@link NodeMonitor} does), and how long it takes to enqueue a request's
+ * reservations behind a backlog of other requests and then cancel them.
+ *
+ * Requests come from several users (with different priorities), so that the round robin and
+ * priority schedulers have more than one queue to choose from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSchedulerBenchmark {
+  private static final String APP_ID = "benchmark";
+  private static final String SCHEDULER_IP = "10.1.0.1";
+  private static final int SCHEDULER_ID = RequestIds.schedulerIdFromAddress(SCHEDULER_IP);
+  private static final THostPort SCHEDULER_ADDRESS = new THostPort(SCHEDULER_IP, 20503);
+  private static final InetSocketAddress BACKEND_ADDRESS =
+      new InetSocketAddress("127.0.0.1", 20101);
+  private static final int NUM_USERS = 4;
+  /** Requests are reused once their reservations have all run or been cancelled. */
+  private static final int NUM_REQUESTS = 1024;
+  private static final int SLOTS = 4;
+
+  /** A task scheduler, and a cycle of requests to submit to it. */
+  @State(Scope.Thread)
+  public static class SchedulerState {
+    @Param({"fifo", "priority", "round_robin"})
+    public String policy;
+
+    @Param({"1", "10"})
+    public int reservationsPerRequest;
+
+    TaskScheduler scheduler;
+    TEnqueueTaskReservationsRequest[] requests;
+    TTaskLaunchSpec task = new TTaskLaunchSpec("0", ByteBuffer.allocate(64));
+    private int nextRequest = 0;
+
+    @Setup
+    public void setUp() {
+      BasicConfigurator.configure();
+      Logger.getRootLogger().setLevel(Level.WARN);
+
+      if (policy.equals("fifo")) {
+        scheduler = new FifoTaskScheduler(SLOTS);
+      } else if (policy.equals("priority")) {
+        scheduler = new PriorityTaskScheduler(SLOTS);
+      } else {
+        scheduler = new RoundRobinTaskScheduler(SLOTS);
+      }
+      PropertiesConfiguration conf = new PropertiesConfiguration();
+      conf.setProperty(SparrowConf.HOSTNAME, "127.0.0.1");
+      scheduler.initialize(conf, 20502);
+
+      requests = new TEnqueueTaskReservationsRequest[NUM_REQUESTS];
+      for (int i = 0; i < NUM_REQUESTS; i++) {
+        long requestHandle = RequestIds.makeHandle(SCHEDULER_ID, i);
+        TUserGroupInfo user = new TUserGroupInfo("user" + (i % NUM_USERS), "group",
+                                                 i % NUM_USERS);
+        requests[i] = new TEnqueueTaskReservationsRequest(APP_ID, user,
+            RequestIds.toString(SCHEDULER_IP, requestHandle), SCHEDULER_ADDRESS,
+            reservationsPerRequest);
+        requests[i].setRequestHandle(requestHandle);
+      }
+      prepareScheduler();
+    }
+
+    /** Called once the scheduler and requests have been set up. */
+    void prepareScheduler() {
+    }
+
+    TEnqueueTaskReservationsRequest nextRequest() {
+      TEnqueueTaskReservationsRequest request = requests[nextRequest];
+      nextRequest = (nextRequest + 1) % NUM_REQUESTS;
+      return request;
+    }
+
+    /** Launches a task for the given reservation, which has just become runnable. */
+    void launch(TaskScheduler.TaskSpec reservation) {
+      reservation.taskSpec = task;
+    }
+
+    void finish(TaskScheduler.TaskSpec reservation) {
+      scheduler.tasksFinished(Collections.singletonList(new TFullTaskId(
+          reservation.taskSpec.getTaskId(), reservation.requestId, reservation.appId, null)));
+    }
+  }
+
+  /** A task scheduler whose slots are all running long tasks, with a backlog of reservations. */
+  @State(Scope.Thread)
+  public static class BusySchedulerState extends SchedulerState {
+    @Param({"0", "1000"})
+    public int queuedReservations;
+
+    @Override
+    void prepareScheduler() {
+      // Occupy every slot, using requests outside the cycle so they're never cancelled.
+      TEnqueueTaskReservationsRequest longRunning = new TEnqueueTaskReservationsRequest(
+          APP_ID, new TUserGroupInfo("long", "group", 0),
+          RequestIds.toString(SCHEDULER_IP, RequestIds.makeHandle(SCHEDULER_ID, NUM_REQUESTS)),
+          SCHEDULER_ADDRESS, SLOTS + queuedReservations);
+      scheduler.submitTaskReservations(longRunning, BACKEND_ADDRESS);
+      for (int i = 0; i < SLOTS; i++) {
+        launch(scheduler.pollNextTask());
+      }
+    }
+  }
+
+  /** Enqueues a request's reservations on an idle scheduler, and runs a task for each. */
+  @Benchmark
+  public int submitAndFinish(SchedulerState state) {
+    state.scheduler.submitTaskReservations(state.nextRequest(), BACKEND_ADDRESS);
+    int tasksRun = 0;
+    TaskScheduler.TaskSpec reservation;
+    while ((reservation = state.scheduler.pollNextTask()) != null) {
+      state.launch(reservation);
+      state.finish(reservation);
+      tasksRun++;
+    }
+    return tasksRun;
+  }
+
+  /** Enqueues a request's reservations on a busy scheduler, and then cancels them. */
+  @Benchmark
+  public int submitAndCancel(BusySchedulerState state) {
+    TEnqueueTaskReservationsRequest request = state.nextRequest();
+    state.scheduler.submitTaskReservations(request, BACKEND_ADDRESS);
+    return state.scheduler.cancelTaskReservations(request.getRequestId());
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Measures the throughput of {@link Scheduler#getTask}, bypassing the network. Run with JMH's
+ * "-t" option at increasing thread counts to see how throughput scales: each thread issues
+ * getTask() calls for the reservations of its own requests, the same way the threads of the
+ * getTask() thrift server would, so calls from different threads do not share any locks.
+ *
+ * Each thread registers task placers for a batch of requests whenever it has issued getTask()
+ * calls for all of the reservations of its previous batch; that cost is amortized over the
+ * batch's calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetTaskBenchmark {
+  private static final String APP_ID = "benchmark";
+  private static final String IP_ADDRESS = "127.0.0.1";
+  private static final int SCHEDULER_ID = RequestIds.schedulerIdFromAddress(IP_ADDRESS);
+  private static final THostPort SCHEDULER_ADDRESS = new THostPort(IP_ADDRESS, 20503);
+  private static final int REQUESTS_PER_BATCH = 1000;
+
+  @State(Scope.Benchmark)
+  public static class SchedulerState {
+    @Param({"10"})
+    public int tasksPerRequest;
+
+    @Param({"1000"})
+    public int numNodeMonitors;
+
+    Scheduler scheduler;
+    List<InetSocketAddress> nodeMonitors;
+    TSchedulingRequest request;
+    final AtomicInteger nextRequest = new AtomicInteger();
+
+    @Setup
+    public void setUp() throws Exception {
+      // Logging every getTask() call would dominate the measurement.
+      BasicConfigurator.configure();
+      Logger.getRootLogger().setLevel(Level.WARN);
+
+      Configuration conf = new PropertiesConfiguration();
+      conf.setProperty(SparrowConf.DEPLYOMENT_MODE, "configbased");
+      conf.setProperty(SparrowConf.STATIC_APP_NAME, APP_ID);
+      conf.setProperty(SparrowConf.STATIC_NODE_MONITORS, "127.0.0.1:20502");
+      conf.setProperty(SparrowConf.WARM_NODE_MONITOR_CONNECTIONS, false);
+      conf.setProperty(SparrowConf.CANCELLATION, false);
+      scheduler = new Scheduler();
+      scheduler.initialize(conf, new InetSocketAddress(IP_ADDRESS, 20503));
+
+      nodeMonitors = Lists.newArrayList();
+      for (int i = 0; i < numNodeMonitors; i++) {
+        nodeMonitors.add(new InetSocketAddress(
+            String.format("10.0.%d.%d", i / 256, i % 256), 20502));
+      }
+      List<TTaskSpec> tasks = Lists.newArrayList();
+      for (int i = 0; i < tasksPerRequest; i++) {
+        tasks.add(new TTaskSpec(Integer.toString(i), new TPlacementPreference(),
+                                ByteBuffer.allocate(1)));
+      }
+      request = new TSchedulingRequest(APP_ID, tasks, new TUserGroupInfo("user", "group", 0));
+    }
+  }
+
+  /** A getTask() call for one reservation. */
+  private static class Call {
+    final String requestId;
+    final long requestHandle;
+    final THostPort nodeMonitor;
+
+    Call(String requestId, long requestHandle, THostPort nodeMonitor) {
+      this.requestId = requestId;
+      this.requestHandle = requestHandle;
+      this.nodeMonitor = nodeMonitor;
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    final ArrayDeque<Call> calls = new ArrayDeque<Call>();
+
+    /** Registers task placers for a batch of requests, and queues their getTask() calls. */
+    void addRequests(SchedulerState state) {
+      for (int i = 0; i < REQUESTS_PER_BATCH; i++) {
+        long requestHandle =
+            RequestIds.makeHandle(SCHEDULER_ID, state.nextRequest.getAndIncrement());
+        String requestId = RequestIds.toString(IP_ADDRESS, requestHandle);
+        TaskPlacer taskPlacer = new UnconstrainedTaskPlacer(
+            requestId, SparrowConf.DEFAULT_SAMPLE_RATIO);
+        Map<InetSocketAddress, TEnqueueTaskReservationsRequest> reservations =
+            taskPlacer.getEnqueueTaskReservationsRequests(
+                state.request, requestId, state.nodeMonitors, SCHEDULER_ADDRESS);
+        state.scheduler.addTaskPlacer(requestHandle, taskPlacer);
+        for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry :
+             reservations.entrySet()) {
+          THostPort nodeMonitor = new THostPort(
+              entry.getKey().getAddress().getHostAddress(), entry.getKey().getPort());
+          for (int j = 0; j < entry.getValue().getNumTasks(); j++) {
+            calls.add(new Call(requestId, requestHandle, nodeMonitor));
+          }
+        }
+      }
+    }
+  }
+
+  /** Issues a single getTask() call. */
+  @Benchmark
+  public List<TTaskLaunchSpec> getTask(SchedulerState state, ThreadState thread) {
+    if (thread.calls.isEmpty()) {
+      thread.addRequests(state);
+    }
+    Call call = thread.calls.poll();
+    return state.scheduler.getTask(call.requestId, call.nodeMonitor, call.requestHandle, null);
+  }
+}
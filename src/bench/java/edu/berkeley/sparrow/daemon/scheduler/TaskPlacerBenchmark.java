@@ -0,0 +1,152 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Measures how long {@link UnconstrainedTaskPlacer} and {@link ConstrainedTaskPlacer} take to
+ * place a job's reservations, and to place all of its tasks, across job and cluster sizes.
+ *
+ * Constrained jobs prefer three random node monitors per task, and share a single
+ * {@link NodeMonitorIndex.View} across jobs, as they do in {@link Scheduler}. Placing a job's
+ * tasks issues a getTask() call for each reservation, in the order the reservations were
+ * placed, until all of the job's tasks have been assigned.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskPlacerBenchmark {
+  private static final String APP_ID = "benchmark";
+  private static final THostPort SCHEDULER_ADDRESS = new THostPort("10.1.0.1", 20503);
+  private static final int PREFERRED_NODES_PER_TASK = 3;
+
+  @Param({"1", "10", "100"})
+  public int tasksPerJob;
+
+  @Param({"100", "1000", "10000"})
+  public int numNodeMonitors;
+
+  @Param({"unconstrained", "constrained"})
+  public String placement;
+
+  private List<InetSocketAddress> nodeMonitors;
+  private Map<InetSocketAddress, THostPort> nodeMonitorHostPorts;
+  private NodeMonitorIndex.View nodeMonitorIndex;
+  private TSchedulingRequest request;
+  private int nextRequest = 0;
+
+  @Setup
+  public void setUp() {
+    BasicConfigurator.configure();
+    Logger.getRootLogger().setLevel(Level.WARN);
+
+    nodeMonitors = Lists.newArrayList();
+    nodeMonitorHostPorts = Maps.newHashMap();
+    for (int i = 0; i < numNodeMonitors; i++) {
+      String host = String.format("10.0.%d.%d", i / 256, i % 256);
+      InetSocketAddress address = new InetSocketAddress(host, 20502);
+      nodeMonitors.add(address);
+      nodeMonitorHostPorts.put(address, new THostPort(host, 20502));
+    }
+    nodeMonitorIndex = NodeMonitorIndex.unindexedView(nodeMonitors);
+
+    Random random = new Random(1);
+    List<TTaskSpec> tasks = Lists.newArrayList();
+    for (int i = 0; i < tasksPerJob; i++) {
+      TPlacementPreference preference = new TPlacementPreference();
+      if (placement.equals("constrained")) {
+        for (int j = 0; j < PREFERRED_NODES_PER_TASK; j++) {
+          InetSocketAddress node = nodeMonitors.get(random.nextInt(numNodeMonitors));
+          preference.addToNodes(node.getAddress().getHostAddress());
+        }
+      }
+      tasks.add(new TTaskSpec(Integer.toString(i), preference, ByteBuffer.allocate(64)));
+    }
+    request = new TSchedulingRequest(APP_ID, tasks, new TUserGroupInfo("user", "group", 0));
+  }
+
+  private TaskPlacer makeTaskPlacer(String requestId) {
+    if (placement.equals("constrained")) {
+      return new ConstrainedTaskPlacer(requestId, SparrowConf.DEFAULT_SAMPLE_RATIO_CONSTRAINED,
+                                       nodeMonitorIndex);
+    }
+    return new UnconstrainedTaskPlacer(requestId, SparrowConf.DEFAULT_SAMPLE_RATIO);
+  }
+
+  /** Places a job's reservations. */
+  @Benchmark
+  public Map<InetSocketAddress, TEnqueueTaskReservationsRequest> enqueueReservations() {
+    String requestId = "10.1.0.1_" + nextRequest++;
+    return makeTaskPlacer(requestId).getEnqueueTaskReservationsRequests(
+        request, requestId, nodeMonitors, SCHEDULER_ADDRESS);
+  }
+
+  /** Places a job's reservations, and then all of its tasks. */
+  @Benchmark
+  public TaskPlacer placeJob() {
+    String requestId = "10.1.0.1_" + nextRequest++;
+    TaskPlacer taskPlacer = makeTaskPlacer(requestId);
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> reservations =
+        taskPlacer.getEnqueueTaskReservationsRequests(
+            request, requestId, nodeMonitors, SCHEDULER_ADDRESS);
+    for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry :
+         reservations.entrySet()) {
+      THostPort nodeMonitor = nodeMonitorHostPorts.get(entry.getKey());
+      for (int i = 0; i < entry.getValue().getNumTasks() && !taskPlacer.allTasksPlaced(); i++) {
+        taskPlacer.assignTask(nodeMonitor);
+      }
+    }
+    return taskPlacer;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.Trace;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Measures how many jobs per second a single scheduler thread can place with tracing off, on
+ * for a sample of requests, and on for every request, compared to logging calls with
+ * {@link Logging#functionCall(Object...)}.
+ *
+ * Each job goes through the CPU-bound part of the scheduling path: a job submission, placing
+ * its reservations with an {@link UnconstrainedTaskPlacer}, and a getTask() call for each task,
+ * tracing each step the way {@link Scheduler} does. Log output is discarded, so the results
+ * measure the cost of rendering log messages rather than of writing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracingBenchmark {
+  private static final Trace HANDLE_JOB_SUBMISSION_TRACE =
+      Trace.forMethod(TracingBenchmark.class, "handleJobSubmission");
+  private static final Trace GET_TASKS_TRACE =
+      Trace.forMethod(TracingBenchmark.class, "getTasks");
+  private static final Logger LOG = Logger.getLogger(TracingBenchmark.class);
+  private static final THostPort SCHEDULER_ADDRESS = new THostPort("10.0.0.1", 20503);
+
+  /**
+   * "off", "sampled" (1% of requests) or "on" trace with {@link Trace}; "function_call" renders
+   * every call with {@link Logging#functionCall(Object...)}, as the scheduler used to.
+   */
+  @Param({"off", "sampled", "on", "function_call"})
+  public String tracing;
+
+  @Param({"10"})
+  public int tasksPerJob;
+
+  @Param({"100"})
+  public int numNodes;
+
+  private TSchedulingRequest request;
+  private List<InetSocketAddress> nodes;
+  private List<THostPort> nodeHostPorts;
+  private boolean functionCall;
+  private int nextRequest = 0;
+
+  @Setup
+  public void setUp() {
+    Logger.getRootLogger().removeAllAppenders();
+    Logger.getRootLogger().addAppender(new WriterAppender(new PatternLayout("%c %m%n"),
+        new NullWriter()));
+    Logger.getRootLogger().setLevel(Level.INFO);
+    // Only the traced classes log at DEBUG, so that other debug messages don't dominate.
+    Logger.getLogger(TracingBenchmark.class).setLevel(Level.DEBUG);
+    Logger.getLogger(UnconstrainedTaskPlacer.class).setLevel(Level.DEBUG);
+
+    functionCall = tracing.equals("function_call");
+    // With function_call, the task placer's trace is always rendered, as it was when the placer
+    // used Logging.functionCall().
+    Trace.setSampleRate(tracing.equals("off") ? 0 : (tracing.equals("sampled") ? 0.01 : 1));
+
+    List<TTaskSpec> tasks = Lists.newArrayList();
+    for (int i = 0; i < tasksPerJob; i++) {
+      tasks.add(new TTaskSpec("task " + i, new TPlacementPreference(), ByteBuffer.allocate(64)));
+    }
+    request = new TSchedulingRequest("app", tasks, new TUserGroupInfo("user", "group", 0));
+    nodes = Lists.newArrayList();
+    nodeHostPorts = Lists.newArrayList();
+    for (int i = 0; i < numNodes; i++) {
+      String host = "10.0." + (i / 256) + "." + (i % 256);
+      nodes.add(new InetSocketAddress(host, 20501));
+      nodeHostPorts.add(new THostPort(host, 20501));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    Trace.setSampleRate(1);
+  }
+
+  /** Submits and places one job, tracing each step. */
+  @Benchmark
+  public UnconstrainedTaskPlacer placeJob() {
+    int requestNumber = nextRequest++;
+    String requestId = "10.0.0.1_" + requestNumber;
+    if (functionCall) {
+      LOG.debug(Logging.functionCall(request));
+    } else {
+      HANDLE_JOB_SUBMISSION_TRACE.call(requestId, request);
+    }
+    UnconstrainedTaskPlacer placer = new UnconstrainedTaskPlacer(requestId, 2);
+    placer.getEnqueueTaskReservationsRequests(request, requestId, nodes, SCHEDULER_ADDRESS);
+    for (THostPort nodeMonitor : nodeHostPorts) {
+      if (placer.allTasksPlaced()) {
+        break;
+      }
+      if (functionCall) {
+        LOG.debug(Logging.functionCall(requestId, nodeMonitor, 1, requestNumber));
+      } else {
+        GET_TASKS_TRACE.call(requestId, requestId, nodeMonitor, 1, requestNumber);
+      }
+      placer.assignTask(nodeMonitor);
+    }
+    return placer;
+  }
+
+  private static class NullWriter extends Writer {
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.berkeley.sparrow.thrift.InternalService;
+
+/**
+ * Measures borrowing a client from a {@link ThriftClientPool} and returning it, with several
+ * threads sharing the pool. With a single address, all threads contend for the same address's
+ * clients; with more addresses, each borrow picks the next address in turn.
+ *
+ * Clients are never connected, so this measures only the pool's own bookkeeping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ThriftClientPoolBenchmark {
+  @State(Scope.Benchmark)
+  public static class PoolState {
+    @Param({"1", "16"})
+    public int numAddresses;
+
+    ThriftClientPool<InternalService.AsyncClient> pool;
+    InetSocketAddress[] addresses;
+
+    @Setup
+    public void setUp() {
+      pool = new ThriftClientPool<InternalService.AsyncClient>(
+          new ThriftClientPool.InternalServiceMakerFactory());
+      addresses = new InetSocketAddress[numAddresses];
+      for (int i = 0; i < numAddresses; i++) {
+        addresses[i] = new InetSocketAddress("127.0.0.1", 20502 + i);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private int nextAddress = 0;
+
+    InetSocketAddress nextAddress(PoolState pool) {
+      nextAddress = (nextAddress + 1) % pool.numAddresses;
+      return pool.addresses[nextAddress];
+    }
+  }
+
+  @Benchmark
+  public InternalService.AsyncClient borrowAndReturn(PoolState pool, ThreadState thread)
+      throws Exception {
+    InetSocketAddress address = thread.nextAddress(pool);
+    InternalService.AsyncClient client = pool.pool.borrowClient(address);
+    pool.pool.returnClient(address, client);
+    return client;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Measures serializing and deserializing the messages on the scheduling path, with the binary
+ * protocol that Sparrow's thrift services use: a frontend's {@link TSchedulingRequest} and a
+ * scheduler's {@link TEnqueueTaskReservationsRequest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThriftSerializationBenchmark {
+  @Param({"1", "10", "100"})
+  public int tasksPerJob;
+
+  @Param({"64"})
+  public int taskMessageBytes;
+
+  private final TSerializer serializer = new TSerializer(new TBinaryProtocol.Factory());
+  private final TDeserializer deserializer = new TDeserializer(new TBinaryProtocol.Factory());
+  private TSchedulingRequest schedulingRequest;
+  private byte[] serializedSchedulingRequest;
+  private TEnqueueTaskReservationsRequest enqueueRequest;
+  private byte[] serializedEnqueueRequest;
+
+  @Setup
+  public void setUp() throws TException {
+    TUserGroupInfo user = new TUserGroupInfo("user", "group", 0);
+    List<TTaskSpec> tasks = Lists.newArrayList();
+    for (int i = 0; i < tasksPerJob; i++) {
+      tasks.add(new TTaskSpec(Integer.toString(i), new TPlacementPreference(),
+                              ByteBuffer.allocate(taskMessageBytes)));
+    }
+    schedulingRequest = new TSchedulingRequest("benchmark", tasks, user);
+    serializedSchedulingRequest = serializer.serialize(schedulingRequest);
+
+    long requestHandle = RequestIds.makeHandle(RequestIds.schedulerIdFromAddress("10.1.0.1"), 0);
+    enqueueRequest = new TEnqueueTaskReservationsRequest("benchmark", user,
+        RequestIds.toString("10.1.0.1", requestHandle), new THostPort("10.1.0.1", 20503), 2);
+    enqueueRequest.setRequestHandle(requestHandle);
+    serializedEnqueueRequest = serializer.serialize(enqueueRequest);
+  }
+
+  @Benchmark
+  public byte[] serializeSchedulingRequest() throws TException {
+    return serializer.serialize(schedulingRequest);
+  }
+
+  @Benchmark
+  public TSchedulingRequest deserializeSchedulingRequest() throws TException {
+    TSchedulingRequest request = new TSchedulingRequest();
+    deserializer.deserialize(request, serializedSchedulingRequest);
+    return request;
+  }
+
+  @Benchmark
+  public byte[] serializeEnqueueRequest() throws TException {
+    return serializer.serialize(enqueueRequest);
+  }
+
+  @Benchmark
+  public TEnqueueTaskReservationsRequest deserializeEnqueueRequest() throws TException {
+    TEnqueueTaskReservationsRequest request = new TEnqueueTaskReservationsRequest();
+    deserializer.deserialize(request, serializedEnqueueRequest);
+    return request;
+  }
+}
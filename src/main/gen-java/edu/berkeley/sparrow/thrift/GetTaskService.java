@@ -31,13 +31,17 @@ public class GetTaskService {
 
   public interface Iface {
 
-    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress) throws org.apache.thrift.TException;
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException;
+
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTasks(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException;
 
   }
 
   public interface AsyncIface {
 
-    public void getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.getTask_call> resultHandler) throws org.apache.thrift.TException;
+    public void getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.getTask_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void getTasks(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.getTasks_call> resultHandler) throws org.apache.thrift.TException;
 
   }
 
@@ -61,17 +65,19 @@ public class GetTaskService {
       super(iprot, oprot);
     }
 
-    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress) throws org.apache.thrift.TException
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException
     {
-      send_getTask(requestId, nodeMonitorAddress);
+      send_getTask(requestId, nodeMonitorAddress, requestHandle, nodeMonitorLoad);
       return recv_getTask();
     }
 
-    public void send_getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress) throws org.apache.thrift.TException
+    public void send_getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException
     {
       getTask_args args = new getTask_args();
       args.setRequestId(requestId);
       args.setNodeMonitorAddress(nodeMonitorAddress);
+      args.setRequestHandle(requestHandle);
+      args.setNodeMonitorLoad(nodeMonitorLoad);
       sendBase("getTask", args);
     }
 
@@ -85,6 +91,33 @@ public class GetTaskService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getTask failed: unknown result");
     }
 
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getTasks(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException
+    {
+      send_getTasks(requestId, nodeMonitorAddress, maxTasks, requestHandle, nodeMonitorLoad);
+      return recv_getTasks();
+    }
+
+    public void send_getTasks(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) throws org.apache.thrift.TException
+    {
+      getTasks_args args = new getTasks_args();
+      args.setRequestId(requestId);
+      args.setNodeMonitorAddress(nodeMonitorAddress);
+      args.setMaxTasks(maxTasks);
+      args.setRequestHandle(requestHandle);
+      args.setNodeMonitorLoad(nodeMonitorLoad);
+      sendBase("getTasks", args);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> recv_getTasks() throws org.apache.thrift.TException
+    {
+      getTasks_result result = new getTasks_result();
+      receiveBase(result, "getTasks");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getTasks failed: unknown result");
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -103,9 +136,9 @@ public class GetTaskService {
       super(protocolFactory, clientManager, transport);
     }
 
-    public void getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, org.apache.thrift.async.AsyncMethodCallback<getTask_call> resultHandler) throws org.apache.thrift.TException {
+    public void getTask(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<getTask_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
-      getTask_call method_call = new getTask_call(requestId, nodeMonitorAddress, resultHandler, this, ___protocolFactory, ___transport);
+      getTask_call method_call = new getTask_call(requestId, nodeMonitorAddress, requestHandle, nodeMonitorLoad, resultHandler, this, ___protocolFactory, ___transport);
       this.___currentMethod = method_call;
       ___manager.call(method_call);
     }
@@ -113,10 +146,14 @@ public class GetTaskService {
     public static class getTask_call extends org.apache.thrift.async.TAsyncMethodCall {
       private String requestId;
       private edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress;
-      public getTask_call(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, org.apache.thrift.async.AsyncMethodCallback<getTask_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+      private long requestHandle;
+      private edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad;
+      public getTask_call(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<getTask_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
         super(client, protocolFactory, transport, resultHandler, false);
         this.requestId = requestId;
         this.nodeMonitorAddress = nodeMonitorAddress;
+        this.requestHandle = requestHandle;
+        this.nodeMonitorLoad = nodeMonitorLoad;
       }
 
       public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
@@ -124,6 +161,8 @@ public class GetTaskService {
         getTask_args args = new getTask_args();
         args.setRequestId(requestId);
         args.setNodeMonitorAddress(nodeMonitorAddress);
+        args.setRequestHandle(requestHandle);
+        args.setNodeMonitorLoad(nodeMonitorLoad);
         args.write(prot);
         prot.writeMessageEnd();
       }
@@ -138,6 +177,50 @@ public class GetTaskService {
       }
     }
 
+    public void getTasks(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<getTasks_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      getTasks_call method_call = new getTasks_call(requestId, nodeMonitorAddress, maxTasks, requestHandle, nodeMonitorLoad, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class getTasks_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String requestId;
+      private edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress;
+      private int maxTasks;
+      private long requestHandle;
+      private edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad;
+      public getTasks_call(String requestId, edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress, int maxTasks, long requestHandle, edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad, org.apache.thrift.async.AsyncMethodCallback<getTasks_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.requestId = requestId;
+        this.nodeMonitorAddress = nodeMonitorAddress;
+        this.maxTasks = maxTasks;
+        this.requestHandle = requestHandle;
+        this.nodeMonitorLoad = nodeMonitorLoad;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("getTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        getTasks_args args = new getTasks_args();
+        args.setRequestId(requestId);
+        args.setNodeMonitorAddress(nodeMonitorAddress);
+        args.setMaxTasks(maxTasks);
+        args.setRequestHandle(requestHandle);
+        args.setNodeMonitorLoad(nodeMonitorLoad);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_getTasks();
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -152,6 +235,7 @@ public class GetTaskService {
 
     private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
       processMap.put("getTask", new getTask());
+      processMap.put("getTasks", new getTasks());
       return processMap;
     }
 
@@ -166,7 +250,23 @@ public class GetTaskService {
 
       protected getTask_result getResult(I iface, getTask_args args) throws org.apache.thrift.TException {
         getTask_result result = new getTask_result();
-        result.success = iface.getTask(args.requestId, args.nodeMonitorAddress);
+        result.success = iface.getTask(args.requestId, args.nodeMonitorAddress, args.requestHandle, args.nodeMonitorLoad);
+        return result;
+      }
+    }
+
+    private static class getTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getTasks_args> {
+      public getTasks() {
+        super("getTasks");
+      }
+
+      protected getTasks_args getEmptyArgsInstance() {
+        return new getTasks_args();
+      }
+
+      protected getTasks_result getResult(I iface, getTasks_args args) throws org.apache.thrift.TException {
+        getTasks_result result = new getTasks_result();
+        result.success = iface.getTasks(args.requestId, args.nodeMonitorAddress, args.maxTasks, args.requestHandle, args.nodeMonitorLoad);
         return result;
       }
     }
@@ -178,6 +278,8 @@ public class GetTaskService {
 
     private static final org.apache.thrift.protocol.TField REQUEST_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("requestId", org.apache.thrift.protocol.TType.STRING, (short)1);
     private static final org.apache.thrift.protocol.TField NODE_MONITOR_ADDRESS_FIELD_DESC = new org.apache.thrift.protocol.TField("nodeMonitorAddress", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField REQUEST_HANDLE_FIELD_DESC = new org.apache.thrift.protocol.TField("requestHandle", org.apache.thrift.protocol.TType.I64, (short)3);
+    private static final org.apache.thrift.protocol.TField NODE_MONITOR_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("nodeMonitorLoad", org.apache.thrift.protocol.TType.STRUCT, (short)4);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
@@ -187,11 +289,15 @@ public class GetTaskService {
 
     public String requestId; // required
     public edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress; // required
+    public long requestHandle; // required
+    public edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
       REQUEST_ID((short)1, "requestId"),
-      NODE_MONITOR_ADDRESS((short)2, "nodeMonitorAddress");
+      NODE_MONITOR_ADDRESS((short)2, "nodeMonitorAddress"),
+      REQUEST_HANDLE((short)3, "requestHandle"),
+      NODE_MONITOR_LOAD((short)4, "nodeMonitorLoad");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -210,6 +316,10 @@ public class GetTaskService {
             return REQUEST_ID;
           case 2: // NODE_MONITOR_ADDRESS
             return NODE_MONITOR_ADDRESS;
+          case 3: // REQUEST_HANDLE
+            return REQUEST_HANDLE;
+          case 4: // NODE_MONITOR_LOAD
+            return NODE_MONITOR_LOAD;
           default:
             return null;
         }
@@ -250,6 +360,8 @@ public class GetTaskService {
     }
 
     // isset id assignments
+    private static final int __REQUESTHANDLE_ISSET_ID = 0;
+    private BitSet __isset_bit_vector = new BitSet(1);
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -257,32 +369,49 @@ public class GetTaskService {
           new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       tmpMap.put(_Fields.NODE_MONITOR_ADDRESS, new org.apache.thrift.meta_data.FieldMetaData("nodeMonitorAddress", org.apache.thrift.TFieldRequirementType.DEFAULT, 
           new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.THostPort.class)));
+      tmpMap.put(_Fields.REQUEST_HANDLE, new org.apache.thrift.meta_data.FieldMetaData("requestHandle", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.NODE_MONITOR_LOAD, new org.apache.thrift.meta_data.FieldMetaData("nodeMonitorLoad", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TNodeMonitorLoad.class)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
       org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getTask_args.class, metaDataMap);
     }
 
     public getTask_args() {
+      this.requestHandle = -1L;
+
     }
 
     public getTask_args(
       String requestId,
-      edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress)
+      edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress,
+      long requestHandle,
+      edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad)
     {
       this();
       this.requestId = requestId;
       this.nodeMonitorAddress = nodeMonitorAddress;
+      this.requestHandle = requestHandle;
+      setRequestHandleIsSet(true);
+      this.nodeMonitorLoad = nodeMonitorLoad;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
     public getTask_args(getTask_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
       if (other.isSetRequestId()) {
         this.requestId = other.requestId;
       }
       if (other.isSetNodeMonitorAddress()) {
         this.nodeMonitorAddress = new edu.berkeley.sparrow.thrift.THostPort(other.nodeMonitorAddress);
       }
+      this.requestHandle = other.requestHandle;
+      if (other.isSetNodeMonitorLoad()) {
+        this.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad(other.nodeMonitorLoad);
+      }
     }
 
     public getTask_args deepCopy() {
@@ -292,6 +421,10 @@ public class GetTaskService {
     public void clear() {
       this.requestId = null;
       this.nodeMonitorAddress = null;
+      setRequestHandleIsSet(false);
+      this.requestHandle = -1L;
+
+      this.nodeMonitorLoad = null;
     }
 
     public String getRequestId() {
@@ -342,6 +475,53 @@ public class GetTaskService {
       }
     }
 
+    public long getRequestHandle() {
+      return this.requestHandle;
+    }
+
+    public getTask_args setRequestHandle(long requestHandle) {
+      this.requestHandle = requestHandle;
+      setRequestHandleIsSet(true);
+      return this;
+    }
+
+    public void unsetRequestHandle() {
+      __isset_bit_vector.clear(__REQUESTHANDLE_ISSET_ID);
+    }
+
+    /** Returns true if field requestHandle is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequestHandle() {
+      return __isset_bit_vector.get(__REQUESTHANDLE_ISSET_ID);
+    }
+
+    public void setRequestHandleIsSet(boolean value) {
+      __isset_bit_vector.set(__REQUESTHANDLE_ISSET_ID, value);
+    }
+
+    public edu.berkeley.sparrow.thrift.TNodeMonitorLoad getNodeMonitorLoad() {
+      return this.nodeMonitorLoad;
+    }
+
+    public getTask_args setNodeMonitorLoad(edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) {
+      this.nodeMonitorLoad = nodeMonitorLoad;
+      return this;
+    }
+
+    public void unsetNodeMonitorLoad() {
+      this.nodeMonitorLoad = null;
+    }
+
+    /** Returns true if field nodeMonitorLoad is set (has been assigned a value) and false otherwise */
+    public boolean isSetNodeMonitorLoad() {
+      return this.nodeMonitorLoad != null;
+    }
+
+    public void setNodeMonitorLoadIsSet(boolean value) {
+      if (!value) {
+        this.nodeMonitorLoad = null;
+      }
+    }
+
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
       case REQUEST_ID:
@@ -360,6 +540,22 @@ public class GetTaskService {
         }
         break;
 
+      case REQUEST_HANDLE:
+        if (value == null) {
+          unsetRequestHandle();
+        } else {
+          setRequestHandle((Long)value);
+        }
+        break;
+
+      case NODE_MONITOR_LOAD:
+        if (value == null) {
+          unsetNodeMonitorLoad();
+        } else {
+          setNodeMonitorLoad((edu.berkeley.sparrow.thrift.TNodeMonitorLoad)value);
+        }
+        break;
+
       }
     }
 
@@ -371,6 +567,12 @@ public class GetTaskService {
       case NODE_MONITOR_ADDRESS:
         return getNodeMonitorAddress();
 
+      case REQUEST_HANDLE:
+        return Long.valueOf(getRequestHandle());
+
+      case NODE_MONITOR_LOAD:
+        return getNodeMonitorLoad();
+
       }
       throw new IllegalStateException();
     }
@@ -386,6 +588,10 @@ public class GetTaskService {
         return isSetRequestId();
       case NODE_MONITOR_ADDRESS:
         return isSetNodeMonitorAddress();
+      case REQUEST_HANDLE:
+        return isSetRequestHandle();
+      case NODE_MONITOR_LOAD:
+        return isSetNodeMonitorLoad();
       }
       throw new IllegalStateException();
     }
@@ -421,6 +627,24 @@ public class GetTaskService {
           return false;
       }
 
+      boolean this_present_requestHandle = true;
+      boolean that_present_requestHandle = true;
+      if (this_present_requestHandle || that_present_requestHandle) {
+        if (!(this_present_requestHandle && that_present_requestHandle))
+          return false;
+        if (this.requestHandle != that.requestHandle)
+          return false;
+      }
+
+      boolean this_present_nodeMonitorLoad = true && this.isSetNodeMonitorLoad();
+      boolean that_present_nodeMonitorLoad = true && that.isSetNodeMonitorLoad();
+      if (this_present_nodeMonitorLoad || that_present_nodeMonitorLoad) {
+        if (!(this_present_nodeMonitorLoad && that_present_nodeMonitorLoad))
+          return false;
+        if (!this.nodeMonitorLoad.equals(that.nodeMonitorLoad))
+          return false;
+      }
+
       return true;
     }
 
@@ -457,6 +681,26 @@ public class GetTaskService {
           return lastComparison;
         }
       }
+      lastComparison = Boolean.valueOf(isSetRequestHandle()).compareTo(typedOther.isSetRequestHandle());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequestHandle()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requestHandle, typedOther.requestHandle);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNodeMonitorLoad()).compareTo(typedOther.isSetNodeMonitorLoad());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNodeMonitorLoad()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nodeMonitorLoad, typedOther.nodeMonitorLoad);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -492,6 +736,18 @@ public class GetTaskService {
         sb.append(this.nodeMonitorAddress);
       }
       first = false;
+      if (!first) sb.append(", ");
+      sb.append("requestHandle:");
+      sb.append(this.requestHandle);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nodeMonitorLoad:");
+      if (this.nodeMonitorLoad == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nodeMonitorLoad);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -510,6 +766,8 @@ public class GetTaskService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te.getMessage());
@@ -551,6 +809,23 @@ public class GetTaskService {
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
               break;
+            case 3: // REQUEST_HANDLE
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.requestHandle = iprot.readI64();
+                struct.setRequestHandleIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // NODE_MONITOR_LOAD
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad();
+                struct.nodeMonitorLoad.read(iprot);
+                struct.setNodeMonitorLoadIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -576,6 +851,14 @@ public class GetTaskService {
           struct.nodeMonitorAddress.write(oprot);
           oprot.writeFieldEnd();
         }
+        oprot.writeFieldBegin(REQUEST_HANDLE_FIELD_DESC);
+        oprot.writeI64(struct.requestHandle);
+        oprot.writeFieldEnd();
+        if (struct.nodeMonitorLoad != null) {
+          oprot.writeFieldBegin(NODE_MONITOR_LOAD_FIELD_DESC);
+          struct.nodeMonitorLoad.write(oprot);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
@@ -600,19 +883,31 @@ public class GetTaskService {
         if (struct.isSetNodeMonitorAddress()) {
           optionals.set(1);
         }
-        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetRequestHandle()) {
+          optionals.set(2);
+        }
+        if (struct.isSetNodeMonitorLoad()) {
+          optionals.set(3);
+        }
+        oprot.writeBitSet(optionals, 4);
         if (struct.isSetRequestId()) {
           oprot.writeString(struct.requestId);
         }
         if (struct.isSetNodeMonitorAddress()) {
           struct.nodeMonitorAddress.write(oprot);
         }
+        if (struct.isSetRequestHandle()) {
+          oprot.writeI64(struct.requestHandle);
+        }
+        if (struct.isSetNodeMonitorLoad()) {
+          struct.nodeMonitorLoad.write(oprot);
+        }
       }
 
       @Override
       public void read(org.apache.thrift.protocol.TProtocol prot, getTask_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(2);
+        BitSet incoming = iprot.readBitSet(4);
         if (incoming.get(0)) {
           struct.requestId = iprot.readString();
           struct.setRequestIdIsSet(true);
@@ -622,6 +917,15 @@ public class GetTaskService {
           struct.nodeMonitorAddress.read(iprot);
           struct.setNodeMonitorAddressIsSet(true);
         }
+        if (incoming.get(2)) {
+          struct.requestHandle = iprot.readI64();
+          struct.setRequestHandleIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad();
+          struct.nodeMonitorLoad.read(iprot);
+          struct.setNodeMonitorLoadIsSet(true);
+        }
       }
     }
 
@@ -1033,4 +1337,1162 @@ public class GetTaskService {
 
   }
 
+  public static class getTasks_args implements org.apache.thrift.TBase<getTasks_args, getTasks_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getTasks_args");
+
+    private static final org.apache.thrift.protocol.TField REQUEST_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("requestId", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField NODE_MONITOR_ADDRESS_FIELD_DESC = new org.apache.thrift.protocol.TField("nodeMonitorAddress", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField MAX_TASKS_FIELD_DESC = new org.apache.thrift.protocol.TField("maxTasks", org.apache.thrift.protocol.TType.I32, (short)3);
+    private static final org.apache.thrift.protocol.TField REQUEST_HANDLE_FIELD_DESC = new org.apache.thrift.protocol.TField("requestHandle", org.apache.thrift.protocol.TType.I64, (short)4);
+    private static final org.apache.thrift.protocol.TField NODE_MONITOR_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("nodeMonitorLoad", org.apache.thrift.protocol.TType.STRUCT, (short)5);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getTasks_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getTasks_argsTupleSchemeFactory());
+    }
+
+    public String requestId; // required
+    public edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress; // required
+    public int maxTasks; // required
+    public long requestHandle; // required
+    public edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUEST_ID((short)1, "requestId"),
+      NODE_MONITOR_ADDRESS((short)2, "nodeMonitorAddress"),
+      MAX_TASKS((short)3, "maxTasks"),
+      REQUEST_HANDLE((short)4, "requestHandle"),
+      NODE_MONITOR_LOAD((short)5, "nodeMonitorLoad");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUEST_ID
+            return REQUEST_ID;
+          case 2: // NODE_MONITOR_ADDRESS
+            return NODE_MONITOR_ADDRESS;
+          case 3: // MAX_TASKS
+            return MAX_TASKS;
+          case 4: // REQUEST_HANDLE
+            return REQUEST_HANDLE;
+          case 5: // NODE_MONITOR_LOAD
+            return NODE_MONITOR_LOAD;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MAXTASKS_ISSET_ID = 0;
+    private static final int __REQUESTHANDLE_ISSET_ID = 1;
+    private BitSet __isset_bit_vector = new BitSet(2);
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUEST_ID, new org.apache.thrift.meta_data.FieldMetaData("requestId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.NODE_MONITOR_ADDRESS, new org.apache.thrift.meta_data.FieldMetaData("nodeMonitorAddress", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.THostPort.class)));
+      tmpMap.put(_Fields.MAX_TASKS, new org.apache.thrift.meta_data.FieldMetaData("maxTasks", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.REQUEST_HANDLE, new org.apache.thrift.meta_data.FieldMetaData("requestHandle", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.NODE_MONITOR_LOAD, new org.apache.thrift.meta_data.FieldMetaData("nodeMonitorLoad", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TNodeMonitorLoad.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getTasks_args.class, metaDataMap);
+    }
+
+    public getTasks_args() {
+      this.requestHandle = -1L;
+
+    }
+
+    public getTasks_args(
+      String requestId,
+      edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress,
+      int maxTasks,
+      long requestHandle,
+      edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad)
+    {
+      this();
+      this.requestId = requestId;
+      this.nodeMonitorAddress = nodeMonitorAddress;
+      this.maxTasks = maxTasks;
+      setMaxTasksIsSet(true);
+      this.requestHandle = requestHandle;
+      setRequestHandleIsSet(true);
+      this.nodeMonitorLoad = nodeMonitorLoad;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getTasks_args(getTasks_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      if (other.isSetRequestId()) {
+        this.requestId = other.requestId;
+      }
+      if (other.isSetNodeMonitorAddress()) {
+        this.nodeMonitorAddress = new edu.berkeley.sparrow.thrift.THostPort(other.nodeMonitorAddress);
+      }
+      this.maxTasks = other.maxTasks;
+      this.requestHandle = other.requestHandle;
+      if (other.isSetNodeMonitorLoad()) {
+        this.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad(other.nodeMonitorLoad);
+      }
+    }
+
+    public getTasks_args deepCopy() {
+      return new getTasks_args(this);
+    }
+
+    public void clear() {
+      this.requestId = null;
+      this.nodeMonitorAddress = null;
+      setMaxTasksIsSet(false);
+      this.maxTasks = 0;
+      setRequestHandleIsSet(false);
+      this.requestHandle = -1L;
+
+      this.nodeMonitorLoad = null;
+    }
+
+    public String getRequestId() {
+      return this.requestId;
+    }
+
+    public getTasks_args setRequestId(String requestId) {
+      this.requestId = requestId;
+      return this;
+    }
+
+    public void unsetRequestId() {
+      this.requestId = null;
+    }
+
+    /** Returns true if field requestId is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequestId() {
+      return this.requestId != null;
+    }
+
+    public void setRequestIdIsSet(boolean value) {
+      if (!value) {
+        this.requestId = null;
+      }
+    }
+
+    public edu.berkeley.sparrow.thrift.THostPort getNodeMonitorAddress() {
+      return this.nodeMonitorAddress;
+    }
+
+    public getTasks_args setNodeMonitorAddress(edu.berkeley.sparrow.thrift.THostPort nodeMonitorAddress) {
+      this.nodeMonitorAddress = nodeMonitorAddress;
+      return this;
+    }
+
+    public void unsetNodeMonitorAddress() {
+      this.nodeMonitorAddress = null;
+    }
+
+    /** Returns true if field nodeMonitorAddress is set (has been assigned a value) and false otherwise */
+    public boolean isSetNodeMonitorAddress() {
+      return this.nodeMonitorAddress != null;
+    }
+
+    public void setNodeMonitorAddressIsSet(boolean value) {
+      if (!value) {
+        this.nodeMonitorAddress = null;
+      }
+    }
+
+    public int getMaxTasks() {
+      return this.maxTasks;
+    }
+
+    public getTasks_args setMaxTasks(int maxTasks) {
+      this.maxTasks = maxTasks;
+      setMaxTasksIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxTasks() {
+      __isset_bit_vector.clear(__MAXTASKS_ISSET_ID);
+    }
+
+    /** Returns true if field maxTasks is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxTasks() {
+      return __isset_bit_vector.get(__MAXTASKS_ISSET_ID);
+    }
+
+    public void setMaxTasksIsSet(boolean value) {
+      __isset_bit_vector.set(__MAXTASKS_ISSET_ID, value);
+    }
+
+    public long getRequestHandle() {
+      return this.requestHandle;
+    }
+
+    public getTasks_args setRequestHandle(long requestHandle) {
+      this.requestHandle = requestHandle;
+      setRequestHandleIsSet(true);
+      return this;
+    }
+
+    public void unsetRequestHandle() {
+      __isset_bit_vector.clear(__REQUESTHANDLE_ISSET_ID);
+    }
+
+    /** Returns true if field requestHandle is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequestHandle() {
+      return __isset_bit_vector.get(__REQUESTHANDLE_ISSET_ID);
+    }
+
+    public void setRequestHandleIsSet(boolean value) {
+      __isset_bit_vector.set(__REQUESTHANDLE_ISSET_ID, value);
+    }
+
+    public edu.berkeley.sparrow.thrift.TNodeMonitorLoad getNodeMonitorLoad() {
+      return this.nodeMonitorLoad;
+    }
+
+    public getTasks_args setNodeMonitorLoad(edu.berkeley.sparrow.thrift.TNodeMonitorLoad nodeMonitorLoad) {
+      this.nodeMonitorLoad = nodeMonitorLoad;
+      return this;
+    }
+
+    public void unsetNodeMonitorLoad() {
+      this.nodeMonitorLoad = null;
+    }
+
+    /** Returns true if field nodeMonitorLoad is set (has been assigned a value) and false otherwise */
+    public boolean isSetNodeMonitorLoad() {
+      return this.nodeMonitorLoad != null;
+    }
+
+    public void setNodeMonitorLoadIsSet(boolean value) {
+      if (!value) {
+        this.nodeMonitorLoad = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUEST_ID:
+        if (value == null) {
+          unsetRequestId();
+        } else {
+          setRequestId((String)value);
+        }
+        break;
+
+      case NODE_MONITOR_ADDRESS:
+        if (value == null) {
+          unsetNodeMonitorAddress();
+        } else {
+          setNodeMonitorAddress((edu.berkeley.sparrow.thrift.THostPort)value);
+        }
+        break;
+
+      case MAX_TASKS:
+        if (value == null) {
+          unsetMaxTasks();
+        } else {
+          setMaxTasks((Integer)value);
+        }
+        break;
+
+      case REQUEST_HANDLE:
+        if (value == null) {
+          unsetRequestHandle();
+        } else {
+          setRequestHandle((Long)value);
+        }
+        break;
+
+      case NODE_MONITOR_LOAD:
+        if (value == null) {
+          unsetNodeMonitorLoad();
+        } else {
+          setNodeMonitorLoad((edu.berkeley.sparrow.thrift.TNodeMonitorLoad)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUEST_ID:
+        return getRequestId();
+
+      case NODE_MONITOR_ADDRESS:
+        return getNodeMonitorAddress();
+
+      case MAX_TASKS:
+        return Integer.valueOf(getMaxTasks());
+
+      case REQUEST_HANDLE:
+        return Long.valueOf(getRequestHandle());
+
+      case NODE_MONITOR_LOAD:
+        return getNodeMonitorLoad();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUEST_ID:
+        return isSetRequestId();
+      case NODE_MONITOR_ADDRESS:
+        return isSetNodeMonitorAddress();
+      case MAX_TASKS:
+        return isSetMaxTasks();
+      case REQUEST_HANDLE:
+        return isSetRequestHandle();
+      case NODE_MONITOR_LOAD:
+        return isSetNodeMonitorLoad();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getTasks_args)
+        return this.equals((getTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(getTasks_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_requestId = true && this.isSetRequestId();
+      boolean that_present_requestId = true && that.isSetRequestId();
+      if (this_present_requestId || that_present_requestId) {
+        if (!(this_present_requestId && that_present_requestId))
+          return false;
+        if (!this.requestId.equals(that.requestId))
+          return false;
+      }
+
+      boolean this_present_nodeMonitorAddress = true && this.isSetNodeMonitorAddress();
+      boolean that_present_nodeMonitorAddress = true && that.isSetNodeMonitorAddress();
+      if (this_present_nodeMonitorAddress || that_present_nodeMonitorAddress) {
+        if (!(this_present_nodeMonitorAddress && that_present_nodeMonitorAddress))
+          return false;
+        if (!this.nodeMonitorAddress.equals(that.nodeMonitorAddress))
+          return false;
+      }
+
+      boolean this_present_maxTasks = true;
+      boolean that_present_maxTasks = true;
+      if (this_present_maxTasks || that_present_maxTasks) {
+        if (!(this_present_maxTasks && that_present_maxTasks))
+          return false;
+        if (this.maxTasks != that.maxTasks)
+          return false;
+      }
+
+      boolean this_present_requestHandle = true;
+      boolean that_present_requestHandle = true;
+      if (this_present_requestHandle || that_present_requestHandle) {
+        if (!(this_present_requestHandle && that_present_requestHandle))
+          return false;
+        if (this.requestHandle != that.requestHandle)
+          return false;
+      }
+
+      boolean this_present_nodeMonitorLoad = true && this.isSetNodeMonitorLoad();
+      boolean that_present_nodeMonitorLoad = true && that.isSetNodeMonitorLoad();
+      if (this_present_nodeMonitorLoad || that_present_nodeMonitorLoad) {
+        if (!(this_present_nodeMonitorLoad && that_present_nodeMonitorLoad))
+          return false;
+        if (!this.nodeMonitorLoad.equals(that.nodeMonitorLoad))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(getTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      getTasks_args typedOther = (getTasks_args)other;
+
+      lastComparison = Boolean.valueOf(isSetRequestId()).compareTo(typedOther.isSetRequestId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequestId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requestId, typedOther.requestId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNodeMonitorAddress()).compareTo(typedOther.isSetNodeMonitorAddress());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNodeMonitorAddress()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nodeMonitorAddress, typedOther.nodeMonitorAddress);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMaxTasks()).compareTo(typedOther.isSetMaxTasks());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxTasks()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxTasks, typedOther.maxTasks);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetRequestHandle()).compareTo(typedOther.isSetRequestHandle());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequestHandle()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requestHandle, typedOther.requestHandle);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetNodeMonitorLoad()).compareTo(typedOther.isSetNodeMonitorLoad());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetNodeMonitorLoad()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.nodeMonitorLoad, typedOther.nodeMonitorLoad);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getTasks_args(");
+      boolean first = true;
+
+      sb.append("requestId:");
+      if (this.requestId == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.requestId);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nodeMonitorAddress:");
+      if (this.nodeMonitorAddress == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nodeMonitorAddress);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxTasks:");
+      sb.append(this.maxTasks);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("requestHandle:");
+      sb.append(this.requestHandle);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("nodeMonitorLoad:");
+      if (this.nodeMonitorLoad == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.nodeMonitorLoad);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class getTasks_argsStandardSchemeFactory implements SchemeFactory {
+      public getTasks_argsStandardScheme getScheme() {
+        return new getTasks_argsStandardScheme();
+      }
+    }
+
+    private static class getTasks_argsStandardScheme extends StandardScheme<getTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUEST_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.requestId = iprot.readString();
+                struct.setRequestIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // NODE_MONITOR_ADDRESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.nodeMonitorAddress = new edu.berkeley.sparrow.thrift.THostPort();
+                struct.nodeMonitorAddress.read(iprot);
+                struct.setNodeMonitorAddressIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // MAX_TASKS
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxTasks = iprot.readI32();
+                struct.setMaxTasksIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // REQUEST_HANDLE
+              if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+                struct.requestHandle = iprot.readI64();
+                struct.setRequestHandleIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 5: // NODE_MONITOR_LOAD
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad();
+                struct.nodeMonitorLoad.read(iprot);
+                struct.setNodeMonitorLoadIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.requestId != null) {
+          oprot.writeFieldBegin(REQUEST_ID_FIELD_DESC);
+          oprot.writeString(struct.requestId);
+          oprot.writeFieldEnd();
+        }
+        if (struct.nodeMonitorAddress != null) {
+          oprot.writeFieldBegin(NODE_MONITOR_ADDRESS_FIELD_DESC);
+          struct.nodeMonitorAddress.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(MAX_TASKS_FIELD_DESC);
+        oprot.writeI32(struct.maxTasks);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(REQUEST_HANDLE_FIELD_DESC);
+        oprot.writeI64(struct.requestHandle);
+        oprot.writeFieldEnd();
+        if (struct.nodeMonitorLoad != null) {
+          oprot.writeFieldBegin(NODE_MONITOR_LOAD_FIELD_DESC);
+          struct.nodeMonitorLoad.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getTasks_argsTupleSchemeFactory implements SchemeFactory {
+      public getTasks_argsTupleScheme getScheme() {
+        return new getTasks_argsTupleScheme();
+      }
+    }
+
+    private static class getTasks_argsTupleScheme extends TupleScheme<getTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getTasks_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequestId()) {
+          optionals.set(0);
+        }
+        if (struct.isSetNodeMonitorAddress()) {
+          optionals.set(1);
+        }
+        if (struct.isSetMaxTasks()) {
+          optionals.set(2);
+        }
+        if (struct.isSetRequestHandle()) {
+          optionals.set(3);
+        }
+        if (struct.isSetNodeMonitorLoad()) {
+          optionals.set(4);
+        }
+        oprot.writeBitSet(optionals, 5);
+        if (struct.isSetRequestId()) {
+          oprot.writeString(struct.requestId);
+        }
+        if (struct.isSetNodeMonitorAddress()) {
+          struct.nodeMonitorAddress.write(oprot);
+        }
+        if (struct.isSetMaxTasks()) {
+          oprot.writeI32(struct.maxTasks);
+        }
+        if (struct.isSetRequestHandle()) {
+          oprot.writeI64(struct.requestHandle);
+        }
+        if (struct.isSetNodeMonitorLoad()) {
+          struct.nodeMonitorLoad.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getTasks_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(5);
+        if (incoming.get(0)) {
+          struct.requestId = iprot.readString();
+          struct.setRequestIdIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.nodeMonitorAddress = new edu.berkeley.sparrow.thrift.THostPort();
+          struct.nodeMonitorAddress.read(iprot);
+          struct.setNodeMonitorAddressIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.maxTasks = iprot.readI32();
+          struct.setMaxTasksIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.requestHandle = iprot.readI64();
+          struct.setRequestHandleIsSet(true);
+        }
+        if (incoming.get(4)) {
+          struct.nodeMonitorLoad = new edu.berkeley.sparrow.thrift.TNodeMonitorLoad();
+          struct.nodeMonitorLoad.read(iprot);
+          struct.setNodeMonitorLoadIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class getTasks_result implements org.apache.thrift.TBase<getTasks_result, getTasks_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getTasks_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getTasks_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getTasks_resultTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TTaskLaunchSpec.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getTasks_result.class, metaDataMap);
+    }
+
+    public getTasks_result() {
+    }
+
+    public getTasks_result(
+      List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getTasks_result(getTasks_result other) {
+      if (other.isSetSuccess()) {
+        List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> __this__success = new ArrayList<edu.berkeley.sparrow.thrift.TTaskLaunchSpec>();
+        for (edu.berkeley.sparrow.thrift.TTaskLaunchSpec other_element : other.success) {
+          __this__success.add(new edu.berkeley.sparrow.thrift.TTaskLaunchSpec(other_element));
+        }
+        this.success = __this__success;
+      }
+    }
+
+    public getTasks_result deepCopy() {
+      return new getTasks_result(this);
+    }
+
+    public void clear() {
+      this.success = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(edu.berkeley.sparrow.thrift.TTaskLaunchSpec elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<edu.berkeley.sparrow.thrift.TTaskLaunchSpec>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> getSuccess() {
+      return this.success;
+    }
+
+    public getTasks_result setSuccess(List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((List<edu.berkeley.sparrow.thrift.TTaskLaunchSpec>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getTasks_result)
+        return this.equals((getTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(getTasks_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(getTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      getTasks_result typedOther = (getTasks_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getTasks_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class getTasks_resultStandardSchemeFactory implements SchemeFactory {
+      public getTasks_resultStandardScheme getScheme() {
+        return new getTasks_resultStandardScheme();
+      }
+    }
+
+    private static class getTasks_resultStandardScheme extends StandardScheme<getTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list8 = iprot.readListBegin();
+                  struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TTaskLaunchSpec>(_list8.size);
+                  for (int _i9 = 0; _i9 < _list8.size; ++_i9)
+                  {
+                    edu.berkeley.sparrow.thrift.TTaskLaunchSpec _elem10; // required
+                    _elem10 = new edu.berkeley.sparrow.thrift.TTaskLaunchSpec();
+                    _elem10.read(iprot);
+                    struct.success.add(_elem10);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (edu.berkeley.sparrow.thrift.TTaskLaunchSpec _iter11 : struct.success)
+            {
+              _iter11.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getTasks_resultTupleSchemeFactory implements SchemeFactory {
+      public getTasks_resultTupleScheme getScheme() {
+        return new getTasks_resultTupleScheme();
+      }
+    }
+
+    private static class getTasks_resultTupleScheme extends TupleScheme<getTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getTasks_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (edu.berkeley.sparrow.thrift.TTaskLaunchSpec _iter12 : struct.success)
+            {
+              _iter12.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getTasks_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list13 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TTaskLaunchSpec>(_list13.size);
+            for (int _i14 = 0; _i14 < _list13.size; ++_i14)
+            {
+              edu.berkeley.sparrow.thrift.TTaskLaunchSpec _elem15; // required
+              _elem15 = new edu.berkeley.sparrow.thrift.TTaskLaunchSpec();
+              _elem15.read(iprot);
+              struct.success.add(_elem15);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
 }
@@ -35,6 +35,10 @@ public class InternalService {
 
     public void cancelTaskReservations(edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest request) throws org.apache.thrift.TException;
 
+    public void cancelTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests) throws org.apache.thrift.TException;
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> enqueueTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests) throws org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
@@ -43,6 +47,10 @@ public class InternalService {
 
     public void cancelTaskReservations(edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest request, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.cancelTaskReservations_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void cancelTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.cancelTaskReservationsBatch_call> resultHandler) throws org.apache.thrift.TException;
+
+    public void enqueueTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.enqueueTaskReservationsBatch_call> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -108,6 +116,49 @@ public class InternalService {
       return;
     }
 
+    public void cancelTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests) throws org.apache.thrift.TException
+    {
+      send_cancelTaskReservationsBatch(requests);
+      recv_cancelTaskReservationsBatch();
+    }
+
+    public void send_cancelTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests) throws org.apache.thrift.TException
+    {
+      cancelTaskReservationsBatch_args args = new cancelTaskReservationsBatch_args();
+      args.setRequests(requests);
+      sendBase("cancelTaskReservationsBatch", args);
+    }
+
+    public void recv_cancelTaskReservationsBatch() throws org.apache.thrift.TException
+    {
+      cancelTaskReservationsBatch_result result = new cancelTaskReservationsBatch_result();
+      receiveBase(result, "cancelTaskReservationsBatch");
+      return;
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> enqueueTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests) throws org.apache.thrift.TException
+    {
+      send_enqueueTaskReservationsBatch(requests);
+      return recv_enqueueTaskReservationsBatch();
+    }
+
+    public void send_enqueueTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests) throws org.apache.thrift.TException
+    {
+      enqueueTaskReservationsBatch_args args = new enqueueTaskReservationsBatch_args();
+      args.setRequests(requests);
+      sendBase("enqueueTaskReservationsBatch", args);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> recv_enqueueTaskReservationsBatch() throws org.apache.thrift.TException
+    {
+      enqueueTaskReservationsBatch_result result = new enqueueTaskReservationsBatch_result();
+      receiveBase(result, "enqueueTaskReservationsBatch");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "enqueueTaskReservationsBatch failed: unknown result");
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -190,6 +241,70 @@ public class InternalService {
       }
     }
 
+    public void cancelTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<cancelTaskReservationsBatch_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      cancelTaskReservationsBatch_call method_call = new cancelTaskReservationsBatch_call(requests, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class cancelTaskReservationsBatch_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests;
+      public cancelTaskReservationsBatch_call(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<cancelTaskReservationsBatch_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.requests = requests;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("cancelTaskReservationsBatch", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        cancelTaskReservationsBatch_args args = new cancelTaskReservationsBatch_args();
+        args.setRequests(requests);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public void getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        (new Client(prot)).recv_cancelTaskReservationsBatch();
+      }
+    }
+
+    public void enqueueTaskReservationsBatch(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<enqueueTaskReservationsBatch_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      enqueueTaskReservationsBatch_call method_call = new enqueueTaskReservationsBatch_call(requests, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class enqueueTaskReservationsBatch_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests;
+      public enqueueTaskReservationsBatch_call(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests, org.apache.thrift.async.AsyncMethodCallback<enqueueTaskReservationsBatch_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.requests = requests;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("enqueueTaskReservationsBatch", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        enqueueTaskReservationsBatch_args args = new enqueueTaskReservationsBatch_args();
+        args.setRequests(requests);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_enqueueTaskReservationsBatch();
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -205,6 +320,8 @@ public class InternalService {
     private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
       processMap.put("enqueueTaskReservations", new enqueueTaskReservations());
       processMap.put("cancelTaskReservations", new cancelTaskReservations());
+      processMap.put("cancelTaskReservationsBatch", new cancelTaskReservationsBatch());
+      processMap.put("enqueueTaskReservationsBatch", new enqueueTaskReservationsBatch());
       return processMap;
     }
 
@@ -241,6 +358,38 @@ public class InternalService {
       }
     }
 
+    private static class cancelTaskReservationsBatch<I extends Iface> extends org.apache.thrift.ProcessFunction<I, cancelTaskReservationsBatch_args> {
+      public cancelTaskReservationsBatch() {
+        super("cancelTaskReservationsBatch");
+      }
+
+      protected cancelTaskReservationsBatch_args getEmptyArgsInstance() {
+        return new cancelTaskReservationsBatch_args();
+      }
+
+      protected cancelTaskReservationsBatch_result getResult(I iface, cancelTaskReservationsBatch_args args) throws org.apache.thrift.TException {
+        cancelTaskReservationsBatch_result result = new cancelTaskReservationsBatch_result();
+        iface.cancelTaskReservationsBatch(args.requests);
+        return result;
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch<I extends Iface> extends org.apache.thrift.ProcessFunction<I, enqueueTaskReservationsBatch_args> {
+      public enqueueTaskReservationsBatch() {
+        super("enqueueTaskReservationsBatch");
+      }
+
+      protected enqueueTaskReservationsBatch_args getEmptyArgsInstance() {
+        return new enqueueTaskReservationsBatch_args();
+      }
+
+      protected enqueueTaskReservationsBatch_result getResult(I iface, enqueueTaskReservationsBatch_args args) throws org.apache.thrift.TException {
+        enqueueTaskReservationsBatch_result result = new enqueueTaskReservationsBatch_result();
+        result.success = iface.enqueueTaskReservationsBatch(args.requests);
+        return result;
+      }
+    }
+
   }
 
   public static class enqueueTaskReservations_args implements org.apache.thrift.TBase<enqueueTaskReservations_args, enqueueTaskReservations_args._Fields>, java.io.Serializable, Cloneable   {
@@ -1546,4 +1695,1466 @@ public class InternalService {
 
   }
 
+  public static class cancelTaskReservationsBatch_args implements org.apache.thrift.TBase<cancelTaskReservationsBatch_args, cancelTaskReservationsBatch_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("cancelTaskReservationsBatch_args");
+
+    private static final org.apache.thrift.protocol.TField REQUESTS_FIELD_DESC = new org.apache.thrift.protocol.TField("requests", org.apache.thrift.protocol.TType.LIST, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new cancelTaskReservationsBatch_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new cancelTaskReservationsBatch_argsTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUESTS((short)1, "requests");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUESTS
+            return REQUESTS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUESTS, new org.apache.thrift.meta_data.FieldMetaData("requests", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(cancelTaskReservationsBatch_args.class, metaDataMap);
+    }
+
+    public cancelTaskReservationsBatch_args() {
+    }
+
+    public cancelTaskReservationsBatch_args(
+      List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests)
+    {
+      this();
+      this.requests = requests;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public cancelTaskReservationsBatch_args(cancelTaskReservationsBatch_args other) {
+      if (other.isSetRequests()) {
+        List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> __this__requests = new ArrayList<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest>();
+        for (edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest other_element : other.requests) {
+          __this__requests.add(new edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest(other_element));
+        }
+        this.requests = __this__requests;
+      }
+    }
+
+    public cancelTaskReservationsBatch_args deepCopy() {
+      return new cancelTaskReservationsBatch_args(this);
+    }
+
+    public void clear() {
+      this.requests = null;
+    }
+
+    public int getRequestsSize() {
+      return (this.requests == null) ? 0 : this.requests.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> getRequestsIterator() {
+      return (this.requests == null) ? null : this.requests.iterator();
+    }
+
+    public void addToRequests(edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest elem) {
+      if (this.requests == null) {
+        this.requests = new ArrayList<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest>();
+      }
+      this.requests.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> getRequests() {
+      return this.requests;
+    }
+
+    public cancelTaskReservationsBatch_args setRequests(List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest> requests) {
+      this.requests = requests;
+      return this;
+    }
+
+    public void unsetRequests() {
+      this.requests = null;
+    }
+
+    /** Returns true if field requests is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequests() {
+      return this.requests != null;
+    }
+
+    public void setRequestsIsSet(boolean value) {
+      if (!value) {
+        this.requests = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUESTS:
+        if (value == null) {
+          unsetRequests();
+        } else {
+          setRequests((List<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUESTS:
+        return getRequests();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUESTS:
+        return isSetRequests();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof cancelTaskReservationsBatch_args)
+        return this.equals((cancelTaskReservationsBatch_args)that);
+      return false;
+    }
+
+    public boolean equals(cancelTaskReservationsBatch_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_requests = true && this.isSetRequests();
+      boolean that_present_requests = true && that.isSetRequests();
+      if (this_present_requests || that_present_requests) {
+        if (!(this_present_requests && that_present_requests))
+          return false;
+        if (!this.requests.equals(that.requests))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(cancelTaskReservationsBatch_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      cancelTaskReservationsBatch_args typedOther = (cancelTaskReservationsBatch_args)other;
+
+      lastComparison = Boolean.valueOf(isSetRequests()).compareTo(typedOther.isSetRequests());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequests()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requests, typedOther.requests);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("cancelTaskReservationsBatch_args(");
+      boolean first = true;
+
+      sb.append("requests:");
+      if (this.requests == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.requests);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_argsStandardSchemeFactory implements SchemeFactory {
+      public cancelTaskReservationsBatch_argsStandardScheme getScheme() {
+        return new cancelTaskReservationsBatch_argsStandardScheme();
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_argsStandardScheme extends StandardScheme<cancelTaskReservationsBatch_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, cancelTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUESTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list24 = iprot.readListBegin();
+                  struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest>(_list24.size);
+                  for (int _i25 = 0; _i25 < _list24.size; ++_i25)
+                  {
+                    edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest _elem26; // required
+                    _elem26 = new edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest();
+                    _elem26.read(iprot);
+                    struct.requests.add(_elem26);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setRequestsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, cancelTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.requests != null) {
+          oprot.writeFieldBegin(REQUESTS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.requests.size()));
+            for (edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest _iter27 : struct.requests)
+            {
+              _iter27.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class cancelTaskReservationsBatch_argsTupleSchemeFactory implements SchemeFactory {
+      public cancelTaskReservationsBatch_argsTupleScheme getScheme() {
+        return new cancelTaskReservationsBatch_argsTupleScheme();
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_argsTupleScheme extends TupleScheme<cancelTaskReservationsBatch_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, cancelTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequests()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequests()) {
+          {
+            oprot.writeI32(struct.requests.size());
+            for (edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest _iter28 : struct.requests)
+            {
+              _iter28.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, cancelTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list29 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest>(_list29.size);
+            for (int _i30 = 0; _i30 < _list29.size; ++_i30)
+            {
+              edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest _elem31; // required
+              _elem31 = new edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest();
+              _elem31.read(iprot);
+              struct.requests.add(_elem31);
+            }
+          }
+          struct.setRequestsIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class cancelTaskReservationsBatch_result implements org.apache.thrift.TBase<cancelTaskReservationsBatch_result, cancelTaskReservationsBatch_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("cancelTaskReservationsBatch_result");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new cancelTaskReservationsBatch_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new cancelTaskReservationsBatch_resultTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(cancelTaskReservationsBatch_result.class, metaDataMap);
+    }
+
+    public cancelTaskReservationsBatch_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public cancelTaskReservationsBatch_result(cancelTaskReservationsBatch_result other) {
+    }
+
+    public cancelTaskReservationsBatch_result deepCopy() {
+      return new cancelTaskReservationsBatch_result(this);
+    }
+
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof cancelTaskReservationsBatch_result)
+        return this.equals((cancelTaskReservationsBatch_result)that);
+      return false;
+    }
+
+    public boolean equals(cancelTaskReservationsBatch_result that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(cancelTaskReservationsBatch_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      cancelTaskReservationsBatch_result typedOther = (cancelTaskReservationsBatch_result)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("cancelTaskReservationsBatch_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_resultStandardSchemeFactory implements SchemeFactory {
+      public cancelTaskReservationsBatch_resultStandardScheme getScheme() {
+        return new cancelTaskReservationsBatch_resultStandardScheme();
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_resultStandardScheme extends StandardScheme<cancelTaskReservationsBatch_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, cancelTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, cancelTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class cancelTaskReservationsBatch_resultTupleSchemeFactory implements SchemeFactory {
+      public cancelTaskReservationsBatch_resultTupleScheme getScheme() {
+        return new cancelTaskReservationsBatch_resultTupleScheme();
+      }
+    }
+
+    private static class cancelTaskReservationsBatch_resultTupleScheme extends TupleScheme<cancelTaskReservationsBatch_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, cancelTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, cancelTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class enqueueTaskReservationsBatch_args implements org.apache.thrift.TBase<enqueueTaskReservationsBatch_args, enqueueTaskReservationsBatch_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("enqueueTaskReservationsBatch_args");
+
+    private static final org.apache.thrift.protocol.TField REQUESTS_FIELD_DESC = new org.apache.thrift.protocol.TField("requests", org.apache.thrift.protocol.TType.LIST, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new enqueueTaskReservationsBatch_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new enqueueTaskReservationsBatch_argsTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      REQUESTS((short)1, "requests");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // REQUESTS
+            return REQUESTS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.REQUESTS, new org.apache.thrift.meta_data.FieldMetaData("requests", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(enqueueTaskReservationsBatch_args.class, metaDataMap);
+    }
+
+    public enqueueTaskReservationsBatch_args() {
+    }
+
+    public enqueueTaskReservationsBatch_args(
+      List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests)
+    {
+      this();
+      this.requests = requests;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public enqueueTaskReservationsBatch_args(enqueueTaskReservationsBatch_args other) {
+      if (other.isSetRequests()) {
+        List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> __this__requests = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest>();
+        for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest other_element : other.requests) {
+          __this__requests.add(new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest(other_element));
+        }
+        this.requests = __this__requests;
+      }
+    }
+
+    public enqueueTaskReservationsBatch_args deepCopy() {
+      return new enqueueTaskReservationsBatch_args(this);
+    }
+
+    public void clear() {
+      this.requests = null;
+    }
+
+    public int getRequestsSize() {
+      return (this.requests == null) ? 0 : this.requests.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> getRequestsIterator() {
+      return (this.requests == null) ? null : this.requests.iterator();
+    }
+
+    public void addToRequests(edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest elem) {
+      if (this.requests == null) {
+        this.requests = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest>();
+      }
+      this.requests.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> getRequests() {
+      return this.requests;
+    }
+
+    public enqueueTaskReservationsBatch_args setRequests(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest> requests) {
+      this.requests = requests;
+      return this;
+    }
+
+    public void unsetRequests() {
+      this.requests = null;
+    }
+
+    /** Returns true if field requests is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequests() {
+      return this.requests != null;
+    }
+
+    public void setRequestsIsSet(boolean value) {
+      if (!value) {
+        this.requests = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUESTS:
+        if (value == null) {
+          unsetRequests();
+        } else {
+          setRequests((List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUESTS:
+        return getRequests();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case REQUESTS:
+        return isSetRequests();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof enqueueTaskReservationsBatch_args)
+        return this.equals((enqueueTaskReservationsBatch_args)that);
+      return false;
+    }
+
+    public boolean equals(enqueueTaskReservationsBatch_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_requests = true && this.isSetRequests();
+      boolean that_present_requests = true && that.isSetRequests();
+      if (this_present_requests || that_present_requests) {
+        if (!(this_present_requests && that_present_requests))
+          return false;
+        if (!this.requests.equals(that.requests))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(enqueueTaskReservationsBatch_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      enqueueTaskReservationsBatch_args typedOther = (enqueueTaskReservationsBatch_args)other;
+
+      lastComparison = Boolean.valueOf(isSetRequests()).compareTo(typedOther.isSetRequests());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequests()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requests, typedOther.requests);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("enqueueTaskReservationsBatch_args(");
+      boolean first = true;
+
+      sb.append("requests:");
+      if (this.requests == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.requests);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_argsStandardSchemeFactory implements SchemeFactory {
+      public enqueueTaskReservationsBatch_argsStandardScheme getScheme() {
+        return new enqueueTaskReservationsBatch_argsStandardScheme();
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_argsStandardScheme extends StandardScheme<enqueueTaskReservationsBatch_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, enqueueTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUESTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list32 = iprot.readListBegin();
+                  struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest>(_list32.size);
+                  for (int _i33 = 0; _i33 < _list32.size; ++_i33)
+                  {
+                    edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest _elem34; // required
+                    _elem34 = new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest();
+                    _elem34.read(iprot);
+                    struct.requests.add(_elem34);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setRequestsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, enqueueTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.requests != null) {
+          oprot.writeFieldBegin(REQUESTS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.requests.size()));
+            for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest _iter35 : struct.requests)
+            {
+              _iter35.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class enqueueTaskReservationsBatch_argsTupleSchemeFactory implements SchemeFactory {
+      public enqueueTaskReservationsBatch_argsTupleScheme getScheme() {
+        return new enqueueTaskReservationsBatch_argsTupleScheme();
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_argsTupleScheme extends TupleScheme<enqueueTaskReservationsBatch_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, enqueueTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequests()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequests()) {
+          {
+            oprot.writeI32(struct.requests.size());
+            for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest _iter36 : struct.requests)
+            {
+              _iter36.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, enqueueTaskReservationsBatch_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list37 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest>(_list37.size);
+            for (int _i38 = 0; _i38 < _list37.size; ++_i38)
+            {
+              edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest _elem39; // required
+              _elem39 = new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest();
+              _elem39.read(iprot);
+              struct.requests.add(_elem39);
+            }
+          }
+          struct.setRequestsIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class enqueueTaskReservationsBatch_result implements org.apache.thrift.TBase<enqueueTaskReservationsBatch_result, enqueueTaskReservationsBatch_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("enqueueTaskReservationsBatch_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new enqueueTaskReservationsBatch_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new enqueueTaskReservationsBatch_resultTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(enqueueTaskReservationsBatch_result.class, metaDataMap);
+    }
+
+    public enqueueTaskReservationsBatch_result() {
+    }
+
+    public enqueueTaskReservationsBatch_result(
+      List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public enqueueTaskReservationsBatch_result(enqueueTaskReservationsBatch_result other) {
+      if (other.isSetSuccess()) {
+        List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> __this__success = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse>();
+        for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse other_element : other.success) {
+          __this__success.add(new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse(other_element));
+        }
+        this.success = __this__success;
+      }
+    }
+
+    public enqueueTaskReservationsBatch_result deepCopy() {
+      return new enqueueTaskReservationsBatch_result(this);
+    }
+
+    public void clear() {
+      this.success = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> getSuccess() {
+      return this.success;
+    }
+
+    public enqueueTaskReservationsBatch_result setSuccess(List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((List<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof enqueueTaskReservationsBatch_result)
+        return this.equals((enqueueTaskReservationsBatch_result)that);
+      return false;
+    }
+
+    public boolean equals(enqueueTaskReservationsBatch_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(enqueueTaskReservationsBatch_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      enqueueTaskReservationsBatch_result typedOther = (enqueueTaskReservationsBatch_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("enqueueTaskReservationsBatch_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_resultStandardSchemeFactory implements SchemeFactory {
+      public enqueueTaskReservationsBatch_resultStandardScheme getScheme() {
+        return new enqueueTaskReservationsBatch_resultStandardScheme();
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_resultStandardScheme extends StandardScheme<enqueueTaskReservationsBatch_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, enqueueTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list40 = iprot.readListBegin();
+                  struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse>(_list40.size);
+                  for (int _i41 = 0; _i41 < _list40.size; ++_i41)
+                  {
+                    edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse _elem42; // required
+                    _elem42 = new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse();
+                    _elem42.read(iprot);
+                    struct.success.add(_elem42);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, enqueueTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse _iter43 : struct.success)
+            {
+              _iter43.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class enqueueTaskReservationsBatch_resultTupleSchemeFactory implements SchemeFactory {
+      public enqueueTaskReservationsBatch_resultTupleScheme getScheme() {
+        return new enqueueTaskReservationsBatch_resultTupleScheme();
+      }
+    }
+
+    private static class enqueueTaskReservationsBatch_resultTupleScheme extends TupleScheme<enqueueTaskReservationsBatch_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, enqueueTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse _iter44 : struct.success)
+            {
+              _iter44.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, enqueueTaskReservationsBatch_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list45 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse>(_list45.size);
+            for (int _i46 = 0; _i46 < _list45.size; ++_i46)
+            {
+              edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse _elem47; // required
+              _elem47 = new edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse();
+              _elem47.read(iprot);
+              struct.success.add(_elem47);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
 }
@@ -37,6 +37,8 @@ public class NodeMonitorService {
 
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message) throws org.apache.thrift.TException;
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
@@ -47,6 +49,8 @@ public class NodeMonitorService {
 
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.sendFrontendMessage_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.sendFrontendMessages_call> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -136,6 +140,26 @@ public class NodeMonitorService {
       return;
     }
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException
+    {
+      send_sendFrontendMessages(messages);
+      recv_sendFrontendMessages();
+    }
+
+    public void send_sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException
+    {
+      sendFrontendMessages_args args = new sendFrontendMessages_args();
+      args.setMessages(messages);
+      sendBase("sendFrontendMessages", args);
+    }
+
+    public void recv_sendFrontendMessages() throws org.apache.thrift.TException
+    {
+      sendFrontendMessages_result result = new sendFrontendMessages_result();
+      receiveBase(result, "sendFrontendMessages");
+      return;
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -262,6 +286,38 @@ public class NodeMonitorService {
       }
     }
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<sendFrontendMessages_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      sendFrontendMessages_call method_call = new sendFrontendMessages_call(messages, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class sendFrontendMessages_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages;
+      public sendFrontendMessages_call(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<sendFrontendMessages_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.messages = messages;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("sendFrontendMessages", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        sendFrontendMessages_args args = new sendFrontendMessages_args();
+        args.setMessages(messages);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public void getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        (new Client(prot)).recv_sendFrontendMessages();
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -278,6 +334,7 @@ public class NodeMonitorService {
       processMap.put("registerBackend", new registerBackend());
       processMap.put("tasksFinished", new tasksFinished());
       processMap.put("sendFrontendMessage", new sendFrontendMessage());
+      processMap.put("sendFrontendMessages", new sendFrontendMessages());
       return processMap;
     }
 
@@ -330,6 +387,22 @@ public class NodeMonitorService {
       }
     }
 
+    private static class sendFrontendMessages<I extends Iface> extends org.apache.thrift.ProcessFunction<I, sendFrontendMessages_args> {
+      public sendFrontendMessages() {
+        super("sendFrontendMessages");
+      }
+
+      protected sendFrontendMessages_args getEmptyArgsInstance() {
+        return new sendFrontendMessages_args();
+      }
+
+      protected sendFrontendMessages_result getResult(I iface, sendFrontendMessages_args args) throws org.apache.thrift.TException {
+        sendFrontendMessages_result result = new sendFrontendMessages_result();
+        iface.sendFrontendMessages(args.messages);
+        return result;
+      }
+    }
+
   }
 
   public static class registerBackend_args implements org.apache.thrift.TBase<registerBackend_args, registerBackend_args._Fields>, java.io.Serializable, Cloneable   {
@@ -1442,14 +1515,14 @@ public class NodeMonitorService {
             case 1: // TASKS
               if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
                 {
-                  org.apache.thrift.protocol.TList _list8 = iprot.readListBegin();
-                  struct.tasks = new ArrayList<edu.berkeley.sparrow.thrift.TFullTaskId>(_list8.size);
-                  for (int _i9 = 0; _i9 < _list8.size; ++_i9)
+                  org.apache.thrift.protocol.TList _list16 = iprot.readListBegin();
+                  struct.tasks = new ArrayList<edu.berkeley.sparrow.thrift.TFullTaskId>(_list16.size);
+                  for (int _i17 = 0; _i17 < _list16.size; ++_i17)
                   {
-                    edu.berkeley.sparrow.thrift.TFullTaskId _elem10; // required
-                    _elem10 = new edu.berkeley.sparrow.thrift.TFullTaskId();
-                    _elem10.read(iprot);
-                    struct.tasks.add(_elem10);
+                    edu.berkeley.sparrow.thrift.TFullTaskId _elem18; // required
+                    _elem18 = new edu.berkeley.sparrow.thrift.TFullTaskId();
+                    _elem18.read(iprot);
+                    struct.tasks.add(_elem18);
                   }
                   iprot.readListEnd();
                 }
@@ -1477,9 +1550,9 @@ public class NodeMonitorService {
           oprot.writeFieldBegin(TASKS_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.tasks.size()));
-            for (edu.berkeley.sparrow.thrift.TFullTaskId _iter11 : struct.tasks)
+            for (edu.berkeley.sparrow.thrift.TFullTaskId _iter19 : struct.tasks)
             {
-              _iter11.write(oprot);
+              _iter19.write(oprot);
             }
             oprot.writeListEnd();
           }
@@ -1510,9 +1583,9 @@ public class NodeMonitorService {
         if (struct.isSetTasks()) {
           {
             oprot.writeI32(struct.tasks.size());
-            for (edu.berkeley.sparrow.thrift.TFullTaskId _iter12 : struct.tasks)
+            for (edu.berkeley.sparrow.thrift.TFullTaskId _iter20 : struct.tasks)
             {
-              _iter12.write(oprot);
+              _iter20.write(oprot);
             }
           }
         }
@@ -1524,14 +1597,14 @@ public class NodeMonitorService {
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
           {
-            org.apache.thrift.protocol.TList _list13 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-            struct.tasks = new ArrayList<edu.berkeley.sparrow.thrift.TFullTaskId>(_list13.size);
-            for (int _i14 = 0; _i14 < _list13.size; ++_i14)
+            org.apache.thrift.protocol.TList _list21 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.tasks = new ArrayList<edu.berkeley.sparrow.thrift.TFullTaskId>(_list21.size);
+            for (int _i22 = 0; _i22 < _list21.size; ++_i22)
             {
-              edu.berkeley.sparrow.thrift.TFullTaskId _elem15; // required
-              _elem15 = new edu.berkeley.sparrow.thrift.TFullTaskId();
-              _elem15.read(iprot);
-              struct.tasks.add(_elem15);
+              edu.berkeley.sparrow.thrift.TFullTaskId _elem23; // required
+              _elem23 = new edu.berkeley.sparrow.thrift.TFullTaskId();
+              _elem23.read(iprot);
+              struct.tasks.add(_elem23);
             }
           }
           struct.setTasksIsSet(true);
@@ -2693,4 +2766,654 @@ public class NodeMonitorService {
 
   }
 
+  public static class sendFrontendMessages_args implements org.apache.thrift.TBase<sendFrontendMessages_args, sendFrontendMessages_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessages_args");
+
+    private static final org.apache.thrift.protocol.TField MESSAGES_FIELD_DESC = new org.apache.thrift.protocol.TField("messages", org.apache.thrift.protocol.TType.LIST, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new sendFrontendMessages_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessages_argsTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MESSAGES((short)1, "messages");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MESSAGES
+            return MESSAGES;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MESSAGES, new org.apache.thrift.meta_data.FieldMetaData("messages", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TFrontendMessage.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessages_args.class, metaDataMap);
+    }
+
+    public sendFrontendMessages_args() {
+    }
+
+    public sendFrontendMessages_args(
+      List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages)
+    {
+      this();
+      this.messages = messages;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public sendFrontendMessages_args(sendFrontendMessages_args other) {
+      if (other.isSetMessages()) {
+        List<edu.berkeley.sparrow.thrift.TFrontendMessage> __this__messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>();
+        for (edu.berkeley.sparrow.thrift.TFrontendMessage other_element : other.messages) {
+          __this__messages.add(new edu.berkeley.sparrow.thrift.TFrontendMessage(other_element));
+        }
+        this.messages = __this__messages;
+      }
+    }
+
+    public sendFrontendMessages_args deepCopy() {
+      return new sendFrontendMessages_args(this);
+    }
+
+    public void clear() {
+      this.messages = null;
+    }
+
+    public int getMessagesSize() {
+      return (this.messages == null) ? 0 : this.messages.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TFrontendMessage> getMessagesIterator() {
+      return (this.messages == null) ? null : this.messages.iterator();
+    }
+
+    public void addToMessages(edu.berkeley.sparrow.thrift.TFrontendMessage elem) {
+      if (this.messages == null) {
+        this.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>();
+      }
+      this.messages.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TFrontendMessage> getMessages() {
+      return this.messages;
+    }
+
+    public sendFrontendMessages_args setMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) {
+      this.messages = messages;
+      return this;
+    }
+
+    public void unsetMessages() {
+      this.messages = null;
+    }
+
+    /** Returns true if field messages is set (has been assigned a value) and false otherwise */
+    public boolean isSetMessages() {
+      return this.messages != null;
+    }
+
+    public void setMessagesIsSet(boolean value) {
+      if (!value) {
+        this.messages = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case MESSAGES:
+        if (value == null) {
+          unsetMessages();
+        } else {
+          setMessages((List<edu.berkeley.sparrow.thrift.TFrontendMessage>)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case MESSAGES:
+        return getMessages();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case MESSAGES:
+        return isSetMessages();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof sendFrontendMessages_args)
+        return this.equals((sendFrontendMessages_args)that);
+      return false;
+    }
+
+    public boolean equals(sendFrontendMessages_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_messages = true && this.isSetMessages();
+      boolean that_present_messages = true && that.isSetMessages();
+      if (this_present_messages || that_present_messages) {
+        if (!(this_present_messages && that_present_messages))
+          return false;
+        if (!this.messages.equals(that.messages))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(sendFrontendMessages_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      sendFrontendMessages_args typedOther = (sendFrontendMessages_args)other;
+
+      lastComparison = Boolean.valueOf(isSetMessages()).compareTo(typedOther.isSetMessages());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMessages()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.messages, typedOther.messages);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("sendFrontendMessages_args(");
+      boolean first = true;
+
+      sb.append("messages:");
+      if (this.messages == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.messages);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class sendFrontendMessages_argsStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_argsStandardScheme getScheme() {
+        return new sendFrontendMessages_argsStandardScheme();
+      }
+    }
+
+    private static class sendFrontendMessages_argsStandardScheme extends StandardScheme<sendFrontendMessages_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // MESSAGES
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list24 = iprot.readListBegin();
+                  struct.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>(_list24.size);
+                  for (int _i25 = 0; _i25 < _list24.size; ++_i25)
+                  {
+                    edu.berkeley.sparrow.thrift.TFrontendMessage _elem26; // required
+                    _elem26 = new edu.berkeley.sparrow.thrift.TFrontendMessage();
+                    _elem26.read(iprot);
+                    struct.messages.add(_elem26);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setMessagesIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.messages != null) {
+          oprot.writeFieldBegin(MESSAGES_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.messages.size()));
+            for (edu.berkeley.sparrow.thrift.TFrontendMessage _iter27 : struct.messages)
+            {
+              _iter27.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class sendFrontendMessages_argsTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_argsTupleScheme getScheme() {
+        return new sendFrontendMessages_argsTupleScheme();
+      }
+    }
+
+    private static class sendFrontendMessages_argsTupleScheme extends TupleScheme<sendFrontendMessages_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetMessages()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetMessages()) {
+          {
+            oprot.writeI32(struct.messages.size());
+            for (edu.berkeley.sparrow.thrift.TFrontendMessage _iter28 : struct.messages)
+            {
+              _iter28.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list29 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>(_list29.size);
+            for (int _i30 = 0; _i30 < _list29.size; ++_i30)
+            {
+              edu.berkeley.sparrow.thrift.TFrontendMessage _elem31; // required
+              _elem31 = new edu.berkeley.sparrow.thrift.TFrontendMessage();
+              _elem31.read(iprot);
+              struct.messages.add(_elem31);
+            }
+          }
+          struct.setMessagesIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class sendFrontendMessages_result implements org.apache.thrift.TBase<sendFrontendMessages_result, sendFrontendMessages_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessages_result");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new sendFrontendMessages_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessages_resultTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessages_result.class, metaDataMap);
+    }
+
+    public sendFrontendMessages_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public sendFrontendMessages_result(sendFrontendMessages_result other) {
+    }
+
+    public sendFrontendMessages_result deepCopy() {
+      return new sendFrontendMessages_result(this);
+    }
+
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof sendFrontendMessages_result)
+        return this.equals((sendFrontendMessages_result)that);
+      return false;
+    }
+
+    public boolean equals(sendFrontendMessages_result that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(sendFrontendMessages_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      sendFrontendMessages_result typedOther = (sendFrontendMessages_result)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("sendFrontendMessages_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class sendFrontendMessages_resultStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_resultStandardScheme getScheme() {
+        return new sendFrontendMessages_resultStandardScheme();
+      }
+    }
+
+    private static class sendFrontendMessages_resultStandardScheme extends StandardScheme<sendFrontendMessages_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class sendFrontendMessages_resultTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_resultTupleScheme getScheme() {
+        return new sendFrontendMessages_resultTupleScheme();
+      }
+    }
+
+    private static class sendFrontendMessages_resultTupleScheme extends TupleScheme<sendFrontendMessages_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
 }
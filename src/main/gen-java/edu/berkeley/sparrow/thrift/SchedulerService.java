@@ -35,8 +35,12 @@ public class SchedulerService {
 
     public void submitJob(edu.berkeley.sparrow.thrift.TSchedulingRequest req) throws edu.berkeley.sparrow.thrift.IncompleteRequestException, org.apache.thrift.TException;
 
+    public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> submitJobs(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests) throws org.apache.thrift.TException;
+
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message) throws org.apache.thrift.TException;
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
@@ -45,8 +49,12 @@ public class SchedulerService {
 
     public void submitJob(edu.berkeley.sparrow.thrift.TSchedulingRequest req, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.submitJob_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void submitJobs(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.submitJobs_call> resultHandler) throws org.apache.thrift.TException;
+
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.sendFrontendMessage_call> resultHandler) throws org.apache.thrift.TException;
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<AsyncClient.sendFrontendMessages_call> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -116,6 +124,29 @@ public class SchedulerService {
       return;
     }
 
+    public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> submitJobs(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests) throws org.apache.thrift.TException
+    {
+      send_submitJobs(requests);
+      return recv_submitJobs();
+    }
+
+    public void send_submitJobs(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests) throws org.apache.thrift.TException
+    {
+      submitJobs_args args = new submitJobs_args();
+      args.setRequests(requests);
+      sendBase("submitJobs", args);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> recv_submitJobs() throws org.apache.thrift.TException
+    {
+      submitJobs_result result = new submitJobs_result();
+      receiveBase(result, "submitJobs");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "submitJobs failed: unknown result");
+    }
+
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message) throws org.apache.thrift.TException
     {
       send_sendFrontendMessage(app, taskId, status, message);
@@ -139,6 +170,26 @@ public class SchedulerService {
       return;
     }
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException
+    {
+      send_sendFrontendMessages(messages);
+      recv_sendFrontendMessages();
+    }
+
+    public void send_sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) throws org.apache.thrift.TException
+    {
+      sendFrontendMessages_args args = new sendFrontendMessages_args();
+      args.setMessages(messages);
+      sendBase("sendFrontendMessages", args);
+    }
+
+    public void recv_sendFrontendMessages() throws org.apache.thrift.TException
+    {
+      sendFrontendMessages_result result = new sendFrontendMessages_result();
+      receiveBase(result, "sendFrontendMessages");
+      return;
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -224,6 +275,38 @@ public class SchedulerService {
       }
     }
 
+    public void submitJobs(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests, org.apache.thrift.async.AsyncMethodCallback<submitJobs_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      submitJobs_call method_call = new submitJobs_call(requests, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class submitJobs_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests;
+      public submitJobs_call(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests, org.apache.thrift.async.AsyncMethodCallback<submitJobs_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.requests = requests;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("submitJobs", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        submitJobs_args args = new submitJobs_args();
+        args.setRequests(requests);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_submitJobs();
+      }
+    }
+
     public void sendFrontendMessage(String app, edu.berkeley.sparrow.thrift.TFullTaskId taskId, int status, ByteBuffer message, org.apache.thrift.async.AsyncMethodCallback<sendFrontendMessage_call> resultHandler) throws org.apache.thrift.TException {
       checkReady();
       sendFrontendMessage_call method_call = new sendFrontendMessage_call(app, taskId, status, message, resultHandler, this, ___protocolFactory, ___transport);
@@ -265,6 +348,38 @@ public class SchedulerService {
       }
     }
 
+    public void sendFrontendMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<sendFrontendMessages_call> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      sendFrontendMessages_call method_call = new sendFrontendMessages_call(messages, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class sendFrontendMessages_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages;
+      public sendFrontendMessages_call(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages, org.apache.thrift.async.AsyncMethodCallback<sendFrontendMessages_call> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.messages = messages;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("sendFrontendMessages", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        sendFrontendMessages_args args = new sendFrontendMessages_args();
+        args.setMessages(messages);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public void getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        (new Client(prot)).recv_sendFrontendMessages();
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -280,7 +395,9 @@ public class SchedulerService {
     private static <I extends Iface> Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> getProcessMap(Map<String,  org.apache.thrift.ProcessFunction<I, ? extends  org.apache.thrift.TBase>> processMap) {
       processMap.put("registerFrontend", new registerFrontend());
       processMap.put("submitJob", new submitJob());
+      processMap.put("submitJobs", new submitJobs());
       processMap.put("sendFrontendMessage", new sendFrontendMessage());
+      processMap.put("sendFrontendMessages", new sendFrontendMessages());
       return processMap;
     }
 
@@ -321,6 +438,22 @@ public class SchedulerService {
       }
     }
 
+    private static class submitJobs<I extends Iface> extends org.apache.thrift.ProcessFunction<I, submitJobs_args> {
+      public submitJobs() {
+        super("submitJobs");
+      }
+
+      protected submitJobs_args getEmptyArgsInstance() {
+        return new submitJobs_args();
+      }
+
+      protected submitJobs_result getResult(I iface, submitJobs_args args) throws org.apache.thrift.TException {
+        submitJobs_result result = new submitJobs_result();
+        result.success = iface.submitJobs(args.requests);
+        return result;
+      }
+    }
+
     private static class sendFrontendMessage<I extends Iface> extends org.apache.thrift.ProcessFunction<I, sendFrontendMessage_args> {
       public sendFrontendMessage() {
         super("sendFrontendMessage");
@@ -337,6 +470,22 @@ public class SchedulerService {
       }
     }
 
+    private static class sendFrontendMessages<I extends Iface> extends org.apache.thrift.ProcessFunction<I, sendFrontendMessages_args> {
+      public sendFrontendMessages() {
+        super("sendFrontendMessages");
+      }
+
+      protected sendFrontendMessages_args getEmptyArgsInstance() {
+        return new sendFrontendMessages_args();
+      }
+
+      protected sendFrontendMessages_result getResult(I iface, sendFrontendMessages_args args) throws org.apache.thrift.TException {
+        sendFrontendMessages_result result = new sendFrontendMessages_result();
+        iface.sendFrontendMessages(args.messages);
+        return result;
+      }
+    }
+
   }
 
   public static class registerFrontend_args implements org.apache.thrift.TBase<registerFrontend_args, registerFrontend_args._Fields>, java.io.Serializable, Cloneable   {
@@ -1850,31 +1999,22 @@ public class SchedulerService {
 
   }
 
-  public static class sendFrontendMessage_args implements org.apache.thrift.TBase<sendFrontendMessage_args, sendFrontendMessage_args._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessage_args");
+  public static class submitJobs_args implements org.apache.thrift.TBase<submitJobs_args, submitJobs_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("submitJobs_args");
 
-    private static final org.apache.thrift.protocol.TField APP_FIELD_DESC = new org.apache.thrift.protocol.TField("app", org.apache.thrift.protocol.TType.STRING, (short)1);
-    private static final org.apache.thrift.protocol.TField TASK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("taskId", org.apache.thrift.protocol.TType.STRUCT, (short)2);
-    private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.I32, (short)3);
-    private static final org.apache.thrift.protocol.TField MESSAGE_FIELD_DESC = new org.apache.thrift.protocol.TField("message", org.apache.thrift.protocol.TType.STRING, (short)4);
+    private static final org.apache.thrift.protocol.TField REQUESTS_FIELD_DESC = new org.apache.thrift.protocol.TField("requests", org.apache.thrift.protocol.TType.LIST, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new sendFrontendMessage_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new sendFrontendMessage_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new submitJobs_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new submitJobs_argsTupleSchemeFactory());
     }
 
-    public String app; // required
-    public edu.berkeley.sparrow.thrift.TFullTaskId taskId; // required
-    public int status; // required
-    public ByteBuffer message; // required
+    public List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-      APP((short)1, "app"),
-      TASK_ID((short)2, "taskId"),
-      STATUS((short)3, "status"),
-      MESSAGE((short)4, "message");
+      REQUESTS((short)1, "requests");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -1889,14 +2029,8 @@ public class SchedulerService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
-          case 1: // APP
-            return APP;
-          case 2: // TASK_ID
-            return TASK_ID;
-          case 3: // STATUS
-            return STATUS;
-          case 4: // MESSAGE
-            return MESSAGE;
+          case 1: // REQUESTS
+            return REQUESTS;
           default:
             return null;
         }
@@ -1937,207 +2071,1813 @@ public class SchedulerService {
     }
 
     // isset id assignments
-    private static final int __STATUS_ISSET_ID = 0;
-    private BitSet __isset_bit_vector = new BitSet(1);
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
-      tmpMap.put(_Fields.APP, new org.apache.thrift.meta_data.FieldMetaData("app", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
-      tmpMap.put(_Fields.TASK_ID, new org.apache.thrift.meta_data.FieldMetaData("taskId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TFullTaskId.class)));
-      tmpMap.put(_Fields.STATUS, new org.apache.thrift.meta_data.FieldMetaData("status", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
-      tmpMap.put(_Fields.MESSAGE, new org.apache.thrift.meta_data.FieldMetaData("message", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      tmpMap.put(_Fields.REQUESTS, new org.apache.thrift.meta_data.FieldMetaData("requests", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TSchedulingRequest.class))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessage_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(submitJobs_args.class, metaDataMap);
     }
 
-    public sendFrontendMessage_args() {
+    public submitJobs_args() {
     }
 
-    public sendFrontendMessage_args(
-      String app,
-      edu.berkeley.sparrow.thrift.TFullTaskId taskId,
-      int status,
-      ByteBuffer message)
+    public submitJobs_args(
+      List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests)
     {
       this();
-      this.app = app;
-      this.taskId = taskId;
-      this.status = status;
-      setStatusIsSet(true);
-      this.message = message;
+      this.requests = requests;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public sendFrontendMessage_args(sendFrontendMessage_args other) {
-      __isset_bit_vector.clear();
-      __isset_bit_vector.or(other.__isset_bit_vector);
-      if (other.isSetApp()) {
-        this.app = other.app;
-      }
-      if (other.isSetTaskId()) {
-        this.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId(other.taskId);
-      }
-      this.status = other.status;
-      if (other.isSetMessage()) {
-        this.message = org.apache.thrift.TBaseHelper.copyBinary(other.message);
-;
+    public submitJobs_args(submitJobs_args other) {
+      if (other.isSetRequests()) {
+        List<edu.berkeley.sparrow.thrift.TSchedulingRequest> __this__requests = new ArrayList<edu.berkeley.sparrow.thrift.TSchedulingRequest>();
+        for (edu.berkeley.sparrow.thrift.TSchedulingRequest other_element : other.requests) {
+          __this__requests.add(new edu.berkeley.sparrow.thrift.TSchedulingRequest(other_element));
+        }
+        this.requests = __this__requests;
       }
     }
 
-    public sendFrontendMessage_args deepCopy() {
-      return new sendFrontendMessage_args(this);
+    public submitJobs_args deepCopy() {
+      return new submitJobs_args(this);
     }
 
     public void clear() {
-      this.app = null;
-      this.taskId = null;
-      setStatusIsSet(false);
-      this.status = 0;
-      this.message = null;
-    }
-
-    public String getApp() {
-      return this.app;
-    }
-
-    public sendFrontendMessage_args setApp(String app) {
-      this.app = app;
-      return this;
+      this.requests = null;
     }
 
-    public void unsetApp() {
-      this.app = null;
+    public int getRequestsSize() {
+      return (this.requests == null) ? 0 : this.requests.size();
     }
 
-    /** Returns true if field app is set (has been assigned a value) and false otherwise */
-    public boolean isSetApp() {
-      return this.app != null;
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TSchedulingRequest> getRequestsIterator() {
+      return (this.requests == null) ? null : this.requests.iterator();
     }
 
-    public void setAppIsSet(boolean value) {
-      if (!value) {
-        this.app = null;
+    public void addToRequests(edu.berkeley.sparrow.thrift.TSchedulingRequest elem) {
+      if (this.requests == null) {
+        this.requests = new ArrayList<edu.berkeley.sparrow.thrift.TSchedulingRequest>();
       }
+      this.requests.add(elem);
     }
 
-    public edu.berkeley.sparrow.thrift.TFullTaskId getTaskId() {
-      return this.taskId;
+    public List<edu.berkeley.sparrow.thrift.TSchedulingRequest> getRequests() {
+      return this.requests;
     }
 
-    public sendFrontendMessage_args setTaskId(edu.berkeley.sparrow.thrift.TFullTaskId taskId) {
-      this.taskId = taskId;
+    public submitJobs_args setRequests(List<edu.berkeley.sparrow.thrift.TSchedulingRequest> requests) {
+      this.requests = requests;
       return this;
     }
 
-    public void unsetTaskId() {
-      this.taskId = null;
+    public void unsetRequests() {
+      this.requests = null;
     }
 
-    /** Returns true if field taskId is set (has been assigned a value) and false otherwise */
-    public boolean isSetTaskId() {
-      return this.taskId != null;
+    /** Returns true if field requests is set (has been assigned a value) and false otherwise */
+    public boolean isSetRequests() {
+      return this.requests != null;
     }
 
-    public void setTaskIdIsSet(boolean value) {
+    public void setRequestsIsSet(boolean value) {
       if (!value) {
-        this.taskId = null;
+        this.requests = null;
       }
     }
 
-    public int getStatus() {
-      return this.status;
-    }
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case REQUESTS:
+        if (value == null) {
+          unsetRequests();
+        } else {
+          setRequests((List<edu.berkeley.sparrow.thrift.TSchedulingRequest>)value);
+        }
+        break;
 
-    public sendFrontendMessage_args setStatus(int status) {
-      this.status = status;
-      setStatusIsSet(true);
-      return this;
+      }
     }
 
-    public void unsetStatus() {
-      __isset_bit_vector.clear(__STATUS_ISSET_ID);
-    }
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case REQUESTS:
+        return getRequests();
 
-    /** Returns true if field status is set (has been assigned a value) and false otherwise */
-    public boolean isSetStatus() {
-      return __isset_bit_vector.get(__STATUS_ISSET_ID);
+      }
+      throw new IllegalStateException();
     }
 
-    public void setStatusIsSet(boolean value) {
-      __isset_bit_vector.set(__STATUS_ISSET_ID, value);
-    }
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
 
-    public byte[] getMessage() {
-      setMessage(org.apache.thrift.TBaseHelper.rightSize(message));
-      return message == null ? null : message.array();
+      switch (field) {
+      case REQUESTS:
+        return isSetRequests();
+      }
+      throw new IllegalStateException();
     }
 
-    public ByteBuffer bufferForMessage() {
-      return message;
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof submitJobs_args)
+        return this.equals((submitJobs_args)that);
+      return false;
     }
 
-    public sendFrontendMessage_args setMessage(byte[] message) {
-      setMessage(message == null ? (ByteBuffer)null : ByteBuffer.wrap(message));
-      return this;
-    }
+    public boolean equals(submitJobs_args that) {
+      if (that == null)
+        return false;
 
-    public sendFrontendMessage_args setMessage(ByteBuffer message) {
-      this.message = message;
-      return this;
-    }
+      boolean this_present_requests = true && this.isSetRequests();
+      boolean that_present_requests = true && that.isSetRequests();
+      if (this_present_requests || that_present_requests) {
+        if (!(this_present_requests && that_present_requests))
+          return false;
+        if (!this.requests.equals(that.requests))
+          return false;
+      }
 
-    public void unsetMessage() {
-      this.message = null;
+      return true;
     }
 
-    /** Returns true if field message is set (has been assigned a value) and false otherwise */
-    public boolean isSetMessage() {
-      return this.message != null;
+    @Override
+    public int hashCode() {
+      return 0;
     }
 
-    public void setMessageIsSet(boolean value) {
-      if (!value) {
-        this.message = null;
+    public int compareTo(submitJobs_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
       }
-    }
 
-    public void setFieldValue(_Fields field, Object value) {
-      switch (field) {
-      case APP:
-        if (value == null) {
-          unsetApp();
-        } else {
-          setApp((String)value);
+      int lastComparison = 0;
+      submitJobs_args typedOther = (submitJobs_args)other;
+
+      lastComparison = Boolean.valueOf(isSetRequests()).compareTo(typedOther.isSetRequests());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetRequests()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requests, typedOther.requests);
+        if (lastComparison != 0) {
+          return lastComparison;
         }
-        break;
+      }
+      return 0;
+    }
 
-      case TASK_ID:
-        if (value == null) {
-          unsetTaskId();
-        } else {
-          setTaskId((edu.berkeley.sparrow.thrift.TFullTaskId)value);
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("submitJobs_args(");
+      boolean first = true;
+
+      sb.append("requests:");
+      if (this.requests == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.requests);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class submitJobs_argsStandardSchemeFactory implements SchemeFactory {
+      public submitJobs_argsStandardScheme getScheme() {
+        return new submitJobs_argsStandardScheme();
+      }
+    }
+
+    private static class submitJobs_argsStandardScheme extends StandardScheme<submitJobs_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, submitJobs_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // REQUESTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list0 = iprot.readListBegin();
+                  struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TSchedulingRequest>(_list0.size);
+                  for (int _i1 = 0; _i1 < _list0.size; ++_i1)
+                  {
+                    edu.berkeley.sparrow.thrift.TSchedulingRequest _elem2; // required
+                    _elem2 = new edu.berkeley.sparrow.thrift.TSchedulingRequest();
+                    _elem2.read(iprot);
+                    struct.requests.add(_elem2);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setRequestsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
         }
-        break;
+        iprot.readStructEnd();
 
-      case STATUS:
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, submitJobs_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.requests != null) {
+          oprot.writeFieldBegin(REQUESTS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.requests.size()));
+            for (edu.berkeley.sparrow.thrift.TSchedulingRequest _iter3 : struct.requests)
+            {
+              _iter3.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class submitJobs_argsTupleSchemeFactory implements SchemeFactory {
+      public submitJobs_argsTupleScheme getScheme() {
+        return new submitJobs_argsTupleScheme();
+      }
+    }
+
+    private static class submitJobs_argsTupleScheme extends TupleScheme<submitJobs_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, submitJobs_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetRequests()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetRequests()) {
+          {
+            oprot.writeI32(struct.requests.size());
+            for (edu.berkeley.sparrow.thrift.TSchedulingRequest _iter4 : struct.requests)
+            {
+              _iter4.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, submitJobs_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list5 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.requests = new ArrayList<edu.berkeley.sparrow.thrift.TSchedulingRequest>(_list5.size);
+            for (int _i6 = 0; _i6 < _list5.size; ++_i6)
+            {
+              edu.berkeley.sparrow.thrift.TSchedulingRequest _elem7; // required
+              _elem7 = new edu.berkeley.sparrow.thrift.TSchedulingRequest();
+              _elem7.read(iprot);
+              struct.requests.add(_elem7);
+            }
+          }
+          struct.setRequestsIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class submitJobs_result implements org.apache.thrift.TBase<submitJobs_result, submitJobs_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("submitJobs_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new submitJobs_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new submitJobs_resultTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TSubmitJobResult.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(submitJobs_result.class, metaDataMap);
+    }
+
+    public submitJobs_result() {
+    }
+
+    public submitJobs_result(
+      List<edu.berkeley.sparrow.thrift.TSubmitJobResult> success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public submitJobs_result(submitJobs_result other) {
+      if (other.isSetSuccess()) {
+        List<edu.berkeley.sparrow.thrift.TSubmitJobResult> __this__success = new ArrayList<edu.berkeley.sparrow.thrift.TSubmitJobResult>();
+        for (edu.berkeley.sparrow.thrift.TSubmitJobResult other_element : other.success) {
+          __this__success.add(new edu.berkeley.sparrow.thrift.TSubmitJobResult(other_element));
+        }
+        this.success = __this__success;
+      }
+    }
+
+    public submitJobs_result deepCopy() {
+      return new submitJobs_result(this);
+    }
+
+    public void clear() {
+      this.success = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TSubmitJobResult> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(edu.berkeley.sparrow.thrift.TSubmitJobResult elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<edu.berkeley.sparrow.thrift.TSubmitJobResult>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TSubmitJobResult> getSuccess() {
+      return this.success;
+    }
+
+    public submitJobs_result setSuccess(List<edu.berkeley.sparrow.thrift.TSubmitJobResult> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
         if (value == null) {
-          unsetStatus();
+          unsetSuccess();
         } else {
-          setStatus((Integer)value);
+          setSuccess((List<edu.berkeley.sparrow.thrift.TSubmitJobResult>)value);
         }
         break;
 
-      case MESSAGE:
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof submitJobs_result)
+        return this.equals((submitJobs_result)that);
+      return false;
+    }
+
+    public boolean equals(submitJobs_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(submitJobs_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      submitJobs_result typedOther = (submitJobs_result)other;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, typedOther.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("submitJobs_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class submitJobs_resultStandardSchemeFactory implements SchemeFactory {
+      public submitJobs_resultStandardScheme getScheme() {
+        return new submitJobs_resultStandardScheme();
+      }
+    }
+
+    private static class submitJobs_resultStandardScheme extends StandardScheme<submitJobs_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, submitJobs_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list8 = iprot.readListBegin();
+                  struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TSubmitJobResult>(_list8.size);
+                  for (int _i9 = 0; _i9 < _list8.size; ++_i9)
+                  {
+                    edu.berkeley.sparrow.thrift.TSubmitJobResult _elem10; // required
+                    _elem10 = new edu.berkeley.sparrow.thrift.TSubmitJobResult();
+                    _elem10.read(iprot);
+                    struct.success.add(_elem10);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, submitJobs_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (edu.berkeley.sparrow.thrift.TSubmitJobResult _iter11 : struct.success)
+            {
+              _iter11.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class submitJobs_resultTupleSchemeFactory implements SchemeFactory {
+      public submitJobs_resultTupleScheme getScheme() {
+        return new submitJobs_resultTupleScheme();
+      }
+    }
+
+    private static class submitJobs_resultTupleScheme extends TupleScheme<submitJobs_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, submitJobs_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (edu.berkeley.sparrow.thrift.TSubmitJobResult _iter12 : struct.success)
+            {
+              _iter12.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, submitJobs_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TList _list13 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<edu.berkeley.sparrow.thrift.TSubmitJobResult>(_list13.size);
+            for (int _i14 = 0; _i14 < _list13.size; ++_i14)
+            {
+              edu.berkeley.sparrow.thrift.TSubmitJobResult _elem15; // required
+              _elem15 = new edu.berkeley.sparrow.thrift.TSubmitJobResult();
+              _elem15.read(iprot);
+              struct.success.add(_elem15);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class sendFrontendMessage_args implements org.apache.thrift.TBase<sendFrontendMessage_args, sendFrontendMessage_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessage_args");
+
+    private static final org.apache.thrift.protocol.TField APP_FIELD_DESC = new org.apache.thrift.protocol.TField("app", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField TASK_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("taskId", org.apache.thrift.protocol.TType.STRUCT, (short)2);
+    private static final org.apache.thrift.protocol.TField STATUS_FIELD_DESC = new org.apache.thrift.protocol.TField("status", org.apache.thrift.protocol.TType.I32, (short)3);
+    private static final org.apache.thrift.protocol.TField MESSAGE_FIELD_DESC = new org.apache.thrift.protocol.TField("message", org.apache.thrift.protocol.TType.STRING, (short)4);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new sendFrontendMessage_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessage_argsTupleSchemeFactory());
+    }
+
+    public String app; // required
+    public edu.berkeley.sparrow.thrift.TFullTaskId taskId; // required
+    public int status; // required
+    public ByteBuffer message; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      APP((short)1, "app"),
+      TASK_ID((short)2, "taskId"),
+      STATUS((short)3, "status"),
+      MESSAGE((short)4, "message");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // APP
+            return APP;
+          case 2: // TASK_ID
+            return TASK_ID;
+          case 3: // STATUS
+            return STATUS;
+          case 4: // MESSAGE
+            return MESSAGE;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __STATUS_ISSET_ID = 0;
+    private BitSet __isset_bit_vector = new BitSet(1);
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.APP, new org.apache.thrift.meta_data.FieldMetaData("app", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.TASK_ID, new org.apache.thrift.meta_data.FieldMetaData("taskId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TFullTaskId.class)));
+      tmpMap.put(_Fields.STATUS, new org.apache.thrift.meta_data.FieldMetaData("status", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.MESSAGE, new org.apache.thrift.meta_data.FieldMetaData("message", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING          , true)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessage_args.class, metaDataMap);
+    }
+
+    public sendFrontendMessage_args() {
+    }
+
+    public sendFrontendMessage_args(
+      String app,
+      edu.berkeley.sparrow.thrift.TFullTaskId taskId,
+      int status,
+      ByteBuffer message)
+    {
+      this();
+      this.app = app;
+      this.taskId = taskId;
+      this.status = status;
+      setStatusIsSet(true);
+      this.message = message;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public sendFrontendMessage_args(sendFrontendMessage_args other) {
+      __isset_bit_vector.clear();
+      __isset_bit_vector.or(other.__isset_bit_vector);
+      if (other.isSetApp()) {
+        this.app = other.app;
+      }
+      if (other.isSetTaskId()) {
+        this.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId(other.taskId);
+      }
+      this.status = other.status;
+      if (other.isSetMessage()) {
+        this.message = org.apache.thrift.TBaseHelper.copyBinary(other.message);
+;
+      }
+    }
+
+    public sendFrontendMessage_args deepCopy() {
+      return new sendFrontendMessage_args(this);
+    }
+
+    public void clear() {
+      this.app = null;
+      this.taskId = null;
+      setStatusIsSet(false);
+      this.status = 0;
+      this.message = null;
+    }
+
+    public String getApp() {
+      return this.app;
+    }
+
+    public sendFrontendMessage_args setApp(String app) {
+      this.app = app;
+      return this;
+    }
+
+    public void unsetApp() {
+      this.app = null;
+    }
+
+    /** Returns true if field app is set (has been assigned a value) and false otherwise */
+    public boolean isSetApp() {
+      return this.app != null;
+    }
+
+    public void setAppIsSet(boolean value) {
+      if (!value) {
+        this.app = null;
+      }
+    }
+
+    public edu.berkeley.sparrow.thrift.TFullTaskId getTaskId() {
+      return this.taskId;
+    }
+
+    public sendFrontendMessage_args setTaskId(edu.berkeley.sparrow.thrift.TFullTaskId taskId) {
+      this.taskId = taskId;
+      return this;
+    }
+
+    public void unsetTaskId() {
+      this.taskId = null;
+    }
+
+    /** Returns true if field taskId is set (has been assigned a value) and false otherwise */
+    public boolean isSetTaskId() {
+      return this.taskId != null;
+    }
+
+    public void setTaskIdIsSet(boolean value) {
+      if (!value) {
+        this.taskId = null;
+      }
+    }
+
+    public int getStatus() {
+      return this.status;
+    }
+
+    public sendFrontendMessage_args setStatus(int status) {
+      this.status = status;
+      setStatusIsSet(true);
+      return this;
+    }
+
+    public void unsetStatus() {
+      __isset_bit_vector.clear(__STATUS_ISSET_ID);
+    }
+
+    /** Returns true if field status is set (has been assigned a value) and false otherwise */
+    public boolean isSetStatus() {
+      return __isset_bit_vector.get(__STATUS_ISSET_ID);
+    }
+
+    public void setStatusIsSet(boolean value) {
+      __isset_bit_vector.set(__STATUS_ISSET_ID, value);
+    }
+
+    public byte[] getMessage() {
+      setMessage(org.apache.thrift.TBaseHelper.rightSize(message));
+      return message == null ? null : message.array();
+    }
+
+    public ByteBuffer bufferForMessage() {
+      return message;
+    }
+
+    public sendFrontendMessage_args setMessage(byte[] message) {
+      setMessage(message == null ? (ByteBuffer)null : ByteBuffer.wrap(message));
+      return this;
+    }
+
+    public sendFrontendMessage_args setMessage(ByteBuffer message) {
+      this.message = message;
+      return this;
+    }
+
+    public void unsetMessage() {
+      this.message = null;
+    }
+
+    /** Returns true if field message is set (has been assigned a value) and false otherwise */
+    public boolean isSetMessage() {
+      return this.message != null;
+    }
+
+    public void setMessageIsSet(boolean value) {
+      if (!value) {
+        this.message = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case APP:
+        if (value == null) {
+          unsetApp();
+        } else {
+          setApp((String)value);
+        }
+        break;
+
+      case TASK_ID:
+        if (value == null) {
+          unsetTaskId();
+        } else {
+          setTaskId((edu.berkeley.sparrow.thrift.TFullTaskId)value);
+        }
+        break;
+
+      case STATUS:
+        if (value == null) {
+          unsetStatus();
+        } else {
+          setStatus((Integer)value);
+        }
+        break;
+
+      case MESSAGE:
+        if (value == null) {
+          unsetMessage();
+        } else {
+          setMessage((ByteBuffer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case APP:
+        return getApp();
+
+      case TASK_ID:
+        return getTaskId();
+
+      case STATUS:
+        return Integer.valueOf(getStatus());
+
+      case MESSAGE:
+        return getMessage();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case APP:
+        return isSetApp();
+      case TASK_ID:
+        return isSetTaskId();
+      case STATUS:
+        return isSetStatus();
+      case MESSAGE:
+        return isSetMessage();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof sendFrontendMessage_args)
+        return this.equals((sendFrontendMessage_args)that);
+      return false;
+    }
+
+    public boolean equals(sendFrontendMessage_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_app = true && this.isSetApp();
+      boolean that_present_app = true && that.isSetApp();
+      if (this_present_app || that_present_app) {
+        if (!(this_present_app && that_present_app))
+          return false;
+        if (!this.app.equals(that.app))
+          return false;
+      }
+
+      boolean this_present_taskId = true && this.isSetTaskId();
+      boolean that_present_taskId = true && that.isSetTaskId();
+      if (this_present_taskId || that_present_taskId) {
+        if (!(this_present_taskId && that_present_taskId))
+          return false;
+        if (!this.taskId.equals(that.taskId))
+          return false;
+      }
+
+      boolean this_present_status = true;
+      boolean that_present_status = true;
+      if (this_present_status || that_present_status) {
+        if (!(this_present_status && that_present_status))
+          return false;
+        if (this.status != that.status)
+          return false;
+      }
+
+      boolean this_present_message = true && this.isSetMessage();
+      boolean that_present_message = true && that.isSetMessage();
+      if (this_present_message || that_present_message) {
+        if (!(this_present_message && that_present_message))
+          return false;
+        if (!this.message.equals(that.message))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(sendFrontendMessage_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      sendFrontendMessage_args typedOther = (sendFrontendMessage_args)other;
+
+      lastComparison = Boolean.valueOf(isSetApp()).compareTo(typedOther.isSetApp());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetApp()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.app, typedOther.app);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetTaskId()).compareTo(typedOther.isSetTaskId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTaskId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.taskId, typedOther.taskId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetStatus()).compareTo(typedOther.isSetStatus());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetStatus()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.status, typedOther.status);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMessage()).compareTo(typedOther.isSetMessage());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMessage()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.message, typedOther.message);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("sendFrontendMessage_args(");
+      boolean first = true;
+
+      sb.append("app:");
+      if (this.app == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.app);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("taskId:");
+      if (this.taskId == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.taskId);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("status:");
+      sb.append(this.status);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("message:");
+      if (this.message == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.message, sb);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bit_vector = new BitSet(1);
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class sendFrontendMessage_argsStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessage_argsStandardScheme getScheme() {
+        return new sendFrontendMessage_argsStandardScheme();
+      }
+    }
+
+    private static class sendFrontendMessage_argsStandardScheme extends StandardScheme<sendFrontendMessage_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // APP
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.app = iprot.readString();
+                struct.setAppIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // TASK_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId();
+                struct.taskId.read(iprot);
+                struct.setTaskIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // STATUS
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.status = iprot.readI32();
+                struct.setStatusIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 4: // MESSAGE
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.message = iprot.readBinary();
+                struct.setMessageIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.app != null) {
+          oprot.writeFieldBegin(APP_FIELD_DESC);
+          oprot.writeString(struct.app);
+          oprot.writeFieldEnd();
+        }
+        if (struct.taskId != null) {
+          oprot.writeFieldBegin(TASK_ID_FIELD_DESC);
+          struct.taskId.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(STATUS_FIELD_DESC);
+        oprot.writeI32(struct.status);
+        oprot.writeFieldEnd();
+        if (struct.message != null) {
+          oprot.writeFieldBegin(MESSAGE_FIELD_DESC);
+          oprot.writeBinary(struct.message);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class sendFrontendMessage_argsTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessage_argsTupleScheme getScheme() {
+        return new sendFrontendMessage_argsTupleScheme();
+      }
+    }
+
+    private static class sendFrontendMessage_argsTupleScheme extends TupleScheme<sendFrontendMessage_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetApp()) {
+          optionals.set(0);
+        }
+        if (struct.isSetTaskId()) {
+          optionals.set(1);
+        }
+        if (struct.isSetStatus()) {
+          optionals.set(2);
+        }
+        if (struct.isSetMessage()) {
+          optionals.set(3);
+        }
+        oprot.writeBitSet(optionals, 4);
+        if (struct.isSetApp()) {
+          oprot.writeString(struct.app);
+        }
+        if (struct.isSetTaskId()) {
+          struct.taskId.write(oprot);
+        }
+        if (struct.isSetStatus()) {
+          oprot.writeI32(struct.status);
+        }
+        if (struct.isSetMessage()) {
+          oprot.writeBinary(struct.message);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(4);
+        if (incoming.get(0)) {
+          struct.app = iprot.readString();
+          struct.setAppIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId();
+          struct.taskId.read(iprot);
+          struct.setTaskIdIsSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.status = iprot.readI32();
+          struct.setStatusIsSet(true);
+        }
+        if (incoming.get(3)) {
+          struct.message = iprot.readBinary();
+          struct.setMessageIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class sendFrontendMessage_result implements org.apache.thrift.TBase<sendFrontendMessage_result, sendFrontendMessage_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessage_result");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new sendFrontendMessage_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessage_resultTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessage_result.class, metaDataMap);
+    }
+
+    public sendFrontendMessage_result() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public sendFrontendMessage_result(sendFrontendMessage_result other) {
+    }
+
+    public sendFrontendMessage_result deepCopy() {
+      return new sendFrontendMessage_result(this);
+    }
+
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof sendFrontendMessage_result)
+        return this.equals((sendFrontendMessage_result)that);
+      return false;
+    }
+
+    public boolean equals(sendFrontendMessage_result that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+
+    public int compareTo(sendFrontendMessage_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+      sendFrontendMessage_result typedOther = (sendFrontendMessage_result)other;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("sendFrontendMessage_result(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te.getMessage());
+      }
+    }
+
+    private static class sendFrontendMessage_resultStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessage_resultStandardScheme getScheme() {
+        return new sendFrontendMessage_resultStandardScheme();
+      }
+    }
+
+    private static class sendFrontendMessage_resultStandardScheme extends StandardScheme<sendFrontendMessage_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class sendFrontendMessage_resultTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessage_resultTupleScheme getScheme() {
+        return new sendFrontendMessage_resultTupleScheme();
+      }
+    }
+
+    private static class sendFrontendMessage_resultTupleScheme extends TupleScheme<sendFrontendMessage_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class sendFrontendMessages_args implements org.apache.thrift.TBase<sendFrontendMessages_args, sendFrontendMessages_args._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessages_args");
+
+    private static final org.apache.thrift.protocol.TField MESSAGES_FIELD_DESC = new org.apache.thrift.protocol.TField("messages", org.apache.thrift.protocol.TType.LIST, (short)1);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new sendFrontendMessages_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessages_argsTupleSchemeFactory());
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MESSAGES((short)1, "messages");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MESSAGES
+            return MESSAGES;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MESSAGES, new org.apache.thrift.meta_data.FieldMetaData("messages", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, edu.berkeley.sparrow.thrift.TFrontendMessage.class))));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessages_args.class, metaDataMap);
+    }
+
+    public sendFrontendMessages_args() {
+    }
+
+    public sendFrontendMessages_args(
+      List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages)
+    {
+      this();
+      this.messages = messages;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public sendFrontendMessages_args(sendFrontendMessages_args other) {
+      if (other.isSetMessages()) {
+        List<edu.berkeley.sparrow.thrift.TFrontendMessage> __this__messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>();
+        for (edu.berkeley.sparrow.thrift.TFrontendMessage other_element : other.messages) {
+          __this__messages.add(new edu.berkeley.sparrow.thrift.TFrontendMessage(other_element));
+        }
+        this.messages = __this__messages;
+      }
+    }
+
+    public sendFrontendMessages_args deepCopy() {
+      return new sendFrontendMessages_args(this);
+    }
+
+    public void clear() {
+      this.messages = null;
+    }
+
+    public int getMessagesSize() {
+      return (this.messages == null) ? 0 : this.messages.size();
+    }
+
+    public java.util.Iterator<edu.berkeley.sparrow.thrift.TFrontendMessage> getMessagesIterator() {
+      return (this.messages == null) ? null : this.messages.iterator();
+    }
+
+    public void addToMessages(edu.berkeley.sparrow.thrift.TFrontendMessage elem) {
+      if (this.messages == null) {
+        this.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>();
+      }
+      this.messages.add(elem);
+    }
+
+    public List<edu.berkeley.sparrow.thrift.TFrontendMessage> getMessages() {
+      return this.messages;
+    }
+
+    public sendFrontendMessages_args setMessages(List<edu.berkeley.sparrow.thrift.TFrontendMessage> messages) {
+      this.messages = messages;
+      return this;
+    }
+
+    public void unsetMessages() {
+      this.messages = null;
+    }
+
+    /** Returns true if field messages is set (has been assigned a value) and false otherwise */
+    public boolean isSetMessages() {
+      return this.messages != null;
+    }
+
+    public void setMessagesIsSet(boolean value) {
+      if (!value) {
+        this.messages = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case MESSAGES:
         if (value == null) {
-          unsetMessage();
+          unsetMessages();
         } else {
-          setMessage((ByteBuffer)value);
+          setMessages((List<edu.berkeley.sparrow.thrift.TFrontendMessage>)value);
         }
         break;
 
@@ -2146,17 +3886,8 @@ public class SchedulerService {
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
-      case APP:
-        return getApp();
-
-      case TASK_ID:
-        return getTaskId();
-
-      case STATUS:
-        return Integer.valueOf(getStatus());
-
-      case MESSAGE:
-        return getMessage();
+      case MESSAGES:
+        return getMessages();
 
       }
       throw new IllegalStateException();
@@ -2169,14 +3900,8 @@ public class SchedulerService {
       }
 
       switch (field) {
-      case APP:
-        return isSetApp();
-      case TASK_ID:
-        return isSetTaskId();
-      case STATUS:
-        return isSetStatus();
-      case MESSAGE:
-        return isSetMessage();
+      case MESSAGES:
+        return isSetMessages();
       }
       throw new IllegalStateException();
     }
@@ -2185,48 +3910,21 @@ public class SchedulerService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof sendFrontendMessage_args)
-        return this.equals((sendFrontendMessage_args)that);
+      if (that instanceof sendFrontendMessages_args)
+        return this.equals((sendFrontendMessages_args)that);
       return false;
     }
 
-    public boolean equals(sendFrontendMessage_args that) {
+    public boolean equals(sendFrontendMessages_args that) {
       if (that == null)
         return false;
 
-      boolean this_present_app = true && this.isSetApp();
-      boolean that_present_app = true && that.isSetApp();
-      if (this_present_app || that_present_app) {
-        if (!(this_present_app && that_present_app))
-          return false;
-        if (!this.app.equals(that.app))
-          return false;
-      }
-
-      boolean this_present_taskId = true && this.isSetTaskId();
-      boolean that_present_taskId = true && that.isSetTaskId();
-      if (this_present_taskId || that_present_taskId) {
-        if (!(this_present_taskId && that_present_taskId))
-          return false;
-        if (!this.taskId.equals(that.taskId))
-          return false;
-      }
-
-      boolean this_present_status = true;
-      boolean that_present_status = true;
-      if (this_present_status || that_present_status) {
-        if (!(this_present_status && that_present_status))
-          return false;
-        if (this.status != that.status)
-          return false;
-      }
-
-      boolean this_present_message = true && this.isSetMessage();
-      boolean that_present_message = true && that.isSetMessage();
-      if (this_present_message || that_present_message) {
-        if (!(this_present_message && that_present_message))
+      boolean this_present_messages = true && this.isSetMessages();
+      boolean that_present_messages = true && that.isSetMessages();
+      if (this_present_messages || that_present_messages) {
+        if (!(this_present_messages && that_present_messages))
           return false;
-        if (!this.message.equals(that.message))
+        if (!this.messages.equals(that.messages))
           return false;
       }
 
@@ -2238,50 +3936,20 @@ public class SchedulerService {
       return 0;
     }
 
-    public int compareTo(sendFrontendMessage_args other) {
+    public int compareTo(sendFrontendMessages_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      sendFrontendMessage_args typedOther = (sendFrontendMessage_args)other;
+      sendFrontendMessages_args typedOther = (sendFrontendMessages_args)other;
 
-      lastComparison = Boolean.valueOf(isSetApp()).compareTo(typedOther.isSetApp());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetApp()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.app, typedOther.app);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetTaskId()).compareTo(typedOther.isSetTaskId());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetTaskId()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.taskId, typedOther.taskId);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetStatus()).compareTo(typedOther.isSetStatus());
-      if (lastComparison != 0) {
-        return lastComparison;
-      }
-      if (isSetStatus()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.status, typedOther.status);
-        if (lastComparison != 0) {
-          return lastComparison;
-        }
-      }
-      lastComparison = Boolean.valueOf(isSetMessage()).compareTo(typedOther.isSetMessage());
+      lastComparison = Boolean.valueOf(isSetMessages()).compareTo(typedOther.isSetMessages());
       if (lastComparison != 0) {
         return lastComparison;
       }
-      if (isSetMessage()) {
-        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.message, typedOther.message);
+      if (isSetMessages()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.messages, typedOther.messages);
         if (lastComparison != 0) {
           return lastComparison;
         }
@@ -2303,34 +3971,14 @@ public class SchedulerService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("sendFrontendMessage_args(");
+      StringBuilder sb = new StringBuilder("sendFrontendMessages_args(");
       boolean first = true;
 
-      sb.append("app:");
-      if (this.app == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.app);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("taskId:");
-      if (this.taskId == null) {
-        sb.append("null");
-      } else {
-        sb.append(this.taskId);
-      }
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("status:");
-      sb.append(this.status);
-      first = false;
-      if (!first) sb.append(", ");
-      sb.append("message:");
-      if (this.message == null) {
+      sb.append("messages:");
+      if (this.messages == null) {
         sb.append("null");
       } else {
-        org.apache.thrift.TBaseHelper.toString(this.message, sb);
+        sb.append(this.messages);
       }
       first = false;
       sb.append(")");
@@ -2351,23 +3999,21 @@ public class SchedulerService {
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
       try {
-        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
-        __isset_bit_vector = new BitSet(1);
         read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
       } catch (org.apache.thrift.TException te) {
         throw new java.io.IOException(te.getMessage());
       }
     }
 
-    private static class sendFrontendMessage_argsStandardSchemeFactory implements SchemeFactory {
-      public sendFrontendMessage_argsStandardScheme getScheme() {
-        return new sendFrontendMessage_argsStandardScheme();
+    private static class sendFrontendMessages_argsStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_argsStandardScheme getScheme() {
+        return new sendFrontendMessages_argsStandardScheme();
       }
     }
 
-    private static class sendFrontendMessage_argsStandardScheme extends StandardScheme<sendFrontendMessage_args> {
+    private static class sendFrontendMessages_argsStandardScheme extends StandardScheme<sendFrontendMessages_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2377,35 +4023,21 @@ public class SchedulerService {
             break;
           }
           switch (schemeField.id) {
-            case 1: // APP
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.app = iprot.readString();
-                struct.setAppIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 2: // TASK_ID
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId();
-                struct.taskId.read(iprot);
-                struct.setTaskIdIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 3: // STATUS
-              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
-                struct.status = iprot.readI32();
-                struct.setStatusIsSet(true);
-              } else { 
-                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
-              }
-              break;
-            case 4: // MESSAGE
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
-                struct.message = iprot.readBinary();
-                struct.setMessageIsSet(true);
+            case 1: // MESSAGES
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list16 = iprot.readListBegin();
+                  struct.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>(_list16.size);
+                  for (int _i17 = 0; _i17 < _list16.size; ++_i17)
+                  {
+                    edu.berkeley.sparrow.thrift.TFrontendMessage _elem18; // required
+                    _elem18 = new edu.berkeley.sparrow.thrift.TFrontendMessage();
+                    _elem18.read(iprot);
+                    struct.messages.add(_elem18);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setMessagesIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
               }
@@ -2421,26 +4053,20 @@ public class SchedulerService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
-        if (struct.app != null) {
-          oprot.writeFieldBegin(APP_FIELD_DESC);
-          oprot.writeString(struct.app);
-          oprot.writeFieldEnd();
-        }
-        if (struct.taskId != null) {
-          oprot.writeFieldBegin(TASK_ID_FIELD_DESC);
-          struct.taskId.write(oprot);
-          oprot.writeFieldEnd();
-        }
-        oprot.writeFieldBegin(STATUS_FIELD_DESC);
-        oprot.writeI32(struct.status);
-        oprot.writeFieldEnd();
-        if (struct.message != null) {
-          oprot.writeFieldBegin(MESSAGE_FIELD_DESC);
-          oprot.writeBinary(struct.message);
+        if (struct.messages != null) {
+          oprot.writeFieldBegin(MESSAGES_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.messages.size()));
+            for (edu.berkeley.sparrow.thrift.TFrontendMessage _iter19 : struct.messages)
+            {
+              _iter19.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -2449,79 +4075,64 @@ public class SchedulerService {
 
     }
 
-    private static class sendFrontendMessage_argsTupleSchemeFactory implements SchemeFactory {
-      public sendFrontendMessage_argsTupleScheme getScheme() {
-        return new sendFrontendMessage_argsTupleScheme();
+    private static class sendFrontendMessages_argsTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_argsTupleScheme getScheme() {
+        return new sendFrontendMessages_argsTupleScheme();
       }
     }
 
-    private static class sendFrontendMessage_argsTupleScheme extends TupleScheme<sendFrontendMessage_args> {
+    private static class sendFrontendMessages_argsTupleScheme extends TupleScheme<sendFrontendMessages_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
-        if (struct.isSetApp()) {
+        if (struct.isSetMessages()) {
           optionals.set(0);
         }
-        if (struct.isSetTaskId()) {
-          optionals.set(1);
-        }
-        if (struct.isSetStatus()) {
-          optionals.set(2);
-        }
-        if (struct.isSetMessage()) {
-          optionals.set(3);
-        }
-        oprot.writeBitSet(optionals, 4);
-        if (struct.isSetApp()) {
-          oprot.writeString(struct.app);
-        }
-        if (struct.isSetTaskId()) {
-          struct.taskId.write(oprot);
-        }
-        if (struct.isSetStatus()) {
-          oprot.writeI32(struct.status);
-        }
-        if (struct.isSetMessage()) {
-          oprot.writeBinary(struct.message);
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetMessages()) {
+          {
+            oprot.writeI32(struct.messages.size());
+            for (edu.berkeley.sparrow.thrift.TFrontendMessage _iter20 : struct.messages)
+            {
+              _iter20.write(oprot);
+            }
+          }
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
-        BitSet incoming = iprot.readBitSet(4);
+        BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.app = iprot.readString();
-          struct.setAppIsSet(true);
-        }
-        if (incoming.get(1)) {
-          struct.taskId = new edu.berkeley.sparrow.thrift.TFullTaskId();
-          struct.taskId.read(iprot);
-          struct.setTaskIdIsSet(true);
-        }
-        if (incoming.get(2)) {
-          struct.status = iprot.readI32();
-          struct.setStatusIsSet(true);
-        }
-        if (incoming.get(3)) {
-          struct.message = iprot.readBinary();
-          struct.setMessageIsSet(true);
+          {
+            org.apache.thrift.protocol.TList _list21 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.messages = new ArrayList<edu.berkeley.sparrow.thrift.TFrontendMessage>(_list21.size);
+            for (int _i22 = 0; _i22 < _list21.size; ++_i22)
+            {
+              edu.berkeley.sparrow.thrift.TFrontendMessage _elem23; // required
+              _elem23 = new edu.berkeley.sparrow.thrift.TFrontendMessage();
+              _elem23.read(iprot);
+              struct.messages.add(_elem23);
+            }
+          }
+          struct.setMessagesIsSet(true);
         }
       }
     }
 
   }
 
-  public static class sendFrontendMessage_result implements org.apache.thrift.TBase<sendFrontendMessage_result, sendFrontendMessage_result._Fields>, java.io.Serializable, Cloneable   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessage_result");
+  public static class sendFrontendMessages_result implements org.apache.thrift.TBase<sendFrontendMessages_result, sendFrontendMessages_result._Fields>, java.io.Serializable, Cloneable   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("sendFrontendMessages_result");
 
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new sendFrontendMessage_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new sendFrontendMessage_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new sendFrontendMessages_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new sendFrontendMessages_resultTupleSchemeFactory());
     }
 
 
@@ -2584,20 +4195,20 @@ public class SchedulerService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessage_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(sendFrontendMessages_result.class, metaDataMap);
     }
 
-    public sendFrontendMessage_result() {
+    public sendFrontendMessages_result() {
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public sendFrontendMessage_result(sendFrontendMessage_result other) {
+    public sendFrontendMessages_result(sendFrontendMessages_result other) {
     }
 
-    public sendFrontendMessage_result deepCopy() {
-      return new sendFrontendMessage_result(this);
+    public sendFrontendMessages_result deepCopy() {
+      return new sendFrontendMessages_result(this);
     }
 
     public void clear() {
@@ -2629,12 +4240,12 @@ public class SchedulerService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof sendFrontendMessage_result)
-        return this.equals((sendFrontendMessage_result)that);
+      if (that instanceof sendFrontendMessages_result)
+        return this.equals((sendFrontendMessages_result)that);
       return false;
     }
 
-    public boolean equals(sendFrontendMessage_result that) {
+    public boolean equals(sendFrontendMessages_result that) {
       if (that == null)
         return false;
 
@@ -2646,13 +4257,13 @@ public class SchedulerService {
       return 0;
     }
 
-    public int compareTo(sendFrontendMessage_result other) {
+    public int compareTo(sendFrontendMessages_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
-      sendFrontendMessage_result typedOther = (sendFrontendMessage_result)other;
+      sendFrontendMessages_result typedOther = (sendFrontendMessages_result)other;
 
       return 0;
     }
@@ -2671,7 +4282,7 @@ public class SchedulerService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("sendFrontendMessage_result(");
+      StringBuilder sb = new StringBuilder("sendFrontendMessages_result(");
       boolean first = true;
 
       sb.append(")");
@@ -2698,15 +4309,15 @@ public class SchedulerService {
       }
     }
 
-    private static class sendFrontendMessage_resultStandardSchemeFactory implements SchemeFactory {
-      public sendFrontendMessage_resultStandardScheme getScheme() {
-        return new sendFrontendMessage_resultStandardScheme();
+    private static class sendFrontendMessages_resultStandardSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_resultStandardScheme getScheme() {
+        return new sendFrontendMessages_resultStandardScheme();
       }
     }
 
-    private static class sendFrontendMessage_resultStandardScheme extends StandardScheme<sendFrontendMessage_result> {
+    private static class sendFrontendMessages_resultStandardScheme extends StandardScheme<sendFrontendMessages_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -2727,7 +4338,7 @@ public class SchedulerService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
@@ -2737,21 +4348,21 @@ public class SchedulerService {
 
     }
 
-    private static class sendFrontendMessage_resultTupleSchemeFactory implements SchemeFactory {
-      public sendFrontendMessage_resultTupleScheme getScheme() {
-        return new sendFrontendMessage_resultTupleScheme();
+    private static class sendFrontendMessages_resultTupleSchemeFactory implements SchemeFactory {
+      public sendFrontendMessages_resultTupleScheme getScheme() {
+        return new sendFrontendMessages_resultTupleScheme();
       }
     }
 
-    private static class sendFrontendMessage_resultTupleScheme extends TupleScheme<sendFrontendMessage_result> {
+    private static class sendFrontendMessages_resultTupleScheme extends TupleScheme<sendFrontendMessages_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessage_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, sendFrontendMessages_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
       }
     }
@@ -478,16 +478,16 @@ public class SchedulerStateStoreService {
             case 1: // SNAPSHOT
               if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
                 {
-                  org.apache.thrift.protocol.TMap _map16 = iprot.readMapBegin();
-                  struct.snapshot = new HashMap<String,edu.berkeley.sparrow.thrift.TNodeState>(2*_map16.size);
-                  for (int _i17 = 0; _i17 < _map16.size; ++_i17)
+                  org.apache.thrift.protocol.TMap _map32 = iprot.readMapBegin();
+                  struct.snapshot = new HashMap<String,edu.berkeley.sparrow.thrift.TNodeState>(2*_map32.size);
+                  for (int _i33 = 0; _i33 < _map32.size; ++_i33)
                   {
-                    String _key18; // required
-                    edu.berkeley.sparrow.thrift.TNodeState _val19; // required
-                    _key18 = iprot.readString();
-                    _val19 = new edu.berkeley.sparrow.thrift.TNodeState();
-                    _val19.read(iprot);
-                    struct.snapshot.put(_key18, _val19);
+                    String _key34; // required
+                    edu.berkeley.sparrow.thrift.TNodeState _val35; // required
+                    _key34 = iprot.readString();
+                    _val35 = new edu.berkeley.sparrow.thrift.TNodeState();
+                    _val35.read(iprot);
+                    struct.snapshot.put(_key34, _val35);
                   }
                   iprot.readMapEnd();
                 }
@@ -515,10 +515,10 @@ public class SchedulerStateStoreService {
           oprot.writeFieldBegin(SNAPSHOT_FIELD_DESC);
           {
             oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, struct.snapshot.size()));
-            for (Map.Entry<String, edu.berkeley.sparrow.thrift.TNodeState> _iter20 : struct.snapshot.entrySet())
+            for (Map.Entry<String, edu.berkeley.sparrow.thrift.TNodeState> _iter36 : struct.snapshot.entrySet())
             {
-              oprot.writeString(_iter20.getKey());
-              _iter20.getValue().write(oprot);
+              oprot.writeString(_iter36.getKey());
+              _iter36.getValue().write(oprot);
             }
             oprot.writeMapEnd();
           }
@@ -549,10 +549,10 @@ public class SchedulerStateStoreService {
         if (struct.isSetSnapshot()) {
           {
             oprot.writeI32(struct.snapshot.size());
-            for (Map.Entry<String, edu.berkeley.sparrow.thrift.TNodeState> _iter21 : struct.snapshot.entrySet())
+            for (Map.Entry<String, edu.berkeley.sparrow.thrift.TNodeState> _iter37 : struct.snapshot.entrySet())
             {
-              oprot.writeString(_iter21.getKey());
-              _iter21.getValue().write(oprot);
+              oprot.writeString(_iter37.getKey());
+              _iter37.getValue().write(oprot);
             }
           }
         }
@@ -564,16 +564,16 @@ public class SchedulerStateStoreService {
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
           {
-            org.apache.thrift.protocol.TMap _map22 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
-            struct.snapshot = new HashMap<String,edu.berkeley.sparrow.thrift.TNodeState>(2*_map22.size);
-            for (int _i23 = 0; _i23 < _map22.size; ++_i23)
+            org.apache.thrift.protocol.TMap _map38 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.STRING, org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.snapshot = new HashMap<String,edu.berkeley.sparrow.thrift.TNodeState>(2*_map38.size);
+            for (int _i39 = 0; _i39 < _map38.size; ++_i39)
             {
-              String _key24; // required
-              edu.berkeley.sparrow.thrift.TNodeState _val25; // required
-              _key24 = iprot.readString();
-              _val25 = new edu.berkeley.sparrow.thrift.TNodeState();
-              _val25.read(iprot);
-              struct.snapshot.put(_key24, _val25);
+              String _key40; // required
+              edu.berkeley.sparrow.thrift.TNodeState _val41; // required
+              _key40 = iprot.readString();
+              _val41 = new edu.berkeley.sparrow.thrift.TNodeState();
+              _val41.read(iprot);
+              struct.snapshot.put(_key40, _val41);
             }
           }
           struct.setSnapshotIsSet(true);
@@ -35,6 +35,9 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
   private static final org.apache.thrift.protocol.TField REQUEST_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("requestId", org.apache.thrift.protocol.TType.STRING, (short)3);
   private static final org.apache.thrift.protocol.TField SCHEDULER_ADDRESS_FIELD_DESC = new org.apache.thrift.protocol.TField("schedulerAddress", org.apache.thrift.protocol.TType.STRUCT, (short)4);
   private static final org.apache.thrift.protocol.TField NUM_TASKS_FIELD_DESC = new org.apache.thrift.protocol.TField("numTasks", org.apache.thrift.protocol.TType.I32, (short)5);
+  private static final org.apache.thrift.protocol.TField REQUEST_HANDLE_FIELD_DESC = new org.apache.thrift.protocol.TField("requestHandle", org.apache.thrift.protocol.TType.I64, (short)6);
+  private static final org.apache.thrift.protocol.TField REARM_RESERVATIONS_FIELD_DESC = new org.apache.thrift.protocol.TField("rearmReservations", org.apache.thrift.protocol.TType.BOOL, (short)7);
+  private static final org.apache.thrift.protocol.TField FRONTEND_ADDRESS_FIELD_DESC = new org.apache.thrift.protocol.TField("frontendAddress", org.apache.thrift.protocol.TType.STRUCT, (short)8);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -47,6 +50,9 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
   public String requestId; // required
   public THostPort schedulerAddress; // required
   public int numTasks; // required
+  public long requestHandle; // optional
+  public boolean rearmReservations; // optional
+  public THostPort frontendAddress; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -54,7 +60,10 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
     USER((short)2, "user"),
     REQUEST_ID((short)3, "requestId"),
     SCHEDULER_ADDRESS((short)4, "schedulerAddress"),
-    NUM_TASKS((short)5, "numTasks");
+    NUM_TASKS((short)5, "numTasks"),
+    REQUEST_HANDLE((short)6, "requestHandle"),
+    REARM_RESERVATIONS((short)7, "rearmReservations"),
+    FRONTEND_ADDRESS((short)8, "frontendAddress");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -79,6 +88,12 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
           return SCHEDULER_ADDRESS;
         case 5: // NUM_TASKS
           return NUM_TASKS;
+        case 6: // REQUEST_HANDLE
+          return REQUEST_HANDLE;
+        case 7: // REARM_RESERVATIONS
+          return REARM_RESERVATIONS;
+        case 8: // FRONTEND_ADDRESS
+          return FRONTEND_ADDRESS;
         default:
           return null;
       }
@@ -120,7 +135,10 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
 
   // isset id assignments
   private static final int __NUMTASKS_ISSET_ID = 0;
-  private BitSet __isset_bit_vector = new BitSet(1);
+  private static final int __REQUESTHANDLE_ISSET_ID = 1;
+  private static final int __REARMRESERVATIONS_ISSET_ID = 2;
+  private BitSet __isset_bit_vector = new BitSet(3);
+  private _Fields optionals[] = {_Fields.REQUEST_HANDLE,_Fields.REARM_RESERVATIONS,_Fields.FRONTEND_ADDRESS};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -134,6 +152,12 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, THostPort.class)));
     tmpMap.put(_Fields.NUM_TASKS, new org.apache.thrift.meta_data.FieldMetaData("numTasks", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.REQUEST_HANDLE, new org.apache.thrift.meta_data.FieldMetaData("requestHandle", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.REARM_RESERVATIONS, new org.apache.thrift.meta_data.FieldMetaData("rearmReservations", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
+    tmpMap.put(_Fields.FRONTEND_ADDRESS, new org.apache.thrift.meta_data.FieldMetaData("frontendAddress", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, THostPort.class)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TEnqueueTaskReservationsRequest.class, metaDataMap);
   }
@@ -176,6 +200,11 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       this.schedulerAddress = new THostPort(other.schedulerAddress);
     }
     this.numTasks = other.numTasks;
+    this.requestHandle = other.requestHandle;
+    this.rearmReservations = other.rearmReservations;
+    if (other.isSetFrontendAddress()) {
+      this.frontendAddress = new THostPort(other.frontendAddress);
+    }
   }
 
   public TEnqueueTaskReservationsRequest deepCopy() {
@@ -189,6 +218,11 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
     this.schedulerAddress = null;
     setNumTasksIsSet(false);
     this.numTasks = 0;
+    setRequestHandleIsSet(false);
+    this.requestHandle = 0;
+    setRearmReservationsIsSet(false);
+    this.rearmReservations = false;
+    this.frontendAddress = null;
   }
 
   public String getAppId() {
@@ -310,6 +344,76 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
     __isset_bit_vector.set(__NUMTASKS_ISSET_ID, value);
   }
 
+  public long getRequestHandle() {
+    return this.requestHandle;
+  }
+
+  public TEnqueueTaskReservationsRequest setRequestHandle(long requestHandle) {
+    this.requestHandle = requestHandle;
+    setRequestHandleIsSet(true);
+    return this;
+  }
+
+  public void unsetRequestHandle() {
+    __isset_bit_vector.clear(__REQUESTHANDLE_ISSET_ID);
+  }
+
+  /** Returns true if field requestHandle is set (has been assigned a value) and false otherwise */
+  public boolean isSetRequestHandle() {
+    return __isset_bit_vector.get(__REQUESTHANDLE_ISSET_ID);
+  }
+
+  public void setRequestHandleIsSet(boolean value) {
+    __isset_bit_vector.set(__REQUESTHANDLE_ISSET_ID, value);
+  }
+
+  public boolean isRearmReservations() {
+    return this.rearmReservations;
+  }
+
+  public TEnqueueTaskReservationsRequest setRearmReservations(boolean rearmReservations) {
+    this.rearmReservations = rearmReservations;
+    setRearmReservationsIsSet(true);
+    return this;
+  }
+
+  public void unsetRearmReservations() {
+    __isset_bit_vector.clear(__REARMRESERVATIONS_ISSET_ID);
+  }
+
+  /** Returns true if field rearmReservations is set (has been assigned a value) and false otherwise */
+  public boolean isSetRearmReservations() {
+    return __isset_bit_vector.get(__REARMRESERVATIONS_ISSET_ID);
+  }
+
+  public void setRearmReservationsIsSet(boolean value) {
+    __isset_bit_vector.set(__REARMRESERVATIONS_ISSET_ID, value);
+  }
+
+  public THostPort getFrontendAddress() {
+    return this.frontendAddress;
+  }
+
+  public TEnqueueTaskReservationsRequest setFrontendAddress(THostPort frontendAddress) {
+    this.frontendAddress = frontendAddress;
+    return this;
+  }
+
+  public void unsetFrontendAddress() {
+    this.frontendAddress = null;
+  }
+
+  /** Returns true if field frontendAddress is set (has been assigned a value) and false otherwise */
+  public boolean isSetFrontendAddress() {
+    return this.frontendAddress != null;
+  }
+
+  public void setFrontendAddressIsSet(boolean value) {
+    if (!value) {
+      this.frontendAddress = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case APP_ID:
@@ -352,6 +456,30 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       }
       break;
 
+    case REQUEST_HANDLE:
+      if (value == null) {
+        unsetRequestHandle();
+      } else {
+        setRequestHandle((Long)value);
+      }
+      break;
+
+    case REARM_RESERVATIONS:
+      if (value == null) {
+        unsetRearmReservations();
+      } else {
+        setRearmReservations((Boolean)value);
+      }
+      break;
+
+    case FRONTEND_ADDRESS:
+      if (value == null) {
+        unsetFrontendAddress();
+      } else {
+        setFrontendAddress((THostPort)value);
+      }
+      break;
+
     }
   }
 
@@ -372,6 +500,15 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
     case NUM_TASKS:
       return Integer.valueOf(getNumTasks());
 
+    case REQUEST_HANDLE:
+      return Long.valueOf(getRequestHandle());
+
+    case REARM_RESERVATIONS:
+      return Boolean.valueOf(isRearmReservations());
+
+    case FRONTEND_ADDRESS:
+      return getFrontendAddress();
+
     }
     throw new IllegalStateException();
   }
@@ -393,6 +530,12 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       return isSetSchedulerAddress();
     case NUM_TASKS:
       return isSetNumTasks();
+    case REQUEST_HANDLE:
+      return isSetRequestHandle();
+    case REARM_RESERVATIONS:
+      return isSetRearmReservations();
+    case FRONTEND_ADDRESS:
+      return isSetFrontendAddress();
     }
     throw new IllegalStateException();
   }
@@ -455,6 +598,33 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
         return false;
     }
 
+    boolean this_present_requestHandle = true && this.isSetRequestHandle();
+    boolean that_present_requestHandle = true && that.isSetRequestHandle();
+    if (this_present_requestHandle || that_present_requestHandle) {
+      if (!(this_present_requestHandle && that_present_requestHandle))
+        return false;
+      if (this.requestHandle != that.requestHandle)
+        return false;
+    }
+
+    boolean this_present_rearmReservations = true && this.isSetRearmReservations();
+    boolean that_present_rearmReservations = true && that.isSetRearmReservations();
+    if (this_present_rearmReservations || that_present_rearmReservations) {
+      if (!(this_present_rearmReservations && that_present_rearmReservations))
+        return false;
+      if (this.rearmReservations != that.rearmReservations)
+        return false;
+    }
+
+    boolean this_present_frontendAddress = true && this.isSetFrontendAddress();
+    boolean that_present_frontendAddress = true && that.isSetFrontendAddress();
+    if (this_present_frontendAddress || that_present_frontendAddress) {
+      if (!(this_present_frontendAddress && that_present_frontendAddress))
+        return false;
+      if (!this.frontendAddress.equals(that.frontendAddress))
+        return false;
+    }
+
     return true;
   }
 
@@ -521,6 +691,36 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetRequestHandle()).compareTo(typedOther.isSetRequestHandle());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRequestHandle()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requestHandle, typedOther.requestHandle);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetRearmReservations()).compareTo(typedOther.isSetRearmReservations());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRearmReservations()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.rearmReservations, typedOther.rearmReservations);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetFrontendAddress()).compareTo(typedOther.isSetFrontendAddress());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetFrontendAddress()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.frontendAddress, typedOther.frontendAddress);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -576,6 +776,28 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
     sb.append("numTasks:");
     sb.append(this.numTasks);
     first = false;
+    if (isSetRequestHandle()) {
+      if (!first) sb.append(", ");
+      sb.append("requestHandle:");
+      sb.append(this.requestHandle);
+      first = false;
+    }
+    if (isSetRearmReservations()) {
+      if (!first) sb.append(", ");
+      sb.append("rearmReservations:");
+      sb.append(this.rearmReservations);
+      first = false;
+    }
+    if (isSetFrontendAddress()) {
+      if (!first) sb.append(", ");
+      sb.append("frontendAddress:");
+      if (this.frontendAddress == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.frontendAddress);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -662,6 +884,31 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // REQUEST_HANDLE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.requestHandle = iprot.readI64();
+              struct.setRequestHandleIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // REARM_RESERVATIONS
+            if (schemeField.type == org.apache.thrift.protocol.TType.BOOL) {
+              struct.rearmReservations = iprot.readBool();
+              struct.setRearmReservationsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // FRONTEND_ADDRESS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.frontendAddress = new THostPort();
+              struct.frontendAddress.read(iprot);
+              struct.setFrontendAddressIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -700,6 +947,23 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       oprot.writeFieldBegin(NUM_TASKS_FIELD_DESC);
       oprot.writeI32(struct.numTasks);
       oprot.writeFieldEnd();
+      if (struct.isSetRequestHandle()) {
+        oprot.writeFieldBegin(REQUEST_HANDLE_FIELD_DESC);
+        oprot.writeI64(struct.requestHandle);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetRearmReservations()) {
+        oprot.writeFieldBegin(REARM_RESERVATIONS_FIELD_DESC);
+        oprot.writeBool(struct.rearmReservations);
+        oprot.writeFieldEnd();
+      }
+      if (struct.frontendAddress != null) {
+        if (struct.isSetFrontendAddress()) {
+          oprot.writeFieldBegin(FRONTEND_ADDRESS_FIELD_DESC);
+          struct.frontendAddress.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -733,7 +997,16 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       if (struct.isSetNumTasks()) {
         optionals.set(4);
       }
-      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetRequestHandle()) {
+        optionals.set(5);
+      }
+      if (struct.isSetRearmReservations()) {
+        optionals.set(6);
+      }
+      if (struct.isSetFrontendAddress()) {
+        optionals.set(7);
+      }
+      oprot.writeBitSet(optionals, 8);
       if (struct.isSetAppId()) {
         oprot.writeString(struct.appId);
       }
@@ -749,12 +1022,21 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
       if (struct.isSetNumTasks()) {
         oprot.writeI32(struct.numTasks);
       }
+      if (struct.isSetRequestHandle()) {
+        oprot.writeI64(struct.requestHandle);
+      }
+      if (struct.isSetRearmReservations()) {
+        oprot.writeBool(struct.rearmReservations);
+      }
+      if (struct.isSetFrontendAddress()) {
+        struct.frontendAddress.write(oprot);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TEnqueueTaskReservationsRequest struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(5);
+      BitSet incoming = iprot.readBitSet(8);
       if (incoming.get(0)) {
         struct.appId = iprot.readString();
         struct.setAppIdIsSet(true);
@@ -777,6 +1059,19 @@ public class TEnqueueTaskReservationsRequest implements org.apache.thrift.TBase<
         struct.numTasks = iprot.readI32();
         struct.setNumTasksIsSet(true);
       }
+      if (incoming.get(5)) {
+        struct.requestHandle = iprot.readI64();
+        struct.setRequestHandleIsSet(true);
+      }
+      if (incoming.get(6)) {
+        struct.rearmReservations = iprot.readBool();
+        struct.setRearmReservationsIsSet(true);
+      }
+      if (incoming.get(7)) {
+        struct.frontendAddress = new THostPort();
+        struct.frontendAddress.read(iprot);
+        struct.setFrontendAddressIsSet(true);
+      }
     }
   }
 
@@ -34,6 +34,7 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
   private static final org.apache.thrift.protocol.TField REQUEST_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("requestId", org.apache.thrift.protocol.TType.STRING, (short)2);
   private static final org.apache.thrift.protocol.TField APP_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("appId", org.apache.thrift.protocol.TType.STRING, (short)3);
   private static final org.apache.thrift.protocol.TField SCHEDULER_ADDRESS_FIELD_DESC = new org.apache.thrift.protocol.TField("schedulerAddress", org.apache.thrift.protocol.TType.STRUCT, (short)4);
+  private static final org.apache.thrift.protocol.TField REQUEST_HANDLE_FIELD_DESC = new org.apache.thrift.protocol.TField("requestHandle", org.apache.thrift.protocol.TType.I64, (short)5);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -45,13 +46,15 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
   public String requestId; // required
   public String appId; // required
   public THostPort schedulerAddress; // required
+  public long requestHandle; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     TASK_ID((short)1, "taskId"),
     REQUEST_ID((short)2, "requestId"),
     APP_ID((short)3, "appId"),
-    SCHEDULER_ADDRESS((short)4, "schedulerAddress");
+    SCHEDULER_ADDRESS((short)4, "schedulerAddress"),
+    REQUEST_HANDLE((short)5, "requestHandle");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -74,6 +77,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
           return APP_ID;
         case 4: // SCHEDULER_ADDRESS
           return SCHEDULER_ADDRESS;
+        case 5: // REQUEST_HANDLE
+          return REQUEST_HANDLE;
         default:
           return null;
       }
@@ -114,6 +119,9 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
   }
 
   // isset id assignments
+  private static final int __REQUESTHANDLE_ISSET_ID = 0;
+  private BitSet __isset_bit_vector = new BitSet(1);
+  private _Fields optionals[] = {_Fields.REQUEST_HANDLE};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -125,6 +133,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     tmpMap.put(_Fields.SCHEDULER_ADDRESS, new org.apache.thrift.meta_data.FieldMetaData("schedulerAddress", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, THostPort.class)));
+    tmpMap.put(_Fields.REQUEST_HANDLE, new org.apache.thrift.meta_data.FieldMetaData("requestHandle", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(TFullTaskId.class, metaDataMap);
   }
@@ -149,6 +159,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
    * Performs a deep copy on <i>other</i>.
    */
   public TFullTaskId(TFullTaskId other) {
+    __isset_bit_vector.clear();
+    __isset_bit_vector.or(other.__isset_bit_vector);
     if (other.isSetTaskId()) {
       this.taskId = other.taskId;
     }
@@ -161,6 +173,7 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
     if (other.isSetSchedulerAddress()) {
       this.schedulerAddress = new THostPort(other.schedulerAddress);
     }
+    this.requestHandle = other.requestHandle;
   }
 
   public TFullTaskId deepCopy() {
@@ -172,6 +185,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
     this.requestId = null;
     this.appId = null;
     this.schedulerAddress = null;
+    setRequestHandleIsSet(false);
+    this.requestHandle = 0;
   }
 
   public String getTaskId() {
@@ -270,6 +285,29 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
     }
   }
 
+  public long getRequestHandle() {
+    return this.requestHandle;
+  }
+
+  public TFullTaskId setRequestHandle(long requestHandle) {
+    this.requestHandle = requestHandle;
+    setRequestHandleIsSet(true);
+    return this;
+  }
+
+  public void unsetRequestHandle() {
+    __isset_bit_vector.clear(__REQUESTHANDLE_ISSET_ID);
+  }
+
+  /** Returns true if field requestHandle is set (has been assigned a value) and false otherwise */
+  public boolean isSetRequestHandle() {
+    return __isset_bit_vector.get(__REQUESTHANDLE_ISSET_ID);
+  }
+
+  public void setRequestHandleIsSet(boolean value) {
+    __isset_bit_vector.set(__REQUESTHANDLE_ISSET_ID, value);
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case TASK_ID:
@@ -304,6 +342,14 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
       }
       break;
 
+    case REQUEST_HANDLE:
+      if (value == null) {
+        unsetRequestHandle();
+      } else {
+        setRequestHandle((Long)value);
+      }
+      break;
+
     }
   }
 
@@ -321,6 +367,9 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
     case SCHEDULER_ADDRESS:
       return getSchedulerAddress();
 
+    case REQUEST_HANDLE:
+      return Long.valueOf(getRequestHandle());
+
     }
     throw new IllegalStateException();
   }
@@ -340,6 +389,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
       return isSetAppId();
     case SCHEDULER_ADDRESS:
       return isSetSchedulerAddress();
+    case REQUEST_HANDLE:
+      return isSetRequestHandle();
     }
     throw new IllegalStateException();
   }
@@ -393,6 +444,15 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
         return false;
     }
 
+    boolean this_present_requestHandle = true && this.isSetRequestHandle();
+    boolean that_present_requestHandle = true && that.isSetRequestHandle();
+    if (this_present_requestHandle || that_present_requestHandle) {
+      if (!(this_present_requestHandle && that_present_requestHandle))
+        return false;
+      if (this.requestHandle != that.requestHandle)
+        return false;
+    }
+
     return true;
   }
 
@@ -449,6 +509,16 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetRequestHandle()).compareTo(typedOther.isSetRequestHandle());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetRequestHandle()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.requestHandle, typedOther.requestHandle);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -500,6 +570,12 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
       sb.append(this.schedulerAddress);
     }
     first = false;
+    if (isSetRequestHandle()) {
+      if (!first) sb.append(", ");
+      sb.append("requestHandle:");
+      sb.append(this.requestHandle);
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -518,6 +594,8 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
 
   private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
     try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bit_vector = new BitSet(1);
       read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
     } catch (org.apache.thrift.TException te) {
       throw new java.io.IOException(te.getMessage());
@@ -575,6 +653,14 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 5: // REQUEST_HANDLE
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.requestHandle = iprot.readI64();
+              struct.setRequestHandleIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -610,6 +696,11 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
         struct.schedulerAddress.write(oprot);
         oprot.writeFieldEnd();
       }
+      if (struct.isSetRequestHandle()) {
+        oprot.writeFieldBegin(REQUEST_HANDLE_FIELD_DESC);
+        oprot.writeI64(struct.requestHandle);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -640,7 +731,10 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
       if (struct.isSetSchedulerAddress()) {
         optionals.set(3);
       }
-      oprot.writeBitSet(optionals, 4);
+      if (struct.isSetRequestHandle()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
       if (struct.isSetTaskId()) {
         oprot.writeString(struct.taskId);
       }
@@ -653,12 +747,15 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
       if (struct.isSetSchedulerAddress()) {
         struct.schedulerAddress.write(oprot);
       }
+      if (struct.isSetRequestHandle()) {
+        oprot.writeI64(struct.requestHandle);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TFullTaskId struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(4);
+      BitSet incoming = iprot.readBitSet(5);
       if (incoming.get(0)) {
         struct.taskId = iprot.readString();
         struct.setTaskIdIsSet(true);
@@ -676,6 +773,10 @@ public class TFullTaskId implements org.apache.thrift.TBase<TFullTaskId, TFullTa
         struct.schedulerAddress.read(iprot);
         struct.setSchedulerAddressIsSet(true);
       }
+      if (incoming.get(4)) {
+        struct.requestHandle = iprot.readI64();
+        struct.setRequestHandleIsSet(true);
+      }
     }
   }
 
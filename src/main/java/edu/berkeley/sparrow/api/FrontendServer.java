@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.api;
+
+import java.util.List;
+
+import org.apache.thrift.TException;
+
+import edu.berkeley.sparrow.thrift.BatchingFrontendService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+
+/**
+ * Base class for the frontend server that applications pass to {@link SparrowFrontendClient}.
+ * Sparrow delivers messages to the frontend in batches; this passes each message in a batch to
+ * {@link #frontendMessage}, in order.
+ */
+public abstract class FrontendServer implements BatchingFrontendService.Iface {
+  @Override
+  public void frontendMessages(List<TFrontendMessage> messages) throws TException {
+    for (TFrontendMessage message : messages) {
+      frontendMessage(message.getTaskId(), message.getStatus(), message.bufferForMessage());
+    }
+  }
+}
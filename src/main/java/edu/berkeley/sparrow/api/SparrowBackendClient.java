@@ -1,12 +1,12 @@
 /*
  * Copyright 2013 The Regents of The University California
- * 
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
@@ -16,6 +16,335 @@
 
 package edu.berkeley.sparrow.api;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TException;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import edu.berkeley.sparrow.daemon.util.MessageBatcher;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.daemon.util.TServers;
+import edu.berkeley.sparrow.thrift.BackendService;
+import edu.berkeley.sparrow.thrift.NodeMonitorService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Java client to a Sparrow node monitor, for application backends. Once a client is
+ * initialize()'d it can be used safely from multiple threads.
+ *
+ * The client serves launchTask() calls from the node monitor, and either runs each task on an
+ * {@link Executor} (see {@link TaskRunner}) or hands it to an application-supplied
+ * {@link BackendService.Iface}, in which case the application calls {@link #taskFinished} when
+ * the task completes.
+ *
+ * Finished tasks are reported to the node monitor over a single pipelined connection. A task
+ * that finishes while no tasksFinished() RPC is outstanding is reported right away; tasks that
+ * finish while one is outstanding are reported together once it completes, but wait no longer
+ * than the maximum delay (or until a batch fills up). The node monitor only frees a task's
+ * slot once it learns that the task finished, so a batch that fails to send is retried until it
+ * succeeds (or the client is closed). Messages for the application's frontend (see
+ * {@link #sendFrontendMessage}) are batched the same way, but are not retried.
+ */
 public class SparrowBackendClient {
-  
+  private final static Logger LOG = Logger.getLogger(SparrowBackendClient.class);
+  public final static int DEFAULT_LISTEN_PORT = 20101;
+  /**
+   * Default longest time a finished task (or frontend message) waits to be sent to the node
+   * monitor.
+   */
+  public final static long DEFAULT_MAX_DELAY_US = 1000;
+  public final static int DEFAULT_MAX_BATCH_SIZE = 128;
+  /**
+   * Threads serving launchTask() calls; these only hand tasks to the executor, so few are
+   * needed.
+   */
+  private final static int LAUNCH_THREADS = 2;
+  private final static long REGISTER_TIMEOUT_MS = 60000;
+  /** How long to wait before re-sending finished tasks that couldn't be reported. */
+  static long TASKS_FINISHED_RETRY_MS = 1000;
+
+  /** Runs the tasks that Sparrow launches on this backend. */
+  public interface TaskRunner {
+    /**
+     * Runs a task. The task is reported to the node monitor as finished when this returns (or
+     * throws).
+     */
+    public void runTask(TFullTaskId taskId, TUserGroupInfo user, ByteBuffer message)
+        throws Exception;
+  }
+
+  private final Executor executor;
+  private final long maxDelayMicros;
+  private final int maxBatchSize;
+  private PipelinedChannelManager channels;
+  private InetSocketAddress nodeMonitorAddress;
+  private String app;
+  private MessageBatcher<TFullTaskId> finishedTasks;
+  private MessageBatcher<TFrontendMessage> frontendMessages;
+  private ScheduledExecutorService retryExecutor;
+
+  /** Creates a client that runs each task on its own (pooled) thread. */
+  public SparrowBackendClient() {
+    this(Executors.newCachedThreadPool(new DaemonThreadFactory("SparrowBackendClient task")),
+         DEFAULT_MAX_DELAY_US, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * @param executor. Runs the tasks passed to a {@link TaskRunner}. The node monitor limits how
+   *                  many tasks run at once, so the executor need not queue tasks; any executor
+   *                  works, e.g., a virtual thread per task executor on Java 21.
+   * @param maxDelayMicros. The longest time a finished task (or frontend message) waits to be
+   *                        sent to the node monitor, so that it can be sent with others. If 0,
+   *                        each is sent right away.
+   * @param maxBatchSize. The largest number of finished tasks (or frontend messages) to send in
+   *                      one call.
+   */
+  public SparrowBackendClient(Executor executor, long maxDelayMicros, int maxBatchSize) {
+    if (maxDelayMicros < 0 || maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          "maxDelayMicros must be nonnegative and maxBatchSize must be positive");
+    }
+    this.executor = executor;
+    this.maxDelayMicros = maxDelayMicros;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Initialize a connection to a Sparrow node monitor, and run the tasks it launches with
+   * {@code runner}.
+   * @param nodeMonitorAddr. The socket address of the node monitor.
+   * @param app. The application id. Note that this must be consistent across frontends
+   *             and backends.
+   * @param runner. Runs each task on this client's executor.
+   * @param listenPort. The port on which to listen for requests from the node monitor.
+   */
+  public void initializeWithRunner(InetSocketAddress nodeMonitorAddr, String app,
+      final TaskRunner runner, int listenPort) throws TException, IOException {
+    initialize(nodeMonitorAddr, app, new BackendService.Iface() {
+      @Override
+      public void launchTask(ByteBuffer message, TFullTaskId taskId, TUserGroupInfo user) {
+        executor.execute(new TaskRunnable(runner, message, taskId, user));
+      }
+    }, listenPort);
+  }
+
+  /**
+   * Initialize a connection to a Sparrow node monitor, for an application that launches tasks
+   * itself. The application must call {@link #taskFinished} when each task finishes.
+   * @param nodeMonitorAddr. The socket address of the node monitor.
+   * @param app. The application id. Note that this must be consistent across frontends
+   *             and backends.
+   * @param backend. Launches tasks; launchTask() should not block.
+   * @param listenPort. The port on which to listen for requests from the node monitor.
+   */
+  public void initialize(InetSocketAddress nodeMonitorAddr, String app,
+      BackendService.Iface backend, int listenPort) throws TException, IOException {
+    BackendService.Processor<BackendService.Iface> processor =
+        new BackendService.Processor<BackendService.Iface>(backend);
+    TServers.launchThreadedThriftServer(listenPort, LAUNCH_THREADS, processor);
+
+    this.app = app;
+    nodeMonitorAddress = new InetSocketAddress(
+        nodeMonitorAddr.getAddress().getHostAddress(), nodeMonitorAddr.getPort());
+    channels = new PipelinedChannelManager("SparrowBackendClient " + listenPort);
+    // Re-open the connection in the background if it fails.
+    channels.keepWarm(Collections.singletonList(nodeMonitorAddress));
+    retryExecutor = Executors.newSingleThreadScheduledExecutor(
+        new DaemonThreadFactory("SparrowBackendClient " + listenPort + " retry"));
+    finishedTasks = new TasksFinishedBatcher("SparrowBackendClient " + listenPort);
+    frontendMessages = new FrontendMessageBatcher("SparrowBackendClient " + listenPort);
+
+    // The node monitor runs on the same machine as the backend, so it can reach the backend at
+    // the same host that the backend uses to reach the node monitor.
+    final SettableFuture<Boolean> registered = SettableFuture.create();
+    channels.call(nodeMonitorAddress, "registerBackend",
+        new NodeMonitorService.registerBackend_args(
+            app, nodeMonitorAddress.getAddress().getHostAddress() + ":" + listenPort),
+        new NodeMonitorService.registerBackend_result(),
+        new PipelinedChannel.Callback<NodeMonitorService.registerBackend_result>() {
+          @Override
+          public void onComplete(NodeMonitorService.registerBackend_result result) {
+            registered.set(result.isSuccess());
+          }
+
+          @Override
+          public void onError(Exception exception) {
+            registered.setException(exception);
+          }
+        });
+    try {
+      if (!registered.get(REGISTER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        throw new TException("Node monitor " + nodeMonitorAddress + " refused to register " +
+                             "backend for " + app);
+      }
+    } catch (InterruptedException e) {
+      throw new TException("Interrupted registering backend", e);
+    } catch (TimeoutException e) {
+      throw new TException("Timed out registering backend with " + nodeMonitorAddress);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TException) {
+        throw (TException) e.getCause();
+      }
+      throw new TException("Unable to register backend with " + nodeMonitorAddress,
+                           e.getCause());
+    }
+  }
+
+  /** Reports to the node monitor that the given task has finished. */
+  public void taskFinished(TFullTaskId taskId) {
+    finishedTasks.add(nodeMonitorAddress, taskId);
+  }
+
+  /**
+   * Sends a message to this application's frontend, by way of the node monitor and the
+   * scheduler that placed the task.
+   */
+  public void sendFrontendMessage(TFullTaskId taskId, int status, ByteBuffer message) {
+    frontendMessages.add(nodeMonitorAddress, new TFrontendMessage(app, taskId, status, message));
+  }
+
+  public void close() {
+    if (finishedTasks != null) {
+      finishedTasks.close();
+      frontendMessages.close();
+      retryExecutor.shutdownNow();
+    }
+    if (channels != null) {
+      channels.close();
+    }
+  }
+
+  private class TasksFinishedBatcher extends MessageBatcher<TFullTaskId> {
+    TasksFinishedBatcher(String name) {
+      super(name + " tasks finished", maxDelayMicros, maxBatchSize);
+    }
+
+    @Override
+    protected void sendBatch(final InetSocketAddress destination, final List<TFullTaskId> batch) {
+      send(destination, batch);
+    }
+
+    /**
+     * Sends a batch of finished tasks, retrying until it is delivered. The batch stays in
+     * flight while it is retried.
+     */
+    private void send(final InetSocketAddress destination, final List<TFullTaskId> batch) {
+      channels.call(destination, "tasksFinished",
+          new NodeMonitorService.tasksFinished_args(batch),
+          new NodeMonitorService.tasksFinished_result(),
+          new PipelinedChannel.Callback<NodeMonitorService.tasksFinished_result>() {
+            @Override
+            public void onComplete(NodeMonitorService.tasksFinished_result result) {
+              batchFinished(destination);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              LOG.warn("Error reporting " + batch.size() + " finished tasks to " +
+                       destination + "; retrying in " + TASKS_FINISHED_RETRY_MS + "ms: " +
+                       exception);
+              try {
+                retryExecutor.schedule(new Runnable() {
+                  @Override
+                  public void run() {
+                    send(destination, batch);
+                  }
+                }, TASKS_FINISHED_RETRY_MS, TimeUnit.MILLISECONDS);
+              } catch (RejectedExecutionException e) {
+                LOG.error("Client closed; dropping " + batch.size() + " finished tasks for " +
+                          destination);
+              }
+            }
+          });
+    }
+  }
+
+  private class FrontendMessageBatcher extends MessageBatcher<TFrontendMessage> {
+    FrontendMessageBatcher(String name) {
+      super(name + " frontend messages", maxDelayMicros, maxBatchSize);
+    }
+
+    @Override
+    protected void sendBatch(final InetSocketAddress destination,
+                             final List<TFrontendMessage> batch) {
+      channels.call(destination, "sendFrontendMessages",
+          new NodeMonitorService.sendFrontendMessages_args(batch),
+          new NodeMonitorService.sendFrontendMessages_result(),
+          new PipelinedChannel.Callback<NodeMonitorService.sendFrontendMessages_result>() {
+            @Override
+            public void onComplete(NodeMonitorService.sendFrontendMessages_result result) {
+              batchFinished(destination);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              LOG.error("Error sending " + batch.size() + " frontend messages to " +
+                        destination + ": " + exception);
+              batchFinished(destination);
+            }
+          });
+    }
+  }
+
+  /** Runs a task, and then reports that it finished. */
+  private class TaskRunnable implements Runnable {
+    private final TaskRunner runner;
+    private final ByteBuffer message;
+    private final TFullTaskId taskId;
+    private final TUserGroupInfo user;
+
+    TaskRunnable(TaskRunner runner, ByteBuffer message, TFullTaskId taskId,
+                 TUserGroupInfo user) {
+      this.runner = runner;
+      this.message = message;
+      this.taskId = taskId;
+      this.user = user;
+    }
+
+    @Override
+    public void run() {
+      try {
+        runner.runTask(taskId, user, message);
+      } catch (Exception e) {
+        LOG.error("Task " + taskId.getTaskId() + " for request " + taskId.getRequestId() +
+                  " failed", e);
+      } finally {
+        taskFinished(taskId);
+      }
+    }
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final String name;
+    private final AtomicInteger numThreads = new AtomicInteger();
+
+    DaemonThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, name + " " + numThreads.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
 }
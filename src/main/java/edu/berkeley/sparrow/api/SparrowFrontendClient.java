@@ -18,37 +18,108 @@ package edu.berkeley.sparrow.api;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.log4j.Logger;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
+import org.apache.thrift.TProcessor;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 
 import edu.berkeley.sparrow.daemon.util.Network;
-import edu.berkeley.sparrow.daemon.util.TClients;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
 import edu.berkeley.sparrow.daemon.util.TServers;
+import edu.berkeley.sparrow.thrift.BatchingFrontendService;
 import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.IncompleteRequestException;
 import edu.berkeley.sparrow.thrift.SchedulerService;
-import edu.berkeley.sparrow.thrift.SchedulerService.Client;
 import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TSubmitJobResult;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 
 /**
  * Java client to Sparrow scheduling service. Once a client is initialize()'d it
  * can be used safely from multiple threads.
+ *
+ * Jobs are submitted over a small number of pipelined connections to the scheduler, so a
+ * single thread can have many submissions in flight; {@link #submitRequestAsync} returns a
+ * future for each one. The scheduler places the jobs on a connection one at a time, so the
+ * number of connections bounds how many of this frontend's jobs it places concurrently.
+ *
+ * Jobs are sent to the scheduler in batches, using submitJobs(). A job is sent right away if
+ * fewer batches than connections are outstanding; otherwise, it waits to be sent with the other
+ * jobs submitted before the next batch completes (or the batch fills up). Batching therefore
+ * adds no delay to a lightly loaded frontend. Schedulers that predate submitJobs() reject it as
+ * an unknown method; the client then sends each job with its own submitJob() call.
  */
 public class SparrowFrontendClient {
   public static boolean launchedServerAlready = false;
 
   private final static Logger LOG = Logger.getLogger(SparrowFrontendClient.class);
-  private final static int NUM_CLIENTS = 8; // Number of concurrent requests we support
+  public final static int DEFAULT_NUM_CONNECTIONS = 4;
+  /** Default number of submissions that may be waiting for the scheduler at once. */
+  public final static int DEFAULT_MAX_IN_FLIGHT = 1024;
+  public final static int DEFAULT_MAX_BATCH_SIZE = 128;
   private final static int DEFAULT_LISTEN_PORT = 50201;
+  private final static long REGISTER_TIMEOUT_MS = 60000;
+
+  /** Each manager maintains one connection to the scheduler, with its own I/O thread. */
+  private final PipelinedChannelManager[] connections;
+  private final AtomicInteger nextConnection = new AtomicInteger();
+  private final Semaphore inFlight;
+  private final int maxInFlight;
+  private final int maxBatchSize;
+  private InetSocketAddress schedulerAddress;
+  /** Whether the scheduler has rejected submitJobs() as an unknown method. */
+  private volatile boolean unbatchedScheduler = false;
+
+  /** A job that has not yet been sent to the scheduler. */
+  private static class Submission {
+    final TSchedulingRequest request;
+    final SettableFuture<Void> future;
+
+    Submission(TSchedulingRequest request, SettableFuture<Void> future) {
+      this.request = request;
+      this.future = future;
+    }
+  }
+
+  /** Guards {@link #pendingSubmissions} and {@link #numBatchesInFlight}. */
+  private final Object batchLock = new Object();
+  private List<Submission> pendingSubmissions = Lists.newArrayList();
+  private int numBatchesInFlight = 0;
+
+  public SparrowFrontendClient() {
+    this(DEFAULT_NUM_CONNECTIONS, DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_BATCH_SIZE);
+  }
 
-  BlockingQueue<SchedulerService.Client> clients =
-      new LinkedBlockingQueue<SchedulerService.Client>();
+  /**
+   * @param numConnections. The number of connections to open to the scheduler.
+   * @param maxInFlight. The number of submissions that may be waiting for the scheduler at
+   *                     once; further submissions block until earlier ones complete.
+   * @param maxBatchSize. The largest number of jobs to send to the scheduler in one call.
+   */
+  public SparrowFrontendClient(int numConnections, int maxInFlight, int maxBatchSize) {
+    if (numConnections <= 0 || maxInFlight <= 0 || maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          "numConnections, maxInFlight and maxBatchSize must be positive");
+    }
+    connections = new PipelinedChannelManager[numConnections];
+    this.maxInFlight = maxInFlight;
+    this.maxBatchSize = maxBatchSize;
+    inFlight = new Semaphore(maxInFlight);
+  }
 
   /**
    * Initialize a connection to a sparrow scheduler.
@@ -71,7 +142,9 @@ public class SparrowFrontendClient {
    * @param app. The application id. Note that this must be consistent across frontends
    *             and backends.
    * @param frontendServer. A class which implements the frontend server interface (for
-   *                        communication from Sparrow).
+   *                        communication from Sparrow). Frontends that implement
+   *                        {@link BatchingFrontendService.Iface}, such as subclasses of
+   *                        {@link FrontendServer}, receive messages in batches.
    * @param listenPort. The port on which to listen for request from the scheduler.
    * @throws IOException
    */
@@ -79,8 +152,13 @@ public class SparrowFrontendClient {
       FrontendService.Iface frontendServer, int listenPort)
       throws TException, IOException {
 
-    FrontendService.Processor<FrontendService.Iface> processor =
-        new FrontendService.Processor<FrontendService.Iface>(frontendServer);
+    TProcessor processor;
+    if (frontendServer instanceof BatchingFrontendService.Iface) {
+      processor = new BatchingFrontendService.Processor<BatchingFrontendService.Iface>(
+          (BatchingFrontendService.Iface) frontendServer);
+    } else {
+      processor = new FrontendService.Processor<FrontendService.Iface>(frontendServer);
+    }
 
     if (!launchedServerAlready) {
       try {
@@ -91,14 +169,42 @@ public class SparrowFrontendClient {
       launchedServerAlready = true;
     }
 
-    for (int i = 0; i < NUM_CLIENTS; i++) {
-      Client client = TClients.createBlockingSchedulerClient(
-          sparrowSchedulerAddr.getAddress().getHostAddress(), sparrowSchedulerAddr.getPort(),
-          60000);
-      clients.add(client);
+    schedulerAddress = new InetSocketAddress(
+        sparrowSchedulerAddr.getAddress().getHostAddress(), sparrowSchedulerAddr.getPort());
+    for (int i = 0; i < connections.length; i++) {
+      connections[i] = new PipelinedChannelManager("SparrowFrontendClient-" + i);
+      // Re-open the connection in the background if it fails.
+      connections[i].keepWarm(Collections.singletonList(schedulerAddress));
+    }
+
+    final SettableFuture<Boolean> registered = SettableFuture.create();
+    connections[0].call(schedulerAddress, "registerFrontend",
+        new SchedulerService.registerFrontend_args(app,
+            Network.getIPAddress(new PropertiesConfiguration()) + ":" + listenPort),
+        new SchedulerService.registerFrontend_result(),
+        new PipelinedChannel.Callback<SchedulerService.registerFrontend_result>() {
+          @Override
+          public void onComplete(SchedulerService.registerFrontend_result result) {
+            registered.set(result.isSuccess());
+          }
+
+          @Override
+          public void onError(Exception exception) {
+            registered.setException(exception);
+          }
+        });
+    try {
+      registered.get(REGISTER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      throw new TException("Interrupted registering frontend", e);
+    } catch (TimeoutException e) {
+      throw new TException("Timed out registering frontend with " + schedulerAddress);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TException) {
+        throw (TException) e.getCause();
+      }
+      throw new TException("Unable to register frontend with " + schedulerAddress, e.getCause());
     }
-    clients.peek().registerFrontend(app, Network.getIPAddress(new PropertiesConfiguration())
-        + ":" + listenPort);
   }
 
   public boolean submitJob(String app,
@@ -123,25 +229,182 @@ public class SparrowFrontendClient {
     return submitRequest(request);
   }
 
+  /** Submits a job and waits for the scheduler to accept it. */
   public boolean submitRequest(TSchedulingRequest request) {
     try {
-      Client client = clients.take();
-      client.submitJob(request);
-      clients.put(client);
+      submitRequestAsync(request).get();
     } catch (InterruptedException e) {
       LOG.fatal(e);
-    } catch (TException e) {
-      LOG.error("Thrift exception when submitting job: " + e.getMessage());
-      return false;
-    } catch (IncompleteRequestException e) {
-      LOG.error(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IncompleteRequestException) {
+        LOG.error(e.getCause());
+      } else {
+        LOG.error("Thrift exception when submitting job: " + e.getCause().getMessage());
+        return false;
+      }
     }
     return true;
   }
 
+  /**
+   * Submits a job without waiting for the scheduler to accept it. The request must not be
+   * modified after it is submitted. Blocks while the maximum number of submissions are already
+   * in flight.
+   *
+   * The returned future completes once the scheduler has accepted the job, or fails with an
+   * {@link IncompleteRequestException} if the scheduler rejected it, or with the error that
+   * prevented it from reaching the scheduler. Listeners added without an executor run on the
+   * connection's I/O thread, so they should not block.
+   */
+  public ListenableFuture<Void> submitRequestAsync(TSchedulingRequest request)
+      throws InterruptedException {
+    SettableFuture<Void> future = SettableFuture.create();
+    inFlight.acquire();
+    List<Submission> batch = null;
+    synchronized (batchLock) {
+      pendingSubmissions.add(new Submission(request, future));
+      if (numBatchesInFlight < connections.length ||
+          pendingSubmissions.size() >= maxBatchSize) {
+        batch = takeBatch();
+      }
+    }
+    if (batch != null) {
+      sendBatch(batch);
+    }
+    return future;
+  }
+
+  /** Returns the pending submissions, which the caller should send. Requires batchLock. */
+  private List<Submission> takeBatch() {
+    List<Submission> batch = pendingSubmissions;
+    pendingSubmissions = Lists.newArrayList();
+    ++numBatchesInFlight;
+    return batch;
+  }
+
+  private PipelinedChannelManager pickConnection() {
+    return connections[
+        (nextConnection.getAndIncrement() & Integer.MAX_VALUE) % connections.length];
+  }
+
+  private void sendBatch(final List<Submission> batch) {
+    if (unbatchedScheduler) {
+      sendEach(batch);
+      return;
+    }
+    List<TSchedulingRequest> requests = Lists.newArrayListWithCapacity(batch.size());
+    for (Submission submission : batch) {
+      requests.add(submission.request);
+    }
+    pickConnection().call(schedulerAddress, "submitJobs",
+        new SchedulerService.submitJobs_args(requests), new SchedulerService.submitJobs_result(),
+        new PipelinedChannel.Callback<SchedulerService.submitJobs_result>() {
+          @Override
+          public void onComplete(SchedulerService.submitJobs_result result) {
+            List<TSubmitJobResult> results = result.getSuccess();
+            if (results == null || results.size() != batch.size()) {
+              onError(new TException("Scheduler returned " +
+                  (results == null ? "no" : results.size()) + " results for " + batch.size() +
+                  " jobs"));
+              return;
+            }
+            // Release the permits first, so that listeners can submit more jobs right away.
+            inFlight.release(batch.size());
+            batchFinished();
+            for (int i = 0; i < batch.size(); i++) {
+              TSubmitJobResult jobResult = results.get(i);
+              if (jobResult.isAccepted()) {
+                batch.get(i).future.set(null);
+              } else if (jobResult.isSetError()) {
+                batch.get(i).future.setException(jobResult.getError());
+              } else {
+                batch.get(i).future.setException(
+                    new IncompleteRequestException("Job was not accepted"));
+              }
+            }
+          }
+
+          @Override
+          public void onError(Exception exception) {
+            if (exception instanceof TApplicationException &&
+                ((TApplicationException) exception).getType() ==
+                    TApplicationException.UNKNOWN_METHOD) {
+              LOG.info("Scheduler " + schedulerAddress + " doesn't accept batches of jobs; " +
+                       "submitting one job at a time");
+              unbatchedScheduler = true;
+              sendEach(batch);
+              return;
+            }
+            inFlight.release(batch.size());
+            batchFinished();
+            for (Submission submission : batch) {
+              submission.future.setException(exception);
+            }
+          }
+        });
+  }
+
+  /**
+   * Sends each job in the batch with its own submitJob() call, and finishes the batch once all
+   * of the calls complete.
+   */
+  private void sendEach(List<Submission> batch) {
+    final AtomicInteger numRemaining = new AtomicInteger(batch.size());
+    for (final Submission submission : batch) {
+      pickConnection().call(schedulerAddress, "submitJob",
+          new SchedulerService.submitJob_args(submission.request),
+          new SchedulerService.submitJob_result(),
+          new PipelinedChannel.Callback<SchedulerService.submitJob_result>() {
+            @Override
+            public void onComplete(SchedulerService.submitJob_result result) {
+              finish();
+              if (result.isSetE()) {
+                submission.future.setException(result.getE());
+              } else {
+                submission.future.set(null);
+              }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              finish();
+              submission.future.setException(exception);
+            }
+
+            private void finish() {
+              inFlight.release();
+              if (numRemaining.decrementAndGet() == 0) {
+                batchFinished();
+              }
+            }
+          });
+    }
+  }
+
+  /** Sends the jobs that were submitted while the batch was outstanding, if any. */
+  private void batchFinished() {
+    List<Submission> batch = null;
+    synchronized (batchLock) {
+      --numBatchesInFlight;
+      if (!pendingSubmissions.isEmpty()) {
+        batch = takeBatch();
+      }
+    }
+    if (batch != null) {
+      sendBatch(batch);
+    }
+  }
+
+  /** Returns the number of submissions waiting for the scheduler. */
+  public int getNumInFlight() {
+    return maxInFlight - inFlight.availablePermits();
+  }
+
   public void close() {
-    for (int i = 0; i < NUM_CLIENTS; i++) {
-      clients.poll().getOutputProtocol().getTransport().close();
+    for (PipelinedChannelManager connection : connections) {
+      if (connection != null) {
+        connection.close();
+      }
     }
   }
 }
@@ -37,6 +37,106 @@ public class SparrowConf {
    */
   public final static String CANCELLATION = "cancellation";
   public final static boolean DEFAULT_CANCELLATION = true;
+  /**
+   * How long (in milliseconds) the scheduler waits to accumulate cancellations before sending
+   * them, so that cancellations destined for the same node monitor can be sent in a single
+   * RPC. Set to 0 to send cancellations as soon as they are available.
+   */
+  public final static String CANCELLATION_BATCH_WINDOW_MS = "cancellation.batch_window_ms";
+  public final static int DEFAULT_CANCELLATION_BATCH_WINDOW_MS = 2;
+  /**
+   * How long (in microseconds) the scheduler waits to accumulate reservations for a node monitor
+   * before sending them, so that reservations for many jobs can be sent to the node monitor in a
+   * single enqueueTaskReservationsBatch() RPC. Set to 0 to send reservations as soon as a job is
+   * placed.
+   */
+  public final static String ENQUEUE_BATCH_WINDOW_US = "enqueue.batch_window_us";
+  public final static int DEFAULT_ENQUEUE_BATCH_WINDOW_US = 0;
+  /** Maximum number of reservations in one enqueueTaskReservationsBatch() RPC. */
+  public final static String ENQUEUE_MAX_BATCH_SIZE = "enqueue.max_batch_size";
+  public final static int DEFAULT_ENQUEUE_MAX_BATCH_SIZE = 64;
+  /**
+   * Longest time (in microseconds) that node monitors and schedulers hold a frontend message so
+   * that it can be sent with other messages for the same destination in a single
+   * sendFrontendMessages() or frontendMessages() RPC. Messages are only held while an earlier
+   * batch for the destination is outstanding. Set to 0 to send each message right away.
+   */
+  public final static String FRONTEND_MESSAGE_MAX_DELAY_US = "frontend_message.max_delay_us";
+  public final static int DEFAULT_FRONTEND_MESSAGE_MAX_DELAY_US = 1000;
+  /** Maximum number of frontend messages in one RPC. */
+  public final static String FRONTEND_MESSAGE_MAX_BATCH_SIZE = "frontend_message.max_batch_size";
+  public final static int DEFAULT_FRONTEND_MESSAGE_MAX_BATCH_SIZE = 128;
+  /**
+   * Whether the scheduler asks node monitors to send frontend messages directly to the frontend,
+   * rather than relaying them through the scheduler. Requires that node monitors can connect to
+   * frontends.
+   */
+  public final static String DIRECT_FRONTEND_MESSAGES = "frontend_message.direct";
+  public final static boolean DEFAULT_DIRECT_FRONTEND_MESSAGES = false;
+
+  /**
+   * Number of selector threads shared by all of this daemon's Thrift client pools. Clients are
+   * assigned to the selector threads round-robin.
+   */
+  public final static String THRIFT_CLIENT_SELECTOR_THREADS = "thrift.client.selector_threads";
+
+  /**
+   * Whether the scheduler opens its connection to each node monitor ahead of time. Connections
+   * are opened in the background when an application's backends become known or change, and
+   * are re-opened if they are closed, so that enqueueTaskReservations() RPCs rarely wait for a
+   * TCP handshake. If false, connections are opened on demand.
+   */
+  public final static String WARM_NODE_MONITOR_CONNECTIONS = "scheduler.warm_connections";
+  public final static boolean DEFAULT_WARM_NODE_MONITOR_CONNECTIONS = true;
+
+  /**
+   * Port on which the daemon serves its latency histograms, counters and gauges as plain text
+   * at /metrics. Set to -1 to disable the endpoint; metrics are also available over JMX.
+   */
+  public final static String METRICS_HTTP_PORT = "metrics.http.port";
+  public final static int DEFAULT_METRICS_HTTP_PORT = 20510;
+
+  /**
+   * Address on which the metrics endpoint listens. Defaults to loopback, so that the metrics are
+   * only readable from the machine running the daemon; set to 0.0.0.0 to listen on all
+   * interfaces.
+   */
+  public final static String METRICS_HTTP_ADDRESS = "metrics.http.address";
+  public final static String DEFAULT_METRICS_HTTP_ADDRESS = "127.0.0.1";
+
+  /**
+   * Length (in milliseconds) of the interval over which histogram percentiles are reported.
+   */
+  public final static String METRICS_INTERVAL_MS = "metrics.interval_ms";
+  public final static int DEFAULT_METRICS_INTERVAL_MS = 10000;
+
+  /**
+   * Format of the audit log: "text" (written synchronously by log4j) or "binary" (fixed-layout
+   * records written by a background thread; convert them to text with
+   * {@link edu.berkeley.sparrow.daemon.util.BinaryAuditLogConverter}).
+   */
+  public final static String AUDIT_LOG_FORMAT = "audit.format";
+  public final static String DEFAULT_AUDIT_LOG_FORMAT = "text";
+
+  /**
+   * Fraction of requests whose audit events are logged. Requests are sampled by id, so every
+   * daemon logs events for the same requests.
+   */
+  public final static String AUDIT_SAMPLE_RATE = "audit.sample_rate";
+  public final static double DEFAULT_AUDIT_SAMPLE_RATE = 1.0;
+
+  /**
+   * Number of events the binary audit log buffers before dropping new events.
+   */
+  public final static String AUDIT_BUFFER_EVENTS = "audit.buffer_events";
+  public final static int DEFAULT_AUDIT_BUFFER_EVENTS = 65536;
+
+  /**
+   * Fraction of requests for which calls to frequently called methods are traced when
+   * logging at DEBUG level. Requests are sampled by id, like audit events.
+   */
+  public final static String TRACE_SAMPLE_RATE = "trace.sample_rate";
+  public final static double DEFAULT_TRACE_SAMPLE_RATE = 1.0;
 
   /* List of ports corresponding to node monitors (backend interface) this daemon is
    * supposed to run. In most deployment scenarios this will consist of a single port,
@@ -53,6 +153,19 @@ public class SparrowConf {
       "internal_agent.thrift.threads";
   /** Type of task scheduler to use on node monitor. Values: "fifo," "round_robin, " "priority." */
   public final static String NM_TASK_SCHEDULER_TYPE = "node_monitor.task_scheduler";
+  /**
+   * Number of threads the node monitor uses to start getTask() RPCs for runnable reservations.
+   * The RPCs themselves are asynchronous, so this can be much smaller than the number of slots.
+   */
+  public final static String NM_TASK_LAUNCHER_THREADS = "node_monitor.task_launcher.threads";
+  public final static int DEFAULT_NM_TASK_LAUNCHER_THREADS = 2;
+  /**
+   * Maximum number of connections the node monitor opens to each scheduler's getTask() server.
+   * The scheduler handles the getTask() RPCs on one connection in order, so RPCs sent over
+   * several connections can be handled in parallel.
+   */
+  public final static String NM_GET_TASK_CHANNELS = "node_monitor.get_task.channels";
+  public final static int DEFAULT_NM_GET_TASK_CHANNELS = 4;
 
   public final static String SYSTEM_MEMORY = "system.memory";
   public final static int DEFAULT_SYSTEM_MEMORY = 1024;
@@ -71,6 +184,23 @@ public class SparrowConf {
   // For requests w/ constraints...
   public final static String SAMPLE_RATIO_CONSTRAINED = "sample.ratio.constrained";
   public final static int DEFAULT_SAMPLE_RATIO_CONSTRAINED = 2;
+  /**
+   * For requests w/o constraints, the number of randomly chosen candidates to consider for each
+   * probe: the scheduler probes the least loaded of the candidates, according to the load that
+   * node monitors piggyback on their responses. 1 disables load-aware sampling.
+   */
+  public final static String SAMPLE_LOAD_AWARE_FACTOR = "sample.load_aware.factor";
+  public final static int DEFAULT_SAMPLE_LOAD_AWARE_FACTOR = 2;
+  /** Half life (in milliseconds) of the scheduler's estimate of each node monitor's load. */
+  public final static String SAMPLE_LOAD_HALF_LIFE_MS = "sample.load_aware.half_life_ms";
+  public final static int DEFAULT_SAMPLE_LOAD_HALF_LIFE_MS = 1000;
+  /**
+   * Jobs w/o constraints with at least this many tasks are placed by enqueueing a single
+   * re-armed reservation on each probed node monitor, which pulls tasks until the job drains
+   * (see {@link edu.berkeley.sparrow.daemon.scheduler.StreamingTaskPlacer}). 0 disables this.
+   */
+  public final static String STREAMING_PLACEMENT_MIN_TASKS = "placement.streaming.min_tasks";
+  public final static int DEFAULT_STREAMING_PLACEMENT_MIN_TASKS = 1000;
 
   /** The hostname of this machine. */
   public final static String HOSTNAME = "hostname";
@@ -86,7 +216,17 @@ public class SparrowConf {
   public final static String STATIC_NODE_MONITORS = "static.node_monitors";
   public final static String STATIC_APP_NAME = "static.app.name";
 
+  /**
+   * Port for the scheduler's getTask() server. Node monitors expect it to be
+   * {@link edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift#getTaskPort}, which is the
+   * default, so this should only be set for schedulers that don't use Sparrow's node monitors.
+   */
   public static final String GET_TASK_PORT = "get_task.port";
+  /**
+   * Number of worker threads used to handle getTask() RPCs. getTask() calls for different
+   * requests are handled in parallel.
+   */
+  public static final String GET_TASK_THRIFT_THREADS = "get_task.thrift.threads";
   
   public final static String SPREAD_EVENLY_TASK_SET_SIZE = "spread_evenly_task_set_size";
   public final static int DEFAULT_SPREAD_EVENLY_TASK_SET_SIZE = 1;
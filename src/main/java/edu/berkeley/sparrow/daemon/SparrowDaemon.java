@@ -16,6 +16,9 @@
 
 package edu.berkeley.sparrow.daemon;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 
@@ -26,9 +29,13 @@ import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
+import edu.berkeley.sparrow.daemon.metrics.MetricsHttpServer;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
 import edu.berkeley.sparrow.daemon.nodemonitor.NodeMonitorThrift;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
 import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
+import edu.berkeley.sparrow.daemon.util.Trace;
 
 /**
  * A Sparrow Daemon includes both a scheduler and a node monitor.
@@ -37,11 +44,18 @@ import edu.berkeley.sparrow.daemon.util.Logging;
 public class SparrowDaemon {
   // Eventually, we'll want to change this to something higher than debug.
   public final static Level DEFAULT_LOG_LEVEL = Level.DEBUG;
+  private final static Logger LOG = Logger.getLogger(SparrowDaemon.class);
 
   public void initialize(Configuration conf) throws Exception {
     Level logLevel = Level.toLevel(conf.getString(SparrowConf.LOG_LEVEL, ""),
         DEFAULT_LOG_LEVEL);
     Logger.getRootLogger().setLevel(logLevel);
+    Trace.setSampleRate(conf.getDouble(SparrowConf.TRACE_SAMPLE_RATE,
+        SparrowConf.DEFAULT_TRACE_SAMPLE_RATE));
+
+    // Must be set before any client pools are created.
+    ThriftClientPool.NUM_SELECTOR_THREADS = conf.getInt(
+        SparrowConf.THRIFT_CLIENT_SELECTOR_THREADS, ThriftClientPool.NUM_SELECTOR_THREADS);
 
     // Start as many node monitors as specified in config
     String[] nmPorts = conf.getStringArray(SparrowConf.NM_THRIFT_PORTS);
@@ -70,6 +84,22 @@ public class SparrowDaemon {
 
     SchedulerThrift scheduler = new SchedulerThrift();
     scheduler.initialize(conf);
+
+    MetricsRegistry metrics = MetricsRegistry.getInstance();
+    metrics.startIntervals(conf.getInt(SparrowConf.METRICS_INTERVAL_MS,
+        SparrowConf.DEFAULT_METRICS_INTERVAL_MS));
+    metrics.registerMBean();
+    int metricsPort = conf.getInt(SparrowConf.METRICS_HTTP_PORT,
+        SparrowConf.DEFAULT_METRICS_HTTP_PORT);
+    if (metricsPort >= 0) {
+      String metricsAddress = conf.getString(SparrowConf.METRICS_HTTP_ADDRESS,
+          SparrowConf.DEFAULT_METRICS_HTTP_ADDRESS);
+      try {
+        MetricsHttpServer.start(new InetSocketAddress(metricsAddress, metricsPort), metrics);
+      } catch (IOException e) {
+        LOG.warn("Unable to serve metrics on " + metricsAddress + ":" + metricsPort + ": " + e);
+      }
+    }
   }
 
   public static void main(String[] args) throws Exception {
@@ -87,10 +117,9 @@ public class SparrowDaemon {
     // Set up a simple configuration that logs on the console.
     BasicConfigurator.configure();
 
-    Logging.configureAuditLogging();
-
     String configFile = (String) options.valueOf("c");
     Configuration conf = new PropertiesConfiguration(configFile);
+    Logging.configureAuditLogging(conf);
     SparrowDaemon sparrowDaemon = new SparrowDaemon();
     sparrowDaemon.initialize(conf);
   }
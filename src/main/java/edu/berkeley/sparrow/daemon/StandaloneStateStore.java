@@ -21,8 +21,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import edu.berkeley.sparrow.daemon.nodemonitor.StandaloneNodeMonitorState;
+import edu.berkeley.sparrow.daemon.scheduler.BackendSnapshot;
 import edu.berkeley.sparrow.daemon.scheduler.StandaloneSchedulerState;
 
 /**
@@ -42,9 +45,15 @@ public class StandaloneStateStore {
   // appId -> map of app nodes
   private Map<String, Set<InetSocketAddress>> applications;
 
+  // appId -> current snapshot of app nodes. Replaced (under the lock on this object) whenever
+  // a backend registers, and read without locking.
+  private ConcurrentMap<String, BackendSnapshot> snapshots;
+  private long nextSnapshotVersion = 1;
+
   // Private constructor prevents instantiation from other classes
   private StandaloneStateStore() {
     applications = new HashMap<String, Set<InetSocketAddress>>();
+    snapshots = new ConcurrentHashMap<String, BackendSnapshot>();
   }
 
   // SOURCE: StandaloneNodeMonitorState
@@ -53,17 +62,18 @@ public class StandaloneStateStore {
     if (!this.applications.containsKey(appId)) {
       this.applications.put(appId, new HashSet<InetSocketAddress>());
     }
-    this.applications.get(appId).add(nmAddr);
+    if (this.applications.get(appId).add(nmAddr)) {
+      snapshots.put(appId, new BackendSnapshot(
+          nextSnapshotVersion++, this.applications.get(appId)));
+    }
   }
 
   // SOURCE: StandaloneSchedulerState
-  public synchronized Set<InetSocketAddress> getBackends(
-      String appId) {
-    if (applications.containsKey(appId)) {
-      return new HashSet<InetSocketAddress>(
-          applications.get(appId));
-    } else {
-      return new HashSet<InetSocketAddress>();
+  public BackendSnapshot getBackends(String appId) {
+    BackendSnapshot snapshot = snapshots.get(appId);
+    if (snapshot == null) {
+      return BackendSnapshot.EMPTY;
     }
+    return snapshot;
   }
 }
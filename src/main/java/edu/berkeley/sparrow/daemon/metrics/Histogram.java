@@ -0,0 +1,153 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values (typically latencies in microseconds).
+ *
+ * Values are counted in log-linear buckets, in the style of HdrHistogram: each power of two
+ * is split into {@link #SUB_BUCKETS} equal buckets, so values up to {@code 2 * SUB_BUCKETS}
+ * are recorded exactly and larger values with a relative error of at most
+ * {@code 1 / SUB_BUCKETS}. Recording a value is a couple of atomic increments; percentiles are
+ * computed from a {@link Snapshot}.
+ */
+public class Histogram {
+  /** Number of buckets per power of two; must be a power of two. */
+  static final int SUB_BUCKETS = 16;
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+  private static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong sum = new AtomicLong();
+
+  /** Records a value. Negative values are recorded as 0. */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(bucketIndex(value));
+    sum.addAndGet(value);
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /** Returns the smallest value that is counted in the given bucket. */
+  static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = index % SUB_BUCKETS;
+    return (SUB_BUCKETS + subBucket) << shift;
+  }
+
+  /** Returns the largest value that is counted in the given bucket. */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    return bucketLowerBound(index) + (1L << shift) - 1;
+  }
+
+  /**
+   * Returns a copy of the histogram's current counts. Values recorded while the snapshot is
+   * being taken may or may not be included.
+   */
+  public Snapshot snapshot() {
+    long[] snapshotCounts = new long[NUM_BUCKETS];
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      snapshotCounts[i] = counts.get(i);
+    }
+    return new Snapshot(snapshotCounts, sum.get());
+  }
+
+  /** An immutable copy of a histogram's counts. */
+  public static class Snapshot {
+    private final long[] counts;
+    private final long sum;
+    private final long count;
+
+    private Snapshot(long[] counts, long sum) {
+      this.counts = counts;
+      this.sum = sum;
+      long total = 0;
+      for (long bucketCount : counts) {
+        total += bucketCount;
+      }
+      this.count = total;
+    }
+
+    /** Returns a snapshot of the values recorded after {@code earlier} was taken. */
+    public Snapshot minus(Snapshot earlier) {
+      long[] difference = new long[counts.length];
+      for (int i = 0; i < counts.length; i++) {
+        difference[i] = counts[i] - earlier.counts[i];
+      }
+      return new Snapshot(difference, sum - earlier.sum);
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /** Returns (an upper bound on) the largest value, or 0 if there are no values. */
+    public long getMax() {
+      for (int i = counts.length - 1; i >= 0; i--) {
+        if (counts[i] > 0) {
+          return bucketUpperBound(i);
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * Returns (an upper bound on) the value below which the given percentage of the values
+     * fall, or 0 if there are no values.
+     */
+    public long getPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(percentile / 100 * count);
+      rank = Math.max(1, Math.min(rank, count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return bucketUpperBound(i);
+        }
+      }
+      return getMax();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import org.apache.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A minimal HTTP server that serves the contents of the {@link MetricsRegistry} as plain text
+ * at /metrics, one "name value" line per metric.
+ */
+public class MetricsHttpServer {
+  private static final Logger LOG = Logger.getLogger(MetricsHttpServer.class);
+  public static final String PATH = "/metrics";
+
+  private final HttpServer server;
+
+  private MetricsHttpServer(HttpServer server) {
+    this.server = server;
+  }
+
+  /** Starts serving the given registry on the given port of the loopback interface. */
+  public static MetricsHttpServer start(int port, MetricsRegistry registry) throws IOException {
+    return start(new InetSocketAddress("127.0.0.1", port), registry);
+  }
+
+  /**
+   * Starts serving the given registry at the given address. Binding to an address other than
+   * loopback exposes the metrics to anyone who can reach that address.
+   */
+  public static MetricsHttpServer start(InetSocketAddress address,
+                                        final MetricsRegistry registry) throws IOException {
+    HttpServer server = HttpServer.create(address, 0);
+    server.createContext(PATH, new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        byte[] response = registry.toText().getBytes("UTF-8");
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(200, response.length);
+        OutputStream body = exchange.getResponseBody();
+        try {
+          body.write(response);
+        } finally {
+          body.close();
+        }
+      }
+    });
+    server.start();
+    LOG.info("Serving metrics at http://" + server.getAddress().getAddress().getHostAddress() +
+             ":" + server.getAddress().getPort() + PATH);
+    return new MetricsHttpServer(server);
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+}
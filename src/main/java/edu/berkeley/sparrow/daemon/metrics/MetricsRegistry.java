@@ -0,0 +1,248 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Maps;
+
+/**
+ * The daemon's histograms, counters and gauges, by name.
+ *
+ * Histograms are reported using the values recorded during the last complete interval (see
+ * {@link #startIntervals(long)}), so that percentiles reflect current behavior rather than the
+ * daemon's whole lifetime; their counts are cumulative. Metrics can be read using
+ * {@link #getValues()}, over HTTP (see {@link MetricsHttpServer}), or over JMX once
+ * {@link #registerMBean()} has been called.
+ */
+public class MetricsRegistry {
+  private static final Logger LOG = Logger.getLogger(MetricsRegistry.class);
+  private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+  public static final String MBEAN_NAME = "edu.berkeley.sparrow:type=Metrics";
+
+  private final ConcurrentMap<String, Histogram> histograms =
+      new ConcurrentHashMap<String, Histogram>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+  private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<String, Gauge>();
+
+  /** Snapshots of each histogram taken at the end of the last interval. */
+  private Map<String, Histogram.Snapshot> lastSnapshots = Maps.newHashMap();
+  /** The values recorded in each histogram during the last interval. */
+  private volatile Map<String, Histogram.Snapshot> intervalSnapshots = Collections.emptyMap();
+  private boolean intervalsStarted = false;
+  private boolean mbeanRegistered = false;
+
+  public static MetricsRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /** Returns the histogram with the given name, creating it if necessary. */
+  public Histogram histogram(String name) {
+    Histogram histogram = histograms.get(name);
+    if (histogram == null) {
+      histogram = new Histogram();
+      Histogram existing = histograms.putIfAbsent(name, histogram);
+      if (existing != null) {
+        histogram = existing;
+      }
+    }
+    return histogram;
+  }
+
+  /** Returns the counter with the given name, creating it if necessary. */
+  public Counter counter(String name) {
+    Counter counter = counters.get(name);
+    if (counter == null) {
+      counter = new Counter();
+      Counter existing = counters.putIfAbsent(name, counter);
+      if (existing != null) {
+        counter = existing;
+      }
+    }
+    return counter;
+  }
+
+  /** Registers a gauge, replacing any existing gauge with the same name. */
+  public void registerGauge(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /**
+   * Starts a background thread that ends an interval every {@code intervalMillis}. Until the
+   * first interval ends, histograms are reported using all of their values.
+   */
+  public synchronized void startIntervals(final long intervalMillis) {
+    if (intervalsStarted) {
+      return;
+    }
+    intervalsStarted = true;
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        while (true) {
+          try {
+            Thread.sleep(intervalMillis);
+          } catch (InterruptedException e) {
+            return;
+          }
+          endInterval();
+        }
+      }
+    }, "MetricsRegistry interval");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** Ends the current interval. */
+  synchronized void endInterval() {
+    Map<String, Histogram.Snapshot> newLastSnapshots = Maps.newHashMap();
+    Map<String, Histogram.Snapshot> newIntervalSnapshots = Maps.newHashMap();
+    for (Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram.Snapshot snapshot = entry.getValue().snapshot();
+      Histogram.Snapshot last = lastSnapshots.get(entry.getKey());
+      newLastSnapshots.put(entry.getKey(), snapshot);
+      newIntervalSnapshots.put(entry.getKey(), last == null ? snapshot : snapshot.minus(last));
+    }
+    lastSnapshots = newLastSnapshots;
+    intervalSnapshots = newIntervalSnapshots;
+  }
+
+  /**
+   * Returns the current value of every metric, by name. Each histogram contributes a count,
+   * a mean, the 50th, 90th and 99th percentiles and a maximum, with the histogram's name
+   * followed by ".count", ".mean", ".p50", ".p90", ".p99" and ".max".
+   */
+  public SortedMap<String, Number> getValues() {
+    SortedMap<String, Number> values = Maps.newTreeMap();
+    Map<String, Histogram.Snapshot> currentIntervalSnapshots = intervalSnapshots;
+    for (Entry<String, Histogram> entry : histograms.entrySet()) {
+      String name = entry.getKey();
+      Histogram.Snapshot total = entry.getValue().snapshot();
+      Histogram.Snapshot interval = currentIntervalSnapshots.get(name);
+      if (interval == null) {
+        interval = total;
+      }
+      values.put(name + ".count", total.getCount());
+      values.put(name + ".mean", interval.getMean());
+      values.put(name + ".p50", interval.getPercentile(50));
+      values.put(name + ".p90", interval.getPercentile(90));
+      values.put(name + ".p99", interval.getPercentile(99));
+      values.put(name + ".max", interval.getMax());
+    }
+    for (Entry<String, Counter> entry : counters.entrySet()) {
+      values.put(entry.getKey(), entry.getValue().get());
+    }
+    for (Entry<String, Gauge> entry : gauges.entrySet()) {
+      values.put(entry.getKey(), entry.getValue().getValue());
+    }
+    return values;
+  }
+
+  /** Returns every metric's value as a line of the form "name value". */
+  public String toText() {
+    StringBuilder builder = new StringBuilder();
+    for (Entry<String, Number> entry : getValues().entrySet()) {
+      builder.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+    }
+    return builder.toString();
+  }
+
+  /** Exposes the metrics as the attributes of an MBean named {@link #MBEAN_NAME}. */
+  public synchronized void registerMBean() {
+    if (mbeanRegistered) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(
+          new MetricsMBean(), new ObjectName(MBEAN_NAME));
+      mbeanRegistered = true;
+    } catch (JMException e) {
+      LOG.warn("Unable to register metrics MBean: " + e);
+    }
+  }
+
+  /** A read-only MBean with one attribute per metric value. */
+  private class MetricsMBean implements DynamicMBean {
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+      Number value = getValues().get(attribute);
+      if (value == null) {
+        throw new AttributeNotFoundException(attribute);
+      }
+      return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+      SortedMap<String, Number> values = getValues();
+      AttributeList list = new AttributeList();
+      for (String attribute : attributes) {
+        Number value = values.get(attribute);
+        if (value != null) {
+          list.add(new Attribute(attribute, value));
+        }
+      }
+      return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+      throw new AttributeNotFoundException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+      return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+      throw new UnsupportedOperationException("Metrics MBean has no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      SortedMap<String, Number> values = getValues();
+      MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+      int i = 0;
+      for (Entry<String, Number> entry : values.entrySet()) {
+        attributes[i++] = new MBeanAttributeInfo(entry.getKey(),
+            entry.getValue().getClass().getName(), entry.getKey(), true, false, false);
+      }
+      return new MBeanInfo(MetricsRegistry.class.getName(), "Sparrow metrics", attributes,
+          null, new MBeanOperationInfo[0], null);
+    }
+  }
+}
@@ -16,9 +16,6 @@
 
 package edu.berkeley.sparrow.daemon.nodemonitor;
 
-import java.util.Iterator;
-import java.util.concurrent.LinkedBlockingQueue;
-
 import org.apache.log4j.Logger;
 
 /**
@@ -31,8 +28,7 @@ public class FifoTaskScheduler extends TaskScheduler {
 
   public int maxActiveTasks;
   public Integer activeTasks;
-  public LinkedBlockingQueue<TaskSpec> taskReservations =
-      new LinkedBlockingQueue<TaskSpec>();
+  private TaskReservationQueue taskReservations = new TaskReservationQueue();
 
   public FifoTaskScheduler(int max) {
     maxActiveTasks = max;
@@ -58,29 +54,16 @@ public class FifoTaskScheduler extends TaskScheduler {
     }
     LOG.debug("All " + maxActiveTasks + " task slots filled.");
     int queuedReservations = taskReservations.size();
-    try {
-      LOG.debug("Enqueueing task reservation with request id " + taskReservation.requestId +
-                " because all task slots filled. " + queuedReservations +
-                " already enqueued reservations.");
-      taskReservations.put(taskReservation);
-    } catch (InterruptedException e) {
-      LOG.fatal(e);
-    }
+    LOG.debug("Enqueueing task reservation with request id " + taskReservation.requestId +
+              " because all task slots filled. " + queuedReservations +
+              " already enqueued reservations.");
+    taskReservations.add(taskReservation);
     return queuedReservations;
   }
 
   @Override
   synchronized int cancelTaskReservations(String requestId) {
-    int numReservationsCancelled = 0;
-    Iterator<TaskSpec> reservationsIterator = taskReservations.iterator();
-    while (reservationsIterator.hasNext()) {
-      TaskSpec reservation = reservationsIterator.next();
-      if (reservation.requestId == requestId) {
-        reservationsIterator.remove();
-        ++numReservationsCancelled;
-      }
-    }
-    return numReservationsCancelled;
+    return taskReservations.removeRequest(requestId);
   }
 
   @Override
@@ -117,4 +100,14 @@ public class FifoTaskScheduler extends TaskScheduler {
   int getMaxActiveTasks() {
     return maxActiveTasks;
   }
+
+  @Override
+  synchronized int getNumQueuedReservations() {
+    return taskReservations.size();
+  }
+
+  @Override
+  synchronized int getNumActiveTasks() {
+    return activeTasks;
+  }
 }
@@ -59,4 +59,15 @@ public class NoQueueTaskScheduler extends TaskScheduler {
     return -1;
   }
 
+  @Override
+  int getNumQueuedReservations() {
+    return 0;
+  }
+
+  @Override
+  int getNumActiveTasks() {
+    // Tasks are not tracked once they are runnable.
+    return 0;
+  }
+
 }
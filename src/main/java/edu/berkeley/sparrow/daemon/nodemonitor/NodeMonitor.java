@@ -18,30 +18,33 @@ package edu.berkeley.sparrow.daemon.nodemonitor;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.Logger;
-import org.apache.thrift.TException;
-import org.apache.thrift.async.AsyncMethodCallback;
-
-import com.google.common.collect.Maps;
 
 import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.AuditLogger;
+import edu.berkeley.sparrow.daemon.util.ConcurrentLongHashMap;
 import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.FrontendMessageBatcher;
+import edu.berkeley.sparrow.daemon.util.MessageBatcher;
 import edu.berkeley.sparrow.daemon.util.Network;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
 import edu.berkeley.sparrow.daemon.util.Resources;
-import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
+import edu.berkeley.sparrow.daemon.util.Trace;
 import edu.berkeley.sparrow.thrift.SchedulerService;
-import edu.berkeley.sparrow.thrift.SchedulerService.AsyncClient;
-import edu.berkeley.sparrow.thrift.SchedulerService.AsyncClient.sendFrontendMessage_call;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
 
 /**
  * A Node Monitor which is responsible for communicating with application
@@ -51,25 +54,39 @@ import edu.berkeley.sparrow.thrift.TFullTaskId;
  */
 public class NodeMonitor {
   private final static Logger LOG = Logger.getLogger(NodeMonitor.class);
-  private final static Logger AUDIT_LOG = Logging.getAuditLogger(TaskScheduler.class);
+  private final static AuditLogger AUDIT_LOG = Logging.getAuditLogger(TaskScheduler.class);
+  private final static Trace TASKS_FINISHED_TRACE =
+      Trace.forMethod(NodeMonitor.class, "tasksFinished");
+  private final static Trace ENQUEUE_TASK_RESERVATIONS_TRACE =
+      Trace.forMethod(NodeMonitor.class, "enqueueTaskReservations");
+  private final static Trace SEND_FRONTEND_MESSAGE_TRACE =
+      Trace.forMethod(NodeMonitor.class, "sendFrontendMessage");
+  private final static int REQUEST_SCHEDULERS_CONCURRENCY = 16;
 
   private static NodeMonitorState state;
   private HashMap<String, InetSocketAddress> appSockets =
       new HashMap<String, InetSocketAddress>();
   private HashMap<String, List<TFullTaskId>> appTasks =
       new HashMap<String, List<TFullTaskId>>();
-  // Map to scheduler socket address for each request id.
-  private ConcurrentMap<String, InetSocketAddress> requestSchedulers =
-      Maps.newConcurrentMap();
-  private ThriftClientPool<SchedulerService.AsyncClient> schedulerClientPool =
-      new ThriftClientPool<SchedulerService.AsyncClient>(
-          new ThriftClientPool.SchedulerServiceMakerFactory());
+  // Map to scheduler socket address for each request, indexed by request handle.
+  private ConcurrentLongHashMap<InetSocketAddress> requestSchedulers =
+      new ConcurrentLongHashMap<InetSocketAddress>(REQUEST_SCHEDULERS_CONCURRENCY);
+  // Map to frontend socket address for each request whose scheduler asked that frontend messages
+  // be sent directly to the frontend, indexed by request handle.
+  private ConcurrentLongHashMap<InetSocketAddress> requestFrontends =
+      new ConcurrentLongHashMap<InetSocketAddress>(REQUEST_SCHEDULERS_CONCURRENCY);
+  /** Channels to schedulers and frontends, over which frontend messages are sent. */
+  private PipelinedChannelManager frontendMessageChannels;
+  /** Coalesces the frontend messages relayed to each scheduler. */
+  private MessageBatcher<TFrontendMessage> schedulerMessages;
+  /** Coalesces the frontend messages sent directly to each frontend. */
+  private MessageBatcher<TFrontendMessage> frontendMessages;
   private TaskScheduler scheduler;
   private TaskLauncherService taskLauncherService;
   private String ipAddress;
 
   public void initialize(Configuration conf, int nodeMonitorInternalPort)
-      throws UnknownHostException {
+      throws IOException {
     String mode = conf.getString(SparrowConf.DEPLYOMENT_MODE, "unspecified");
     if (mode.equals("standalone")) {
       state = new StandaloneNodeMonitorState();
@@ -104,6 +121,17 @@ public class NodeMonitor {
     scheduler.initialize(conf, nodeMonitorInternalPort);
     taskLauncherService = new TaskLauncherService();
     taskLauncherService.initialize(conf, scheduler, nodeMonitorInternalPort);
+
+    frontendMessageChannels = new PipelinedChannelManager("NodeMonitor frontend message channels");
+    frontendMessageChannels.registerMetrics(
+        "nodemonitor." + nodeMonitorInternalPort + ".frontend_message_channels.");
+    long maxDelayMicros = conf.getLong(SparrowConf.FRONTEND_MESSAGE_MAX_DELAY_US,
+        SparrowConf.DEFAULT_FRONTEND_MESSAGE_MAX_DELAY_US);
+    int maxBatchSize = conf.getInt(SparrowConf.FRONTEND_MESSAGE_MAX_BATCH_SIZE,
+        SparrowConf.DEFAULT_FRONTEND_MESSAGE_MAX_BATCH_SIZE);
+    schedulerMessages = new SchedulerMessageBatcher(maxDelayMicros, maxBatchSize);
+    frontendMessages = new FrontendMessageBatcher("NodeMonitor frontend messages",
+        frontendMessageChannels, maxDelayMicros, maxBatchSize);
   }
 
   /**
@@ -126,20 +154,21 @@ public class NodeMonitor {
    * Account for tasks which have finished.
    */
   public void tasksFinished(List<TFullTaskId> tasks) {
-    LOG.debug(Logging.functionCall(tasks));
+    // Trace each task with its own request, so that tracing follows the sampled requests.
+    for (TFullTaskId task : tasks) {
+      TASKS_FINISHED_TRACE.call(task.requestId, task);
+    }
     scheduler.tasksFinished(tasks);
   }
 
   public boolean enqueueTaskReservations(TEnqueueTaskReservationsRequest request) {
-    LOG.debug(Logging.functionCall(request));
-    AUDIT_LOG.info(Logging.auditEventString("node_monitor_enqueue_task_reservation",
-                                            ipAddress, request.requestId));
+    ENQUEUE_TASK_RESERVATIONS_TRACE.call(request.requestId, request);
+    AUDIT_LOG.log(request.requestId, "node_monitor_enqueue_task_reservation",
+                  ipAddress, request.requestId);
     LOG.info("Received enqueue task reservation request from " + ipAddress + " for request " +
              request.requestId);
 
-    InetSocketAddress schedulerAddress = new InetSocketAddress(
-        request.getSchedulerAddress().getHost(), request.getSchedulerAddress().getPort());
-    requestSchedulers.put(request.getRequestId(), schedulerAddress);
+    recordMessageDestination(request);
 
     InetSocketAddress socket = appSockets.get(request.getAppId());
     if (socket == null) {
@@ -151,53 +180,130 @@ public class NodeMonitor {
     return true;
   }
 
+  /**
+   * Like {@link #enqueueTaskReservations(TEnqueueTaskReservationsRequest)}, but enqueues the
+   * reservations for many requests with a single call to the task scheduler, and reports the
+   * resulting load. Returns one response per request, in order.
+   */
+  public List<TEnqueueTaskReservationsResponse> enqueueTaskReservationsBatch(
+      List<TEnqueueTaskReservationsRequest> requests) {
+    List<TEnqueueTaskReservationsRequest> accepted =
+        new ArrayList<TEnqueueTaskReservationsRequest>(requests.size());
+    List<InetSocketAddress> sockets = new ArrayList<InetSocketAddress>(requests.size());
+    boolean[] enqueued = new boolean[requests.size()];
+    for (int i = 0; i < requests.size(); i++) {
+      TEnqueueTaskReservationsRequest request = requests.get(i);
+      ENQUEUE_TASK_RESERVATIONS_TRACE.call(request.requestId, request);
+      AUDIT_LOG.log(request.requestId, "node_monitor_enqueue_task_reservation",
+                    ipAddress, request.requestId);
+      LOG.debug("Received enqueue task reservation request from " + ipAddress +
+                " for request " + request.requestId);
+
+      recordMessageDestination(request);
+
+      InetSocketAddress socket = appSockets.get(request.getAppId());
+      if (socket == null) {
+        LOG.error("No socket stored for " + request.getAppId() + " (never registered?). " +
+                  "Can't launch task.");
+        continue;
+      }
+      accepted.add(request);
+      sockets.add(socket);
+      enqueued[i] = true;
+    }
+    if (!accepted.isEmpty()) {
+      scheduler.submitTaskReservations(accepted, sockets);
+    }
+
+    TNodeMonitorLoad load = scheduler.getLoad();
+    List<TEnqueueTaskReservationsResponse> responses =
+        new ArrayList<TEnqueueTaskReservationsResponse>(requests.size());
+    for (boolean success : enqueued) {
+      responses.add(new TEnqueueTaskReservationsResponse(success, load));
+    }
+    return responses;
+  }
+
+  /**
+   * Returns the handle for the given request, parsing it from the request's ID if the scheduler
+   * did not set it.
+   */
+  private static long getRequestHandle(TEnqueueTaskReservationsRequest request) {
+    if (request.isSetRequestHandle()) {
+      return request.getRequestHandle();
+    }
+    return RequestIds.parseHandle(request.getRequestId());
+  }
+
+  /** Records where to send the frontend messages for the request's tasks. */
+  private void recordMessageDestination(TEnqueueTaskReservationsRequest request) {
+    if (request.isSetFrontendAddress()) {
+      requestFrontends.put(getRequestHandle(request), new InetSocketAddress(
+          request.getFrontendAddress().getHost(), request.getFrontendAddress().getPort()));
+    } else {
+      requestSchedulers.put(getRequestHandle(request), new InetSocketAddress(
+          request.getSchedulerAddress().getHost(), request.getSchedulerAddress().getPort()));
+    }
+  }
+
   public void cancelTaskReservations(String requestId) {
     int numReservationsCancelled = scheduler.cancelTaskReservations(requestId);
-    AUDIT_LOG.debug(Logging.auditEventString(
-        "node_monitor_cancellation", ipAddress, requestId, numReservationsCancelled));
+    AUDIT_LOG.log(requestId, "node_monitor_cancellation", ipAddress, requestId,
+                  numReservationsCancelled);
   }
 
-  private class sendFrontendMessageCallback implements
-  AsyncMethodCallback<sendFrontendMessage_call> {
-    private InetSocketAddress frontendSocket;
-    private AsyncClient client;
-    public sendFrontendMessageCallback(InetSocketAddress socket, AsyncClient client) {
-      frontendSocket = socket;
-      this.client = client;
+  /** Relays batches of frontend messages to the scheduler that placed each message's task. */
+  private class SchedulerMessageBatcher extends MessageBatcher<TFrontendMessage> {
+    SchedulerMessageBatcher(long maxDelayMicros, int maxBatchSize) {
+      super("NodeMonitor scheduler messages", maxDelayMicros, maxBatchSize);
     }
 
-    public void onComplete(sendFrontendMessage_call response) {
-      try { schedulerClientPool.returnClient(frontendSocket, client); }
-      catch (Exception e) { LOG.error(e); }
-    }
+    @Override
+    protected void sendBatch(final InetSocketAddress scheduler,
+                             final List<TFrontendMessage> batch) {
+      frontendMessageChannels.call(scheduler, "sendFrontendMessages",
+          new SchedulerService.sendFrontendMessages_args(batch),
+          new SchedulerService.sendFrontendMessages_result(),
+          new PipelinedChannel.Callback<SchedulerService.sendFrontendMessages_result>() {
+            @Override
+            public void onComplete(SchedulerService.sendFrontendMessages_result result) {
+              batchFinished(scheduler);
+            }
 
-    public void onError(Exception exception) {
-      try { schedulerClientPool.returnClient(frontendSocket, client); }
-      catch (Exception e) { LOG.error(e); }
-      LOG.error(exception);
+            @Override
+            public void onError(Exception exception) {
+              LOG.error("Error sending " + batch.size() + " frontend messages to " + scheduler +
+                        ": " + exception);
+              batchFinished(scheduler);
+            }
+          });
     }
   }
 
-  public void sendFrontendMessage(String app, TFullTaskId taskId,
-      int status, ByteBuffer message) {
-    LOG.debug(Logging.functionCall(app, taskId, message));
-    InetSocketAddress scheduler = requestSchedulers.get(taskId.requestId);
-    if (scheduler == null) {
-      LOG.error("Did not find any scheduler info for request: " + taskId);
-      return;
-    }
+  public void sendFrontendMessage(String app, TFullTaskId taskId, int status,
+      ByteBuffer message) {
+    sendFrontendMessages(
+        Collections.singletonList(new TFrontendMessage(app, taskId, status, message)));
+  }
 
-    try {
-      AsyncClient client = schedulerClientPool.borrowClient(scheduler);
-      client.sendFrontendMessage(app, taskId, status, message,
-          new sendFrontendMessageCallback(scheduler, client));
-      LOG.debug("finished sending message");
-    } catch (IOException e) {
-      LOG.error(e);
-    } catch (TException e) {
-      LOG.error(e);
-    } catch (Exception e) {
-      LOG.error(e);
+  public void sendFrontendMessages(List<TFrontendMessage> messages) {
+    for (TFrontendMessage message : messages) {
+      TFullTaskId taskId = message.getTaskId();
+      SEND_FRONTEND_MESSAGE_TRACE.call(taskId.requestId, message.getApp(), taskId,
+                                       message.bufferForMessage());
+      long requestHandle = taskId.isSetRequestHandle() ?
+          taskId.getRequestHandle() : RequestIds.parseHandle(taskId.requestId);
+      InetSocketAddress frontend = requestFrontends.get(requestHandle);
+      if (frontend != null) {
+        frontendMessages.add(frontend, message);
+        continue;
+      }
+      InetSocketAddress scheduler = requestSchedulers.get(requestHandle);
+      if (scheduler == null) {
+        LOG.error("Did not find any scheduler info for request: " + taskId);
+        continue;
+      }
+      schedulerMessages.add(scheduler, message);
     }
   }
 }
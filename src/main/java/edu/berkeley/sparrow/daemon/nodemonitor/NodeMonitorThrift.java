@@ -17,7 +17,6 @@
 package edu.berkeley.sparrow.daemon.nodemonitor;
 
 import java.io.IOException;
-import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.List;
@@ -28,12 +27,15 @@ import org.apache.thrift.TException;
 import com.google.common.base.Optional;
 
 import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.Network;
 import edu.berkeley.sparrow.daemon.util.Serialization;
 import edu.berkeley.sparrow.daemon.util.TServers;
 import edu.berkeley.sparrow.thrift.InternalService;
 import edu.berkeley.sparrow.thrift.NodeMonitorService;
 import edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 
 /**
@@ -83,7 +85,9 @@ public class NodeMonitorThrift implements NodeMonitorService.Iface,
         DEFAULT_INTERNAL_THRIFT_THREADS);
     TServers.launchThreadedThriftServer(internalPort, internalThreads, internalProcessor);
 
-    internalAddr = new InetSocketAddress(InetAddress.getLocalHost(), internalPort);
+    // Use the same address that the node monitor reports in getTask() calls, so schedulers can
+    // match the two up even if the configured host name is not this machine's default.
+    internalAddr = new InetSocketAddress(Network.getIPAddress(conf), internalPort);
   }
 
   @Override
@@ -101,6 +105,11 @@ public class NodeMonitorThrift implements NodeMonitorService.Iface,
     nodeMonitor.sendFrontendMessage(app, taskId, status, message);
   }
 
+  @Override
+  public void sendFrontendMessages(List<TFrontendMessage> messages) throws TException {
+    nodeMonitor.sendFrontendMessages(messages);
+  }
+
   @Override
   public void tasksFinished(List<TFullTaskId> tasks) throws TException {
     nodeMonitor.tasksFinished(tasks);
@@ -117,4 +126,18 @@ public class NodeMonitorThrift implements NodeMonitorService.Iface,
       throws TException {
     nodeMonitor.cancelTaskReservations(request.requestId);
   }
+
+  @Override
+  public void cancelTaskReservationsBatch(List<TCancelTaskReservationsRequest> requests)
+      throws TException {
+    for (TCancelTaskReservationsRequest request : requests) {
+      nodeMonitor.cancelTaskReservations(request.requestId);
+    }
+  }
+
+  @Override
+  public List<TEnqueueTaskReservationsResponse> enqueueTaskReservationsBatch(
+      List<TEnqueueTaskReservationsRequest> requests) throws TException {
+    return nodeMonitor.enqueueTaskReservationsBatch(requests);
+  }
 }
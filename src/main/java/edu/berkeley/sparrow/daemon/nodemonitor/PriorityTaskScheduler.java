@@ -16,10 +16,7 @@
 
 package edu.berkeley.sparrow.daemon.nodemonitor;
 
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map.Entry;
-import java.util.Queue;
 import java.util.TreeMap;
 
 import org.apache.log4j.Logger;
@@ -37,7 +34,7 @@ public class PriorityTaskScheduler extends TaskScheduler {
   private final static Logger LOG = Logger.getLogger(PriorityTaskScheduler.class);
 
   /** Queue of tasks of each priority. */
-  private TreeMap<Integer, Queue<TaskSpec>> priorityQueues = Maps.newTreeMap();
+  private TreeMap<Integer, TaskReservationQueue> priorityQueues = Maps.newTreeMap();
   int numQueuedReservations;
 
   public int maxActiveTasks;
@@ -56,7 +53,7 @@ public class PriorityTaskScheduler extends TaskScheduler {
       */
     int priority = taskReservation.user.getPriority();
     if (!priorityQueues.containsKey(priority)) {
-      priorityQueues.put(priority, new LinkedList<TaskSpec>());
+      priorityQueues.put(priority, new TaskReservationQueue());
     }
 
     if (activeTasks < maxActiveTasks) {
@@ -75,7 +72,7 @@ public class PriorityTaskScheduler extends TaskScheduler {
     }
 
     LOG.debug("All " + maxActiveTasks + " task slots filled.");
-    Queue<TaskSpec> reservations = priorityQueues.get(priority);
+    TaskReservationQueue reservations = priorityQueues.get(priority);
     LOG.debug("Adding reservation for priority " + priority + ". " + reservations.size() +
               " reservations already queued for that priority, and " + numQueuedReservations +
               " total reservations queued.");
@@ -86,16 +83,10 @@ public class PriorityTaskScheduler extends TaskScheduler {
   @Override
   synchronized int cancelTaskReservations(String requestId) {
     int numReservationsCancelled = 0;
-    for (Queue<TaskSpec> taskSpecs : priorityQueues.values()) {
-      Iterator<TaskSpec> iterator = taskSpecs.iterator();
-      while (iterator.hasNext()) {
-        TaskSpec reservation = iterator.next();
-        if (reservation.requestId == requestId) {
-          ++numReservationsCancelled;
-          iterator.remove();
-        }
-      }
+    for (TaskReservationQueue reservations : priorityQueues.values()) {
+      numReservationsCancelled += reservations.removeRequest(requestId);
     }
+    numQueuedReservations -= numReservationsCancelled;
     return numReservationsCancelled;
   }
 
@@ -121,7 +112,7 @@ public class PriorityTaskScheduler extends TaskScheduler {
       String lastExecutedRequestId, String lastExecutedTaskId) {
     if (numQueuedReservations != 0) {
       // Launch a task for the lowest valued priority with queued tasks.
-      for (Entry<Integer, Queue<TaskSpec>> entry : priorityQueues.entrySet()) {
+      for (Entry<Integer, TaskReservationQueue> entry : priorityQueues.entrySet()) {
         TaskSpec nextTask = entry.getValue().poll();
         if (nextTask != null) {
           LOG.debug("Launching task for request " + nextTask.requestId + " (priority " +
@@ -147,4 +138,14 @@ public class PriorityTaskScheduler extends TaskScheduler {
     return maxActiveTasks;
   }
 
+  @Override
+  synchronized int getNumQueuedReservations() {
+    return numQueuedReservations;
+  }
+
+  @Override
+  synchronized int getNumActiveTasks() {
+    return activeTasks;
+  }
+
 }
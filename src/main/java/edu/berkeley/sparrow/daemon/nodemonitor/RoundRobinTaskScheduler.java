@@ -18,9 +18,6 @@ package edu.berkeley.sparrow.daemon.nodemonitor;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
 
 import org.apache.log4j.Logger;
 
@@ -39,7 +36,7 @@ import com.google.common.collect.Maps;
 public class RoundRobinTaskScheduler extends TaskScheduler {
   private final static Logger LOG = Logger.getLogger(RoundRobinTaskScheduler.class);
 
-  private HashMap<String, Queue<TaskSpec>> userQueues = Maps.newHashMap();
+  private HashMap<String, TaskReservationQueue> userQueues = Maps.newHashMap();
   int numQueuedReservations;
 
   public int maxActiveTasks;
@@ -63,7 +60,7 @@ public class RoundRobinTaskScheduler extends TaskScheduler {
     String user = taskReservation.user.getUser();
     if (!userQueues.containsKey(user)) {
       users.add(user);
-      userQueues.put(user, new LinkedList<TaskSpec>());
+      userQueues.put(user, new TaskReservationQueue());
     }
 
     if (activeTasks < maxActiveTasks) {
@@ -84,7 +81,7 @@ public class RoundRobinTaskScheduler extends TaskScheduler {
     }
 
     LOG.debug("All " + maxActiveTasks + " task slots filled.");
-    Queue<TaskSpec> reservations = userQueues.get(user);
+    TaskReservationQueue reservations = userQueues.get(user);
     LOG.debug("Adding reservation for user " + user + ". " + reservations.size() +
               " reservations already queued for user, and " + numQueuedReservations +
               " total reservations queued.");
@@ -95,16 +92,10 @@ public class RoundRobinTaskScheduler extends TaskScheduler {
   @Override
   synchronized int cancelTaskReservations(String requestId) {
     int numReservationsCancelled = 0;
-    for (Queue<TaskSpec> taskReservations : userQueues.values()) {
-      Iterator<TaskSpec> iterator = taskReservations.iterator();
-      while (iterator.hasNext()) {
-        TaskSpec reservation = iterator.next();
-        if (reservation.requestId == requestId) {
-          iterator.remove();
-          ++numReservationsCancelled;
-        }
-      }
+    for (TaskReservationQueue reservations : userQueues.values()) {
+      numReservationsCancelled += reservations.removeRequest(requestId);
     }
+    numQueuedReservations -= numReservationsCancelled;
     return numReservationsCancelled;
   }
 
@@ -167,7 +158,7 @@ public class RoundRobinTaskScheduler extends TaskScheduler {
    */
   private synchronized boolean attemptTaskLaunchForUser(String lastExecutedTaskRequestId,
       String lastExecutedTaskId, String user) {
-    Queue<TaskSpec> considering = userQueues.get(user);
+    TaskReservationQueue considering = userQueues.get(user);
     TaskSpec nextTask = considering.poll();
     if (nextTask != null) {
       LOG.debug("Task for user " + user + ", request " + nextTask.requestId +
@@ -189,4 +180,14 @@ public class RoundRobinTaskScheduler extends TaskScheduler {
     return maxActiveTasks;
   }
 
+  @Override
+  synchronized int getNumQueuedReservations() {
+    return numQueuedReservations;
+  }
+
+  @Override
+  synchronized int getNumActiveTasks() {
+    return activeTasks;
+  }
+
 }
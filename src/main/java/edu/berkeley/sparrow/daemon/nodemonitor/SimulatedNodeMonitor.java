@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.nodemonitor;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.configuration.Configuration;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+
+/**
+ * A node monitor for use in simulations: it drives a real {@link TaskScheduler}, but leaves
+ * the RPCs a {@link NodeMonitor} and its {@link TaskLauncherService} would make (getTask() and
+ * launchTask()) to the caller, which is expected to simulate them.
+ *
+ * Like the {@link TaskScheduler}s it uses, this is not tied to wall clock time, so it can be
+ * driven by a simulated clock.
+ */
+public class SimulatedNodeMonitor {
+  /** A reservation that is ready to launch a task, and needs to ask its scheduler for one. */
+  public static class Reservation {
+    private final TaskScheduler.TaskSpec taskSpec;
+
+    private Reservation(TaskScheduler.TaskSpec taskSpec) {
+      this.taskSpec = taskSpec;
+    }
+
+    public String getRequestId() {
+      return taskSpec.requestId;
+    }
+
+    public long getRequestHandle() {
+      return taskSpec.requestHandle;
+    }
+
+    public InetSocketAddress getSchedulerAddress() {
+      return taskSpec.schedulerAddress;
+    }
+  }
+
+  private final TaskScheduler scheduler;
+  private final InetSocketAddress address;
+
+  /**
+   * Creates a node monitor at {@code address} whose task scheduler has the given type (one of
+   * the values of {@link edu.berkeley.sparrow.daemon.SparrowConf#NM_TASK_SCHEDULER_TYPE}, or
+   * "noqueue") and number of slots.
+   */
+  public SimulatedNodeMonitor(Configuration conf, String taskSchedulerType, int slots,
+      InetSocketAddress address) {
+    if (taskSchedulerType.equals("round_robin")) {
+      scheduler = new RoundRobinTaskScheduler(slots);
+    } else if (taskSchedulerType.equals("fifo")) {
+      scheduler = new FifoTaskScheduler(slots);
+    } else if (taskSchedulerType.equals("priority")) {
+      scheduler = new PriorityTaskScheduler(slots);
+    } else if (taskSchedulerType.equals("noqueue")) {
+      scheduler = new NoQueueTaskScheduler();
+    } else {
+      throw new IllegalArgumentException("Unsupported task scheduler type: " +
+                                         taskSchedulerType);
+    }
+    scheduler.initialize(conf, address.getPort());
+    this.address = address;
+  }
+
+  public InetSocketAddress getAddress() {
+    return address;
+  }
+
+  /** Handles an enqueueTaskReservations() RPC. */
+  public void enqueueTaskReservations(TEnqueueTaskReservationsRequest request) {
+    scheduler.submitTaskReservations(request, address);
+  }
+
+  /** Handles a cancelTaskReservations() RPC. */
+  public void cancelTaskReservations(String requestId) {
+    scheduler.cancelTaskReservations(requestId);
+  }
+
+  /**
+   * Returns the reservations that have become ready to launch a task since the last call. The
+   * caller should ask each reservation's scheduler for a task, and then call either
+   * {@link #taskLaunched} or {@link #noTaskForReservation}.
+   */
+  public List<Reservation> takeRunnableReservations() {
+    TaskScheduler.TaskSpec taskSpec = scheduler.pollNextTask();
+    if (taskSpec == null) {
+      return Collections.emptyList();
+    }
+    List<Reservation> reservations = Lists.newArrayList();
+    while (taskSpec != null) {
+      reservations.add(new Reservation(taskSpec));
+      taskSpec = scheduler.pollNextTask();
+    }
+    return reservations;
+  }
+
+  /**
+   * Handles a task returned by a getTask() call for the given reservation. The task is
+   * considered running (and occupying a slot) until {@link #taskFinished} is called.
+   */
+  public void taskLaunched(Reservation reservation, TTaskLaunchSpec task) {
+    reservation.taskSpec.taskSpec = task;
+    if (reservation.taskSpec.rearm) {
+      scheduler.rearmTaskReservation(reservation.taskSpec);
+    }
+  }
+
+  /** Handles a getTask() call for the given reservation that didn't return a task. */
+  public void noTaskForReservation(Reservation reservation) {
+    scheduler.noTaskForReservation(reservation.taskSpec);
+  }
+
+  /** Handles the completion of a task launched for the given reservation. */
+  public void taskFinished(Reservation reservation) {
+    TaskScheduler.TaskSpec taskSpec = reservation.taskSpec;
+    TFullTaskId taskId = new TFullTaskId(taskSpec.taskSpec.getTaskId(), taskSpec.requestId,
+        taskSpec.appId, null);
+    scheduler.tasksFinished(Collections.singletonList(taskId));
+  }
+
+  public int getNumQueuedReservations() {
+    return scheduler.getNumQueuedReservations();
+  }
+
+  public int getNumActiveTasks() {
+    return scheduler.getNumActiveTasks();
+  }
+}
@@ -18,43 +18,63 @@ package edu.berkeley.sparrow.daemon.nodemonitor;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.Logger;
+import org.apache.thrift.TApplicationException;
 import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
 import edu.berkeley.sparrow.daemon.nodemonitor.TaskScheduler.TaskSpec;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
+import edu.berkeley.sparrow.daemon.util.AuditLogger;
 import edu.berkeley.sparrow.daemon.util.Logging;
 import edu.berkeley.sparrow.daemon.util.Network;
-import edu.berkeley.sparrow.daemon.util.Resources;
-import edu.berkeley.sparrow.daemon.util.TClients;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
+import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
 import edu.berkeley.sparrow.thrift.BackendService;
-import edu.berkeley.sparrow.thrift.GetTaskService;
+import edu.berkeley.sparrow.thrift.BackendService.AsyncClient.launchTask_call;
+import edu.berkeley.sparrow.thrift.GetTaskService.getTask_args;
+import edu.berkeley.sparrow.thrift.GetTaskService.getTask_result;
+import edu.berkeley.sparrow.thrift.GetTaskService.getTasks_args;
+import edu.berkeley.sparrow.thrift.GetTaskService.getTasks_result;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
 import edu.berkeley.sparrow.thrift.THostPort;
 import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
 
 /**
- * TaskLauncher service consumes TaskReservations produced by {@link TaskScheduler.getNextTask}.
- * For each TaskReservation, the TaskLauncherService attempts to fetch the task specification from
- * the scheduler that sent the reservation using the {@code getTask} RPC; if it successfully
- * fetches a task, it launches the task on the appropriate backend.
+ * TaskLauncher service consumes TaskReservations produced by {@link TaskScheduler.getNextTasks}.
+ * For each batch of TaskReservations (which are all for the same request), the
+ * TaskLauncherService attempts to fetch the task specifications from the scheduler that sent the
+ * reservations using a single {@code getTask} or {@code getTasks} RPC; it launches each task it
+ * successfully fetches on the appropriate backend.
  *
- * TaskLauncherService uses multiple threads to launch tasks. Each thread keeps a client for
- * each scheduler, and a client for each application backend, and the TaskLauncherService uses
- * a number of threads equal to the number of slots available for running tasks on the machine.
+ * All RPCs are asynchronous, so many getTask() and launchTask() RPCs can be in flight at once;
+ * getTask() RPCs to the same scheduler are pipelined over a few connections (set by
+ * {@link SparrowConf.NM_GET_TASK_CHANNELS}), so that one slow RPC doesn't delay the rest.
+ * TaskLauncherService uses a small number of threads (set by
+ * {@link SparrowConf.NM_TASK_LAUNCHER_THREADS}) to take reservations from the TaskScheduler and
+ * start getTask() RPCs; the remainder of the work is done in the RPC callbacks.
  */
 public class TaskLauncherService {
   private final static Logger LOG = Logger.getLogger(TaskLauncherService.class);
-  private final static Logger AUDIT_LOG = Logging.getAuditLogger(TaskLauncherService.class);
+  private final static AuditLogger AUDIT_LOG = Logging.getAuditLogger(TaskLauncherService.class);
+
+  /** Round trip times of getTask() (or getTasks()) and launchTask() RPCs. */
+  private final static Histogram GET_TASK_RPC_US =
+      MetricsRegistry.getInstance().histogram("nodemonitor.get_task_rpc_us");
+  private final static Histogram LAUNCH_TASK_RPC_US =
+      MetricsRegistry.getInstance().histogram("nodemonitor.launch_task_rpc_us");
 
   /* The number of threads used by the service. */
   private int numThreads;
@@ -63,122 +83,227 @@ public class TaskLauncherService {
 
   private TaskScheduler scheduler;
 
-  /** A runnable that spins in a loop asking for tasks to launch and launching them. */
-  private class TaskLaunchRunnable implements Runnable {
-
-    /** Client to use to communicate with each scheduler (indexed by scheduler hostname). */
-    private HashMap<String, GetTaskService.Client> schedulerClients = Maps.newHashMap();
+  /**
+   * Channels for communicating with schedulers' getTask() servers. This node monitor's getTask()
+   * RPCs to each scheduler are pipelined over a few connections.
+   */
+  private PipelinedChannelManager schedulerChannels;
 
-    /** Client to use to communicate with each application backend (indexed by backend address). */
-    private HashMap<InetSocketAddress, BackendService.Client> backendClients = Maps.newHashMap();
+  /** Thrift client pool for communicating with application backends. */
+  private ThriftClientPool<BackendService.AsyncClient> backendClientPool =
+      new ThriftClientPool<BackendService.AsyncClient>(
+          new ThriftClientPool.BackendServiceMakerFactory());
 
+  /** A runnable that spins in a loop taking runnable reservations and requesting their tasks. */
+  private class TaskLaunchRunnable implements Runnable {
     @Override
     public void run() {
       while (true) {
-        TaskSpec task = scheduler.getNextTask(); // blocks until task is ready
-
-        List<TTaskLaunchSpec> taskLaunchSpecs = executeGetTaskRpc(task);
-        AUDIT_LOG.info(Logging.auditEventString("node_monitor_get_task_complete", task.requestId,
-            nodeMonitorInternalAddress.getHost()));
-
-        if (taskLaunchSpecs.isEmpty()) {
-          LOG.debug("Didn't receive a task for request " + task.requestId);
-          scheduler.noTaskForReservation(task);
+        // Blocks until a task is ready. All of the returned reservations are for the same request.
+        List<TaskSpec> tasks = scheduler.getNextTasks();
+        if (tasks.isEmpty()) {
           continue;
         }
-        if (taskLaunchSpecs.size() > 1) {
-          LOG.warn("Received " + taskLaunchSpecs +
-                   " task launch specifications; ignoring all but the first one.");
-        }
-        task.taskSpec = taskLaunchSpecs.get(0);
-        LOG.debug("Received task for request " + task.requestId + ", task " +
-                  task.taskSpec.getTaskId());
-
-        // Launch the task on the backend.
-        AUDIT_LOG.info(Logging.auditEventString("node_monitor_task_launch",
-            task.requestId,
-            nodeMonitorInternalAddress.getHost(),
-            task.taskSpec.getTaskId(),
-            task.previousRequestId,
-            task.previousTaskId));
-        executeLaunchTaskRpc(task);
-        LOG.debug("Launched task " + task.taskSpec.getTaskId() + " for request " + task.requestId +
-            " on application backend at system time " + System.currentTimeMillis());
+        executeGetTaskRpc(tasks);
       }
+    }
+  }
+
+  /**
+   * Starts a getTask() RPC (or a getTasks() RPC, if there is more than one reservation) to get
+   * the task specifications for {@code tasks} from the appropriate scheduler.
+   */
+  private void executeGetTaskRpc(List<TaskSpec> tasks) {
+    TaskSpec task = tasks.get(0);
+    InetSocketAddress schedulerAddress = new InetSocketAddress(
+        task.schedulerAddress.getAddress(),
+        SchedulerThrift.getTaskPort(task.schedulerAddress.getPort()));
 
+    LOG.debug("Attempting to get " + tasks.size() + " tasks for request " + task.requestId);
+    AUDIT_LOG.log(task.requestId, "node_monitor_get_task_launch", task.requestId,
+        nodeMonitorInternalAddress.getHost());
+    TNodeMonitorLoad load = scheduler.getLoad();
+    if (tasks.size() == 1) {
+      schedulerChannels.call(schedulerAddress, "getTask",
+          new getTask_args(task.requestId, nodeMonitorInternalAddress, task.requestHandle, load),
+          new getTask_result(), new GetTaskCallback(tasks, schedulerAddress));
+    } else {
+      schedulerChannels.call(schedulerAddress, "getTasks",
+          new getTasks_args(task.requestId, nodeMonitorInternalAddress, tasks.size(),
+                            task.requestHandle, load),
+          new getTasks_result(), new GetTasksCallback(tasks, schedulerAddress));
     }
+  }
 
-    /** Uses a getTask() RPC to get the task specification from the appropriate scheduler. */
-    private List<TTaskLaunchSpec> executeGetTaskRpc(TaskSpec task) {
-      String schedulerAddress = task.schedulerAddress.getAddress().getHostAddress();
-      if (!schedulerClients.containsKey(schedulerAddress)) {
-        try {
-          schedulerClients.put(schedulerAddress,
-              TClients.createBlockingGetTaskClient(
-                  task.schedulerAddress.getAddress().getHostAddress(),
-                  SchedulerThrift.DEFAULT_GET_TASK_PORT));
-        } catch (IOException e) {
-          LOG.error("Error creating thrift client: " + e.getMessage());
-          List<TTaskLaunchSpec> emptyTaskLaunchSpecs = Lists.newArrayList();
-          return emptyTaskLaunchSpecs;
-        }
+  /** State shared by the callbacks for getTask() and getTasks(). */
+  private abstract class GetTaskCallbackBase {
+    protected List<TaskSpec> tasks;
+    protected InetSocketAddress schedulerAddress;
+    protected long startNanos;
+
+    public GetTaskCallbackBase(List<TaskSpec> tasks, InetSocketAddress schedulerAddress) {
+      this.tasks = tasks;
+      this.schedulerAddress = schedulerAddress;
+      this.startNanos = System.nanoTime();
+    }
+
+    protected void complete(List<TTaskLaunchSpec> taskLaunchSpecs) {
+      String requestId = tasks.get(0).requestId;
+      long rpcTimeMicros = (System.nanoTime() - startNanos) / 1000;
+      GET_TASK_RPC_US.record(rpcTimeMicros);
+      LOG.debug("GetTask() RPC for request " + requestId + " completed in " +
+                rpcTimeMicros / 1000.0 + "ms");
+      AUDIT_LOG.log(requestId, "node_monitor_get_task_complete", requestId,
+          nodeMonitorInternalAddress.getHost());
+      handleTaskLaunchSpecs(tasks, taskLaunchSpecs);
+    }
+
+    public void onError(Exception exception) {
+      LOG.error("Error executing getTask RPC for request " + tasks.get(0).requestId + ": " +
+                exception);
+      handleTaskLaunchSpecs(tasks, new ArrayList<TTaskLaunchSpec>());
+    }
+  }
+
+  private class GetTaskCallback extends GetTaskCallbackBase
+      implements PipelinedChannel.Callback<getTask_result> {
+    public GetTaskCallback(List<TaskSpec> tasks, InetSocketAddress schedulerAddress) {
+      super(tasks, schedulerAddress);
+    }
+
+    public void onComplete(getTask_result response) {
+      if (!response.isSetSuccess()) {
+        onError(new TApplicationException(TApplicationException.MISSING_RESULT,
+                                          "getTask failed: unknown result"));
+        return;
       }
-      GetTaskService.Client getTaskClient = schedulerClients.get(schedulerAddress);
+      complete(response.getSuccess());
+    }
+  }
 
-      long startTimeMillis = System.currentTimeMillis();
-      long startGCCount = Logging.getGCCount();
+  private class GetTasksCallback extends GetTaskCallbackBase
+      implements PipelinedChannel.Callback<getTasks_result> {
+    public GetTasksCallback(List<TaskSpec> tasks, InetSocketAddress schedulerAddress) {
+      super(tasks, schedulerAddress);
+    }
 
-      LOG.debug("Attempting to get task for request " + task.requestId);
-      AUDIT_LOG.debug(Logging.auditEventString("node_monitor_get_task_launch", task.requestId,
-          nodeMonitorInternalAddress.getHost()));
-      List<TTaskLaunchSpec> taskLaunchSpecs;
-      try {
-        taskLaunchSpecs = getTaskClient.getTask(task.requestId, nodeMonitorInternalAddress);
-      } catch (TException e) {
-        LOG.error("Error when launching getTask RPC:" + e.getMessage());
-        List<TTaskLaunchSpec> emptyTaskLaunchSpecs = Lists.newArrayList();
-        return emptyTaskLaunchSpecs;
+    public void onComplete(getTasks_result response) {
+      if (!response.isSetSuccess()) {
+        onError(new TApplicationException(TApplicationException.MISSING_RESULT,
+                                          "getTasks failed: unknown result"));
+        return;
+      }
+      complete(response.getSuccess());
+    }
+  }
+
+  /**
+   * Launches the tasks described by {@code taskLaunchSpecs}, and informs the scheduler of any
+   * reservations in {@code tasks} that did not receive a task.
+   */
+  private void handleTaskLaunchSpecs(List<TaskSpec> tasks, List<TTaskLaunchSpec> taskLaunchSpecs) {
+    if (taskLaunchSpecs.size() > tasks.size()) {
+      LOG.warn("Received " + taskLaunchSpecs.size() + " task launch specifications for " +
+               tasks.size() + " reservations; ignoring the extra specifications.");
+    }
+    for (int i = 0; i < tasks.size(); i++) {
+      TaskSpec task = tasks.get(i);
+      if (i >= taskLaunchSpecs.size()) {
+        LOG.debug("Didn't receive a task for request " + task.requestId);
+        scheduler.noTaskForReservation(task);
+        continue;
+      }
+      task.taskSpec = taskLaunchSpecs.get(i);
+      LOG.debug("Received task for request " + task.requestId + ", task " +
+                task.taskSpec.getTaskId());
+      if (task.rearm) {
+        scheduler.rearmTaskReservation(task);
       }
 
-      long rpcTime = System.currentTimeMillis() - startTimeMillis;
-      long numGarbageCollections = Logging.getGCCount() - startGCCount;
-      LOG.debug("GetTask() RPC for request " + task.requestId + " completed in " +  rpcTime +
-                "ms (" + numGarbageCollections + "GCs occured during RPC)");
-      return taskLaunchSpecs;
+      // Launch the task on the backend.
+      AUDIT_LOG.log(task.requestId, "node_monitor_task_launch",
+          task.requestId,
+          nodeMonitorInternalAddress.getHost(),
+          task.taskSpec.getTaskId(),
+          task.previousRequestId,
+          task.previousTaskId);
+      executeLaunchTaskRpc(task);
     }
+  }
 
-    /** Executes an RPC to launch a task on an application backend. */
-    private void executeLaunchTaskRpc(TaskSpec task) {
-      if (!backendClients.containsKey(task.appBackendAddress)) {
+  /** Starts an RPC to launch a task on an application backend. */
+  private void executeLaunchTaskRpc(final TaskSpec task) {
+    THostPort schedulerHostPort = Network.socketAddressToThrift(task.schedulerAddress);
+    final TFullTaskId taskId = new TFullTaskId(task.taskSpec.getTaskId(), task.requestId,
+        task.appId, schedulerHostPort);
+    if (task.requestHandle != RequestIds.NO_HANDLE) {
+      taskId.setRequestHandle(task.requestHandle);
+    }
+    backendClientPool.borrowClient(task.appBackendAddress,
+        new ThriftClientPool.BorrowCallback<BackendService.AsyncClient>() {
+      @Override
+      public void onBorrow(BackendService.AsyncClient client) {
         try {
-          backendClients.put(task.appBackendAddress,
-              TClients.createBlockingBackendClient(task.appBackendAddress));
-        } catch (IOException e) {
-          LOG.error("Error creating thrift client: " + e.getMessage());
-          return;
+          client.launchTask(task.taskSpec.bufferForMessage(), taskId, task.user,
+              new LaunchTaskCallback(task, client));
+        } catch (TException e) {
+          backendClientPool.invalidateClient(task.appBackendAddress, client);
+          LOG.error("Unable to launch task on backend " + task.appBackendAddress + ":" + e);
         }
       }
-      BackendService.Client backendClient = backendClients.get(task.appBackendAddress);
-      THostPort schedulerHostPort = Network.socketAddressToThrift(task.schedulerAddress);
-      TFullTaskId taskId = new TFullTaskId(task.taskSpec.getTaskId(), task.requestId,
-          task.appId, schedulerHostPort);
+
+      @Override
+      public void onError(Exception exception) {
+        LOG.error("Error getting client for backend " + task.appBackendAddress + ": " +
+                  exception);
+      }
+    });
+  }
+
+  /** Callback for launchTask() that returns the client to the client pool. */
+  private class LaunchTaskCallback implements AsyncMethodCallback<launchTask_call> {
+    private TaskSpec task;
+    private BackendService.AsyncClient client;
+    private long startNanos;
+
+    public LaunchTaskCallback(TaskSpec task, BackendService.AsyncClient client) {
+      this.task = task;
+      this.client = client;
+      this.startNanos = System.nanoTime();
+    }
+
+    public void onComplete(launchTask_call response) {
+      LAUNCH_TASK_RPC_US.record((System.nanoTime() - startNanos) / 1000);
+      LOG.debug("Launched task " + task.taskSpec.getTaskId() + " for request " +
+          task.requestId + " on application backend at system time " +
+          System.currentTimeMillis());
       try {
-        backendClient.launchTask(task.taskSpec.bufferForMessage(), taskId, task.user);
-      } catch (TException e) {
-        LOG.error("Unable to launch task on backend " + task.appBackendAddress + ":" + e);
+        backendClientPool.returnClient(task.appBackendAddress, client);
+      } catch (Exception e) {
+        LOG.error("Error returning client to backend client pool: " + e);
       }
     }
+
+    public void onError(Exception exception) {
+      // Do not return error client to pool
+      backendClientPool.invalidateClient(task.appBackendAddress, client);
+      LOG.error("Unable to launch task on backend " + task.appBackendAddress + ":" + exception);
+    }
   }
 
   public void initialize(Configuration conf, TaskScheduler scheduler,
-      int nodeMonitorPort) {
-    numThreads = scheduler.getMaxActiveTasks();
-    if (numThreads <= 0) {
-      // If the scheduler does not enforce a maximum number of tasks, just use a number of
-      // threads equal to the number of cores.
-      numThreads = Resources.getSystemCPUCount(conf);
-    }
+      int nodeMonitorPort) throws IOException {
+    numThreads = conf.getInt(SparrowConf.NM_TASK_LAUNCHER_THREADS,
+        SparrowConf.DEFAULT_NM_TASK_LAUNCHER_THREADS);
     this.scheduler = scheduler;
+    int getTaskChannels = conf.getInt(SparrowConf.NM_GET_TASK_CHANNELS,
+        SparrowConf.DEFAULT_NM_GET_TASK_CHANNELS);
+    schedulerChannels = new PipelinedChannelManager("TaskLauncherService scheduler channels",
+        getTaskChannels);
+    // Include the port, since a standalone daemon may run several node monitors.
+    String prefix = "nodemonitor." + nodeMonitorPort + ".";
+    schedulerChannels.registerMetrics(prefix + "scheduler_channels.");
+    backendClientPool.registerMetrics(prefix + "backend_clients.");
     nodeMonitorInternalAddress = new THostPort(Network.getIPAddress(conf), nodeMonitorPort);
     ExecutorService service = Executors.newFixedThreadPool(numThreads);
     for (int i = 0; i < numThreads; i++) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.nodemonitor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.berkeley.sparrow.daemon.nodemonitor.TaskScheduler.TaskSpec;
+
+/**
+ * A FIFO queue of task reservations that is indexed by request ID, so that all of the queued
+ * reservations for a request can be removed in time proportional to the number of reservations
+ * removed (rather than the length of the queue).
+ *
+ * This class is not thread safe; the {@link TaskScheduler}s that use it serialize access.
+ */
+class TaskReservationQueue {
+  /** Queued reservations, in the order they were added. */
+  private LinkedHashSet<TaskSpec> reservations = new LinkedHashSet<TaskSpec>();
+
+  /** For each request with queued reservations, the queued reservations for that request. */
+  private HashMap<String, Set<TaskSpec>> requestReservations = new HashMap<String, Set<TaskSpec>>();
+
+  void add(TaskSpec reservation) {
+    reservations.add(reservation);
+    Set<TaskSpec> reservationsForRequest = requestReservations.get(reservation.requestId);
+    if (reservationsForRequest == null) {
+      reservationsForRequest = new LinkedHashSet<TaskSpec>();
+      requestReservations.put(reservation.requestId, reservationsForRequest);
+    }
+    reservationsForRequest.add(reservation);
+  }
+
+  /** Removes and returns the oldest reservation, or returns null if the queue is empty. */
+  TaskSpec poll() {
+    Iterator<TaskSpec> iterator = reservations.iterator();
+    if (!iterator.hasNext()) {
+      return null;
+    }
+    TaskSpec reservation = iterator.next();
+    iterator.remove();
+    Set<TaskSpec> reservationsForRequest = requestReservations.get(reservation.requestId);
+    reservationsForRequest.remove(reservation);
+    if (reservationsForRequest.isEmpty()) {
+      requestReservations.remove(reservation.requestId);
+    }
+    return reservation;
+  }
+
+  /** Removes all reservations for the given request, and returns the number removed. */
+  int removeRequest(String requestId) {
+    Set<TaskSpec> reservationsForRequest = requestReservations.remove(requestId);
+    if (reservationsForRequest == null) {
+      return 0;
+    }
+    for (TaskSpec reservation : reservationsForRequest) {
+      reservations.remove(reservation);
+    }
+    return reservationsForRequest.size();
+  }
+
+  int size() {
+    return reservations.size();
+  }
+
+  boolean isEmpty() {
+    return reservations.isEmpty();
+  }
+}
@@ -24,10 +24,18 @@ import java.util.concurrent.LinkedBlockingQueue;
 import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.Logger;
 
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.metrics.Gauge;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.AuditLogger;
 import edu.berkeley.sparrow.daemon.util.Logging;
 import edu.berkeley.sparrow.daemon.util.Network;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
 import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 
@@ -46,6 +54,8 @@ public abstract class TaskScheduler {
     public String appId;
     public TUserGroupInfo user;
     public String requestId;
+    /** Numeric handle for requestId (see {@link RequestIds}). */
+    public long requestHandle;
 
     public InetSocketAddress schedulerAddress;
     public InetSocketAddress appBackendAddress;
@@ -62,20 +72,56 @@ public abstract class TaskScheduler {
     /** Filled in after the getTask() RPC completes. */
     public TTaskLaunchSpec taskSpec;
 
+    /**
+     * Whether the reservation should be enqueued again each time it receives a task (see
+     * {@link TEnqueueTaskReservationsRequest#rearmReservations}).
+     */
+    public boolean rearm;
+
+    /** When the reservation was enqueued, according to {@link System#nanoTime()}. */
+    public long enqueuedNanos = System.nanoTime();
+
     public TaskSpec(TEnqueueTaskReservationsRequest request, InetSocketAddress appBackendAddress) {
       appId = request.getAppId();
       user = request.getUser();
       requestId = request.getRequestId();
+      if (request.isSetRequestHandle()) {
+        requestHandle = request.getRequestHandle();
+      } else {
+        requestHandle = RequestIds.parseHandle(requestId);
+      }
       schedulerAddress = new InetSocketAddress(request.getSchedulerAddress().getHost(),
                                                request.getSchedulerAddress().getPort());
       this.appBackendAddress = appBackendAddress;
       previousRequestId = "";
       previousTaskId = "";
+      rearm = request.isRearmReservations();
+    }
+
+    /** Creates a fresh reservation for the same request as {@code reservation}. */
+    public TaskSpec(TaskSpec reservation) {
+      appId = reservation.appId;
+      user = reservation.user;
+      requestId = reservation.requestId;
+      requestHandle = reservation.requestHandle;
+      schedulerAddress = reservation.schedulerAddress;
+      appBackendAddress = reservation.appBackendAddress;
+      previousRequestId = "";
+      previousTaskId = "";
+      rearm = reservation.rearm;
     }
   }
 
   private final static Logger LOG = Logger.getLogger(TaskScheduler.class);
-  private final static Logger AUDIT_LOG = Logging.getAuditLogger(TaskScheduler.class);
+  private final static AuditLogger AUDIT_LOG = Logging.getAuditLogger(TaskScheduler.class);
+
+  private final static MetricsRegistry METRICS = MetricsRegistry.getInstance();
+  /** Number of queued reservations, sampled each time a reservation is enqueued. */
+  private final static Histogram QUEUED_RESERVATIONS =
+      METRICS.histogram("nodemonitor.queued_reservations");
+  /** Time from when a reservation is enqueued until it is ready to launch a task. */
+  private final static Histogram RESERVATION_WAIT_US =
+      METRICS.histogram("nodemonitor.reservation_wait_us");
   private String ipAddress;
 
   protected Configuration conf;
@@ -87,6 +133,20 @@ public abstract class TaskScheduler {
   void initialize(Configuration conf, int nodeMonitorPort) {
     this.conf = conf;
     this.ipAddress = Network.getIPAddress(conf);
+    // Include the port, since a standalone daemon may run several node monitors.
+    String prefix = "nodemonitor." + nodeMonitorPort + ".";
+    METRICS.registerGauge(prefix + "queued_reservations", new Gauge() {
+      @Override
+      public long getValue() {
+        return getNumQueuedReservations();
+      }
+    });
+    METRICS.registerGauge(prefix + "active_tasks", new Gauge() {
+      @Override
+      public long getValue() {
+        return getNumActiveTasks();
+      }
+    });
   }
 
   /**
@@ -102,6 +162,46 @@ public abstract class TaskScheduler {
     return task;
   }
 
+  /**
+   * Returns the next task available for launching, or null if there is none. Unlike
+   * {@link #getNextTask()}, this does not block.
+   */
+  TaskSpec pollNextTask() {
+    return runnableTaskQueue.poll();
+  }
+
+  /**
+   * Get the next task available for launching, along with any other runnable tasks for the same
+   * request that are directly behind it in the runnable queue, so that a single getTasks() RPC
+   * can be used to fetch all of them. This will block until a task is available.
+   */
+  List<TaskSpec> getNextTasks() {
+    List<TaskSpec> tasks = Lists.newArrayList();
+    // Synchronize so that concurrent callers cannot interleave between peek() and poll().
+    synchronized (runnableTaskQueue) {
+      TaskSpec task = getNextTask();
+      if (task == null) {
+        return tasks;
+      }
+      tasks.add(task);
+      TaskSpec nextTask = runnableTaskQueue.peek();
+      while (nextTask != null && nextTask.requestHandle == task.requestHandle &&
+             nextTask.requestId.equals(task.requestId) &&
+             nextTask.schedulerAddress.equals(task.schedulerAddress)) {
+        tasks.add(runnableTaskQueue.poll());
+        nextTask = runnableTaskQueue.peek();
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * Returns this scheduler's current load, to be reported to schedulers.
+   */
+  TNodeMonitorLoad getLoad() {
+    return new TNodeMonitorLoad(getNumQueuedReservations(), getNumActiveTasks());
+  }
+
   /**
    * Returns the current number of runnable tasks (for testing).
    */
@@ -111,22 +211,23 @@ public abstract class TaskScheduler {
 
   void tasksFinished(List<TFullTaskId> finishedTasks) {
     for (TFullTaskId t : finishedTasks) {
-      AUDIT_LOG.info(Logging.auditEventString("task_completed", t.getRequestId(), t.getTaskId()));
+      AUDIT_LOG.log(t.getRequestId(), "task_completed", t.getRequestId(), t.getTaskId());
       handleTaskFinished(t.getRequestId(), t.getTaskId());
     }
   }
 
   void noTaskForReservation(TaskSpec taskReservation) {
-    AUDIT_LOG.info(Logging.auditEventString("node_monitor_get_task_no_task",
-                                            taskReservation.requestId,
-                                            taskReservation.previousRequestId,
-                                            taskReservation.previousTaskId));
+    AUDIT_LOG.log(taskReservation.requestId, "node_monitor_get_task_no_task",
+                  taskReservation.requestId,
+                  taskReservation.previousRequestId,
+                  taskReservation.previousTaskId);
     handleNoTaskForReservation(taskReservation);
   }
 
   protected void makeTaskRunnable(TaskSpec task) {
     try {
       LOG.debug("Putting reservation for request " + task.requestId + " in runnable queue");
+      RESERVATION_WAIT_US.record((System.nanoTime() - task.enqueuedNanos) / 1000);
       runnableTaskQueue.put(task);
     } catch (InterruptedException e) {
       LOG.fatal("Unable to add task to runnable queue: " + e.getMessage());
@@ -135,15 +236,46 @@ public abstract class TaskScheduler {
 
   public synchronized void submitTaskReservations(TEnqueueTaskReservationsRequest request,
                                                   InetSocketAddress appBackendAddress) {
+    enqueueTaskReservations(request, appBackendAddress);
+  }
+
+  /**
+   * Like {@link #submitTaskReservations(TEnqueueTaskReservationsRequest, InetSocketAddress)},
+   * but enqueues the reservations for many requests while holding the lock only once. The i-th
+   * request's tasks are launched on the i-th backend address.
+   */
+  public synchronized void submitTaskReservations(List<TEnqueueTaskReservationsRequest> requests,
+                                                  List<InetSocketAddress> appBackendAddresses) {
+    for (int i = 0; i < requests.size(); ++i) {
+      enqueueTaskReservations(requests.get(i), appBackendAddresses.get(i));
+    }
+  }
+
+  /** Enqueues the reservations for {@code request}; callers must hold the lock. */
+  private void enqueueTaskReservations(TEnqueueTaskReservationsRequest request,
+                                       InetSocketAddress appBackendAddress) {
     for (int i = 0; i < request.getNumTasks(); ++i) {
       LOG.debug("Creating reservation " + i + " for request " + request.getRequestId());
       TaskSpec reservation = new TaskSpec(request, appBackendAddress);
       int queuedReservations = handleSubmitTaskReservation(reservation);
-      AUDIT_LOG.info(Logging.auditEventString("reservation_enqueued", ipAddress, request.requestId,
-                                              queuedReservations));
+      QUEUED_RESERVATIONS.record(queuedReservations);
+      AUDIT_LOG.log(request.requestId, "reservation_enqueued", ipAddress, request.requestId,
+                    queuedReservations);
     }
   }
 
+  /**
+   * Enqueues a new reservation for the same request as {@code reservation}, which has just
+   * received a task.
+   */
+  public synchronized void rearmTaskReservation(TaskSpec reservation) {
+    LOG.debug("Re-arming reservation for request " + reservation.requestId);
+    int queuedReservations = handleSubmitTaskReservation(new TaskSpec(reservation));
+    QUEUED_RESERVATIONS.record(queuedReservations);
+    AUDIT_LOG.log(reservation.requestId, "reservation_enqueued", ipAddress,
+                  reservation.requestId, queuedReservations);
+  }
+
   // TASK SCHEDULERS MUST IMPLEMENT THE FOLLOWING.
 
   /**
@@ -175,4 +307,10 @@ public abstract class TaskScheduler {
    * -1 signals that the scheduler does not enforce a maximum number of active tasks.
    */
   abstract int getMaxActiveTasks();
+
+  /** Returns the number of reservations waiting for a free slot. */
+  abstract int getNumQueuedReservations();
+
+  /** Returns the number of slots currently in use. */
+  abstract int getNumActiveTasks();
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+
+/**
+ * An immutable view of the backends available for an application at a point in time.
+ *
+ * {@link SchedulerState} implementations build a new snapshot whenever the set of backends
+ * changes and publish it by swapping a reference, so schedulers can read the current snapshot
+ * for every job without copying or locking. The version increases each time a new snapshot is
+ * published for an application.
+ */
+public final class BackendSnapshot extends AbstractList<InetSocketAddress>
+    implements RandomAccess {
+  public static final BackendSnapshot EMPTY = new BackendSnapshot(
+      0, Collections.<InetSocketAddress>emptySet());
+
+  private static final Random random = new Random();
+
+  private final long version;
+  private final InetSocketAddress[] backends;
+
+  /** Creates a snapshot of the given backends. Duplicate backends are ignored. */
+  public BackendSnapshot(long version, Collection<InetSocketAddress> backends) {
+    this.version = version;
+    Set<InetSocketAddress> uniqueBackends = new HashSet<InetSocketAddress>(backends);
+    this.backends = uniqueBackends.toArray(new InetSocketAddress[uniqueBackends.size()]);
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  @Override
+  public InetSocketAddress get(int index) {
+    return backends[index];
+  }
+
+  @Override
+  public int size() {
+    return backends.length;
+  }
+
+  /**
+   * Returns {@code k} distinct backends chosen uniformly at random, in random order, or all of
+   * the backends (in random order) if there are no more than {@code k}.
+   *
+   * Takes expected time proportional to {@code k} (rather than the number of backends), using
+   * Floyd's sampling algorithm.
+   */
+  public List<InetSocketAddress> sample(int k) {
+    int n = backends.length;
+    if (k >= n) {
+      List<InetSocketAddress> all = Lists.newArrayList(backends);
+      Collections.shuffle(all, random);
+      return all;
+    }
+    Set<Integer> chosenIndices = new HashSet<Integer>(k * 2);
+    List<InetSocketAddress> sample = Lists.newArrayListWithCapacity(k);
+    for (int j = n - k; j < n; j++) {
+      int index = random.nextInt(j + 1);
+      if (!chosenIndices.add(index)) {
+        // index was already chosen, but j cannot have been (all earlier choices are < j).
+        index = j;
+        chosenIndices.add(index);
+      }
+      sample.add(backends[index]);
+    }
+    // Floyd's algorithm picks a uniformly random subset, but not in a uniformly random order.
+    Collections.shuffle(sample, random);
+    return sample;
+  }
+}
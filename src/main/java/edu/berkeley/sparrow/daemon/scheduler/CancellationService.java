@@ -17,24 +17,66 @@
 package edu.berkeley.sparrow.daemon.scheduler;
 
 import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.apache.log4j.Logger;
-import org.apache.thrift.async.AsyncMethodCallback;
-
-import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
-import edu.berkeley.sparrow.thrift.InternalService;
-import edu.berkeley.sparrow.thrift.InternalService.AsyncClient;
-import edu.berkeley.sparrow.thrift.InternalService.AsyncClient.cancelTaskReservations_call;
+import org.apache.thrift.TApplicationException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.daemon.metrics.Counter;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservationsBatch_args;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservationsBatch_result;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservations_args;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservations_result;
 import edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest;
 import edu.berkeley.sparrow.thrift.THostPort;
 
+/**
+ * Sends cancellations for outstanding reservations to node monitors.
+ *
+ * Cancellations are coalesced: after the first pending cancellation arrives, the service waits
+ * for a short window, and then sends all of the cancellations destined for each node monitor
+ * in a single cancelTaskReservationsBatch() RPC. Node monitors that predate that RPC reject it as
+ * an unknown method; their cancellations are then sent with one cancelTaskReservations() RPC
+ * each.
+ */
 public class CancellationService implements Runnable {
-  private ThriftClientPool<InternalService.AsyncClient> clientPool;
+  private PipelinedChannelManager channels;
   private final BlockingQueue<Cancellation> cancellationQueue;
+  private final long batchWindowMs;
+  /** Node monitors that don't implement cancelTaskReservationsBatch(). */
+  private final Set<InetSocketAddress> unbatchedNodeMonitors =
+      Sets.newSetFromMap(new ConcurrentHashMap<InetSocketAddress, Boolean>());
   private final static Logger LOG = Logger.getLogger(CancellationService.class);
 
+  private final static MetricsRegistry METRICS = MetricsRegistry.getInstance();
+  /**
+   * Number of cancellations in each cancelTaskReservationsBatch() RPC; its count is the number
+   * of RPCs sent.
+   */
+  private final static Histogram CANCELLATION_BATCH_SIZE =
+      METRICS.histogram("scheduler.cancellation_batch_size");
+  /** Total number of cancellations sent, across all batches. */
+  private final static Counter CANCELLATIONS = METRICS.counter("scheduler.cancellations");
+  /** Round trip time of successful cancelTaskReservationsBatch() RPCs. */
+  private final static Histogram CANCELLATION_RPC_US =
+      METRICS.histogram("scheduler.cancellation_rpc_us");
+  private final static Counter CANCELLATION_RPC_ERRORS =
+      METRICS.counter("scheduler.cancellation_rpc_errors");
+
   private class Cancellation {
     public String requestId;
     public InetSocketAddress nodeMonitorAddress;
@@ -45,9 +87,10 @@ public class CancellationService implements Runnable {
     }
   }
 
-  public CancellationService(ThriftClientPool<InternalService.AsyncClient> clientPool) {
-    this.clientPool = clientPool;
+  public CancellationService(PipelinedChannelManager channels, long batchWindowMs) {
+    this.channels = channels;
     this.cancellationQueue = new LinkedBlockingQueue<Cancellation>();
+    this.batchWindowMs = batchWindowMs;
   }
 
   public void addCancellation(String requestId, THostPort nodeMonitorAddress) {
@@ -57,50 +100,110 @@ public class CancellationService implements Runnable {
   }
 
   public void run() {
+    List<Cancellation> cancellations = Lists.newArrayList();
     while (true) {
-      Cancellation cancellation = null;
       try {
-        cancellation = cancellationQueue.take();
+        cancellations.add(cancellationQueue.take());
+        if (batchWindowMs > 0) {
+          Thread.sleep(batchWindowMs);
+        }
       } catch (InterruptedException e) {
         LOG.fatal(e);
       }
+      cancellationQueue.drainTo(cancellations);
+
+      Map<InetSocketAddress, List<TCancelTaskReservationsRequest>> nodeMonitorCancellations =
+          Maps.newHashMap();
+      for (Cancellation cancellation : cancellations) {
+        List<TCancelTaskReservationsRequest> requests =
+            nodeMonitorCancellations.get(cancellation.nodeMonitorAddress);
+        if (requests == null) {
+          requests = Lists.newArrayList();
+          nodeMonitorCancellations.put(cancellation.nodeMonitorAddress, requests);
+        }
+        requests.add(new TCancelTaskReservationsRequest(cancellation.requestId));
+      }
+      cancellations.clear();
 
-      try {
-        InternalService.AsyncClient client = clientPool.borrowClient(
-            cancellation.nodeMonitorAddress);
-        LOG.debug("Cancelling tasks for request " + cancellation.requestId + " on node " +
-            cancellation.nodeMonitorAddress);
-        client.cancelTaskReservations(
-            new TCancelTaskReservationsRequest(cancellation.requestId),
-            new CancelTaskReservationsCallback(cancellation.nodeMonitorAddress));
-      } catch (Exception e) {
-        LOG.error("Error cancelling request " + cancellation.requestId + " on node " +
-                  cancellation.nodeMonitorAddress+ ": " + e.getMessage());
+      for (Entry<InetSocketAddress, List<TCancelTaskReservationsRequest>> entry :
+           nodeMonitorCancellations.entrySet()) {
+        sendCancellations(entry.getKey(), entry.getValue());
       }
     }
   }
 
-  /** A callback for CancelTaskReservations() RPCs that returns the client to the client pool. */
+  private void sendCancellations(InetSocketAddress nodeMonitorAddress,
+                                 List<TCancelTaskReservationsRequest> requests) {
+    LOG.debug("Cancelling tasks for " + requests.size() + " requests on node " +
+        nodeMonitorAddress);
+    CANCELLATION_BATCH_SIZE.record(requests.size());
+    CANCELLATIONS.add(requests.size());
+    if (unbatchedNodeMonitors.contains(nodeMonitorAddress)) {
+      sendEach(nodeMonitorAddress, requests);
+      return;
+    }
+    channels.call(nodeMonitorAddress, "cancelTaskReservationsBatch",
+        new cancelTaskReservationsBatch_args(requests), new cancelTaskReservationsBatch_result(),
+        new CancelTaskReservationsCallback(nodeMonitorAddress, requests));
+  }
+
+  /** Sends each cancellation with its own cancelTaskReservations() RPC. */
+  private void sendEach(final InetSocketAddress nodeMonitorAddress,
+                        List<TCancelTaskReservationsRequest> requests) {
+    for (final TCancelTaskReservationsRequest request : requests) {
+      channels.call(nodeMonitorAddress, "cancelTaskReservations",
+          new cancelTaskReservations_args(request), new cancelTaskReservations_result(),
+          new PipelinedChannel.Callback<cancelTaskReservations_result>() {
+            @Override
+            public void onComplete(cancelTaskReservations_result result) {
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              CANCELLATION_RPC_ERRORS.increment();
+              LOG.error("Error cancelling reservations for request " + request.getRequestId() +
+                        " on node " + nodeMonitorAddress + ": " + exception);
+            }
+          });
+    }
+  }
+
+  /**
+   * A callback for cancelTaskReservationsBatch() RPCs that records the RPC's latency.
+   */
   private class CancelTaskReservationsCallback
-  implements AsyncMethodCallback<cancelTaskReservations_call> {
+  implements PipelinedChannel.Callback<cancelTaskReservationsBatch_result> {
     InetSocketAddress nodeMonitorAddress;
+    List<TCancelTaskReservationsRequest> requests;
+    long startNanos = System.nanoTime();
 
-    public CancelTaskReservationsCallback(InetSocketAddress nodeMonitorAddress) {
+    public CancelTaskReservationsCallback(InetSocketAddress nodeMonitorAddress,
+                                          List<TCancelTaskReservationsRequest> requests) {
       this.nodeMonitorAddress = nodeMonitorAddress;
+      this.requests = requests;
     }
 
     @Override
-    public void onComplete(cancelTaskReservations_call response) {
-      try {
-        clientPool.returnClient(nodeMonitorAddress, (AsyncClient) response.getClient());
-      } catch (Exception e) {
-        LOG.error("Error returning client to node monitor client pool: " + e);
-      }
+    public void onComplete(cancelTaskReservationsBatch_result response) {
+      long latencyNanos = System.nanoTime() - startNanos;
+      CANCELLATION_RPC_US.record(latencyNanos / 1000);
+      LOG.debug("Cancelled " + requests.size() + " requests on node " + nodeMonitorAddress + " in " +
+                latencyNanos / 1000000.0 + "ms");
     }
 
     @Override
     public void onError(Exception exception) {
-      LOG.error("Error executing cancelTaskReservations RPC: " + exception);
+      if (exception instanceof TApplicationException &&
+          ((TApplicationException) exception).getType() ==
+              TApplicationException.UNKNOWN_METHOD) {
+        LOG.info("Node monitor " + nodeMonitorAddress + " doesn't accept batched " +
+                 "cancellations; sending it one cancellation at a time");
+        unbatchedNodeMonitors.add(nodeMonitorAddress);
+        sendEach(nodeMonitorAddress, requests);
+        return;
+      }
+      CANCELLATION_RPC_ERRORS.increment();
+      LOG.error("Error executing cancelTaskReservationsBatch RPC: " + exception);
     }
 
   }
@@ -16,9 +16,6 @@
 
 package edu.berkeley.sparrow.daemon.scheduler;
 
-import java.net.InetSocketAddress;
-import java.util.Set;
-
 import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.Logger;
 
@@ -31,12 +28,12 @@ import edu.berkeley.sparrow.daemon.util.ConfigUtil;
 public class ConfigSchedulerState implements SchedulerState {
   private static final Logger LOG = Logger.getLogger(ConfigSchedulerState.class);
 
-  Set<InetSocketAddress> backends;
+  BackendSnapshot backends;
   private Configuration conf;
 
   @Override
   public void initialize(Configuration conf) {
-    backends = ConfigUtil.parseBackends(conf);
+    backends = new BackendSnapshot(1, ConfigUtil.parseBackends(conf));
     this.conf = conf;
   }
 
@@ -50,7 +47,7 @@ public class ConfigSchedulerState implements SchedulerState {
   }
 
   @Override
-  public Set<InetSocketAddress> getBackends(String appId) {
+  public BackendSnapshot getBackends(String appId) {
     if (!appId.equals(conf.getString(SparrowConf.STATIC_APP_NAME))) {
      LOG.warn("Requested backends for app " + appId +
           " but was expecting app " + conf.getString(SparrowConf.STATIC_APP_NAME));
@@ -16,9 +16,7 @@
 
 package edu.berkeley.sparrow.daemon.scheduler;
 
-import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,7 +32,7 @@ import org.apache.log4j.Logger;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
-import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.Trace;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
 import edu.berkeley.sparrow.thrift.THostPort;
 import edu.berkeley.sparrow.thrift.TSchedulingRequest;
@@ -48,6 +46,8 @@ import edu.berkeley.sparrow.thrift.TUserGroupInfo;
  */
 public class ConstrainedTaskPlacer implements TaskPlacer {
   private static final Logger LOG = Logger.getLogger(ConstrainedTaskPlacer.class);
+  private static final Trace GET_ENQUEUE_REQUESTS_TRACE =
+      Trace.forMethod(ConstrainedTaskPlacer.class, "getEnqueueTaskReservationsRequests");
 
   /** Constrained tasks that have been launched. */
   private Set<TTaskLaunchSpec> launchedConstrainedTasks;
@@ -83,9 +83,21 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
    */
   List<TTaskLaunchSpec> unlaunchedUnconstrainedTasks;
 
+  /**
+   * Maps placement preferences to node monitors. If null, a mapping is built from the nodes
+   * passed to {@link #getEnqueueTaskReservationsRequests}.
+   */
+  private NodeMonitorIndex.View nodeMonitorIndex;
+
   ConstrainedTaskPlacer(String requestId, double probeRatio){
+    this(requestId, probeRatio, null);
+  }
+
+  ConstrainedTaskPlacer(String requestId, double probeRatio,
+                        NodeMonitorIndex.View nodeMonitorIndex) {
     this.requestId = requestId;
     this.probeRatio = probeRatio;
+    this.nodeMonitorIndex = nodeMonitorIndex;
     launchedConstrainedTasks = new HashSet<TTaskLaunchSpec>();
     unlaunchedConstrainedTasks = new HashMap<THostPort, List<TTaskLaunchSpec>>();
     unlaunchedUnconstrainedTasks = Lists.newArrayList();
@@ -97,24 +109,17 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
   getEnqueueTaskReservationsRequests(
       TSchedulingRequest schedulingRequest, String requestId,
       Collection<InetSocketAddress> nodes, THostPort schedulerAddress) {
-    LOG.debug(Logging.functionCall(schedulingRequest, requestId, nodes, schedulerAddress));
+    // Printing the list of nodes is expensive for large clusters, so this is only rendered if
+    // the request is traced.
+    GET_ENQUEUE_REQUESTS_TRACE.call(requestId, schedulingRequest, requestId, nodes,
+                                    schedulerAddress);
     numRemainingTasks = schedulingRequest.getTasksSize();
 
     // Tracks number of tasks to be enqueued at each node monitor.
     HashMap<InetSocketAddress, TEnqueueTaskReservationsRequest> requests = Maps.newHashMap();
 
-    // Create a mapping of node monitor hostnames to socket addresses, to use to map node
-    // preferences to the node monitor InetSocketAddresss.
-    // TODO: Perform this in the scheduler, and reuse the mapping across multiple
-    //       ConstrainedTaskPlacers?
-    HashMap<InetAddress, InetSocketAddress> addrToSocket = Maps.newHashMap();
-    for (InetSocketAddress node : nodes) {
-      if (addrToSocket.containsKey(node.getAddress())) {
-        // TODO: Should we support this case?  Seems like it's only useful for testing.
-        LOG.warn("Two node monitors at " + node.getAddress() + "; only one will be used for " +
-                 "scheduling.");
-      }
-      addrToSocket.put(node.getAddress(), node);
+    if (nodeMonitorIndex == null) {
+      nodeMonitorIndex = NodeMonitorIndex.unindexedView(nodes);
     }
 
     /* Shuffle tasks, to ensure that we don't use the same set of machines each time a job is
@@ -131,7 +136,15 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
         continue;
       }
 
-      List<InetSocketAddress> preferredNodes = taskPreferencesToSocketList(task, addrToSocket);
+      List<InetSocketAddress> preferredNodes = taskPreferencesToSocketList(task);
+      if (preferredNodes.isEmpty()) {
+        // None of the preferred nodes is a known node monitor (possibly because their host names
+        // haven't been resolved yet), so place the task anywhere rather than never launching it.
+        LOG.warn("Request " + requestId + ", task " + task.taskId + ": no preferred node is a " +
+                 "known node monitor; placing the task as unconstrained");
+        unconstrainedTasks.add(task);
+        continue;
+      }
 
       TTaskLaunchSpec taskLaunchSpec = new TTaskLaunchSpec(task.getTaskId(),
                                                            task.bufferForMessage());
@@ -211,11 +224,20 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
       List<TTaskSpec> unconstrainedTasks, String requestId, String appId, TUserGroupInfo user,
       THostPort schedulerAddress, Collection<InetSocketAddress> nodeMonitors,
       HashMap<InetSocketAddress, TEnqueueTaskReservationsRequest> requests) {
+    int reservationsToLaunch = (int) Math.ceil(probeRatio * unconstrainedTasks.size());
+    int reservationsCreated = 0;
+
     /* Identify the node monitors that aren't already being used for the constrained tasks, and
      * place all of reservations on those nodes (to try to spread the reservations evenly
-     * throughout the cluster). */
+     * throughout the cluster). When the node monitors are a snapshot, only sample as many as
+     * might be needed, rather than scanning the whole cluster. */
+    Collection<InetSocketAddress> candidates = nodeMonitors;
+    if (nodeMonitors instanceof BackendSnapshot) {
+      candidates = ((BackendSnapshot) nodeMonitors).sample(
+          reservationsToLaunch + requests.size());
+    }
     List<InetSocketAddress> unusedNodeMonitors = Lists.newArrayList();
-    for (InetSocketAddress nodeMonitor : nodeMonitors) {
+    for (InetSocketAddress nodeMonitor : candidates) {
       if (!requests.containsKey(nodeMonitor)) {
          unusedNodeMonitors.add(nodeMonitor);
       }
@@ -225,9 +247,6 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
              " node monitors that were unused by constrained tasks so may be used for " +
              "unconstrained tasks.");
 
-    int reservationsToLaunch = (int) Math.ceil(probeRatio * unconstrainedTasks.size());
-    int reservationsCreated = 0;
-
     for (InetSocketAddress nodeMonitor : unusedNodeMonitors) {
       if (requests.containsKey(nodeMonitor)) {
         LOG.error("Adding enqueueTaskReservations requests for unused node monitors, so they " +
@@ -262,29 +281,18 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
    * addresses. We return the preferences as socket addresses because the addresses are used to
    * open a client for the node monitor (so need to be InetSocketAddreses).
    */
-  private List<InetSocketAddress> taskPreferencesToSocketList(
-      TTaskSpec task, HashMap<InetAddress, InetSocketAddress> addrToSocket) {
+  private List<InetSocketAddress> taskPreferencesToSocketList(TTaskSpec task) {
     // Preferred nodes for this task.
     List<InetSocketAddress> preferredNodes = Lists.newLinkedList();
 
     // Convert the preferences (which contain host names) to a list of socket addresses.
     Collections.shuffle(task.preference.nodes);
     for (String node : task.preference.nodes) {
-      try {
-       InetAddress addr = InetAddress.getByName(node);
-       if (addrToSocket.containsKey(addr)) {
-         preferredNodes.add(addrToSocket.get(addr));
-       } else {
-         LOG.warn("Placement constraint for unknown node " + node);
-         LOG.warn("Node address: " + addr);
-         String knownAddrs = "";
-         for (InetAddress knownAddress: addrToSocket.keySet()) {
-           knownAddrs += " " + knownAddress.getHostAddress();
-         }
-         LOG.warn("Know about: " + knownAddrs);
-       }
-      } catch (UnknownHostException e) {
-        LOG.warn("Got placement constraint for unresolvable node " + node);
+      InetSocketAddress nodeMonitor = nodeMonitorIndex.lookup(node);
+      if (nodeMonitor != null) {
+        preferredNodes.add(nodeMonitor);
+      } else {
+        LOG.warn("Placement constraint for unknown node " + node);
       }
     }
 
@@ -293,28 +301,45 @@ public class ConstrainedTaskPlacer implements TaskPlacer {
 
   @Override
   public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress) {
+    return assignTask(nodeMonitorAddress, 1);
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress, int maxTasks) {
     assert outstandingReservations.containsKey(nodeMonitorAddress);
     Integer numOutstandingReservations = outstandingReservations.get(nodeMonitorAddress);
-    if (numOutstandingReservations == 1) {
+    if (maxTasks > numOutstandingReservations) {
+      LOG.warn("Node monitor " + nodeMonitorAddress + " asked for " + maxTasks + " tasks but " +
+               "only had " + numOutstandingReservations + " outstanding reservations");
+      maxTasks = numOutstandingReservations;
+    }
+    if (numOutstandingReservations == maxTasks) {
       outstandingReservations.remove(nodeMonitorAddress);
     } else {
-      outstandingReservations.put(nodeMonitorAddress, numOutstandingReservations - 1);
+      outstandingReservations.put(nodeMonitorAddress, numOutstandingReservations - maxTasks);
     }
 
-    TTaskLaunchSpec taskSpec = getConstrainedTask(nodeMonitorAddress);
-    if (taskSpec != null) {
+    List<TTaskLaunchSpec> taskSpecs = Lists.newArrayList();
+    while (taskSpecs.size() < maxTasks) {
+      TTaskLaunchSpec taskSpec = getConstrainedTask(nodeMonitorAddress);
+      if (taskSpec == null) {
+        break;
+      }
       this.launchedConstrainedTasks.add(taskSpec);
       LOG.debug("Request " + requestId + ", node monitor " + nodeMonitorAddress.toString() +
           ": Assigning task.");
-      --numRemainingTasks;
-      assert numRemainingTasks >= 0;
-      return Lists.newArrayList(taskSpec);
-    } else {
-      List<TTaskLaunchSpec> taskSpecs = getUnconstrainedTask(nodeMonitorAddress);
-      numRemainingTasks -= taskSpecs.size();
-      assert numRemainingTasks >= 0;
-      return taskSpecs;
+      taskSpecs.add(taskSpec);
+    }
+    while (taskSpecs.size() < maxTasks) {
+      List<TTaskLaunchSpec> unconstrainedTaskSpecs = getUnconstrainedTask(nodeMonitorAddress);
+      if (unconstrainedTaskSpecs.isEmpty()) {
+        break;
+      }
+      taskSpecs.addAll(unconstrainedTaskSpecs);
     }
+    numRemainingTasks -= taskSpecs.size();
+    assert numRemainingTasks >= 0;
+    return taskSpecs;
   }
 
   /**
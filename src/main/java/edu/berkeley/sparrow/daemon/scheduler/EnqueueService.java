@@ -0,0 +1,272 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TApplicationException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservationsBatch_args;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservationsBatch_result;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservations_args;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservations_result;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse;
+
+/**
+ * Sends reservations to node monitors.
+ *
+ * Reservations are coalesced per node monitor: the first reservation for a node monitor starts a
+ * short window (measured in microseconds), and all of the reservations destined for that node
+ * monitor by the end of the window are sent in a single enqueueTaskReservationsBatch() RPC. A
+ * batch is sent before its window closes if it reaches the maximum batch size. With a window of
+ * 0, reservations are sent as soon as they are enqueued, and are only batched when the caller
+ * enqueues several at once (e.g., for jobs submitted together with submitJobs()).
+ *
+ * Node monitors that predate enqueueTaskReservationsBatch() reject it as an unknown method; the
+ * batch is then sent with one enqueueTaskReservations() RPC per request, as are later batches
+ * for that node monitor. Those responses don't include the node monitor's load.
+ */
+public class EnqueueService {
+  private final static Logger LOG = Logger.getLogger(EnqueueService.class);
+
+  /** Number of reservations in each enqueueTaskReservationsBatch() RPC. */
+  private final static Histogram ENQUEUE_BATCH_SIZE =
+      MetricsRegistry.getInstance().histogram("scheduler.enqueue_batch_size");
+
+  /** Notified when each batch completes. */
+  public interface BatchCallback {
+    /**
+     * Called with the responses to a batch, in the same order as its requests. {@code startNanos}
+     * is when the batch's RPC was sent.
+     */
+    public void onComplete(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests,
+        List<TEnqueueTaskReservationsResponse> responses, long startNanos);
+    public void onError(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests, Exception exception);
+  }
+
+  private final PipelinedChannelManager channels;
+  private final long batchWindowMicros;
+  private final int maxBatchSize;
+  private final BatchCallback callback;
+
+  /** Node monitors that don't implement enqueueTaskReservationsBatch(). */
+  private final Set<InetSocketAddress> unbatchedNodeMonitors =
+      Sets.newSetFromMap(new ConcurrentHashMap<InetSocketAddress, Boolean>());
+  /** Reservations waiting for their node monitor's window to close. Guarded by {@code this}. */
+  private final Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> pending =
+      Maps.newHashMap();
+  /** Closes batching windows. Only instantiated if the window is nonzero. */
+  private ScheduledExecutorService flushExecutor;
+
+  public EnqueueService(PipelinedChannelManager channels, long batchWindowMicros,
+                        int maxBatchSize, BatchCallback callback) {
+    this.channels = channels;
+    this.batchWindowMicros = batchWindowMicros;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.callback = callback;
+    if (batchWindowMicros > 0) {
+      flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "EnqueueService flush");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+  }
+
+  /** Enqueues reservations to be sent to the given node monitor. */
+  public void enqueue(InetSocketAddress nodeMonitorAddress,
+                      List<TEnqueueTaskReservationsRequest> requests) {
+    if (flushExecutor == null) {
+      for (int i = 0; i < requests.size(); i += maxBatchSize) {
+        sendBatch(nodeMonitorAddress, Lists.newArrayList(
+            requests.subList(i, Math.min(requests.size(), i + maxBatchSize))));
+      }
+      return;
+    }
+
+    List<List<TEnqueueTaskReservationsRequest>> fullBatches = null;
+    boolean startWindow = false;
+    synchronized (this) {
+      List<TEnqueueTaskReservationsRequest> batch = pending.get(nodeMonitorAddress);
+      for (TEnqueueTaskReservationsRequest request : requests) {
+        if (batch == null) {
+          batch = Lists.newArrayList();
+          pending.put(nodeMonitorAddress, batch);
+          startWindow = true;
+        }
+        batch.add(request);
+        if (batch.size() >= maxBatchSize) {
+          if (fullBatches == null) {
+            fullBatches = Lists.newArrayList();
+          }
+          fullBatches.add(pending.remove(nodeMonitorAddress));
+          batch = null;
+        }
+      }
+      // If the last full batch left nothing pending, there is no window to close.
+      startWindow = startWindow && batch != null;
+    }
+
+    if (fullBatches != null) {
+      for (List<TEnqueueTaskReservationsRequest> fullBatch : fullBatches) {
+        sendBatch(nodeMonitorAddress, fullBatch);
+      }
+    }
+    if (startWindow) {
+      final InetSocketAddress address = nodeMonitorAddress;
+      flushExecutor.schedule(new Runnable() {
+        @Override
+        public void run() {
+          flush(address);
+        }
+      }, batchWindowMicros, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  /** Sends any reservations pending for the given node monitor. */
+  private void flush(InetSocketAddress nodeMonitorAddress) {
+    List<TEnqueueTaskReservationsRequest> batch;
+    synchronized (this) {
+      batch = pending.remove(nodeMonitorAddress);
+    }
+    if (batch != null) {
+      sendBatch(nodeMonitorAddress, batch);
+    }
+  }
+
+  private void sendBatch(final InetSocketAddress nodeMonitorAddress,
+                         final List<TEnqueueTaskReservationsRequest> requests) {
+    LOG.debug("Enqueueing reservations for " + requests.size() + " requests on node " +
+              nodeMonitorAddress);
+    ENQUEUE_BATCH_SIZE.record(requests.size());
+    final long startNanos = System.nanoTime();
+    if (unbatchedNodeMonitors.contains(nodeMonitorAddress)) {
+      sendEach(nodeMonitorAddress, requests, startNanos);
+      return;
+    }
+    channels.call(nodeMonitorAddress, "enqueueTaskReservationsBatch",
+        new enqueueTaskReservationsBatch_args(requests),
+        new enqueueTaskReservationsBatch_result(),
+        new PipelinedChannel.Callback<enqueueTaskReservationsBatch_result>() {
+          @Override
+          public void onComplete(enqueueTaskReservationsBatch_result result) {
+            callback.onComplete(nodeMonitorAddress, requests, result.getSuccess(), startNanos);
+          }
+
+          @Override
+          public void onError(Exception exception) {
+            if (exception instanceof TApplicationException &&
+                ((TApplicationException) exception).getType() ==
+                    TApplicationException.UNKNOWN_METHOD) {
+              LOG.info("Node monitor " + nodeMonitorAddress + " doesn't accept batched " +
+                       "reservations; sending it one request at a time");
+              unbatchedNodeMonitors.add(nodeMonitorAddress);
+              sendEach(nodeMonitorAddress, requests, startNanos);
+              return;
+            }
+            callback.onError(nodeMonitorAddress, requests, exception);
+          }
+        });
+  }
+
+  /**
+   * Sends each request with its own enqueueTaskReservations() RPC. Once all of the RPCs finish,
+   * the requests that were sent successfully are reported to the callback's onComplete(), and
+   * the rest to its onError().
+   */
+  private void sendEach(final InetSocketAddress nodeMonitorAddress,
+                        final List<TEnqueueTaskReservationsRequest> requests,
+                        final long startNanos) {
+    final TEnqueueTaskReservationsResponse[] responses =
+        new TEnqueueTaskReservationsResponse[requests.size()];
+    final Exception[] errors = new Exception[requests.size()];
+    final AtomicInteger numRemaining = new AtomicInteger(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      final int index = i;
+      channels.call(nodeMonitorAddress, "enqueueTaskReservations",
+          new enqueueTaskReservations_args(requests.get(i)),
+          new enqueueTaskReservations_result(),
+          new PipelinedChannel.Callback<enqueueTaskReservations_result>() {
+            @Override
+            public void onComplete(enqueueTaskReservations_result result) {
+              responses[index] = new TEnqueueTaskReservationsResponse().setEnqueued(
+                  result.isSuccess());
+              if (numRemaining.decrementAndGet() == 0) {
+                finishEach(nodeMonitorAddress, requests, responses, errors, startNanos);
+              }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              errors[index] = exception;
+              if (numRemaining.decrementAndGet() == 0) {
+                finishEach(nodeMonitorAddress, requests, responses, errors, startNanos);
+              }
+            }
+          });
+    }
+  }
+
+  private void finishEach(InetSocketAddress nodeMonitorAddress,
+                          List<TEnqueueTaskReservationsRequest> requests,
+                          TEnqueueTaskReservationsResponse[] responses, Exception[] errors,
+                          long startNanos) {
+    List<TEnqueueTaskReservationsRequest> completedRequests = Lists.newArrayList();
+    List<TEnqueueTaskReservationsResponse> completedResponses = Lists.newArrayList();
+    List<TEnqueueTaskReservationsRequest> failedRequests = Lists.newArrayList();
+    Exception error = null;
+    for (int i = 0; i < requests.size(); i++) {
+      if (errors[i] == null) {
+        completedRequests.add(requests.get(i));
+        completedResponses.add(responses[i]);
+      } else {
+        failedRequests.add(requests.get(i));
+        error = errors[i];
+      }
+    }
+    if (!completedRequests.isEmpty()) {
+      callback.onComplete(nodeMonitorAddress, completedRequests, completedResponses, startNanos);
+    }
+    if (!failedRequests.isEmpty()) {
+      callback.onError(nodeMonitorAddress, failedRequests, error);
+    }
+  }
+}
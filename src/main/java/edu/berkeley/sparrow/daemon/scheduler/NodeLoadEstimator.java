@@ -0,0 +1,150 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
+
+/**
+ * Tracks an estimate of the load on each node monitor, based on the loads that node monitors
+ * report in responses to enqueueTaskReservations() and in getTask() requests, and uses it to
+ * choose lightly loaded node monitors when placing reservations.
+ *
+ * Load information goes stale quickly (and the scheduler only hears from node monitors that it
+ * has recently sent reservations to), so each estimate decays exponentially towards zero with
+ * the configured half life. Node monitors with no recent information therefore look idle, which
+ * ensures that they continue to be probed.
+ */
+public class NodeLoadEstimator {
+  /** An estimate of a node monitor's load (queued reservations plus active tasks). */
+  private static class Estimate {
+    final double load;
+    final long timeMillis;
+
+    Estimate(double load, long timeMillis) {
+      this.load = load;
+      this.timeMillis = timeMillis;
+    }
+
+    double decayedLoad(long nowMillis, double halfLifeMillis) {
+      long elapsed = nowMillis - timeMillis;
+      if (elapsed <= 0) {
+        return load;
+      }
+      return load * Math.pow(0.5, elapsed / halfLifeMillis);
+    }
+  }
+
+  private final ConcurrentMap<InetSocketAddress, Estimate> estimates =
+      new ConcurrentHashMap<InetSocketAddress, Estimate>();
+  private final double halfLifeMillis;
+  private final int sampleFactor;
+
+  /**
+   * Creates an estimator that chooses each node monitor from among {@code sampleFactor}
+   * randomly chosen candidates.
+   */
+  public NodeLoadEstimator(double halfLifeMillis, int sampleFactor) {
+    this.halfLifeMillis = halfLifeMillis;
+    this.sampleFactor = sampleFactor;
+  }
+
+  /** Replaces the estimate for the given node monitor with the load it reported. */
+  public void reportLoad(InetSocketAddress nodeMonitor, TNodeMonitorLoad load) {
+    estimates.put(nodeMonitor, new Estimate(
+        load.getQueuedReservations() + load.getActiveTasks(), System.currentTimeMillis()));
+  }
+
+  /**
+   * Adds the given number of reservations to the estimate for the given node monitor, so that
+   * jobs placed before the node monitor next reports its load do not all pick the same node.
+   */
+  public void addReservations(InetSocketAddress nodeMonitor, int numReservations) {
+    long now = System.currentTimeMillis();
+    while (true) {
+      Estimate current = estimates.get(nodeMonitor);
+      if (current == null) {
+        if (estimates.putIfAbsent(nodeMonitor, new Estimate(numReservations, now)) == null) {
+          return;
+        }
+      } else {
+        Estimate updated = new Estimate(
+            current.decayedLoad(now, halfLifeMillis) + numReservations, now);
+        if (estimates.replace(nodeMonitor, current, updated)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /** Returns the current estimated load for the given node monitor. */
+  public double getLoad(InetSocketAddress nodeMonitor) {
+    Estimate estimate = estimates.get(nodeMonitor);
+    if (estimate == null) {
+      return 0;
+    }
+    return estimate.decayedLoad(System.currentTimeMillis(), halfLifeMillis);
+  }
+
+  /**
+   * Returns {@code k} distinct node monitors from {@code backends}: samples
+   * {@code sampleFactor * k} candidates at random, and returns the {@code k} least loaded.
+   */
+  public List<InetSocketAddress> sample(BackendSnapshot backends, int k) {
+    List<InetSocketAddress> candidates = backends.sample(k * sampleFactor);
+    if (candidates.size() <= k) {
+      return candidates;
+    }
+    final long now = System.currentTimeMillis();
+    List<CandidateLoad> candidateLoads = Lists.newArrayListWithCapacity(candidates.size());
+    for (InetSocketAddress candidate : candidates) {
+      Estimate estimate = estimates.get(candidate);
+      double load = estimate == null ? 0 : estimate.decayedLoad(now, halfLifeMillis);
+      candidateLoads.add(new CandidateLoad(candidate, load));
+    }
+    // The sort is stable and the candidates are in random order, so ties are broken randomly.
+    Collections.sort(candidateLoads, new Comparator<CandidateLoad>() {
+      @Override
+      public int compare(CandidateLoad a, CandidateLoad b) {
+        return Double.compare(a.load, b.load);
+      }
+    });
+    List<InetSocketAddress> chosen = Lists.newArrayListWithCapacity(k);
+    for (int i = 0; i < k; i++) {
+      chosen.add(candidateLoads.get(i).nodeMonitor);
+    }
+    return chosen;
+  }
+
+  private static class CandidateLoad {
+    final InetSocketAddress nodeMonitor;
+    final double load;
+
+    CandidateLoad(InetSocketAddress nodeMonitor, double load) {
+      this.nodeMonitor = nodeMonitor;
+      this.load = load;
+    }
+  }
+}
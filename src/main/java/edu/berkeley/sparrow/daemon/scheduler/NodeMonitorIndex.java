@@ -0,0 +1,226 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+
+/**
+ * Maps the host names and IP addresses used in placement preferences to node monitors. Shared
+ * by all of a scheduler's {@link ConstrainedTaskPlacer}s.
+ *
+ * For each application, the index keeps a {@link View} built from the application's current
+ * {@link BackendSnapshot}; the view is rebuilt only when the snapshot changes. Preferences that
+ * are not IP addresses of node monitors are resolved by a background thread, and the results
+ * (including failures) are cached, so looking up a preference never blocks on DNS: a host name
+ * that has not been resolved yet is treated as unknown until its resolution completes. When the
+ * membership changes, the background thread also looks up the host names of the node monitors,
+ * so that preferences using those names can be matched without forward lookups. The cache holds
+ * at most {@link #MAX_CACHED_HOSTS} names, so that preferences naming many unknown hosts can't
+ * grow it without bound.
+ */
+public class NodeMonitorIndex {
+  private static final Logger LOG = Logger.getLogger(NodeMonitorIndex.class);
+
+  /** How long successful and failed host name resolutions are cached, respectively. */
+  static final long RESOLVED_TTL_MS = 10 * 60 * 1000;
+  static final long UNRESOLVED_TTL_MS = 30 * 1000;
+  /** The most host names whose resolutions are cached; the least recently used are evicted. */
+  static final int MAX_CACHED_HOSTS = 100000;
+
+  /** The result of resolving a host name. A null address means the name couldn't be resolved. */
+  private static class CachedAddress {
+    final InetAddress address;
+    final long expirationMillis;
+
+    CachedAddress(InetAddress address, long expirationMillis) {
+      this.address = address;
+      this.expirationMillis = expirationMillis;
+    }
+  }
+
+  /** Placeholder for host names that are being resolved. */
+  private static final CachedAddress PENDING = new CachedAddress(null, Long.MAX_VALUE);
+
+  private final ConcurrentMap<String, CachedAddress> resolvedHosts = CacheBuilder.newBuilder()
+      .maximumSize(MAX_CACHED_HOSTS).<String, CachedAddress>build().asMap();
+  /** Node monitor addresses whose host names have already been looked up. */
+  private final Set<InetAddress> reverseResolvedAddresses =
+      Sets.newSetFromMap(new ConcurrentHashMap<InetAddress, Boolean>());
+  private final ConcurrentMap<String, View> views = new ConcurrentHashMap<String, View>();
+  private final ExecutorService resolver;
+
+  public NodeMonitorIndex() {
+    resolver = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "NodeMonitorIndex resolver");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Returns the view of the given application's node monitors, rebuilding it if the set of
+   * backends has changed since the view was last built.
+   */
+  public View getView(String appId, BackendSnapshot backends) {
+    View view = views.get(appId);
+    if (view == null || view.backends != backends) {
+      view = new View(backends, this);
+      views.put(appId, view);
+      resolveNodeMonitorNames(backends);
+    }
+    return view;
+  }
+
+  /**
+   * Returns a view of the given node monitors that resolves host names synchronously, for use
+   * without a shared index.
+   */
+  static View unindexedView(Collection<InetSocketAddress> nodeMonitors) {
+    return new View(nodeMonitors, null);
+  }
+
+  /**
+   * Returns the cached address for the given host name, or null if it is not known (yet), in
+   * which case it is resolved in the background.
+   */
+  private InetAddress getResolvedAddress(final String host) {
+    CachedAddress cached = resolvedHosts.get(host);
+    if (cached != null && cached.expirationMillis > System.currentTimeMillis()) {
+      return cached.address;
+    }
+    if (cached == null ? resolvedHosts.putIfAbsent(host, PENDING) != null
+                       : !resolvedHosts.replace(host, cached, PENDING)) {
+      // Another thread started resolving the host.
+      return null;
+    }
+    resolver.submit(new Runnable() {
+      @Override
+      public void run() {
+        InetAddress address = null;
+        try {
+          address = InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+          LOG.warn("Got placement constraint for unresolvable node " + host);
+        }
+        long ttl = address == null ? UNRESOLVED_TTL_MS : RESOLVED_TTL_MS;
+        resolvedHosts.put(host, new CachedAddress(address, System.currentTimeMillis() + ttl));
+      }
+    });
+    // Until the resolution finishes, keep using a stale address, if there was one.
+    return cached == null ? null : cached.address;
+  }
+
+  /** Looks up the host names of any new node monitors in the background. */
+  private void resolveNodeMonitorNames(final BackendSnapshot backends) {
+    resolver.submit(new Runnable() {
+      @Override
+      public void run() {
+        for (InetSocketAddress nodeMonitor : backends) {
+          InetAddress address = nodeMonitor.getAddress();
+          if (address == null || !reverseResolvedAddresses.add(address)) {
+            continue;
+          }
+          long expiration = System.currentTimeMillis() + RESOLVED_TTL_MS;
+          CachedAddress cached = new CachedAddress(address, expiration);
+          resolvedHosts.put(address.getHostName(), cached);
+          resolvedHosts.put(address.getCanonicalHostName(), cached);
+        }
+      }
+    });
+  }
+
+  /** An immutable mapping from host names and IP addresses to a set of node monitors. */
+  public static class View {
+    private final Collection<InetSocketAddress> backends;
+    private final NodeMonitorIndex index;
+    private final Map<InetAddress, InetSocketAddress> addressToNodeMonitor;
+    /** Node monitors by IP address string and, where already known, by host name. */
+    private final Map<String, InetSocketAddress> hostToNodeMonitor;
+
+    private View(Collection<InetSocketAddress> backends, NodeMonitorIndex index) {
+      this.backends = backends;
+      this.index = index;
+      addressToNodeMonitor = new HashMap<InetAddress, InetSocketAddress>();
+      hostToNodeMonitor = new HashMap<String, InetSocketAddress>();
+      for (InetSocketAddress node : backends) {
+        InetAddress address = node.getAddress();
+        if (address == null) {
+          continue;
+        }
+        if (addressToNodeMonitor.containsKey(address)) {
+          // TODO: Should we support this case?  Seems like it's only useful for testing.
+          LOG.warn("Two node monitors at " + address + "; only one will be used for " +
+                   "scheduling.");
+        }
+        addressToNodeMonitor.put(address, node);
+        hostToNodeMonitor.put(address.getHostAddress(), node);
+        // InetAddress.toString() gives "hostname/ip", with an empty host name if it isn't known;
+        // unlike getHostName(), it never triggers a reverse lookup.
+        String description = address.toString();
+        int separator = description.indexOf('/');
+        if (separator > 0) {
+          hostToNodeMonitor.put(description.substring(0, separator), node);
+        }
+      }
+    }
+
+    /**
+     * Returns the node monitor for the given host name or IP address, or null if there is no
+     * known node monitor there.
+     */
+    public InetSocketAddress lookup(String host) {
+      InetSocketAddress nodeMonitor = hostToNodeMonitor.get(host);
+      if (nodeMonitor != null) {
+        return nodeMonitor;
+      }
+      InetAddress address;
+      if (index != null) {
+        address = index.getResolvedAddress(host);
+      } else {
+        try {
+          address = InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+          LOG.warn("Got placement constraint for unresolvable node " + host);
+          return null;
+        }
+      }
+      if (address == null) {
+        return null;
+      }
+      return addressToNodeMonitor.get(address);
+    }
+  }
+}
@@ -19,39 +19,50 @@ package edu.berkeley.sparrow.daemon.scheduler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
-import org.apache.thrift.async.AsyncMethodCallback;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.metrics.Counter;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.AuditLogger;
+import edu.berkeley.sparrow.daemon.util.ConcurrentLongHashMap;
 import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.FrontendMessageBatcher;
+import edu.berkeley.sparrow.daemon.util.MessageBatcher;
 import edu.berkeley.sparrow.daemon.util.Network;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
 import edu.berkeley.sparrow.daemon.util.Serialization;
-import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
-import edu.berkeley.sparrow.thrift.FrontendService;
-import edu.berkeley.sparrow.thrift.FrontendService.AsyncClient.frontendMessage_call;
-import edu.berkeley.sparrow.thrift.InternalService;
-import edu.berkeley.sparrow.thrift.InternalService.AsyncClient;
-import edu.berkeley.sparrow.thrift.InternalService.AsyncClient.enqueueTaskReservations_call;
+import edu.berkeley.sparrow.daemon.util.Trace;
+import edu.berkeley.sparrow.thrift.IncompleteRequestException;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
 import edu.berkeley.sparrow.thrift.TPlacementPreference;
 import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TSubmitJobResult;
 import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
 import edu.berkeley.sparrow.thrift.TTaskSpec;
 
@@ -60,11 +71,37 @@ import edu.berkeley.sparrow.thrift.TTaskSpec;
  */
 public class Scheduler {
   private final static Logger LOG = Logger.getLogger(Scheduler.class);
-  private final static Logger AUDIT_LOG = Logging.getAuditLogger(Scheduler.class);
+  private final static AuditLogger AUDIT_LOG = Logging.getAuditLogger(Scheduler.class);
+  private final static Trace HANDLE_JOB_SUBMISSION_TRACE =
+      Trace.forMethod(Scheduler.class, "handleJobSubmission");
+  private final static Trace GET_TASKS_TRACE = Trace.forMethod(Scheduler.class, "getTasks");
+  private final static Trace SEND_FRONTEND_MESSAGE_TRACE =
+      Trace.forMethod(Scheduler.class, "sendFrontendMessage");
+
+  private final static MetricsRegistry METRICS = MetricsRegistry.getInstance();
+  /**
+   * Time from a job's submission until all of its reservations are passed to the EnqueueService.
+   */
+  private final static Histogram SUBMIT_TO_ENQUEUE_US =
+      METRICS.histogram("scheduler.submit_to_enqueue_us");
+  /** Round trip time of enqueueTaskReservationsBatch() RPCs. */
+  private final static Histogram ENQUEUE_RPC_US = METRICS.histogram("scheduler.enqueue_rpc_us");
+  private final static Counter ENQUEUE_RPC_ERRORS = METRICS.counter("scheduler.enqueue_rpc_errors");
+  private final static Counter JOBS_SUBMITTED = METRICS.counter("scheduler.jobs_submitted");
+  /** Number of jobs in each submitJobs() call. */
+  private final static Histogram SUBMIT_BATCH_SIZE =
+      METRICS.histogram("scheduler.submit_batch_size");
 
   /** Used to uniquely identify requests arriving at this scheduler. */
   private AtomicInteger counter = new AtomicInteger(0);
 
+  /**
+   * IP address of this scheduler and the corresponding scheduler ID, used to construct request
+   * IDs. Computed once, so that creating a request ID doesn't require a DNS lookup.
+   */
+  private String ipAddress;
+  private int schedulerId;
+
   /** How many times the special case has been triggered. */
   private AtomicInteger specialCaseCounter = new AtomicInteger(0);
 
@@ -81,28 +118,66 @@ public class Scheduler {
   private CancellationService cancellationService;
   private boolean useCancellation;
 
-  /** Thrift client pool for communicating with node monitors */
-  ThriftClientPool<InternalService.AsyncClient> nodeMonitorClientPool =
-      new ThriftClientPool<InternalService.AsyncClient>(
-          new ThriftClientPool.InternalServiceMakerFactory());
+  /**
+   * Whether node monitors send frontend messages directly to the frontend, rather than by way of
+   * this scheduler. See {@link SparrowConf#DIRECT_FRONTEND_MESSAGES}.
+   */
+  private boolean directFrontendMessages;
+
+  /**
+   * Channels for communicating with node monitors. Each node monitor has a single connection,
+   * over which enqueueTaskReservationsBatch() and cancellation RPCs are pipelined.
+   */
+  PipelinedChannelManager nodeMonitorChannels;
+
+  /** Coalesces the reservations sent to each node monitor. */
+  private EnqueueService enqueueService;
+
+  /** Channels for communicating with front ends. */
+  private PipelinedChannelManager frontendChannels;
 
-  /** Thrift client pool for communicating with front ends. */
-  private ThriftClientPool<FrontendService.AsyncClient> frontendClientPool =
-      new ThriftClientPool<FrontendService.AsyncClient>(
-          new ThriftClientPool.FrontendServiceMakerFactory());
+  /** Coalesces the messages sent to each front end. */
+  private MessageBatcher<TFrontendMessage> frontendMessages;
 
   /** Information about cluster workload due to other schedulers. */
   private SchedulerState state;
 
+  /**
+   * Whether channels to node monitors are opened ahead of time, rather than on demand. See
+   * {@link SparrowConf#WARM_NODE_MONITOR_CONNECTIONS}.
+   */
+  private boolean warmNodeMonitorConnections;
+
+  /** For each application, the backends to which connections were last opened ahead of time. */
+  private ConcurrentMap<String, BackendSnapshot> warmedBackends =
+      new ConcurrentHashMap<String, BackendSnapshot>();
+
   /** Probe ratios to use if the probe ratio is not explicitly set in the request. */
   private double defaultProbeRatioUnconstrained;
   private double defaultProbeRatioConstrained;
 
+  /**
+   * Unconstrained jobs with at least this many tasks are placed using a
+   * {@link StreamingTaskPlacer}. 0 if streaming placement is disabled.
+   */
+  private int streamingPlacementMinTasks;
+
+  /** Maps placement preferences to node monitors, for constrained requests. */
+  private NodeMonitorIndex nodeMonitorIndex;
+
+  /**
+   * Estimates of node monitors' loads, used to place reservations for unconstrained requests.
+   * Null if load-aware sampling is disabled.
+   */
+  private NodeLoadEstimator loadEstimator;
+
   /**
    * For each request, the task placer that should be used to place the request's tasks. Indexed
-   * by the request ID.
+   * by the request handle (see {@link RequestIds}). getTask() calls are handled by multiple
+   * threads, so the map's concurrency level is set to the number of getTask() threads; calls for
+   * the same request are serialized by synchronizing on the request's task placer.
    */
-  private ConcurrentMap<String, TaskPlacer> requestTaskPlacers;
+  private ConcurrentLongHashMap<TaskPlacer> requestTaskPlacers;
 
   /**
    * When a job includes SPREAD_EVENLY in the description and has this number of tasks,
@@ -128,17 +203,58 @@ public class Scheduler {
 
     state.initialize(conf);
 
+    if (nodeMonitorChannels == null) {
+      nodeMonitorChannels = new PipelinedChannelManager("Scheduler node monitor channels");
+    }
+    nodeMonitorChannels.registerMetrics("scheduler.node_monitor_channels.");
+    enqueueService = new EnqueueService(nodeMonitorChannels,
+        conf.getLong(SparrowConf.ENQUEUE_BATCH_WINDOW_US,
+                     SparrowConf.DEFAULT_ENQUEUE_BATCH_WINDOW_US),
+        conf.getInt(SparrowConf.ENQUEUE_MAX_BATCH_SIZE, SparrowConf.DEFAULT_ENQUEUE_MAX_BATCH_SIZE),
+        new EnqueueTaskReservationsCallback());
+    frontendChannels = new PipelinedChannelManager("Scheduler frontend channels");
+    frontendChannels.registerMetrics("scheduler.frontend_channels.");
+    frontendMessages = new FrontendMessageBatcher("Scheduler frontend messages", frontendChannels,
+        conf.getLong(SparrowConf.FRONTEND_MESSAGE_MAX_DELAY_US,
+                     SparrowConf.DEFAULT_FRONTEND_MESSAGE_MAX_DELAY_US),
+        conf.getInt(SparrowConf.FRONTEND_MESSAGE_MAX_BATCH_SIZE,
+                    SparrowConf.DEFAULT_FRONTEND_MESSAGE_MAX_BATCH_SIZE));
+    warmNodeMonitorConnections = conf.getBoolean(SparrowConf.WARM_NODE_MONITOR_CONNECTIONS,
+        SparrowConf.DEFAULT_WARM_NODE_MONITOR_CONNECTIONS);
+    String staticApp = conf.getString(SparrowConf.STATIC_APP_NAME);
+    if (mode.equals("configbased") && staticApp != null) {
+      warmConnections(staticApp, state.getBackends(staticApp));
+    }
+
     defaultProbeRatioUnconstrained = conf.getDouble(SparrowConf.SAMPLE_RATIO,
         SparrowConf.DEFAULT_SAMPLE_RATIO);
     defaultProbeRatioConstrained = conf.getDouble(SparrowConf.SAMPLE_RATIO_CONSTRAINED,
         SparrowConf.DEFAULT_SAMPLE_RATIO_CONSTRAINED);
+    nodeMonitorIndex = new NodeMonitorIndex();
+    streamingPlacementMinTasks = conf.getInt(SparrowConf.STREAMING_PLACEMENT_MIN_TASKS,
+        SparrowConf.DEFAULT_STREAMING_PLACEMENT_MIN_TASKS);
+    int loadAwareFactor = conf.getInt(SparrowConf.SAMPLE_LOAD_AWARE_FACTOR,
+        SparrowConf.DEFAULT_SAMPLE_LOAD_AWARE_FACTOR);
+    if (loadAwareFactor > 1) {
+      loadEstimator = new NodeLoadEstimator(
+          conf.getInt(SparrowConf.SAMPLE_LOAD_HALF_LIFE_MS,
+                      SparrowConf.DEFAULT_SAMPLE_LOAD_HALF_LIFE_MS),
+          loadAwareFactor);
+    }
 
-    requestTaskPlacers = Maps.newConcurrentMap();
+    int getTaskThreads = conf.getInt(SparrowConf.GET_TASK_THRIFT_THREADS,
+        SchedulerThrift.DEFAULT_GET_TASK_THRIFT_THREADS);
+    requestTaskPlacers = new ConcurrentLongHashMap<TaskPlacer>(getTaskThreads);
+
+    ipAddress = Network.getIPAddress(conf);
+    schedulerId = RequestIds.schedulerIdFromAddress(ipAddress);
 
     useCancellation = conf.getBoolean(SparrowConf.CANCELLATION, SparrowConf.DEFAULT_CANCELLATION);
     if (useCancellation) {
       LOG.debug("Initializing cancellation service");
-      cancellationService = new CancellationService(nodeMonitorClientPool);
+      int batchWindowMs = conf.getInt(SparrowConf.CANCELLATION_BATCH_WINDOW_MS,
+                                      SparrowConf.DEFAULT_CANCELLATION_BATCH_WINDOW_MS);
+      cancellationService = new CancellationService(nodeMonitorChannels, batchWindowMs);
       new Thread(cancellationService).start();
     } else {
       LOG.debug("Not using cancellation");
@@ -146,6 +262,8 @@ public class Scheduler {
 
     spreadEvenlyTaskSetSize = conf.getInt(SparrowConf.SPREAD_EVENLY_TASK_SET_SIZE,
     				SparrowConf.DEFAULT_SPREAD_EVENLY_TASK_SET_SIZE);
+    directFrontendMessages = conf.getBoolean(SparrowConf.DIRECT_FRONTEND_MESSAGES,
+        SparrowConf.DEFAULT_DIRECT_FRONTEND_MESSAGES);
   }
 
   public boolean registerFrontend(String appId, String addr) {
@@ -156,42 +274,63 @@ public class Scheduler {
       return false;
     }
     frontendSockets.put(appId, socketAddress.get());
-    return state.watchApplication(appId);
+    boolean watched = state.watchApplication(appId);
+    warmConnections(appId, state.getBackends(appId));
+    return watched;
   }
 
   /**
-   * Callback for enqueueTaskReservations() that returns the client to the client pool.
+   * Opens connections ahead of time to the given backends of an application, if the backends
+   * have changed since connections were last opened for it. Node monitors that are no longer
+   * backends of any application stop being kept warm.
    */
-  private class EnqueueTaskReservationsCallback
-  implements AsyncMethodCallback<enqueueTaskReservations_call> {
-    String requestId;
-    InetSocketAddress nodeMonitorAddress;
-    long startTimeMillis;
-
-    public EnqueueTaskReservationsCallback(String requestId, InetSocketAddress nodeMonitorAddress) {
-      this.requestId = requestId;
-      this.nodeMonitorAddress = nodeMonitorAddress;
-      this.startTimeMillis = System.currentTimeMillis();
+  private void warmConnections(String appId, BackendSnapshot backends) {
+    if (!warmNodeMonitorConnections) {
+      return;
     }
+    synchronized (warmedBackends) {
+      if (warmedBackends.put(appId, backends) == backends) {
+        return;
+      }
+      Set<InetSocketAddress> nodeMonitors = Sets.newHashSet();
+      for (BackendSnapshot snapshot : warmedBackends.values()) {
+        nodeMonitors.addAll(snapshot);
+      }
+      LOG.debug("Keeping channels open to " + nodeMonitors.size() + " node monitors");
+      nodeMonitorChannels.keepWarm(nodeMonitors);
+    }
+  }
 
-    public void onComplete(enqueueTaskReservations_call response) {
-      AUDIT_LOG.debug(Logging.auditEventString(
-          "scheduler_complete_enqueue_task", requestId,
-          nodeMonitorAddress.getAddress().getHostAddress()));
-      long totalTime = System.currentTimeMillis() - startTimeMillis;
-      LOG.debug("Enqueue Task RPC to " + nodeMonitorAddress.getAddress().getHostAddress() +
-                " for request " + requestId + " completed in " + totalTime + "ms");
-      try {
-        nodeMonitorClientPool.returnClient(nodeMonitorAddress, (AsyncClient) response.getClient());
-      } catch (Exception e) {
-        LOG.error("Error returning client to node monitor client pool: " + e);
+  /**
+   * Callback for enqueueTaskReservationsBatch() that records the node monitor's reported load.
+   */
+  private class EnqueueTaskReservationsCallback implements EnqueueService.BatchCallback {
+    public void onComplete(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests,
+        List<TEnqueueTaskReservationsResponse> responses, long startNanos) {
+      String nodeMonitorHost = nodeMonitorAddress.getAddress().getHostAddress();
+      for (TEnqueueTaskReservationsRequest request : requests) {
+        AUDIT_LOG.log(request.getRequestId(), "scheduler_complete_enqueue_task",
+            request.getRequestId(), nodeMonitorHost);
+      }
+      long totalTimeMicros = (System.nanoTime() - startNanos) / 1000;
+      ENQUEUE_RPC_US.record(totalTimeMicros);
+      LOG.debug("Enqueue Task RPC to " + nodeMonitorHost + " for " + requests.size() +
+                " requests completed in " + totalTimeMicros / 1000.0 + "ms");
+      if (loadEstimator != null && responses != null && !responses.isEmpty()) {
+        // All of the responses carry the node monitor's load after the whole batch was enqueued.
+        TEnqueueTaskReservationsResponse result = responses.get(responses.size() - 1);
+        if (result != null && result.isSetLoad()) {
+          loadEstimator.reportLoad(nodeMonitorAddress, result.getLoad());
+        }
       }
-      return;
     }
 
-    public void onError(Exception exception) {
-      // Do not return error client to pool
-      LOG.error("Error executing enqueueTaskReservation RPC:" + exception);
+    public void onError(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests, Exception exception) {
+      ENQUEUE_RPC_ERRORS.increment();
+      LOG.error("Error executing enqueueTaskReservationsBatch RPC for " + requests.size() +
+                " requests on " + nodeMonitorAddress + ": " + exception);
     }
   }
 
@@ -295,12 +434,138 @@ public class Scheduler {
     }
   }
 
-  public void handleJobSubmission(TSchedulingRequest request) throws TException {
-    LOG.debug(Logging.functionCall(request));
+  /** A job that has been assigned a request ID and a task placer. */
+  private static class Job {
+    final TSchedulingRequest request;
+    final long requestHandle;
+    final String requestId;
+    final TaskPlacer taskPlacer;
+    /**
+     * Number of reservations to place, if the job's node monitors are chosen by
+     * {@link Scheduler#placeSampledJobs}; 0 if the task placer chooses them itself.
+     */
+    final int sampledReservations;
+
+    Job(TSchedulingRequest request, long requestHandle, String requestId, TaskPlacer taskPlacer,
+        int sampledReservations) {
+      this.request = request;
+      this.requestHandle = requestHandle;
+      this.requestId = requestId;
+      this.taskPlacer = taskPlacer;
+      this.sampledReservations = sampledReservations;
+    }
+  }
 
+  public void handleJobSubmission(TSchedulingRequest request) throws TException {
     long start = System.currentTimeMillis();
+    long startNanos = System.nanoTime();
+
+    BackendSnapshot backends = getBackends(request.getApp());
+    Job job = startJob(request, backends);
+    Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests =
+        Maps.newHashMap();
+    addEnqueueRequests(job, job.taskPlacer.getEnqueueTaskReservationsRequests(
+        request, job.requestId, backends, address), enqueueRequests);
+    sendEnqueueRequests(enqueueRequests);
+
+    long end = System.currentTimeMillis();
+    SUBMIT_TO_ENQUEUE_US.record((System.nanoTime() - startNanos) / 1000);
+    LOG.debug("All tasks enqueued for request " + job.requestId + "; returning. Total time: " +
+              (end - start) + " milliseconds");
+  }
+
+  /**
+   * Places a batch of jobs, and returns whether each was accepted. The jobs are placed in one
+   * pass: each application's backends are looked up once, the node monitors for all of an
+   * application's unconstrained jobs are sampled together, and the enqueueTaskReservations()
+   * requests for each node monitor are sent together.
+   */
+  public List<TSubmitJobResult> submitJobs(List<TSchedulingRequest> requests) {
+    long startNanos = System.nanoTime();
+    SUBMIT_BATCH_SIZE.record(requests.size());
+    TSubmitJobResult[] results = new TSubmitJobResult[requests.size()];
+    Map<String, BackendSnapshot> backendsByApp = Maps.newHashMap();
+    // Unconstrained jobs whose node monitors are chosen by placeSampledJobs(), by application.
+    Map<String, List<Job>> sampledJobs = Maps.newHashMap();
+    Map<Job, Integer> sampledJobIndices = Maps.newHashMap();
+    Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests =
+        Maps.newHashMap();
+    int numJobs = 0;
+
+    for (int i = 0; i < requests.size(); i++) {
+      TSchedulingRequest request = requests.get(i);
+      results[i] = new TSubmitJobResult(true, null);
+      Job job = null;
+      try {
+        if (request.getApp() == null || request.getTasks() == null) {
+          throw new TException("Request is missing its app or tasks");
+        }
+        // Short-circuit case that is used for liveness checking
+        if (request.getTasks().size() == 0) {
+          continue;
+        }
+        if (isSpreadTasksJob(request)) {
+          // These jobs are rare, and take a lock-step path of their own.
+          handleJobSubmission(addConstraintsToSpreadTasks(request));
+          continue;
+        }
+        BackendSnapshot backends = backendsByApp.get(request.getApp());
+        if (backends == null) {
+          backends = getBackends(request.getApp());
+          backendsByApp.put(request.getApp(), backends);
+        }
+        job = startJob(request, backends);
+        ++numJobs;
+        if (job.sampledReservations > 0) {
+          List<Job> appJobs = sampledJobs.get(request.getApp());
+          if (appJobs == null) {
+            appJobs = Lists.newArrayList();
+            sampledJobs.put(request.getApp(), appJobs);
+          }
+          appJobs.add(job);
+          sampledJobIndices.put(job, i);
+        } else {
+          addEnqueueRequests(job, job.taskPlacer.getEnqueueTaskReservationsRequests(
+              request, job.requestId, backends, address), enqueueRequests);
+        }
+      } catch (Exception e) {
+        results[i] = rejectJob(job, e);
+      }
+    }
+
+    for (Entry<String, List<Job>> entry : sampledJobs.entrySet()) {
+      BackendSnapshot backends = backendsByApp.get(entry.getKey());
+      for (Entry<Job, Exception> failure :
+           placeSampledJobs(entry.getValue(), backends, enqueueRequests).entrySet()) {
+        results[sampledJobIndices.get(failure.getKey())] =
+            rejectJob(failure.getKey(), failure.getValue());
+      }
+    }
+    sendEnqueueRequests(enqueueRequests);
+
+    long elapsedMicros = (System.nanoTime() - startNanos) / 1000;
+    for (int i = 0; i < numJobs; i++) {
+      SUBMIT_TO_ENQUEUE_US.record(elapsedMicros);
+    }
+    LOG.debug("All tasks enqueued for " + numJobs + " jobs; returning. Total time: " +
+              elapsedMicros / 1000.0 + " milliseconds");
+    return Arrays.asList(results);
+  }
+
+  /** Returns the application's backends, and opens connections to them if necessary. */
+  private BackendSnapshot getBackends(String app) {
+    BackendSnapshot backends = state.getBackends(app);
+    LOG.debug("NumBackends: " + backends.size());
+    warmConnections(app, backends);
+    return backends;
+  }
 
-    String requestId = getRequestId();
+  /** Assigns the request an ID, and registers a task placer for it. */
+  private Job startJob(TSchedulingRequest request, BackendSnapshot backends) {
+    JOBS_SUBMITTED.increment();
+    long requestHandle = getRequestHandle();
+    String requestId = RequestIds.toString(ipAddress, requestHandle);
+    HANDLE_JOB_SUBMISSION_TRACE.call(requestId, request);
 
     String user = "";
     if (request.getUser() != null && request.getUser().getUser() != null) {
@@ -313,110 +578,247 @@ public class Scheduler {
 
     String app = request.getApp();
     List<TTaskSpec> tasks = request.getTasks();
-    Set<InetSocketAddress> backends = state.getBackends(app);
-    LOG.debug("NumBackends: " + backends.size());
-    boolean constrained = false;
-    for (TTaskSpec task : tasks) {
-      constrained = constrained || (
-          task.preference != null &&
-          task.preference.nodes != null &&
-          !task.preference.nodes.isEmpty());
-    }
+    boolean constrained = isConstrained(tasks);
     // Logging the address here is somewhat redundant, since all of the
     // messages in this particular log file come from the same address.
     // However, it simplifies the process of aggregating the logs, and will
     // also be useful when we support multiple daemons running on a single
     // machine.
-    AUDIT_LOG.info(Logging.auditEventString("arrived", requestId,
-                                            request.getTasks().size(),
-                                            address.getHost(), address.getPort(),
-                                            user, description, constrained));
+    AUDIT_LOG.log(requestId, "arrived", requestId,
+                  request.getTasks().size(),
+                  address.getHost(), address.getPort(),
+                  user, description, constrained);
 
     TaskPlacer taskPlacer;
+    int sampledReservations = 0;
     if (constrained) {
+      NodeMonitorIndex.View nodeMonitors = nodeMonitorIndex.getView(app, backends);
       if (request.isSetProbeRatio()) {
-        taskPlacer = new ConstrainedTaskPlacer(requestId, request.getProbeRatio());
+        taskPlacer = new ConstrainedTaskPlacer(requestId, request.getProbeRatio(), nodeMonitors);
       } else {
-        taskPlacer = new ConstrainedTaskPlacer(requestId, defaultProbeRatioConstrained);
+        taskPlacer = new ConstrainedTaskPlacer(
+            requestId, defaultProbeRatioConstrained, nodeMonitors);
       }
     } else {
+      double probeRatio = defaultProbeRatioUnconstrained;
       if (request.isSetProbeRatio()) {
-        taskPlacer = new UnconstrainedTaskPlacer(requestId, request.getProbeRatio());
+        probeRatio = request.getProbeRatio();
+      }
+      if (streamingPlacementMinTasks > 0 && tasks.size() >= streamingPlacementMinTasks) {
+        taskPlacer = new StreamingTaskPlacer(requestId, probeRatio, loadEstimator);
       } else {
-        taskPlacer = new UnconstrainedTaskPlacer(requestId, defaultProbeRatioUnconstrained);
+        taskPlacer = new UnconstrainedTaskPlacer(requestId, probeRatio, loadEstimator);
+        sampledReservations =
+            UnconstrainedTaskPlacer.numReservations(probeRatio, tasks.size());
       }
     }
-    requestTaskPlacers.put(requestId, taskPlacer);
-
-    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> enqueueTaskReservationsRequests;
-    enqueueTaskReservationsRequests = taskPlacer.getEnqueueTaskReservationsRequests(
-        request, requestId, backends, address);
+    addTaskPlacer(requestHandle, taskPlacer);
+    return new Job(request, requestHandle, requestId, taskPlacer, sampledReservations);
+  }
 
-    // Request to enqueue a task at each of the selected nodes.
-    for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry :
-      enqueueTaskReservationsRequests.entrySet())  {
+  /**
+   * Chooses node monitors for several unconstrained jobs of the same application with one
+   * sampling pass. The sampled node monitors are dealt out to the jobs in turn, so each job's
+   * reservations still go to distinct node monitors (unless it has more reservations than there
+   * are node monitors). Returns the jobs that could not be placed, each with the error that
+   * prevented it from being placed (or null, if there were no backends); the other jobs are
+   * placed regardless.
+   */
+  private Map<Job, Exception> placeSampledJobs(List<Job> jobs, BackendSnapshot backends,
+      Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests) {
+    int totalReservations = 0;
+    for (Job job : jobs) {
+      totalReservations += job.sampledReservations;
+    }
+    List<InetSocketAddress> nodes =
+        UnconstrainedTaskPlacer.chooseNodes(backends, totalReservations, loadEstimator);
+    Map<Job, Exception> failedJobs = Maps.newHashMap();
+    int next = 0;
+    for (Job job : jobs) {
+      if (nodes.isEmpty()) {
+        LOG.error("No backends to place request " + job.requestId + " on");
+        failedJobs.put(job, null);
+        continue;
+      }
+      int numNodes = Math.min(job.sampledReservations, nodes.size());
+      List<InetSocketAddress> jobNodes = Lists.newArrayListWithCapacity(numNodes);
+      for (int i = 0; i < numNodes; i++) {
+        jobNodes.add(nodes.get(next));
+        next = (next + 1) % nodes.size();
+      }
       try {
-        InternalService.AsyncClient client = nodeMonitorClientPool.borrowClient(entry.getKey());
-        LOG.debug("Launching enqueueTask for request " + requestId + "on node: " + entry.getKey());
-        AUDIT_LOG.debug(Logging.auditEventString(
-            "scheduler_launch_enqueue_task", entry.getValue().requestId,
-            entry.getKey().getAddress().getHostAddress()));
-        client.enqueueTaskReservations(
-            entry.getValue(), new EnqueueTaskReservationsCallback(requestId, entry.getKey()));
+        addEnqueueRequests(job, job.taskPlacer.getEnqueueTaskReservationsRequests(
+            job.request, job.requestId, jobNodes, address), enqueueRequests);
       } catch (Exception e) {
-        LOG.error("Error enqueuing task on node " + entry.getKey().toString() + ":" + e);
+        failedJobs.put(job, e);
       }
     }
+    return failedJobs;
+  }
 
-    long end = System.currentTimeMillis();
-    LOG.debug("All tasks enqueued for request " + requestId + "; returning. Total time: " +
-              (end - start) + " milliseconds");
+  /** Unregisters a job that could not be placed, and returns its result. */
+  private TSubmitJobResult rejectJob(Job job, Exception cause) {
+    String message = cause == null ? "No backends available" : cause.toString();
+    if (job != null) {
+      requestTaskPlacers.remove(job.requestHandle);
+      message = "Unable to place request " + job.requestId + ": " + message;
+    }
+    LOG.error(message);
+    return new TSubmitJobResult(false, new IncompleteRequestException(message));
   }
 
-  public List<TTaskLaunchSpec> getTask(
-      String requestId, THostPort nodeMonitorAddress) {
+  /**
+   * Adds a job's enqueueTaskReservations() requests to {@code enqueueRequests}, which holds the
+   * requests to send to each node monitor.
+   */
+  private void addEnqueueRequests(Job job,
+      Map<InetSocketAddress, TEnqueueTaskReservationsRequest> jobRequests,
+      Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests) {
+    THostPort frontendAddress = null;
+    if (directFrontendMessages) {
+      InetSocketAddress frontend = frontendSockets.get(job.request.getApp());
+      if (frontend != null) {
+        frontendAddress = Network.socketAddressToThrift(frontend);
+      }
+    }
+    for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry :
+         jobRequests.entrySet()) {
+      entry.getValue().setRequestHandle(job.requestHandle);
+      if (frontendAddress != null) {
+        entry.getValue().setFrontendAddress(frontendAddress);
+      }
+      if (loadEstimator != null) {
+        loadEstimator.addReservations(entry.getKey(), entry.getValue().getNumTasks());
+      }
+      List<TEnqueueTaskReservationsRequest> nodeRequests = enqueueRequests.get(entry.getKey());
+      if (nodeRequests == null) {
+        nodeRequests = Lists.newArrayListWithCapacity(1);
+        enqueueRequests.put(entry.getKey(), nodeRequests);
+      }
+      nodeRequests.add(entry.getValue());
+    }
+  }
+
+  /**
+   * Request to enqueue tasks at each of the selected nodes. Requests to the same node monitor
+   * are coalesced into enqueueTaskReservationsBatch() RPCs by the {@link EnqueueService}.
+   */
+  private void sendEnqueueRequests(
+      Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests) {
+    for (Entry<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> entry :
+         enqueueRequests.entrySet())  {
+      for (TEnqueueTaskReservationsRequest request : entry.getValue()) {
+        LOG.debug("Launching enqueueTask for request " + request.getRequestId() + "on node: " +
+                  entry.getKey());
+        AUDIT_LOG.log(request.getRequestId(), "scheduler_launch_enqueue_task",
+            request.getRequestId(), entry.getKey().getAddress().getHostAddress());
+      }
+      enqueueService.enqueue(entry.getKey(), entry.getValue());
+    }
+  }
+
+  public List<TTaskLaunchSpec> getTask(String requestId, THostPort nodeMonitorAddress,
+      long requestHandle, TNodeMonitorLoad nodeMonitorLoad) {
+    return getTasks(requestId, nodeMonitorAddress, 1, requestHandle, nodeMonitorLoad);
+  }
+
+  /**
+   * Returns up to {@code maxTasks} tasks for the given request to launch on the given node
+   * monitor, which is using {@code maxTasks} of its reservations for the request.
+   *
+   * {@code requestHandle} should be the handle for {@code requestId}, or
+   * {@link RequestIds.NO_HANDLE} if the caller doesn't know the handle.
+   * {@code nodeMonitorLoad} is the node monitor's current load, or null if unknown.
+   */
+  public List<TTaskLaunchSpec> getTasks(String requestId, THostPort nodeMonitorAddress,
+      int maxTasks, long requestHandle, TNodeMonitorLoad nodeMonitorLoad) {
     /* TODO: Consider making this synchronized to avoid the need for synchronization in
      * the task placers (although then we'd lose the ability to parallelize over task placers). */
-    LOG.debug(Logging.functionCall(requestId, nodeMonitorAddress));
-    TaskPlacer taskPlacer = requestTaskPlacers.get(requestId);
+    // Checked first so that maxTasks and requestHandle aren't boxed unless the call is traced.
+    if (GET_TASKS_TRACE.isEnabled(requestId)) {
+      GET_TASKS_TRACE.call(requestId, requestId, nodeMonitorAddress, maxTasks, requestHandle);
+    }
+    if (loadEstimator != null && nodeMonitorLoad != null) {
+      loadEstimator.reportLoad(
+          new InetSocketAddress(nodeMonitorAddress.getHost(), nodeMonitorAddress.getPort()),
+          nodeMonitorLoad);
+    }
+    if (requestHandle == RequestIds.NO_HANDLE) {
+      requestHandle = RequestIds.parseHandle(requestId);
+    }
+    TaskPlacer taskPlacer = requestTaskPlacers.get(requestHandle);
     if (taskPlacer == null) {
       LOG.debug("Received getTask() request for request " + requestId + ", which had no more " +
           "unplaced tasks");
       return Lists.newArrayList();
     }
+    if (maxTasks < 1) {
+      LOG.error("Received getTask() request for request " + requestId + " with invalid " +
+                "maxTasks " + maxTasks);
+      return Lists.newArrayList();
+    }
 
+    List<TTaskLaunchSpec> taskLaunchSpecs;
+    Set<THostPort> nodeMonitorsToCancel = null;
     synchronized(taskPlacer) {
-      List<TTaskLaunchSpec> taskLaunchSpecs = taskPlacer.assignTask(nodeMonitorAddress);
-      if (taskLaunchSpecs == null || taskLaunchSpecs.size() > 1) {
+      taskLaunchSpecs = taskPlacer.assignTask(nodeMonitorAddress, maxTasks);
+      if (taskLaunchSpecs == null || taskLaunchSpecs.size() > maxTasks) {
         LOG.error("Received invalid task placement for request " + requestId + ": " +
-                  taskLaunchSpecs.toString());
+                  taskLaunchSpecs);
         return Lists.newArrayList();
-      } else if (taskLaunchSpecs.size() == 1) {
-        AUDIT_LOG.info(Logging.auditEventString("scheduler_assigned_task", requestId,
-            taskLaunchSpecs.get(0).taskId,
-            nodeMonitorAddress.getHost()));
-      } else {
-        AUDIT_LOG.info(Logging.auditEventString("scheduler_get_task_no_task", requestId,
-                                                nodeMonitorAddress.getHost()));
       }
 
       if (taskPlacer.allTasksPlaced()) {
         LOG.debug("All tasks placed for request " + requestId);
-        requestTaskPlacers.remove(requestId);
+        requestTaskPlacers.remove(requestHandle);
         if (useCancellation) {
-          Set<THostPort> outstandingNodeMonitors =
-              taskPlacer.getOutstandingNodeMonitorsForCancellation();
-          for (THostPort nodeMonitorToCancel : outstandingNodeMonitors) {
-            cancellationService.addCancellation(requestId, nodeMonitorToCancel);
-          }
+          // Copy the node monitors, because the task placer may continue to be modified by
+          // other getTask() calls that already looked it up.
+          nodeMonitorsToCancel = Sets.newHashSet(
+              taskPlacer.getOutstandingNodeMonitorsForCancellation());
         }
       }
-      return taskLaunchSpecs;
     }
+
+    // Do the logging and cancellation outside of the lock on the task placer, so that they
+    // don't delay other getTask() calls for the same request.
+    if (taskLaunchSpecs.size() > 0) {
+      for (TTaskLaunchSpec taskLaunchSpec : taskLaunchSpecs) {
+        AUDIT_LOG.log(requestId, "scheduler_assigned_task", requestId,
+            taskLaunchSpec.taskId,
+            nodeMonitorAddress.getHost());
+      }
+    } else {
+      AUDIT_LOG.log(requestId, "scheduler_get_task_no_task", requestId,
+                    nodeMonitorAddress.getHost());
+    }
+    if (nodeMonitorsToCancel != null) {
+      for (THostPort nodeMonitorToCancel : nodeMonitorsToCancel) {
+        cancellationService.addCancellation(requestId, nodeMonitorToCancel);
+      }
+    }
+    return taskLaunchSpecs;
+  }
+
+  /** Returns whether any of the given tasks has a placement preference. */
+  static boolean isConstrained(List<TTaskSpec> tasks) {
+    for (TTaskSpec task : tasks) {
+      if (task.preference != null && task.preference.nodes != null &&
+          !task.preference.nodes.isEmpty()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Registers the task placer to use for getTask() calls for the given request. */
+  void addTaskPlacer(long requestHandle, TaskPlacer taskPlacer) {
+    requestTaskPlacers.put(requestHandle, taskPlacer);
   }
 
   /**
-   * Returns an ID that identifies a request uniquely (across all Sparrow schedulers).
+   * Returns a handle that identifies a request uniquely (across all Sparrow schedulers). The
+   * corresponding string ID is given by {@link RequestIds.toString}.
    *
    * This should only be called once for each request (it will return a different
    * identifier if called a second time).
@@ -424,50 +826,30 @@ public class Scheduler {
    * TODO: Include the port number, so this works when there are multiple schedulers
    * running on a single machine.
    */
-  private String getRequestId() {
-    /* The request id is a string that includes the IP address of this scheduler followed
-     * by the counter.  We use a counter rather than a hash of the request because there
-     * may be multiple requests to run an identical job. */
-    return String.format("%s_%d", Network.getIPAddress(conf), counter.getAndIncrement());
+  private long getRequestHandle() {
+    /* The request handle includes the IP address of this scheduler followed by the counter.
+     * We use a counter rather than a hash of the request because there may be multiple requests
+     * to run an identical job. */
+    return RequestIds.makeHandle(schedulerId, counter.getAndIncrement());
   }
 
-  private class sendFrontendMessageCallback implements
-  AsyncMethodCallback<frontendMessage_call> {
-    private InetSocketAddress frontendSocket;
-    private FrontendService.AsyncClient client;
-    public sendFrontendMessageCallback(InetSocketAddress socket, FrontendService.AsyncClient client) {
-      frontendSocket = socket;
-      this.client = client;
-    }
-
-    public void onComplete(frontendMessage_call response) {
-      try { frontendClientPool.returnClient(frontendSocket, client); }
-      catch (Exception e) { LOG.error(e); }
-    }
-
-    public void onError(Exception exception) {
-      // Do not return error client to pool
-      LOG.error("Error sending frontend message callback: " + exception);
-    }
+  public void sendFrontendMessage(String app, TFullTaskId taskId, int status,
+      ByteBuffer message) {
+    sendFrontendMessages(
+        Collections.singletonList(new TFrontendMessage(app, taskId, status, message)));
   }
 
-  public void sendFrontendMessage(String app, TFullTaskId taskId,
-      int status, ByteBuffer message) {
-    LOG.debug(Logging.functionCall(app, taskId, message));
-    InetSocketAddress frontend = frontendSockets.get(app);
-    if (frontend == null) {
-      LOG.error("Requested message sent to unregistered app: " + app);
-    }
-    try {
-      FrontendService.AsyncClient client = frontendClientPool.borrowClient(frontend);
-      client.frontendMessage(taskId, status, message,
-          new sendFrontendMessageCallback(frontend, client));
-    } catch (IOException e) {
-      LOG.error("Error launching message on frontend: " + app, e);
-    } catch (TException e) {
-      LOG.error("Error launching message on frontend: " + app, e);
-    } catch (Exception e) {
-      LOG.error("Error launching message on frontend: " + app, e);
+  public void sendFrontendMessages(List<TFrontendMessage> messages) {
+    for (TFrontendMessage message : messages) {
+      TFullTaskId taskId = message.getTaskId();
+      SEND_FRONTEND_MESSAGE_TRACE.call(taskId.requestId, message.getApp(), taskId,
+                                       message.bufferForMessage());
+      InetSocketAddress frontend = frontendSockets.get(message.getApp());
+      if (frontend == null) {
+        LOG.error("Requested message sent to unregistered app: " + message.getApp());
+        continue;
+      }
+      frontendMessages.add(frontend, message);
     }
   }
 }
@@ -17,8 +17,6 @@
 package edu.berkeley.sparrow.daemon.scheduler;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.util.Set;
 
 import org.apache.commons.configuration.Configuration;
 
@@ -43,9 +41,10 @@ public interface SchedulerState {
   public boolean watchApplication(String appId);
 
   /**
-   * Get the backends available for a particular application. Each backend includes a
-   * resource vector giving current available resources. TODO: this might be changed
-   * to include more detailed information per-node.
+   * Get the backends available for a particular application. The returned snapshot is
+   * immutable, so callers may use it without copying; implementations publish a new snapshot
+   * when the set of backends changes. TODO: this might be changed to include more detailed
+   * information per-node.
    */
-  public Set<InetSocketAddress> getBackends(String appId);
+  public BackendSnapshot getBackends(String appId);
 }
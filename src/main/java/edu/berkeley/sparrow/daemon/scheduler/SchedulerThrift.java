@@ -25,13 +25,18 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.thrift.TException;
 
 import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
 import edu.berkeley.sparrow.daemon.util.Network;
 import edu.berkeley.sparrow.daemon.util.TServers;
 import edu.berkeley.sparrow.thrift.SchedulerService;
 import edu.berkeley.sparrow.thrift.GetTaskService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
 import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TSubmitJobResult;
 import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
 
 /**
@@ -43,14 +48,19 @@ public class SchedulerThrift implements SchedulerService.Iface, GetTaskService.I
   public final static int DEFAULT_SCHEDULER_THRIFT_PORT = 20503;
   private final static int DEFAULT_SCHEDULER_THRIFT_THREADS = 8;
   public final static int DEFAULT_GET_TASK_PORT = 20507;
+  public final static int DEFAULT_GET_TASK_THRIFT_THREADS = 8;
+
+  /** Time spent handling getTask() and getTasks() calls. */
+  private final static Histogram GET_TASK_SERVICE_TIME_US =
+      MetricsRegistry.getInstance().histogram("scheduler.get_task_service_time_us");
 
   private Scheduler scheduler = new Scheduler();
 
   /**
    * Initialize this thrift service.
    *
-   * This spawns a multi-threaded thrift server and listens for Sparrow
-   * scheduler requests.
+   * This spawns two multi-threaded thrift servers, one for Sparrow scheduler requests from
+   * frontends and one for getTask() requests from node monitors.
    */
   public void initialize(Configuration conf) throws IOException {
     SchedulerService.Processor<SchedulerService.Iface> processor =
@@ -63,11 +73,21 @@ public class SchedulerThrift implements SchedulerService.Iface, GetTaskService.I
     InetSocketAddress addr = new InetSocketAddress(hostname, port);
     scheduler.initialize(conf, addr);
     TServers.launchThreadedThriftServer(port, threads, processor);
-    int getTaskPort = conf.getInt(SparrowConf.GET_TASK_PORT,
-        DEFAULT_GET_TASK_PORT);
+    int getTaskPort = conf.getInt(SparrowConf.GET_TASK_PORT, getTaskPort(port));
+    int getTaskThreads = conf.getInt(SparrowConf.GET_TASK_THRIFT_THREADS,
+        DEFAULT_GET_TASK_THRIFT_THREADS);
     GetTaskService.Processor<GetTaskService.Iface> getTaskprocessor =
         new GetTaskService.Processor<GetTaskService.Iface>(this);
-    TServers.launchSingleThreadThriftServer(getTaskPort, getTaskprocessor);
+    TServers.launchThreadedThriftServer(getTaskPort, getTaskThreads, getTaskprocessor);
+  }
+
+  /**
+   * Returns the port of the getTask() server for the scheduler whose main thrift server listens
+   * on {@code schedulerPort}. Node monitors find a scheduler's getTask() server this way, so
+   * that several schedulers can run on the same machine.
+   */
+  public static int getTaskPort(int schedulerPort) {
+    return schedulerPort + DEFAULT_GET_TASK_PORT - DEFAULT_SCHEDULER_THRIFT_PORT;
   }
 
   @Override
@@ -81,6 +101,11 @@ public class SchedulerThrift implements SchedulerService.Iface, GetTaskService.I
     scheduler.submitJob(req);
   }
 
+  @Override
+  public List<TSubmitJobResult> submitJobs(List<TSchedulingRequest> requests) throws TException {
+    return scheduler.submitJobs(requests);
+  }
+
   @Override
   public void sendFrontendMessage(String app, TFullTaskId taskId,
       int status, ByteBuffer message) throws TException {
@@ -88,8 +113,30 @@ public class SchedulerThrift implements SchedulerService.Iface, GetTaskService.I
   }
 
   @Override
-  public List<TTaskLaunchSpec> getTask(String requestId, THostPort nodeMonitorAddress)
-      throws TException {
-    return scheduler.getTask(requestId, nodeMonitorAddress);
+  public void sendFrontendMessages(List<TFrontendMessage> messages) throws TException {
+    scheduler.sendFrontendMessages(messages);
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> getTask(String requestId, THostPort nodeMonitorAddress,
+      long requestHandle, TNodeMonitorLoad nodeMonitorLoad) throws TException {
+    long startNanos = System.nanoTime();
+    try {
+      return scheduler.getTask(requestId, nodeMonitorAddress, requestHandle, nodeMonitorLoad);
+    } finally {
+      GET_TASK_SERVICE_TIME_US.record((System.nanoTime() - startNanos) / 1000);
+    }
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> getTasks(String requestId, THostPort nodeMonitorAddress,
+      int maxTasks, long requestHandle, TNodeMonitorLoad nodeMonitorLoad) throws TException {
+    long startNanos = System.nanoTime();
+    try {
+      return scheduler.getTasks(
+          requestId, nodeMonitorAddress, maxTasks, requestHandle, nodeMonitorLoad);
+    } finally {
+      GET_TASK_SERVICE_TIME_US.record((System.nanoTime() - startNanos) / 1000);
+    }
   }
 }
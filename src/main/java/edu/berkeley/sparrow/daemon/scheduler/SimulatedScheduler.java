@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.configuration.Configuration;
+
+import com.google.common.collect.Maps;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.RequestIds;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+
+/**
+ * A scheduler for use in simulations: it places jobs using the same {@link TaskPlacer}s, chosen
+ * and configured the same way, as {@link Scheduler}, but leaves sending enqueueTaskReservations()
+ * and cancellation RPCs to the caller, which is expected to simulate them.
+ *
+ * Load-aware sampling ({@link SparrowConf#SAMPLE_LOAD_AWARE_FACTOR}) is not supported, because
+ * {@link NodeLoadEstimator} ages load reports using the wall clock.
+ */
+public class SimulatedScheduler {
+  private final THostPort address;
+  private final String ipAddress;
+  private final int schedulerId;
+  private int counter = 0;
+
+  private final double defaultProbeRatioUnconstrained;
+  private final double defaultProbeRatioConstrained;
+  private final int streamingPlacementMinTasks;
+  private final boolean useCancellation;
+
+  private final Map<Long, TaskPlacer> requestTaskPlacers = Maps.newHashMap();
+
+  public SimulatedScheduler(Configuration conf, InetSocketAddress address) {
+    this.address = new THostPort(address.getAddress().getHostAddress(), address.getPort());
+    ipAddress = this.address.getHost();
+    schedulerId = RequestIds.schedulerIdFromAddress(ipAddress);
+    defaultProbeRatioUnconstrained = conf.getDouble(SparrowConf.SAMPLE_RATIO,
+        SparrowConf.DEFAULT_SAMPLE_RATIO);
+    defaultProbeRatioConstrained = conf.getDouble(SparrowConf.SAMPLE_RATIO_CONSTRAINED,
+        SparrowConf.DEFAULT_SAMPLE_RATIO_CONSTRAINED);
+    streamingPlacementMinTasks = conf.getInt(SparrowConf.STREAMING_PLACEMENT_MIN_TASKS,
+        SparrowConf.DEFAULT_STREAMING_PLACEMENT_MIN_TASKS);
+    useCancellation = conf.getBoolean(SparrowConf.CANCELLATION,
+        SparrowConf.DEFAULT_CANCELLATION);
+  }
+
+  /** Returns the id to use for the next job submitted to this scheduler. */
+  public String nextRequestId() {
+    return RequestIds.toString(ipAddress, RequestIds.makeHandle(schedulerId, counter++));
+  }
+
+  /**
+   * Places a job's reservations on the given node monitors, and returns the
+   * enqueueTaskReservations() requests that should be sent to each of them.
+   */
+  public Map<InetSocketAddress, TEnqueueTaskReservationsRequest> submitJob(String requestId,
+      TSchedulingRequest request, Collection<InetSocketAddress> nodeMonitors) {
+    TaskPlacer taskPlacer;
+    if (Scheduler.isConstrained(request.getTasks())) {
+      double probeRatio = request.isSetProbeRatio() ?
+          request.getProbeRatio() : defaultProbeRatioConstrained;
+      taskPlacer = new ConstrainedTaskPlacer(requestId, probeRatio,
+          NodeMonitorIndex.unindexedView(nodeMonitors));
+    } else {
+      double probeRatio = request.isSetProbeRatio() ?
+          request.getProbeRatio() : defaultProbeRatioUnconstrained;
+      if (streamingPlacementMinTasks > 0 &&
+          request.getTasks().size() >= streamingPlacementMinTasks) {
+        taskPlacer = new StreamingTaskPlacer(requestId, probeRatio, null);
+      } else {
+        taskPlacer = new UnconstrainedTaskPlacer(requestId, probeRatio);
+      }
+    }
+    long requestHandle = RequestIds.parseHandle(requestId);
+    requestTaskPlacers.put(requestHandle, taskPlacer);
+
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+        taskPlacer.getEnqueueTaskReservationsRequests(request, requestId, nodeMonitors, address);
+    for (TEnqueueTaskReservationsRequest enqueueRequest : requests.values()) {
+      enqueueRequest.setRequestHandle(requestHandle);
+    }
+    return requests;
+  }
+
+  /**
+   * Handles a getTask() call. If the call places the request's last task and cancellation is
+   * enabled, the node monitors whose reservations should be cancelled are added to
+   * {@code nodeMonitorsToCancel}.
+   */
+  public List<TTaskLaunchSpec> getTasks(long requestHandle, THostPort nodeMonitorAddress,
+      int maxTasks, Collection<THostPort> nodeMonitorsToCancel) {
+    TaskPlacer taskPlacer = requestTaskPlacers.get(requestHandle);
+    if (taskPlacer == null) {
+      return Collections.emptyList();
+    }
+    List<TTaskLaunchSpec> taskLaunchSpecs = taskPlacer.assignTask(nodeMonitorAddress, maxTasks);
+    if (taskPlacer.allTasksPlaced()) {
+      requestTaskPlacers.remove(requestHandle);
+      if (useCancellation) {
+        nodeMonitorsToCancel.addAll(taskPlacer.getOutstandingNodeMonitorsForCancellation());
+      }
+    }
+    return taskLaunchSpecs;
+  }
+
+  public InetSocketAddress getAddress() {
+    return new InetSocketAddress(address.getHost(), address.getPort());
+  }
+
+  /** Returns the number of jobs with tasks that haven't been placed yet. */
+  public int getNumOutstandingJobs() {
+    return requestTaskPlacers.size();
+  }
+}
@@ -16,9 +16,6 @@
 
 package edu.berkeley.sparrow.daemon.scheduler;
 
-import java.net.InetSocketAddress;
-import java.util.Set;
-
 import org.apache.commons.configuration.Configuration;
 
 import edu.berkeley.sparrow.daemon.StandaloneStateStore;
@@ -39,7 +36,7 @@ public class StandaloneSchedulerState implements SchedulerState {
   }
 
   @Override
-  public Set<InetSocketAddress> getBackends(String appId) {
+  public BackendSnapshot getBackends(String appId) {
     return state.getBackends(appId);
   }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+
+/**
+ * A task placer for very large jobs whose tasks have no placement constraints (see
+ * {@link SparrowConf#STREAMING_PLACEMENT_MIN_TASKS}).
+ *
+ * Rather than enqueueing several reservations on each node monitor, this placer enqueues a
+ * single re-armed reservation on each: the node monitor enqueues the reservation again each
+ * time it receives a task, so the reservation keeps pulling tasks until the job drains. Tasks
+ * are handed out from an array using a cursor, so the placer's state (and the number of
+ * enqueueTaskReservations() RPCs) grows with the number of node monitors rather than the number
+ * of tasks.
+ */
+public class StreamingTaskPlacer implements TaskPlacer {
+  private static final Logger LOG = Logger.getLogger(StreamingTaskPlacer.class);
+
+  /** The job's tasks. Tasks before {@code nextTask} have been launched, and are cleared. */
+  private TTaskSpec[] tasks;
+  private int nextTask;
+
+  /**
+   * For each node monitor where reservations were enqueued, the number of armed reservations
+   * there.
+   */
+  private Map<THostPort, Integer> outstandingReservations;
+
+  /** Whether the remaining reservations have been cancelled. */
+  private boolean cancelled;
+
+  private String requestId;
+  private double probeRatio;
+  private NodeLoadEstimator loadEstimator;
+
+  StreamingTaskPlacer(String requestId, double probeRatio, NodeLoadEstimator loadEstimator) {
+    this.requestId = requestId;
+    this.probeRatio = probeRatio;
+    this.loadEstimator = loadEstimator;
+    tasks = new TTaskSpec[0];
+    nextTask = 0;
+    outstandingReservations = new HashMap<THostPort, Integer>();
+    cancelled = false;
+  }
+
+  @Override
+  public Map<InetSocketAddress, TEnqueueTaskReservationsRequest>
+      getEnqueueTaskReservationsRequests(
+          TSchedulingRequest schedulingRequest, String requestId,
+          Collection<InetSocketAddress> nodes, THostPort schedulerAddress) {
+    tasks = schedulingRequest.getTasks().toArray(new TTaskSpec[schedulingRequest.getTasksSize()]);
+    int numNodes = (int) Math.ceil(probeRatio * tasks.length);
+    List<InetSocketAddress> nodeList =
+        UnconstrainedTaskPlacer.chooseNodes(nodes, numNodes, loadEstimator);
+    LOG.debug("Request " + requestId + ": Enqueueing re-armed reservations on " +
+              nodeList.size() + " node monitors for " + tasks.length + " tasks");
+
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests = Maps.newHashMap();
+    for (InetSocketAddress node : nodeList) {
+      outstandingReservations.put(
+          new THostPort(node.getAddress().getHostAddress(), node.getPort()), 1);
+      TEnqueueTaskReservationsRequest request = new TEnqueueTaskReservationsRequest(
+          schedulingRequest.getApp(), schedulingRequest.getUser(), requestId,
+          schedulerAddress, 1);
+      request.setRearmReservations(true);
+      requests.put(node, request);
+    }
+    return requests;
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress) {
+    return assignTask(nodeMonitorAddress, 1);
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress, int maxTasks) {
+    Integer numOutstandingReservations = outstandingReservations.get(nodeMonitorAddress);
+    if (numOutstandingReservations == null) {
+      LOG.error("Node monitor " + nodeMonitorAddress +
+                " not in list of outstanding reservations");
+      return Lists.newArrayList();
+    }
+    if (maxTasks > numOutstandingReservations) {
+      LOG.warn("Node monitor " + nodeMonitorAddress + " asked for " + maxTasks + " tasks but " +
+               "only had " + numOutstandingReservations + " outstanding reservations");
+      maxTasks = numOutstandingReservations;
+    }
+
+    List<TTaskLaunchSpec> launchSpecs = Lists.newArrayList();
+    while (launchSpecs.size() < maxTasks && nextTask < tasks.length) {
+      TTaskSpec task = tasks[nextTask];
+      tasks[nextTask++] = null;
+      launchSpecs.add(new TTaskLaunchSpec(task.getTaskId(), task.bufferForMessage()));
+    }
+
+    // Reservations that received a task are re-armed by the node monitor; the rest are done.
+    int remainingReservations = numOutstandingReservations - (maxTasks - launchSpecs.size());
+    if (remainingReservations == 0) {
+      outstandingReservations.remove(nodeMonitorAddress);
+    } else {
+      outstandingReservations.put(nodeMonitorAddress, remainingReservations);
+    }
+    LOG.debug("Request " + requestId + ", node monitor " + nodeMonitorAddress.toString() +
+              ": Assigning " + launchSpecs.size() + " tasks");
+    return launchSpecs;
+  }
+
+  @Override
+  public boolean allTasksPlaced() {
+    return nextTask == tasks.length;
+  }
+
+  @Override
+  public Set<THostPort> getOutstandingNodeMonitorsForCancellation() {
+    if (!cancelled) {
+      cancelled = true;
+      return outstandingReservations.keySet();
+    }
+    return new HashSet<THostPort>();
+  }
+}
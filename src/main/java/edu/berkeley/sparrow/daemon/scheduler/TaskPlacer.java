@@ -35,9 +35,9 @@ import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
  *       than there are tasks that need to run (the ratio of task reservations to tasks is set
  *       using {@link SparrowConf.SAMPLE_RATIO} and {@link SparrowConf.SAMPLE_RATIO_CONSTRAINED}).
  *   (2) When backends are ready to run a task, they reply to the scheduler with a GetTask()
- *       RPC. The scheduler passes this call on to the task placer; if there are tasks remaining
- *       that can be run on that machine, the TaskPlacer responds with a specification for the
- *       task.
+ *       RPC (or a GetTasks() RPC, if several of the backend's slots are free). The scheduler
+ *       passes this call on to the task placer; if there are tasks remaining that can be run on
+ *       that machine, the TaskPlacer responds with a specification for each task.
  * A TaskPlacer is responsible for determining where to enqueue task reservations, and how to
  * assign tasks to backends once a backend signals that it's ready to execute a task. TaskPlacers
  * are created per-job and persist state across these two phases.
@@ -62,6 +62,13 @@ public interface TaskPlacer {
    */
   public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress);
 
+  /**
+   * Returns a List of {@link TTaskLaunchSpec}s describing tasks that should be launched from the
+   * given node monitor, which is using {@code maxTasks} of its reservations for this request.
+   * Returns at most {@code maxTasks} tasks.
+   */
+  public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress, int maxTasks);
+
   /** Returns true if all of the job's tasks have been placed. */
   public boolean allTasksPlaced();
 
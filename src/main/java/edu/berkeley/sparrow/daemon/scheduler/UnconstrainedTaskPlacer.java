@@ -31,7 +31,7 @@ import org.apache.log4j.Logger;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
-import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.daemon.util.Trace;
 import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
 import edu.berkeley.sparrow.thrift.THostPort;
 import edu.berkeley.sparrow.thrift.TSchedulingRequest;
@@ -43,6 +43,8 @@ import edu.berkeley.sparrow.thrift.TTaskSpec;
  */
 public class UnconstrainedTaskPlacer implements TaskPlacer {
   private static final Logger LOG = Logger.getLogger(UnconstrainedTaskPlacer.class);
+  private static final Trace GET_ENQUEUE_REQUESTS_TRACE =
+      Trace.forMethod(UnconstrainedTaskPlacer.class, "getEnqueueTaskReservationsRequests");
 
   /** Specifications for tasks that have not yet been launched. */
   List<TTaskLaunchSpec> unlaunchedTasks;
@@ -63,9 +65,20 @@ public class UnconstrainedTaskPlacer implements TaskPlacer {
 
   private double probeRatio;
 
+  /**
+   * Used to prefer lightly loaded node monitors when placing reservations. If null, node
+   * monitors are chosen uniformly at random.
+   */
+  private NodeLoadEstimator loadEstimator;
+
   UnconstrainedTaskPlacer(String requestId, double probeRatio) {
+    this(requestId, probeRatio, null);
+  }
+
+  UnconstrainedTaskPlacer(String requestId, double probeRatio, NodeLoadEstimator loadEstimator) {
     this.requestId = requestId;
     this.probeRatio = probeRatio;
+    this.loadEstimator = loadEstimator;
     unlaunchedTasks = new LinkedList<TTaskLaunchSpec>();
     outstandingReservations = new HashMap<THostPort, Integer>();
     cancelled = false;
@@ -76,18 +89,17 @@ public class UnconstrainedTaskPlacer implements TaskPlacer {
       getEnqueueTaskReservationsRequests(
           TSchedulingRequest schedulingRequest, String requestId,
           Collection<InetSocketAddress> nodes, THostPort schedulerAddress) {
-    LOG.debug(Logging.functionCall(schedulingRequest, requestId, nodes, schedulerAddress));
+    // Printing the list of nodes is expensive for large clusters, so this is only rendered if
+    // the request is traced.
+    GET_ENQUEUE_REQUESTS_TRACE.call(requestId, schedulingRequest, requestId, nodes,
+                                    schedulerAddress);
 
     int numTasks = schedulingRequest.getTasks().size();
-    int reservationsToLaunch = (int) Math.ceil(probeRatio * numTasks);
+    int reservationsToLaunch = numReservations(probeRatio, numTasks);
     LOG.debug("Request " + requestId + ": Creating " + reservationsToLaunch +
               " task reservations for " + numTasks + " tasks");
 
-    // Get a random subset of nodes by shuffling list.
-    List<InetSocketAddress> nodeList = Lists.newArrayList(nodes);
-    Collections.shuffle(nodeList);
-    if (reservationsToLaunch < nodeList.size())
-      nodeList = nodeList.subList(0, reservationsToLaunch);
+    List<InetSocketAddress> nodeList = chooseNodes(nodes, reservationsToLaunch, loadEstimator);
 
     for (TTaskSpec task : schedulingRequest.getTasks()) {
       TTaskLaunchSpec taskLaunchSpec = new TTaskLaunchSpec(task.getTaskId(),
@@ -123,18 +135,53 @@ public class UnconstrainedTaskPlacer implements TaskPlacer {
     return requests;
   }
 
+  /** Returns the number of reservations to place for a job with {@code numTasks} tasks. */
+  static int numReservations(double probeRatio, int numTasks) {
+    return (int) Math.ceil(probeRatio * numTasks);
+  }
+
+  /**
+   * Returns a random subset of at most {@code numNodes} of {@code nodes}, preferring lightly
+   * loaded nodes if {@code loadEstimator} is not null. Sampling from a {@link BackendSnapshot}
+   * takes time proportional to {@code numNodes}; otherwise, this falls back to shuffling a copy
+   * of all of the nodes.
+   */
+  static List<InetSocketAddress> chooseNodes(Collection<InetSocketAddress> nodes, int numNodes,
+                                             NodeLoadEstimator loadEstimator) {
+    if (nodes instanceof BackendSnapshot && loadEstimator != null) {
+      return loadEstimator.sample((BackendSnapshot) nodes, numNodes);
+    } else if (nodes instanceof BackendSnapshot) {
+      return ((BackendSnapshot) nodes).sample(numNodes);
+    }
+    List<InetSocketAddress> nodeList = Lists.newArrayList(nodes);
+    Collections.shuffle(nodeList);
+    if (numNodes < nodeList.size())
+      nodeList = nodeList.subList(0, numNodes);
+    return nodeList;
+  }
+
   @Override
   public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress) {
-	Integer numOutstandingReservations = outstandingReservations.get(nodeMonitorAddress);
-	if (numOutstandingReservations == null) {
-		LOG.error("Node monitor " + nodeMonitorAddress +
-		    " not in list of outstanding reservations");
-		return Lists.newArrayList();
-	}
-    if (numOutstandingReservations == 1) {
+    return assignTask(nodeMonitorAddress, 1);
+  }
+
+  @Override
+  public List<TTaskLaunchSpec> assignTask(THostPort nodeMonitorAddress, int maxTasks) {
+    Integer numOutstandingReservations = outstandingReservations.get(nodeMonitorAddress);
+    if (numOutstandingReservations == null) {
+      LOG.error("Node monitor " + nodeMonitorAddress +
+                " not in list of outstanding reservations");
+      return Lists.newArrayList();
+    }
+    if (maxTasks > numOutstandingReservations) {
+      LOG.warn("Node monitor " + nodeMonitorAddress + " asked for " + maxTasks + " tasks but " +
+               "only had " + numOutstandingReservations + " outstanding reservations");
+      maxTasks = numOutstandingReservations;
+    }
+    if (numOutstandingReservations == maxTasks) {
       outstandingReservations.remove(nodeMonitorAddress);
     } else {
-      outstandingReservations.put(nodeMonitorAddress, numOutstandingReservations - 1);
+      outstandingReservations.put(nodeMonitorAddress, numOutstandingReservations - maxTasks);
     }
 
     if (unlaunchedTasks.isEmpty()) {
@@ -142,11 +189,13 @@ public class UnconstrainedTaskPlacer implements TaskPlacer {
                ": Not assigning a task (no remaining unlaunched tasks).");
       return Lists.newArrayList();
     } else {
-      TTaskLaunchSpec launchSpec = unlaunchedTasks.get(0);
-      unlaunchedTasks.remove(0);
+      List<TTaskLaunchSpec> launchSpecs = Lists.newArrayList();
+      while (launchSpecs.size() < maxTasks && !unlaunchedTasks.isEmpty()) {
+        launchSpecs.add(unlaunchedTasks.remove(0));
+      }
       LOG.debug("Request " + requestId + ", node monitor " + nodeMonitorAddress.toString() +
-                ": Assigning task");
-      return Lists.newArrayList(launchSpec);
+                ": Assigning " + launchSpecs.size() + " tasks");
+      return launchSpecs;
     }
   }
 
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Logs audit events for one class. Depending on how audit logging was configured (see
+ * {@link Logging#configureAuditLogging(org.apache.commons.configuration.Configuration)}),
+ * events are either formatted as text and written by log4j, or handed to a
+ * {@link BinaryAuditLog} that encodes and writes them in the background.
+ */
+public class AuditLogger {
+  private final String name;
+  private final Logger logger;
+
+  AuditLogger(String name) {
+    this.name = name;
+    this.logger = Logger.getLogger(name);
+  }
+
+  /**
+   * Logs an event, unless {@code requestId} is not sampled. The first parameter should be the
+   * event's name. Parameters may be encoded after this method returns, so they should be
+   * immutable (strings, numbers and booleans).
+   */
+  public void log(String requestId, Object... params) {
+    if (!Logging.isAuditSampled(requestId)) {
+      return;
+    }
+    BinaryAuditLog binaryLog = Logging.getBinaryAuditLog();
+    if (binaryLog != null) {
+      binaryLog.log(name, System.currentTimeMillis(), params);
+    } else {
+      logger.info(Logging.auditEventString(params));
+    }
+  }
+}
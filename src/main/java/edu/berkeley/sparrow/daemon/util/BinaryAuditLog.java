@@ -0,0 +1,229 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.berkeley.sparrow.daemon.metrics.Counter;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+
+/**
+ * An audit log that writes fixed-layout binary records from a background thread.
+ *
+ * Logging an event only reads the clock and adds the event to a bounded ring buffer; events
+ * are encoded and written to the file by the writer thread. If the buffer is full, events are
+ * dropped (and counted in the "audit.dropped_records" counter) rather than slowing down the
+ * caller. Use {@link BinaryAuditLogConverter} to convert the file to the text format written
+ * by log4j.
+ *
+ * The file starts with {@link #MAGIC}, followed by records. Each record starts with a type
+ * byte:
+ * <ul>
+ *   <li>{@link #NAME_RECORD}: a 2-byte id and a string, defining a logger name that later
+ *   events refer to by id.</li>
+ *   <li>{@link #EVENT_RECORD}: an 8-byte time in milliseconds, the 2-byte id of the logger
+ *   name, a 1-byte parameter count, and the parameters. Each parameter is a tag byte
+ *   ({@link #NULL_PARAM}, {@link #LONG_PARAM} or {@link #STRING_PARAM}) followed by an 8-byte
+ *   long or a string.</li>
+ * </ul>
+ * Strings are a 4-byte length followed by that many bytes of UTF-8; all values are big endian.
+ */
+public class BinaryAuditLog {
+  private final static Logger LOG = Logger.getLogger(BinaryAuditLog.class);
+  private final static Counter DROPPED_RECORDS =
+      MetricsRegistry.getInstance().counter("audit.dropped_records");
+
+  public final static int MAGIC = 0x53504231;
+  public final static byte NAME_RECORD = 1;
+  public final static byte EVENT_RECORD = 2;
+  public final static byte NULL_PARAM = 0;
+  public final static byte LONG_PARAM = 1;
+  public final static byte STRING_PARAM = 2;
+
+  final static Charset UTF8 = Charset.forName("UTF-8");
+  private final static int WRITE_BUFFER_BYTES = 1 << 20;
+  private final static int MAX_DRAIN = 1024;
+  /** How often {@link #close()} checks that the writer is still running. */
+  private final static long CLOSE_POLL_MILLIS = 100;
+  private final static Record CLOSE = new Record(null, 0, null);
+
+  private static class Record {
+    final String name;
+    final long timeMillis;
+    final Object[] params;
+
+    Record(String name, long timeMillis, Object[] params) {
+      this.name = name;
+      this.timeMillis = timeMillis;
+      this.params = params;
+    }
+  }
+
+  private final BlockingQueue<Record> records;
+  private final FileChannel channel;
+  private final Thread writerThread;
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /** Ids of the logger names that have been written to the file; used by the writer only. */
+  private final Map<String, Short> nameIds = Maps.newHashMap();
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+
+  /**
+   * Creates a log that writes to {@code filename}, buffering up to {@code capacity} events
+   * that have not yet been written.
+   */
+  public BinaryAuditLog(String filename, int capacity) throws IOException {
+    records = new ArrayBlockingQueue<Record>(capacity);
+    channel = new FileOutputStream(filename).getChannel();
+    buffer.putInt(MAGIC);
+    writerThread = new Thread(new Writer(), "BinaryAuditLog writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /** Adds an event to the log, or drops it if the log's buffer is full. */
+  public void log(String name, long timeMillis, Object[] params) {
+    if (!records.offer(new Record(name, timeMillis, params))) {
+      DROPPED_RECORDS.increment();
+    }
+  }
+
+  /**
+   * Writes all buffered events and closes the file. Events logged after the log is closed are
+   * not written. Calling this more than once has no effect.
+   */
+  public void close() throws IOException, InterruptedException {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    // If the writer has stopped because of an error, nothing will make room in a full buffer.
+    while (!records.offer(CLOSE, CLOSE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+      if (!writerThread.isAlive()) {
+        return;
+      }
+    }
+    writerThread.join();
+  }
+
+  /**
+   * Closes the log when the JVM shuts down, so that events that are still buffered are
+   * written rather than lost along with the (daemon) writer thread.
+   */
+  public void closeOnShutdown() {
+    Runtime.getRuntime().addShutdownHook(new Thread("BinaryAuditLog shutdown") {
+      @Override
+      public void run() {
+        try {
+          close();
+        } catch (IOException e) {
+          LOG.error("Unable to close binary audit log: " + e);
+        } catch (InterruptedException e) {
+          LOG.warn("Interrupted while closing binary audit log");
+        }
+      }
+    });
+  }
+
+  private class Writer implements Runnable {
+    @Override
+    public void run() {
+      List<Record> batch = Lists.newArrayListWithCapacity(MAX_DRAIN);
+      try {
+        while (true) {
+          batch.add(records.take());
+          records.drainTo(batch, MAX_DRAIN - 1);
+          for (Record record : batch) {
+            if (record == CLOSE) {
+              flush();
+              channel.close();
+              return;
+            }
+            encode(record);
+          }
+          batch.clear();
+          flush();
+        }
+      } catch (InterruptedException e) {
+        LOG.warn("Binary audit log writer interrupted; no more events will be written");
+      } catch (IOException e) {
+        LOG.error("Unable to write binary audit log; no more events will be written: " + e);
+      }
+    }
+  }
+
+  private void encode(Record record) throws IOException {
+    Short id = nameIds.get(record.name);
+    if (id == null) {
+      id = (short) nameIds.size();
+      nameIds.put(record.name, id);
+      byte[] name = record.name.getBytes(UTF8);
+      ensureRemaining(1 + 2 + 4 + name.length);
+      buffer.put(NAME_RECORD).putShort(id).putInt(name.length).put(name);
+    }
+    ensureRemaining(1 + 8 + 2 + 1);
+    buffer.put(EVENT_RECORD).putLong(record.timeMillis).putShort(id)
+          .put((byte) record.params.length);
+    for (Object param : record.params) {
+      if (param == null) {
+        ensureRemaining(1);
+        buffer.put(NULL_PARAM);
+      } else if (param instanceof Long || param instanceof Integer || param instanceof Short ||
+                 param instanceof Byte) {
+        ensureRemaining(1 + 8);
+        buffer.put(LONG_PARAM).putLong(((Number) param).longValue());
+      } else {
+        byte[] value = param.toString().getBytes(UTF8);
+        ensureRemaining(1 + 4 + value.length);
+        buffer.put(STRING_PARAM).putInt(value.length).put(value);
+      }
+    }
+  }
+
+  /** Makes room for {@code bytes} more bytes in the write buffer. */
+  private void ensureRemaining(int bytes) throws IOException {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+    flush();
+    if (buffer.capacity() < bytes) {
+      buffer = ByteBuffer.allocateDirect(bytes);
+    }
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Converts audit logs written by {@link BinaryAuditLog} to the text format written by log4j
+ * (one "logger name, tab, time, tab, colon-separated parameters" line per event), so that the
+ * existing log parsing scripts can be used.
+ *
+ * Usage: BinaryAuditLogConverter FILE...; each FILE ending in .bin is converted to a file with
+ * the same name ending in .log.
+ */
+public class BinaryAuditLogConverter {
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: BinaryAuditLogConverter FILE...");
+      System.exit(-1);
+    }
+    for (String input : args) {
+      String output = (input.endsWith(".bin") ?
+          input.substring(0, input.length() - ".bin".length()) : input) + ".log";
+      InputStream in = new BufferedInputStream(new FileInputStream(input));
+      Writer out = new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream(output), BinaryAuditLog.UTF8));
+      try {
+        System.out.println("Converted " + convert(in, out) + " events from " + input + " to " +
+                           output);
+      } finally {
+        in.close();
+        out.close();
+      }
+    }
+  }
+
+  /** Converts a binary audit log to text, returning the number of events converted. */
+  public static long convert(InputStream binaryLog, Writer textLog) throws IOException {
+    DataInputStream in = new DataInputStream(binaryLog);
+    if (in.readInt() != BinaryAuditLog.MAGIC) {
+      throw new IOException("Not a binary audit log");
+    }
+    Map<Short, String> names = Maps.newHashMap();
+    long numEvents = 0;
+    while (true) {
+      byte type;
+      try {
+        type = in.readByte();
+      } catch (EOFException e) {
+        return numEvents;
+      }
+      if (type == BinaryAuditLog.NAME_RECORD) {
+        short id = in.readShort();
+        names.put(id, readString(in));
+      } else if (type == BinaryAuditLog.EVENT_RECORD) {
+        long timeMillis = in.readLong();
+        String name = names.get(in.readShort());
+        if (name == null) {
+          throw new IOException("Event refers to undefined logger name");
+        }
+        int numParams = in.readByte() & 0xFF;
+        textLog.write(name);
+        textLog.write('\t');
+        textLog.write(Long.toString(timeMillis));
+        textLog.write('\t');
+        for (int i = 0; i < numParams; i++) {
+          if (i > 0) {
+            textLog.write(':');
+          }
+          byte tag = in.readByte();
+          if (tag == BinaryAuditLog.NULL_PARAM) {
+            textLog.write("null");
+          } else if (tag == BinaryAuditLog.LONG_PARAM) {
+            textLog.write(Long.toString(in.readLong()));
+          } else if (tag == BinaryAuditLog.STRING_PARAM) {
+            textLog.write(readString(in));
+          } else {
+            throw new IOException("Unknown parameter tag " + tag);
+          }
+        }
+        textLog.write('\n');
+        numEvents++;
+      } else {
+        throw new IOException("Unknown record type " + type);
+      }
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, BinaryAuditLog.UTF8);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+/**
+ * A thread-safe hash map from primitive longs to objects, used on hot paths where boxing the
+ * keys of a {@link java.util.concurrent.ConcurrentMap} would allocate on every lookup.
+ *
+ * The map is split into a fixed number of stripes, each of which is an open-addressing hash
+ * table guarded by its own lock, so operations on keys in different stripes do not contend.
+ * Null values are not supported.
+ */
+public class ConcurrentLongHashMap<V> {
+  private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+  private final Stripe<V>[] stripes;
+  private final int stripeMask;
+
+  @SuppressWarnings("unchecked")
+  public ConcurrentLongHashMap(int concurrencyLevel) {
+    int numStripes = 1;
+    while (numStripes < concurrencyLevel) {
+      numStripes <<= 1;
+    }
+    stripes = (Stripe<V>[]) new Stripe<?>[numStripes];
+    for (int i = 0; i < numStripes; i++) {
+      stripes[i] = new Stripe<V>();
+    }
+    stripeMask = numStripes - 1;
+  }
+
+  /** Returns the value for the given key, or null if the key is not in the map. */
+  public V get(long key) {
+    long hash = hash(key);
+    return stripeFor(hash).get(key, hash);
+  }
+
+  /** Maps the given key to the given value, returning the previous value (or null). */
+  public V put(long key, V value) {
+    if (value == null) {
+      throw new NullPointerException("Null values are not supported");
+    }
+    long hash = hash(key);
+    return stripeFor(hash).put(key, hash, value);
+  }
+
+  /** Removes the given key, returning the value it was mapped to (or null). */
+  public V remove(long key) {
+    long hash = hash(key);
+    return stripeFor(hash).remove(key, hash);
+  }
+
+  public int size() {
+    int size = 0;
+    for (Stripe<V> stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  private Stripe<V> stripeFor(long hash) {
+    return stripes[(int) (hash >>> 32) & stripeMask];
+  }
+
+  /** Mixes the bits of the key (the finalizer from MurmurHash3). */
+  private static long hash(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  /** An open-addressing hash table with linear probing. */
+  private static class Stripe<V> {
+    private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+    private Object[] values = new Object[INITIAL_STRIPE_CAPACITY];
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    synchronized V get(long key, long hash) {
+      int mask = keys.length - 1;
+      for (int i = (int) hash & mask; values[i] != null; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          return (V) values[i];
+        }
+      }
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized V put(long key, long hash, V value) {
+      int mask = keys.length - 1;
+      int i = (int) hash & mask;
+      for (; values[i] != null; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          V previous = (V) values[i];
+          values[i] = value;
+          return previous;
+        }
+      }
+      keys[i] = key;
+      values[i] = value;
+      if (++size * 2 > keys.length) {
+        resize();
+      }
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized V remove(long key, long hash) {
+      int mask = keys.length - 1;
+      int i = (int) hash & mask;
+      for (; values[i] != null; i = (i + 1) & mask) {
+        if (keys[i] == key) {
+          V previous = (V) values[i];
+          values[i] = null;
+          size--;
+          // Re-insert the rest of the cluster so that later lookups don't stop at the hole.
+          for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            long movedKey = keys[j];
+            Object movedValue = values[j];
+            values[j] = null;
+            int k = (int) hash(movedKey) & mask;
+            while (values[k] != null) {
+              k = (k + 1) & mask;
+            }
+            keys[k] = movedKey;
+            values[k] = movedValue;
+          }
+          return previous;
+        }
+      }
+      return null;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      keys = new long[oldKeys.length * 2];
+      values = new Object[oldValues.length * 2];
+      int mask = keys.length - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldValues[i] != null) {
+          int j = (int) hash(oldKeys[i]) & mask;
+          while (values[j] != null) {
+            j = (j + 1) & mask;
+          }
+          keys[j] = oldKeys[i];
+          values[j] = oldValues[i];
+        }
+      }
+    }
+  }
+}
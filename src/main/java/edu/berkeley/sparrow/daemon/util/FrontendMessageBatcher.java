@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TApplicationException;
+
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.thrift.BatchingFrontendService;
+import edu.berkeley.sparrow.thrift.FrontendService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+
+/**
+ * Sends batches of messages to frontends with {@code frontendMessages()}.
+ *
+ * Frontends that only implement {@link FrontendService} reject that call as an unknown method;
+ * the batch is then delivered with one {@code frontendMessage()} call per message, and later
+ * messages to that frontend are sent the same way.
+ */
+public class FrontendMessageBatcher extends MessageBatcher<TFrontendMessage> {
+  private static final Logger LOG = Logger.getLogger(FrontendMessageBatcher.class);
+
+  private final PipelinedChannelManager channels;
+  /** Frontends that don't accept batches of messages. */
+  private final Set<InetSocketAddress> unbatchedFrontends =
+      Sets.newSetFromMap(new ConcurrentHashMap<InetSocketAddress, Boolean>());
+
+  public FrontendMessageBatcher(String name, PipelinedChannelManager channels,
+                                long maxDelayMicros, int maxBatchSize) {
+    super(name, maxDelayMicros, maxBatchSize);
+    this.channels = channels;
+  }
+
+  @Override
+  protected void sendBatch(final InetSocketAddress frontend, final List<TFrontendMessage> batch) {
+    if (unbatchedFrontends.contains(frontend)) {
+      sendEach(frontend, batch);
+      return;
+    }
+    channels.call(frontend, "frontendMessages",
+        new BatchingFrontendService.frontendMessages_args(batch),
+        new BatchingFrontendService.frontendMessages_result(),
+        new PipelinedChannel.Callback<BatchingFrontendService.frontendMessages_result>() {
+          @Override
+          public void onComplete(BatchingFrontendService.frontendMessages_result result) {
+            batchFinished(frontend);
+          }
+
+          @Override
+          public void onError(Exception exception) {
+            if (exception instanceof TApplicationException &&
+                ((TApplicationException) exception).getType() ==
+                    TApplicationException.UNKNOWN_METHOD) {
+              LOG.info("Frontend " + frontend + " doesn't accept batched messages; sending " +
+                       "it one message at a time");
+              unbatchedFrontends.add(frontend);
+              sendEach(frontend, batch);
+              return;
+            }
+            LOG.error("Error sending " + batch.size() + " messages to frontend " + frontend +
+                      ": " + exception);
+            batchFinished(frontend);
+          }
+        });
+  }
+
+  /** Sends each message in the batch separately, and finishes the batch once all complete. */
+  private void sendEach(final InetSocketAddress frontend, List<TFrontendMessage> batch) {
+    final AtomicInteger numRemaining = new AtomicInteger(batch.size());
+    for (final TFrontendMessage message : batch) {
+      channels.call(frontend, "frontendMessage",
+          new FrontendService.frontendMessage_args(
+              message.getTaskId(), message.getStatus(), message.bufferForMessage()),
+          new FrontendService.frontendMessage_result(),
+          new PipelinedChannel.Callback<FrontendService.frontendMessage_result>() {
+            @Override
+            public void onComplete(FrontendService.frontendMessage_result result) {
+              if (numRemaining.decrementAndGet() == 0) {
+                batchFinished(frontend);
+              }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+              LOG.error("Error sending message for task " + message.getTaskId() +
+                        " to frontend " + frontend + ": " + exception);
+              if (numRemaining.decrementAndGet() == 0) {
+                batchFinished(frontend);
+              }
+            }
+          });
+    }
+  }
+}
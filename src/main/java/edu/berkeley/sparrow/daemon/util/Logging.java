@@ -21,6 +21,7 @@ import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.Random;
 
+import org.apache.commons.configuration.Configuration;
 import org.apache.log4j.FileAppender;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
@@ -28,14 +29,24 @@ import org.apache.log4j.PatternLayout;
 
 import com.google.common.base.Joiner;
 
+import edu.berkeley.sparrow.daemon.SparrowConf;
+
 public class Logging {
   public final static String AUDIT_LOGGER_NAME = "audit";
   public final static String AUDIT_LOG_FILENAME_FORMAT = "sparrow_audit.%d.%d.log";
+  public final static String BINARY_AUDIT_LOG_FILENAME_FORMAT = "sparrow_audit.%d.%d.bin";
   public final static String AUDIT_LOG_FORMAT = "%c\t%m%n";
 
+  /** Requests are sampled by hashing their ids into this many buckets. */
+  final static int SAMPLE_BUCKETS = 10000;
+
   private static Joiner paramJoiner = Joiner.on(",").useForNull("null");
   private static Joiner auditParamJoiner = Joiner.on("\t");
-  private static Joiner auditEventParamJoiner = Joiner.on(":");
+  private static Joiner auditEventParamJoiner = Joiner.on(":").useForNull("null");
+
+  private static volatile BinaryAuditLog binaryAuditLog = null;
+  /** Requests whose ids hash to a bucket below this threshold are audited. */
+  private static volatile int auditSampleThreshold = SAMPLE_BUCKETS;
 
   /**
    * Sets up audit logging to log to a file named based on the current time (in
@@ -48,10 +59,8 @@ public class Logging {
    */
   public static void configureAuditLogging() throws IOException {
     PatternLayout layout = new PatternLayout(AUDIT_LOG_FORMAT);
-    // This assumes that no other daemon will be started within 1 millisecond.
-    String filename = String.format(AUDIT_LOG_FILENAME_FORMAT,
-        System.currentTimeMillis(), new Random().nextInt(Integer.MAX_VALUE));
-    FileAppender fileAppender = new FileAppender(layout, filename);
+    FileAppender fileAppender = new FileAppender(layout,
+        auditLogFilename(AUDIT_LOG_FILENAME_FORMAT));
     Logger auditLogger = Logger.getLogger(Logging.AUDIT_LOGGER_NAME);
     auditLogger.addAppender(fileAppender);
     auditLogger.setLevel(Level.ALL);
@@ -62,6 +71,69 @@ public class Logging {
     auditLogger.setAdditivity(false);
   }
 
+  /**
+   * Sets up audit logging according to the given configuration: either as text using
+   * {@link #configureAuditLogging()}, or to a {@link BinaryAuditLog} (which can be converted
+   * to text using {@link BinaryAuditLogConverter}). Only the configured fraction of requests
+   * is audited.
+   *
+   * @throws IOException
+   *           if the audit log file could not be opened for writing.
+   */
+  public static void configureAuditLogging(Configuration conf) throws IOException {
+    double sampleRate = conf.getDouble(SparrowConf.AUDIT_SAMPLE_RATE,
+        SparrowConf.DEFAULT_AUDIT_SAMPLE_RATE);
+    setAuditSampleRate(sampleRate);
+    String format = conf.getString(SparrowConf.AUDIT_LOG_FORMAT,
+        SparrowConf.DEFAULT_AUDIT_LOG_FORMAT);
+    if (format.equals("binary")) {
+      binaryAuditLog = new BinaryAuditLog(auditLogFilename(BINARY_AUDIT_LOG_FILENAME_FORMAT),
+          conf.getInt(SparrowConf.AUDIT_BUFFER_EVENTS, SparrowConf.DEFAULT_AUDIT_BUFFER_EVENTS));
+      binaryAuditLog.closeOnShutdown();
+    } else if (format.equals("text")) {
+      configureAuditLogging();
+    } else {
+      throw new IllegalArgumentException("Unknown audit log format: " + format);
+    }
+  }
+
+  private static String auditLogFilename(String format) {
+    // This assumes that no other daemon will be started within 1 millisecond.
+    return String.format(format, System.currentTimeMillis(),
+        new Random().nextInt(Integer.MAX_VALUE));
+  }
+
+  /** Audits the given fraction of requests. */
+  public static void setAuditSampleRate(double sampleRate) {
+    auditSampleThreshold = sampleThreshold(sampleRate);
+  }
+
+  /** Returns whether events for the given request should be audited. */
+  static boolean isAuditSampled(String requestId) {
+    return isSampled(requestId, auditSampleThreshold);
+  }
+
+  /** Returns the sampling threshold (see {@link #isSampled(String, int)}) for a sample rate. */
+  static int sampleThreshold(double sampleRate) {
+    return (int) Math.round(sampleRate * SAMPLE_BUCKETS);
+  }
+
+  /**
+   * Returns whether the given request is sampled, which is the case if its id hashes to a
+   * bucket below {@code threshold}. The decision depends only on the request's id, so all
+   * daemons sample the same requests. Null request ids are always sampled.
+   */
+  static boolean isSampled(String requestId, int threshold) {
+    if (threshold >= SAMPLE_BUCKETS || requestId == null) {
+      return true;
+    }
+    return (requestId.hashCode() & Integer.MAX_VALUE) % SAMPLE_BUCKETS < threshold;
+  }
+
+  static BinaryAuditLog getBinaryAuditLog() {
+    return binaryAuditLog;
+  }
+
   /** Returns the total count of garbage collections. */
   public static long getGCCount() {
     long totalGarbageCollections = 0;
@@ -102,18 +174,25 @@ public class Logging {
    * Returns a logger to be used for audit logging messages for the given class.
    */
   @SuppressWarnings("rawtypes")
-  public static Logger getAuditLogger(Class clazz) {
-    return Logger.getLogger(String.format("%s.%s", AUDIT_LOGGER_NAME,
-        clazz.getName()));
+  public static AuditLogger getAuditLogger(Class clazz) {
+    return new AuditLogger(String.format("%s.%s", AUDIT_LOGGER_NAME, clazz.getName()));
   }
 
   /**
    * Return a function name (determined via reflection) and all its parameters
    * (passed) in a consistent stringformat. Very helpful in logging function
    * calls throughout our program.
+   *
+   * Finding the function name requires walking the stack, so use a {@link Trace} for
+   * functions that are called frequently.
    */
   public static String functionCall(Object... params) {
     String name = Thread.currentThread().getStackTrace()[2].getMethodName();
-    return name + ": [" + paramJoiner.join(params) + "]";
+    return formatCall(name, params);
+  }
+
+  /** Formats a call to the given function in the format used by {@link #functionCall}. */
+  static String formatCall(String function, Object[] params) {
+    return function + ": [" + paramJoiner.join(params) + "]";
   }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Coalesces messages sent to each of a set of destinations.
+ *
+ * A message for a destination with no batch in flight is sent right away, so that batching adds
+ * no latency when the destination keeps up. Messages added while a batch is in flight are sent
+ * together once it completes, but wait no longer than the maximum delay, and are sent early if
+ * they fill a batch.
+ *
+ * Subclasses send each batch in {@link #sendBatch}, and must call {@link #batchFinished} once the
+ * batch has been delivered (or has failed).
+ */
+public abstract class MessageBatcher<T> {
+  private final long maxDelayMicros;
+  private final int maxBatchSize;
+  /** Bounds how long messages wait. Only instantiated if the maximum delay is nonzero. */
+  private final ScheduledExecutorService flushExecutor;
+
+  /** Guarded by {@code this}. */
+  private final Map<InetSocketAddress, Destination> destinations = Maps.newHashMap();
+
+  private class Destination {
+    List<T> pending = Lists.newArrayList();
+    int numBatchesInFlight = 0;
+    boolean flushScheduled = false;
+  }
+
+  /**
+   * @param name. Names the thread that sends delayed batches.
+   * @param maxDelayMicros. The longest time a message waits so that it can be sent with others.
+   *                        If 0, messages are sent as soon as they are added.
+   * @param maxBatchSize. The largest number of messages in one batch.
+   */
+  public MessageBatcher(final String name, long maxDelayMicros, int maxBatchSize) {
+    if (maxDelayMicros < 0 || maxBatchSize <= 0) {
+      throw new IllegalArgumentException(
+          "maxDelayMicros must be nonnegative and maxBatchSize must be positive");
+    }
+    this.maxDelayMicros = maxDelayMicros;
+    this.maxBatchSize = maxBatchSize;
+    if (maxDelayMicros > 0) {
+      flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, name + " flush");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    } else {
+      flushExecutor = null;
+    }
+  }
+
+  /** Sends a batch of messages; implementations must eventually call {@link #batchFinished}. */
+  protected abstract void sendBatch(InetSocketAddress destination, List<T> batch);
+
+  public void add(InetSocketAddress destination, T message) {
+    addAll(destination, Collections.singletonList(message));
+  }
+
+  public void addAll(final InetSocketAddress destination, List<T> messages) {
+    List<List<T>> batches;
+    boolean scheduleFlush = false;
+    synchronized (this) {
+      Destination state = destinations.get(destination);
+      if (state == null) {
+        state = new Destination();
+        destinations.put(destination, state);
+      }
+      state.pending.addAll(messages);
+      if (state.numBatchesInFlight == 0 || flushExecutor == null) {
+        batches = takeBatches(state, true);
+      } else {
+        batches = takeBatches(state, false);
+        if (!state.pending.isEmpty() && !state.flushScheduled) {
+          state.flushScheduled = true;
+          scheduleFlush = true;
+        }
+      }
+    }
+    sendBatches(destination, batches);
+    if (scheduleFlush) {
+      flushExecutor.schedule(new Runnable() {
+        @Override
+        public void run() {
+          flush(destination);
+        }
+      }, maxDelayMicros, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  /**
+   * Records that a batch sent to the given destination has completed, and sends the messages
+   * that were waiting on it, if any.
+   */
+  protected void batchFinished(InetSocketAddress destination) {
+    List<List<T>> batches = null;
+    synchronized (this) {
+      Destination state = destinations.get(destination);
+      --state.numBatchesInFlight;
+      if (state.numBatchesInFlight == 0) {
+        batches = takeBatches(state, true);
+      }
+    }
+    sendBatches(destination, batches);
+  }
+
+  public void close() {
+    if (flushExecutor != null) {
+      flushExecutor.shutdownNow();
+    }
+  }
+
+  private void flush(InetSocketAddress destination) {
+    List<List<T>> batches;
+    synchronized (this) {
+      Destination state = destinations.get(destination);
+      state.flushScheduled = false;
+      batches = takeBatches(state, true);
+    }
+    sendBatches(destination, batches);
+  }
+
+  /**
+   * Removes the pending messages that should be sent now, split into batches: all of them if
+   * {@code all} is set, and otherwise only those that fill a batch. Requires the lock on
+   * {@code this}.
+   */
+  private List<List<T>> takeBatches(Destination state, boolean all) {
+    if (state.pending.isEmpty() || (!all && state.pending.size() < maxBatchSize)) {
+      return null;
+    }
+    List<List<T>> batches = Lists.newArrayList();
+    if (state.pending.size() <= maxBatchSize) {
+      batches.add(state.pending);
+      state.pending = Lists.newArrayList();
+    } else {
+      int end = all ? state.pending.size()
+          : state.pending.size() - state.pending.size() % maxBatchSize;
+      for (int i = 0; i < end; i += maxBatchSize) {
+        batches.add(Lists.newArrayList(
+            state.pending.subList(i, Math.min(end, i + maxBatchSize))));
+      }
+      state.pending = Lists.newArrayList(state.pending.subList(end, state.pending.size()));
+    }
+    state.numBatchesInFlight += batches.size();
+    return batches;
+  }
+
+  private void sendBatches(InetSocketAddress destination, List<List<T>> batches) {
+    if (batches != null) {
+      for (List<T> batch : batches) {
+        sendBatch(destination, batch);
+      }
+    }
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TMessageType;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TMemoryInputTransport;
+
+/**
+ * A single framed Thrift connection to a peer over which many RPCs may be outstanding at once.
+ *
+ * Calls are written to the connection as soon as they are made, each with its own sequence id,
+ * and responses are matched to calls using those ids. The peer's Thrift server handles the
+ * calls on a connection one at a time, in order, so a slow call delays the calls behind it;
+ * this channel is intended for RPCs with short handlers, such as those in InternalService and
+ * GetTaskService. A {@link PipelinedChannelManager} can spread calls to a peer over a few
+ * channels, so that a slow call holds up fewer calls. All I/O other than the first attempt to
+ * write a call is done by the manager's selector thread, which also runs the callbacks.
+ */
+public class PipelinedChannel {
+  private static final Logger LOG = Logger.getLogger(PipelinedChannel.class);
+
+  /** Largest response frame we are willing to read; the same limit as TFramedTransport. */
+  private static final int MAX_FRAME_SIZE = 16384000;
+
+  /** Callback for a call made on the channel. */
+  public interface Callback<R> {
+    /** Called with the call's (deserialized) result struct. */
+    public void onComplete(R result);
+    public void onError(Exception exception);
+  }
+
+  /** A call that has been sent, and the struct its response will be read into. */
+  private static class PendingCall<R extends TBase<?, ?>> {
+    final R result;
+    final Callback<R> callback;
+    /** Value of {@link System#nanoTime()} after which the call has timed out. */
+    final long deadlineNanos;
+
+    PendingCall(R result, Callback<R> callback, long deadlineNanos) {
+      this.result = result;
+      this.callback = callback;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    void complete(TProtocol in) throws TException {
+      result.read(in);
+      in.readMessageEnd();
+      callback.onComplete(result);
+    }
+  }
+
+  private final InetSocketAddress address;
+  /** Which of the manager's channels to {@link #address} this is. */
+  private final int index;
+  private final SocketChannel socket;
+  private final PipelinedChannelManager manager;
+  private final AtomicInteger nextSeqId = new AtomicInteger();
+  private final ConcurrentMap<Integer, PendingCall<?>> pendingCalls =
+      new ConcurrentHashMap<Integer, PendingCall<?>>();
+
+  /** Guards {@link #writeQueue}, {@link #connected} and {@link #writeInterest}. */
+  private final Object writeLock = new Object();
+  /** Frames that have not been completely written to the socket. */
+  private final LinkedList<ByteBuffer> writeQueue = new LinkedList<ByteBuffer>();
+  private boolean connected = false;
+  /** Whether the selector thread has been asked to write {@link #writeQueue}. */
+  private boolean writeInterest = false;
+  /** Set by the one call to {@link #fail} that closes the channel. */
+  private final AtomicBoolean failed = new AtomicBoolean(false);
+  /** Set only once the channel has been removed from the manager. */
+  private volatile boolean closed = false;
+
+  /** Only used by the selector thread. */
+  SelectionKey key;
+  private final ByteBuffer frameSize = ByteBuffer.allocate(4);
+  private ByteBuffer frame = null;
+
+  PipelinedChannel(InetSocketAddress address, int index, SocketChannel socket,
+      PipelinedChannelManager manager) {
+    this.address = address;
+    this.index = index;
+    this.socket = socket;
+    this.manager = manager;
+  }
+
+  public InetSocketAddress getAddress() {
+    return address;
+  }
+
+  int getIndex() {
+    return index;
+  }
+
+  SocketChannel getSocket() {
+    return socket;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /** Returns whether the connection has been established. */
+  public boolean isConnected() {
+    synchronized (writeLock) {
+      return connected;
+    }
+  }
+
+  /** Returns the number of calls that have been sent but not yet answered. */
+  public int getNumPendingCalls() {
+    return pendingCalls.size();
+  }
+
+  /**
+   * Calls {@code method} on the peer with the given arguments. {@code result} should be a new
+   * instance of the method's generated result struct; once the response arrives, it is read
+   * into {@code result}, which is then passed to {@code callback}.
+   */
+  public <R extends TBase<?, ?>> void call(String method, TBase<?, ?> args, R result,
+      Callback<R> callback) {
+    if (closed) {
+      callback.onError(new TException("Channel to " + address + " is closed"));
+      return;
+    }
+    int seqId = nextSeqId.incrementAndGet();
+    ByteBuffer buffer;
+    try {
+      buffer = serialize(method, seqId, args);
+    } catch (TException e) {
+      callback.onError(e);
+      return;
+    }
+    long deadlineNanos =
+        System.nanoTime() + PipelinedChannelManager.CALL_TIMEOUT_MILLIS * 1000000L;
+    pendingCalls.put(seqId, new PendingCall<R>(result, callback, deadlineNanos));
+    // The channel may have failed after we checked, in which case nobody else will see the call.
+    if (closed && pendingCalls.remove(seqId) != null) {
+      callback.onError(new TException("Channel to " + address + " is closed"));
+      return;
+    }
+    write(buffer);
+  }
+
+  private static ByteBuffer serialize(String method, int seqId, TBase<?, ?> args)
+      throws TException {
+    TMemoryBuffer memory = new TMemoryBuffer(128);
+    // Leave room for the frame size.
+    memory.write(new byte[4]);
+    TProtocol out = new TBinaryProtocol(memory);
+    out.writeMessageBegin(new TMessage(method, TMessageType.CALL, seqId));
+    args.write(out);
+    out.writeMessageEnd();
+    ByteBuffer buffer = ByteBuffer.wrap(memory.getArray(), 0, memory.length());
+    buffer.putInt(0, memory.length() - 4);
+    return buffer;
+  }
+
+  /** Writes the frame right away if possible, and otherwise queues it for the selector. */
+  private void write(ByteBuffer buffer) {
+    boolean requestWrite = false;
+    synchronized (writeLock) {
+      if (connected && writeQueue.isEmpty()) {
+        try {
+          socket.write(buffer);
+        } catch (IOException e) {
+          fail(e);
+          return;
+        }
+        if (!buffer.hasRemaining()) {
+          return;
+        }
+      }
+      writeQueue.add(buffer);
+      if (connected && !writeInterest) {
+        writeInterest = true;
+        requestWrite = true;
+      }
+    }
+    if (requestWrite) {
+      manager.requestWrite(this);
+    }
+  }
+
+  /** Called by the selector thread once the connection has been established. */
+  void handleConnect() throws IOException {
+    if (!socket.finishConnect()) {
+      return;
+    }
+    socket.socket().setTcpNoDelay(true);
+    synchronized (writeLock) {
+      connected = true;
+      writeInterest = !writeQueue.isEmpty();
+      key.interestOps(SelectionKey.OP_READ | (writeInterest ? SelectionKey.OP_WRITE : 0));
+    }
+  }
+
+  /** Called by the selector thread to enable writes requested by {@link #write}. */
+  void enableWrites() {
+    synchronized (writeLock) {
+      if (writeInterest && key != null && key.isValid()) {
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+      }
+    }
+  }
+
+  /** Called by the selector thread when the socket can be written. */
+  void handleWrite() throws IOException {
+    synchronized (writeLock) {
+      while (!writeQueue.isEmpty()) {
+        ByteBuffer buffer = writeQueue.getFirst();
+        socket.write(buffer);
+        if (buffer.hasRemaining()) {
+          return;
+        }
+        writeQueue.removeFirst();
+      }
+      writeInterest = false;
+      key.interestOps(SelectionKey.OP_READ);
+    }
+  }
+
+  /** Called by the selector thread when the socket can be read. */
+  void handleRead() throws IOException {
+    while (true) {
+      if (frame == null) {
+        if (socket.read(frameSize) < 0) {
+          throw new IOException("Connection to " + address + " closed by peer");
+        }
+        if (frameSize.hasRemaining()) {
+          return;
+        }
+        int size = frameSize.getInt(0);
+        if (size < 0 || size > MAX_FRAME_SIZE) {
+          throw new IOException("Invalid frame size " + size + " from " + address);
+        }
+        frame = ByteBuffer.allocate(size);
+      }
+      if (socket.read(frame) < 0) {
+        throw new IOException("Connection to " + address + " closed by peer");
+      }
+      if (frame.hasRemaining()) {
+        return;
+      }
+      byte[] response = frame.array();
+      frame = null;
+      frameSize.clear();
+      dispatch(response);
+    }
+  }
+
+  /** Matches a response with its call and runs the call's callback. */
+  private void dispatch(byte[] response) throws IOException {
+    TProtocol in = new TBinaryProtocol(new TMemoryInputTransport(response));
+    TMessage message;
+    try {
+      message = in.readMessageBegin();
+    } catch (TException e) {
+      throw new IOException("Unable to read response from " + address + ": " + e);
+    }
+    PendingCall<?> call = pendingCalls.remove(message.seqid);
+    if (call == null) {
+      LOG.warn("Received response from " + address + " for unknown call " + message.seqid);
+      return;
+    }
+    try {
+      if (message.type == TMessageType.EXCEPTION) {
+        call.callback.onError(TApplicationException.read(in));
+      } else {
+        call.complete(in);
+      }
+    } catch (TException e) {
+      call.callback.onError(e);
+    }
+  }
+
+  /**
+   * Called by the selector thread to fail the channel if any call has waited longer than
+   * {@link PipelinedChannelManager#CALL_TIMEOUT_MILLIS} for its response. The peer answers
+   * calls in order, so every call behind the late one would wait as long; closing the channel
+   * fails them all, and later calls use a new connection.
+   */
+  void checkTimeouts(long nowNanos) {
+    for (PendingCall<?> call : pendingCalls.values()) {
+      if (nowNanos - call.deadlineNanos > 0) {
+        fail(new SocketTimeoutException("Call to " + address + " timed out after " +
+            PipelinedChannelManager.CALL_TIMEOUT_MILLIS + " ms"));
+        return;
+      }
+    }
+  }
+
+  /** Closes the channel and fails all of its outstanding calls. */
+  void fail(Exception cause) {
+    if (!failed.compareAndSet(false, true)) {
+      return;
+    }
+    // Remove the channel before anyone can see that it is closed, so that a caller whose call
+    // fails never finds the dead channel still in the manager.
+    manager.channelClosed(this);
+    closed = true;
+    LOG.warn("Closing channel to " + address + ": " + cause);
+    try {
+      socket.close();
+    } catch (IOException e) {
+      LOG.debug("Error closing channel to " + address + ": " + e);
+    }
+    for (Integer seqId : pendingCalls.keySet()) {
+      PendingCall<?> call = pendingCalls.remove(seqId);
+      if (call != null) {
+        call.callback.onError(cause);
+      }
+    }
+  }
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TBase;
+
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.daemon.metrics.Gauge;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+
+/**
+ * Maintains {@link PipelinedChannel}s to peers, and runs the selector thread that does the
+ * channels' I/O.
+ *
+ * By default each peer has a single channel. A manager created with several channels per peer
+ * sends each call on an idle channel to the peer, opening another channel (up to the limit) if
+ * all of the open ones are busy, and otherwise on the channel with the fewest outstanding calls.
+ * The peer handles the calls on a channel one at a time, so this keeps a slow call from delaying
+ * unrelated calls behind it.
+ *
+ * Channels are opened on first use, or ahead of time for addresses passed to
+ * {@link #keepWarm(Collection)}; if a warm address's channel fails, it is re-opened in the
+ * background. A channel with a call that gets no response within {@link #CALL_TIMEOUT_MILLIS}
+ * is closed. {@link #registerMetrics(String)} reports how often calls had to wait for a
+ * connection to be established.
+ */
+public class PipelinedChannelManager {
+  private static final Logger LOG = Logger.getLogger(PipelinedChannelManager.class);
+
+  /** How often channels to warm addresses are re-opened after failing. */
+  public static int RECONNECT_INTERVAL_MILLIS = 1000;
+  /**
+   * How long a call may wait for its response before its channel is closed and its outstanding
+   * calls fail. Deadlines are checked every tenth of this interval.
+   */
+  public static int CALL_TIMEOUT_MILLIS = 30000;
+
+  /** Identifies one of the channels to a peer. */
+  private static class ChannelId {
+    final InetSocketAddress address;
+    final int index;
+
+    ChannelId(InetSocketAddress address, int index) {
+      this.address = address;
+      this.index = index;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof ChannelId)) {
+        return false;
+      }
+      ChannelId id = (ChannelId) other;
+      return index == id.index && address.equals(id.address);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * address.hashCode() + index;
+    }
+  }
+
+  private final Selector selector;
+  private final int channelsPerPeer;
+  private final ConcurrentMap<ChannelId, PipelinedChannel> channels =
+      new ConcurrentHashMap<ChannelId, PipelinedChannel>();
+  /** Channels waiting to be registered with the selector. */
+  private final Queue<PipelinedChannel> newChannels = new ConcurrentLinkedQueue<PipelinedChannel>();
+  /** Channels that have frames the selector thread should write. */
+  private final Queue<PipelinedChannel> writeRequests =
+      new ConcurrentLinkedQueue<PipelinedChannel>();
+  private final Set<InetSocketAddress> warmAddresses =
+      Sets.newSetFromMap(new ConcurrentHashMap<InetSocketAddress, Boolean>());
+
+  private final AtomicLong numCalls = new AtomicLong();
+  private final AtomicLong numColdCalls = new AtomicLong();
+  private volatile boolean closed = false;
+
+  public PipelinedChannelManager(String name) throws IOException {
+    this(name, 1);
+  }
+
+  /** Creates a manager that opens up to {@code channelsPerPeer} channels to each peer. */
+  public PipelinedChannelManager(String name, int channelsPerPeer) throws IOException {
+    if (channelsPerPeer < 1) {
+      throw new IllegalArgumentException("channelsPerPeer must be positive");
+    }
+    this.channelsPerPeer = channelsPerPeer;
+    selector = Selector.open();
+    Thread thread = new Thread(new SelectorRunnable(), name + " selector");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Returns the channel that the next call to the given address should use, opening one if
+   * necessary.
+   */
+  public PipelinedChannel getChannel(InetSocketAddress address) throws IOException {
+    if (channelsPerPeer == 1) {
+      return getChannel(new ChannelId(address, 0));
+    }
+    PipelinedChannel leastBusy = null;
+    int unopenedIndex = -1;
+    for (int i = 0; i < channelsPerPeer; i++) {
+      PipelinedChannel channel = channels.get(new ChannelId(address, i));
+      if (channel == null || channel.isClosed()) {
+        if (unopenedIndex < 0) {
+          unopenedIndex = i;
+        }
+        continue;
+      }
+      int numPendingCalls = channel.getNumPendingCalls();
+      if (numPendingCalls == 0) {
+        return channel;
+      }
+      if (leastBusy == null || numPendingCalls < leastBusy.getNumPendingCalls()) {
+        leastBusy = channel;
+      }
+    }
+    if (unopenedIndex >= 0) {
+      return getChannel(new ChannelId(address, unopenedIndex));
+    }
+    return leastBusy;
+  }
+
+  private PipelinedChannel getChannel(ChannelId id) throws IOException {
+    if (closed) {
+      throw new IOException("Channel manager is closed");
+    }
+    InetSocketAddress address = id.address;
+    PipelinedChannel channel = channels.get(id);
+    if (channel != null && !channel.isClosed()) {
+      return channel;
+    }
+    SocketChannel socket = SocketChannel.open();
+    try {
+      socket.configureBlocking(false);
+      socket.connect(address);
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+    PipelinedChannel newChannel = new PipelinedChannel(address, id.index, socket, this);
+    boolean added = channel == null ? channels.putIfAbsent(id, newChannel) == null
+                                    : channels.replace(id, channel, newChannel);
+    if (!added) {
+      // Another thread opened a channel first.
+      socket.close();
+      return getChannel(id);
+    }
+    newChannels.add(newChannel);
+    selector.wakeup();
+    if (closed) {
+      // The selector thread may already have stopped, and will not register the channel.
+      newChannel.fail(new IOException("Channel manager is closed"));
+    }
+    return newChannel;
+  }
+
+  /**
+   * Calls {@code method} on the peer at {@code address}; see
+   * {@link PipelinedChannel#call(String, TBase, TBase, PipelinedChannel.Callback)}.
+   */
+  public <R extends TBase<?, ?>> void call(InetSocketAddress address, String method,
+      TBase<?, ?> args, R result, PipelinedChannel.Callback<R> callback) {
+    PipelinedChannel channel;
+    try {
+      channel = getChannel(address);
+    } catch (IOException e) {
+      callback.onError(e);
+      return;
+    }
+    numCalls.incrementAndGet();
+    if (!channel.isConnected()) {
+      numColdCalls.incrementAndGet();
+    }
+    channel.call(method, args, result, callback);
+  }
+
+  /**
+   * Opens channels to the given addresses in the background, and re-opens them if they fail.
+   * Replaces the addresses passed to earlier calls: channels to addresses that are no longer
+   * warm are not re-opened after they fail.
+   */
+  public void keepWarm(Collection<InetSocketAddress> addresses) {
+    warmAddresses.retainAll(Sets.newHashSet(addresses));
+    warmAddresses.addAll(addresses);
+    openWarmChannels();
+  }
+
+  private void openWarmChannels() {
+    for (InetSocketAddress address : warmAddresses) {
+      try {
+        // Further channels to the peer are only opened when calls need them.
+        getChannel(new ChannelId(address, 0));
+      } catch (IOException e) {
+        LOG.warn("Unable to open channel to " + address + ": " + e);
+      }
+    }
+  }
+
+  /** Returns the number of open channels. */
+  public int getNumChannels() {
+    return channels.size();
+  }
+
+  /**
+   * Registers gauges, named with the given prefix, for the number of open channels, the number
+   * of calls made, and the number of those calls that had to wait for a connection to be
+   * established.
+   */
+  public void registerMetrics(String prefix) {
+    MetricsRegistry metrics = MetricsRegistry.getInstance();
+    metrics.registerGauge(prefix + "channels", new Gauge() {
+      @Override
+      public long getValue() {
+        return channels.size();
+      }
+    });
+    metrics.registerGauge(prefix + "calls", new Gauge() {
+      @Override
+      public long getValue() {
+        return numCalls.get();
+      }
+    });
+    metrics.registerGauge(prefix + "cold_calls", new Gauge() {
+      @Override
+      public long getValue() {
+        return numColdCalls.get();
+      }
+    });
+  }
+
+  /**
+   * Closes all channels, failing their outstanding calls, and stops the selector thread.
+   * Calls made after the manager is closed fail immediately.
+   */
+  public void close() {
+    closed = true;
+    selector.wakeup();
+  }
+
+  /** Asks the selector thread to write the channel's queued frames. */
+  void requestWrite(PipelinedChannel channel) {
+    writeRequests.add(channel);
+    selector.wakeup();
+  }
+
+  void channelClosed(PipelinedChannel channel) {
+    channels.remove(new ChannelId(channel.getAddress(), channel.getIndex()), channel);
+  }
+
+  private class SelectorRunnable implements Runnable {
+    @Override
+    public void run() {
+      long timeoutCheckIntervalMillis = Math.max(1, CALL_TIMEOUT_MILLIS / 10);
+      long nextReconnectMillis = System.currentTimeMillis() + RECONNECT_INTERVAL_MILLIS;
+      long nextTimeoutCheckMillis = System.currentTimeMillis() + timeoutCheckIntervalMillis;
+      while (!closed) {
+        try {
+          selector.select(Math.min(RECONNECT_INTERVAL_MILLIS, timeoutCheckIntervalMillis));
+        } catch (IOException e) {
+          LOG.error("Error selecting: " + e);
+          continue;
+        }
+        registerNewChannels();
+        PipelinedChannel writer;
+        while ((writer = writeRequests.poll()) != null) {
+          writer.enableWrites();
+        }
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          PipelinedChannel channel = (PipelinedChannel) key.attachment();
+          try {
+            if (!key.isValid()) {
+              continue;
+            }
+            if (key.isConnectable()) {
+              channel.handleConnect();
+            }
+            if (key.isValid() && key.isReadable()) {
+              channel.handleRead();
+            }
+            if (key.isValid() && key.isWritable()) {
+              channel.handleWrite();
+            }
+          } catch (IOException e) {
+            key.cancel();
+            channel.fail(e);
+          } catch (RuntimeException e) {
+            LOG.error("Unexpected error handling channel to " + channel.getAddress(), e);
+            key.cancel();
+            channel.fail(e);
+          }
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= nextTimeoutCheckMillis) {
+          long nowNanos = System.nanoTime();
+          for (PipelinedChannel open : channels.values()) {
+            open.checkTimeouts(nowNanos);
+          }
+          nextTimeoutCheckMillis = now + timeoutCheckIntervalMillis;
+        }
+        if (now >= nextReconnectMillis) {
+          openWarmChannels();
+          nextReconnectMillis = now + RECONNECT_INTERVAL_MILLIS;
+        }
+      }
+
+      IOException cause = new IOException("Channel manager is closed");
+      PipelinedChannel channel;
+      while ((channel = newChannels.poll()) != null) {
+        channel.fail(cause);
+      }
+      for (PipelinedChannel open : channels.values()) {
+        open.fail(cause);
+      }
+      try {
+        selector.close();
+      } catch (IOException e) {
+        LOG.debug("Error closing selector: " + e);
+      }
+    }
+
+    private void registerNewChannels() {
+      PipelinedChannel channel;
+      while ((channel = newChannels.poll()) != null) {
+        try {
+          SocketChannel socket = channel.getSocket();
+          channel.key = socket.register(selector,
+              socket.isConnected() ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, channel);
+          if (socket.isConnected()) {
+            channel.handleConnect();
+          }
+        } catch (IOException e) {
+          channel.fail(e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+/**
+ * Utility functions for request identifiers.
+ *
+ * Each request has a string ID of the form "[scheduler IP]_[counter]", which is used for
+ * logging, and an equivalent 64-bit handle, which is used for lookups. The upper 32 bits of the
+ * handle hold the scheduler's IPv4 address, and the lower 32 bits hold the counter. A handle of
+ * -1 would require a scheduler at the broadcast address, so it is never assigned, and is used to
+ * signal that no handle is available. (0 is a valid handle: schedulers without an IPv4 address
+ * have a scheduler ID of 0.)
+ */
+public class RequestIds {
+  public static final long NO_HANDLE = -1;
+
+  /** Returns the scheduler ID (the upper 32 bits of a handle) for the given IPv4 address. */
+  public static int schedulerIdFromAddress(String ipAddress) {
+    String[] parts = ipAddress.split("\\.");
+    if (parts.length != 4) {
+      return 0;
+    }
+    int schedulerId = 0;
+    try {
+      for (String part : parts) {
+        schedulerId = (schedulerId << 8) | (Integer.parseInt(part) & 0xff);
+      }
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+    return schedulerId;
+  }
+
+  public static long makeHandle(int schedulerId, int counter) {
+    return ((long) schedulerId << 32) | (counter & 0xffffffffL);
+  }
+
+  /** Returns the string ID for a request, given the IP address prefix and the handle. */
+  public static String toString(String ipAddress, long handle) {
+    return ipAddress + "_" + (handle & 0xffffffffL);
+  }
+
+  /**
+   * Returns the handle for the given string ID, or {@link NO_HANDLE} if the string ID was not
+   * created by {@link toString}.
+   */
+  public static long parseHandle(String requestId) {
+    int separator = requestId.lastIndexOf('_');
+    if (separator == -1) {
+      return NO_HANDLE;
+    }
+    int schedulerId = schedulerIdFromAddress(requestId.substring(0, separator));
+    try {
+      long counter = Long.parseLong(requestId.substring(separator + 1));
+      if (schedulerId == 0 || counter < 0 || counter > 0xffffffffL) {
+        return NO_HANDLE;
+      }
+      return makeHandle(schedulerId, (int) counter);
+    } catch (NumberFormatException e) {
+      return NO_HANDLE;
+    }
+  }
+}
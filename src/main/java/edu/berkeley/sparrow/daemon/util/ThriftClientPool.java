@@ -18,11 +18,18 @@ package edu.berkeley.sparrow.daemon.util;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.commons.pool.KeyedPoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericKeyedObjectPool;
-import org.apache.commons.pool.impl.GenericKeyedObjectPool.Config;
 import org.apache.log4j.Logger;
 import org.apache.thrift.async.TAsyncClient;
 import org.apache.thrift.async.TAsyncClientManager;
@@ -31,6 +38,9 @@ import org.apache.thrift.protocol.TProtocolFactory;
 import org.apache.thrift.transport.TNonblockingSocket;
 import org.apache.thrift.transport.TNonblockingTransport;
 
+import edu.berkeley.sparrow.daemon.metrics.Gauge;
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.thrift.BackendService;
 import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.GetTaskService;
 import edu.berkeley.sparrow.thrift.InternalService;
@@ -38,32 +48,62 @@ import edu.berkeley.sparrow.thrift.NodeMonitorService;
 import edu.berkeley.sparrow.thrift.PongService;
 import edu.berkeley.sparrow.thrift.SchedulerService;
 
-/** A pool of nonblocking thrift async connections. */
+/**
+ * A pool of nonblocking thrift async connections.
+ *
+ * Each address has its own lock-free free list of idle clients, so borrowing and returning
+ * clients for different addresses never contend. Borrowing never blocks: when all of the
+ * clients for an address are in use, {@link #borrowClient(InetSocketAddress)} fails
+ * immediately, while {@link #borrowClient(InetSocketAddress, BorrowCallback)} queues the caller
+ * until a client is returned. Clients are spread across a fixed set of selector threads that
+ * is shared by all pools in the process. Clients connect lazily, on their first RPC.
+ */
 public class ThriftClientPool<T extends TAsyncClient> {
-  // Default configurations for underlying pool
-  /** See {@link GenericKeyedObjectPool.Config} */
-  public static int MIN_IDLE_CLIENTS_PER_ADDR = 0;
-  /** See {@link GenericKeyedObjectPool.Config} */
+  // Default configurations for the pool
+  /** See {@link Config#maxActive} */
+  public static int MAX_ACTIVE_CLIENTS_PER_ADDR = 16;
+  /** See {@link Config#minEvictableIdleTimeMillis} */
   public static int EVICTABLE_IDLE_TIME_MILLIS = 1000;
-  /** See {@link GenericKeyedObjectPool.Config} */
+  /** See {@link Config#timeBetweenEvictionRunsMillis} */
   public static int TIME_BETWEEN_EVICTION_RUNS_MILLIS = -1;
-  /** See {@link GenericKeyedObjectPool.Config} */
-  public static int MAX_ACTIVE_CLIENTS_PER_ADDR = 16;
+  /**
+   * Number of selector threads shared by all pools. Only takes effect if set before the first
+   * pool is created.
+   */
+  public static int NUM_SELECTOR_THREADS = 2;
 
   private static final Logger LOG = Logger.getLogger(ThriftClientPool.class);
 
-  /** Get the configuration parameters used on the underlying client pool. */
+  /** Configuration parameters for a pool. */
+  public static class Config {
+    /** Maximum number of clients that may be borrowed for a single address at once. */
+    public int maxActive;
+    /** How long a client may sit idle before it may be closed by the evictor. */
+    public long minEvictableIdleTimeMillis;
+    /** How often the evictor runs; if not positive, idle clients are never closed. */
+    public long timeBetweenEvictionRunsMillis;
+  }
+
+  /** Get the default configuration parameters for a pool. */
   protected static Config getPoolConfig() {
     Config conf = new Config();
-    conf.minIdle = MIN_IDLE_CLIENTS_PER_ADDR;
-    conf.maxIdle = -1;
+    conf.maxActive = MAX_ACTIVE_CLIENTS_PER_ADDR;
     conf.minEvictableIdleTimeMillis = EVICTABLE_IDLE_TIME_MILLIS;
     conf.timeBetweenEvictionRunsMillis = TIME_BETWEEN_EVICTION_RUNS_MILLIS;
-    conf.maxActive = MAX_ACTIVE_CLIENTS_PER_ADDR;
-    conf.whenExhaustedAction = GenericKeyedObjectPool.WHEN_EXHAUSTED_BLOCK;
     return conf;
   }
 
+  /**
+   * Callback for {@link ThriftClientPool#borrowClient(InetSocketAddress, BorrowCallback)}.
+   * The callback is invoked either by the borrowing thread, if a client is available right
+   * away, or later by the thread that returns a client to the pool (typically a selector
+   * thread), so it should not block.
+   */
+  public interface BorrowCallback<T> {
+    public void onBorrow(T client);
+    public void onError(Exception exception);
+  }
+
   /** Clients need to provide an instance of this factory which is capable of creating
    * the a thrift client of type <T>. */
   public interface MakerFactory<T> {
@@ -117,6 +157,15 @@ public class ThriftClientPool<T extends TAsyncClient> {
     }
   }
 
+  public static class BackendServiceMakerFactory
+  implements MakerFactory<BackendService.AsyncClient> {
+    @Override
+    public BackendService.AsyncClient create(TNonblockingTransport tr,
+        TAsyncClientManager mgr, TProtocolFactory factory) {
+      return new BackendService.AsyncClient(factory, mgr, tr);
+    }
+  }
+
   public static class PongServiceMakerFactory
   implements MakerFactory<PongService.AsyncClient> {
     @Override
@@ -126,90 +175,346 @@ public class ThriftClientPool<T extends TAsyncClient> {
     }
   }
 
-  private class PoolFactory implements KeyedPoolableObjectFactory<InetSocketAddress, T> {
+  /** A client along with its transport and the last time it was returned to the pool. */
+  private static class PooledClient<T> {
+    final T client;
     // Thrift clients do not expose their underlying transports, so we track them
     // separately here to let us call close() on the transport associated with a
     // particular client.
-    private HashMap<T, TNonblockingTransport> transports =
-        new HashMap<T, TNonblockingTransport>();
-    private MakerFactory<T> maker;
+    final TNonblockingTransport transport;
+    volatile long lastReturnedMillis;
 
-    public PoolFactory(MakerFactory<T> maker) {
-      this.maker = maker;
+    PooledClient(T client, TNonblockingTransport transport) {
+      this.client = client;
+      this.transport = transport;
     }
+  }
 
-    @Override
-    public void destroyObject(InetSocketAddress socket, T client) throws Exception {
-      transports.get(client).close();
-      transports.remove(client);
-    }
+  /** A caller queued waiting for a client. */
+  private static class Waiter<T> {
+    final BorrowCallback<T> callback;
+    final long enqueuedNanos = System.nanoTime();
 
-    @Override
-    public T makeObject(InetSocketAddress socket) throws Exception {
-      TNonblockingTransport nbTr = new TNonblockingSocket(
-          socket.getAddress().getHostAddress(), socket.getPort());
-      TProtocolFactory factory = new TBinaryProtocol.Factory();
-      T client = maker.create(nbTr, clientManager, factory);
-      transports.put(client, nbTr);
-      return client;
+    Waiter(BorrowCallback<T> callback) {
+      this.callback = callback;
     }
+  }
 
-    @Override
-    public boolean validateObject(InetSocketAddress socket, T client) {
-      return transports.get(client).isOpen();
+  /** The clients and statistics for a single address. */
+  private static class AddressPool<T> {
+    final Queue<PooledClient<T>> idle = new ConcurrentLinkedQueue<PooledClient<T>>();
+    final Queue<Waiter<T>> waiters = new ConcurrentLinkedQueue<Waiter<T>>();
+    /** Tracked separately because {@link ConcurrentLinkedQueue#size()} is linear. */
+    final AtomicInteger numIdle = new AtomicInteger();
+    final AtomicInteger numActive = new AtomicInteger();
+    final AtomicInteger numWaiting = new AtomicInteger();
+    final AtomicLong numBorrows = new AtomicLong();
+    final AtomicLong numWaits = new AtomicLong();
+    final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /** Reserves one of the address's active slots, if any are free. */
+    boolean tryReserve(int maxActive) {
+      while (true) {
+        int active = numActive.get();
+        if (active >= maxActive) {
+          return false;
+        }
+        if (numActive.compareAndSet(active, active + 1)) {
+          return true;
+        }
+      }
     }
 
-    @Override
-    public void activateObject(InetSocketAddress socket, T client) throws Exception {
-      // Nothing to do here
+    PooledClient<T> pollIdle() {
+      PooledClient<T> pooled = idle.poll();
+      if (pooled != null) {
+        numIdle.decrementAndGet();
+      }
+      return pooled;
     }
 
-    @Override
-    public void passivateObject(InetSocketAddress socket, T client)
-        throws Exception {
-      // Nothing to do here
+    void offerIdle(PooledClient<T> pooled) {
+      pooled.lastReturnedMillis = System.currentTimeMillis();
+      numIdle.incrementAndGet();
+      idle.offer(pooled);
     }
   }
 
-  /** Pointer to shared selector thread. */
-  TAsyncClientManager clientManager;
+  /** Selector threads shared by all pools, and the index of the next one to assign. */
+  private static TAsyncClientManager[] clientManagers;
+  private static final AtomicInteger nextClientManager = new AtomicInteger();
+  private static ScheduledExecutorService maintenanceExecutor;
 
-  /** Underlying object pool. */
-  private GenericKeyedObjectPool<InetSocketAddress, T> pool;
+  private final MakerFactory<T> maker;
+  private final Config conf;
+  private final ConcurrentMap<InetSocketAddress, AddressPool<T>> pools =
+      new ConcurrentHashMap<InetSocketAddress, AddressPool<T>>();
+  /** Borrowed clients, so that they can be matched with their transports when returned. */
+  private final ConcurrentMap<T, PooledClient<T>> borrowed =
+      new ConcurrentHashMap<T, PooledClient<T>>();
+  private final AtomicLong totalBorrows = new AtomicLong();
 
   public ThriftClientPool(MakerFactory<T> maker) {
-    pool = new GenericKeyedObjectPool<InetSocketAddress, T>(new PoolFactory(maker),
-        getPoolConfig());
-    try {
-      clientManager = new TAsyncClientManager();
-    } catch (IOException e) {
-      LOG.fatal(e);
-    }
+    this(maker, getPoolConfig());
   }
 
   /** Constructor (for unit tests) which overrides default configuration. */
   protected ThriftClientPool(MakerFactory<T> maker, Config conf) {
-    this(maker);
-    pool.setConfig(conf);
+    this.maker = maker;
+    this.conf = conf;
+    initializeClientManagers();
+    if (conf.timeBetweenEvictionRunsMillis > 0) {
+      getMaintenanceExecutor().scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          evictIdleClients();
+        }
+      }, conf.timeBetweenEvictionRunsMillis, conf.timeBetweenEvictionRunsMillis,
+      TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static synchronized void initializeClientManagers() {
+    if (clientManagers != null) {
+      return;
+    }
+    TAsyncClientManager[] managers = new TAsyncClientManager[Math.max(1, NUM_SELECTOR_THREADS)];
+    for (int i = 0; i < managers.length; i++) {
+      try {
+        managers[i] = new TAsyncClientManager();
+      } catch (IOException e) {
+        LOG.fatal(e);
+      }
+    }
+    clientManagers = managers;
+  }
+
+  /** Returns the thread shared by all pools for evicting idle connections. */
+  private static synchronized ScheduledExecutorService getMaintenanceExecutor() {
+    if (maintenanceExecutor == null) {
+      maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "ThriftClientPool maintenance");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return maintenanceExecutor;
+  }
+
+  private AddressPool<T> getAddressPool(InetSocketAddress socket) {
+    AddressPool<T> pool = pools.get(socket);
+    if (pool == null) {
+      pool = new AddressPool<T>();
+      AddressPool<T> existing = pools.putIfAbsent(socket, pool);
+      if (existing != null) {
+        pool = existing;
+      }
+    }
+    return pool;
+  }
+
+  private PooledClient<T> makeClient(InetSocketAddress socket) throws IOException {
+    return makeClient(new TNonblockingSocket(
+        socket.getAddress().getHostAddress(), socket.getPort()));
+  }
+
+  private PooledClient<T> makeClient(TNonblockingTransport nbTr) {
+    TProtocolFactory factory = new TBinaryProtocol.Factory();
+    TAsyncClientManager manager =
+        clientManagers[(nextClientManager.getAndIncrement() & Integer.MAX_VALUE) %
+                       clientManagers.length];
+    return new PooledClient<T>(maker.create(nbTr, manager, factory), nbTr);
   }
 
-  /** Borrows a client from the pool. */
-  public T borrowClient(InetSocketAddress socket)
-      throws Exception {
-    return pool.borrowObject(socket);
+  /**
+   * Takes an idle client, or creates a new one, for an address where an active slot has
+   * already been reserved. Releases the slot if no client could be created.
+   */
+  private T takeClient(InetSocketAddress socket, AddressPool<T> pool) throws IOException {
+    PooledClient<T> pooled = pool.pollIdle();
+    if (pooled == null) {
+      try {
+        pooled = makeClient(socket);
+      } catch (IOException e) {
+        pool.numActive.decrementAndGet();
+        throw e;
+      }
+    }
+    borrowed.put(pooled.client, pooled);
+    pool.numBorrows.incrementAndGet();
+    totalBorrows.incrementAndGet();
+    return pooled.client;
+  }
+
+  /**
+   * Borrows a client from the pool. Never blocks: throws a {@link NoSuchElementException} if
+   * the maximum number of clients for the address are already borrowed.
+   */
+  public T borrowClient(InetSocketAddress socket) throws Exception {
+    AddressPool<T> pool = getAddressPool(socket);
+    if (!pool.tryReserve(conf.maxActive)) {
+      throw new NoSuchElementException("All " + conf.maxActive + " clients for " + socket +
+                                       " are in use");
+    }
+    return takeClient(socket, pool);
+  }
+
+  /**
+   * Borrows a client from the pool and passes it to {@code callback}. If the maximum number of
+   * clients for the address are already borrowed, the callback is queued until one is
+   * returned, rather than blocking the calling thread.
+   */
+  public void borrowClient(InetSocketAddress socket, BorrowCallback<T> callback) {
+    AddressPool<T> pool = getAddressPool(socket);
+    if (pool.tryReserve(conf.maxActive)) {
+      T client;
+      try {
+        client = takeClient(socket, pool);
+      } catch (IOException e) {
+        callback.onError(e);
+        return;
+      }
+      callback.onBorrow(client);
+      return;
+    }
+    pool.numWaiting.incrementAndGet();
+    pool.waiters.offer(new Waiter<T>(callback));
+    // A client may have been returned after tryReserve() failed but before the waiter was
+    // queued, in which case nobody else will notice the waiter.
+    serveWaiters(socket, pool);
+  }
+
+  /** Hands clients to queued waiters for as long as there are both waiters and free slots. */
+  private void serveWaiters(InetSocketAddress socket, AddressPool<T> pool) {
+    while (!pool.waiters.isEmpty() && pool.tryReserve(conf.maxActive)) {
+      Waiter<T> waiter = pool.waiters.poll();
+      if (waiter == null) {
+        // Another thread served the waiter; give back the slot.
+        pool.numActive.decrementAndGet();
+        continue;
+      }
+      pool.numWaiting.decrementAndGet();
+      pool.numWaits.incrementAndGet();
+      pool.totalWaitNanos.addAndGet(System.nanoTime() - waiter.enqueuedNanos);
+      T client;
+      try {
+        client = takeClient(socket, pool);
+      } catch (IOException e) {
+        waiter.callback.onError(e);
+        continue;
+      }
+      waiter.callback.onBorrow(client);
+    }
   }
 
   /** Returns a client to the pool. */
-  public void returnClient(InetSocketAddress socket, T client)
-      throws Exception {
-    pool.returnObject(socket, client);
+  public void returnClient(InetSocketAddress socket, T client) throws Exception {
+    PooledClient<T> pooled = borrowed.remove(client);
+    if (pooled == null) {
+      throw new IllegalStateException("Returned client was not borrowed from this pool");
+    }
+    AddressPool<T> pool = getAddressPool(socket);
+    pool.offerIdle(pooled);
+    pool.numActive.decrementAndGet();
+    serveWaiters(socket, pool);
+  }
+
+  /**
+   * Closes a client that is no longer usable (e.g., because an RPC on it failed), freeing its
+   * slot for a new client.
+   */
+  public void invalidateClient(InetSocketAddress socket, T client) {
+    PooledClient<T> pooled = borrowed.remove(client);
+    if (pooled == null) {
+      return;
+    }
+    pooled.transport.close();
+    AddressPool<T> pool = getAddressPool(socket);
+    pool.numActive.decrementAndGet();
+    serveWaiters(socket, pool);
+  }
+
+  /** Closes clients that have been idle for longer than the configured time. */
+  private void evictIdleClients() {
+    long evictBefore = System.currentTimeMillis() - conf.minEvictableIdleTimeMillis;
+    for (AddressPool<T> pool : pools.values()) {
+      // Only look at the clients that were idle when we started, so that clients returned
+      // during eviction are not examined twice.
+      int toExamine = pool.numIdle.get();
+      for (int i = 0; i < toExamine; i++) {
+        PooledClient<T> pooled = pool.pollIdle();
+        if (pooled == null) {
+          break;
+        }
+        if (pooled.lastReturnedMillis < evictBefore) {
+          pooled.transport.close();
+        } else {
+          pool.idle.offer(pooled);
+          pool.numIdle.incrementAndGet();
+        }
+      }
+    }
   }
 
   public int getNumActive(InetSocketAddress socket) {
-    return pool.getNumActive(socket);
+    AddressPool<T> pool = pools.get(socket);
+    return pool == null ? 0 : pool.numActive.get();
   }
 
   public int getNumIdle(InetSocketAddress socket) {
-    return pool.getNumIdle(socket);
+    AddressPool<T> pool = pools.get(socket);
+    return pool == null ? 0 : pool.numIdle.get();
+  }
+
+  /** Returns the number of callers queued waiting for a client for the given address. */
+  public int getNumWaiting(InetSocketAddress socket) {
+    AddressPool<T> pool = pools.get(socket);
+    return pool == null ? 0 : pool.numWaiting.get();
+  }
+
+  /** Returns the number of clients that have been borrowed for the given address. */
+  public long getNumBorrows(InetSocketAddress socket) {
+    AddressPool<T> pool = pools.get(socket);
+    return pool == null ? 0 : pool.numBorrows.get();
+  }
+
+  /**
+   * Registers gauges, named with the given prefix, for the number of clients borrowed, the
+   * number of callers currently queued waiting for a client, and the mean time that queued
+   * callers waited, in microseconds.
+   */
+  public void registerMetrics(String prefix) {
+    MetricsRegistry metrics = MetricsRegistry.getInstance();
+    metrics.registerGauge(prefix + "borrows", new Gauge() {
+      @Override
+      public long getValue() {
+        return totalBorrows.get();
+      }
+    });
+    metrics.registerGauge(prefix + "waiting", new Gauge() {
+      @Override
+      public long getValue() {
+        long numWaiting = 0;
+        for (AddressPool<T> pool : pools.values()) {
+          numWaiting += pool.numWaiting.get();
+        }
+        return numWaiting;
+      }
+    });
+    metrics.registerGauge(prefix + "mean_wait_us", new Gauge() {
+      @Override
+      public long getValue() {
+        long numWaits = 0;
+        long totalWaitNanos = 0;
+        for (AddressPool<T> pool : pools.values()) {
+          numWaits += pool.numWaits.get();
+          totalWaitNanos += pool.totalWaitNanos.get();
+        }
+        return numWaits == 0 ? 0 : totalWaitNanos / numWaits / 1000;
+      }
+    });
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Traces calls to one method, replacing {@link Logging#functionCall(Object...)} on hot paths.
+ *
+ * Each traced method has its own statically created Trace, so the method name doesn't need to
+ * be found by walking the stack. Calls are only rendered if the class's logger has DEBUG
+ * enabled and the call's request is sampled (see {@link #setSampleRate(double)}); the
+ * fixed-arity {@code call} methods avoid even allocating an argument array otherwise. Traced
+ * calls are logged in the same format as {@link Logging#functionCall(Object...)}.
+ */
+public class Trace {
+  /** Requests whose ids hash to a bucket below this threshold are traced. */
+  private static volatile int sampleThreshold = Logging.SAMPLE_BUCKETS;
+
+  private final Logger logger;
+  private final String method;
+
+  private Trace(Logger logger, String method) {
+    this.logger = logger;
+    this.method = method;
+  }
+
+  /** Returns a trace for calls to {@code method}, logged using {@code clazz}'s logger. */
+  @SuppressWarnings("rawtypes")
+  public static Trace forMethod(Class clazz, String method) {
+    return new Trace(Logger.getLogger(clazz), method);
+  }
+
+  /**
+   * Traces the given fraction of requests. Calls not associated with a request are traced
+   * whenever DEBUG logging is enabled.
+   */
+  public static void setSampleRate(double sampleRate) {
+    sampleThreshold = Logging.sampleThreshold(sampleRate);
+  }
+
+  /** Returns whether calls for the given request (which may be null) are traced. */
+  public boolean isEnabled(String requestId) {
+    return logger.isDebugEnabled() && Logging.isSampled(requestId, sampleThreshold);
+  }
+
+  public void call(String requestId, Object param) {
+    if (isEnabled(requestId)) {
+      log(new Object[] {param});
+    }
+  }
+
+  public void call(String requestId, Object param1, Object param2) {
+    if (isEnabled(requestId)) {
+      log(new Object[] {param1, param2});
+    }
+  }
+
+  public void call(String requestId, Object param1, Object param2, Object param3) {
+    if (isEnabled(requestId)) {
+      log(new Object[] {param1, param2, param3});
+    }
+  }
+
+  public void call(String requestId, Object param1, Object param2, Object param3,
+      Object param4) {
+    if (isEnabled(requestId)) {
+      log(new Object[] {param1, param2, param3, param4});
+    }
+  }
+
+  private void log(Object[] params) {
+    logger.debug(Logging.formatCall(method, params));
+  }
+}
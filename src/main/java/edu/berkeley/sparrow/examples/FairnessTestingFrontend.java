@@ -34,10 +34,10 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
+import edu.berkeley.sparrow.api.FrontendServer;
 import edu.berkeley.sparrow.api.SparrowFrontendClient;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
 import edu.berkeley.sparrow.daemon.util.Serialization;
-import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TPlacementPreference;
 import edu.berkeley.sparrow.thrift.TTaskSpec;
@@ -46,7 +46,7 @@ import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 /**
  * Frontend for the prototype implementation.
  */
-public class FairnessTestingFrontend implements FrontendService.Iface {
+public class FairnessTestingFrontend extends FrontendServer {
   /** Jobs/second during warmup period. */
   public static final double DEFAULT_WARMUP_JOB_ARRIVAL_RATE_S = 10;
 
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.examples;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.thrift.TException;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+import edu.berkeley.sparrow.api.FrontendServer;
+import edu.berkeley.sparrow.api.SparrowFrontendClient;
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.nodemonitor.NodeMonitorThrift;
+import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
+import edu.berkeley.sparrow.daemon.util.Resources;
+import edu.berkeley.sparrow.daemon.util.ThriftClientPool;
+import edu.berkeley.sparrow.daemon.util.Trace;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * Runs a whole Sparrow cluster in one process, on loopback ports, and measures how quickly it
+ * schedules jobs: one or more schedulers, N node monitors (in standalone mode), and a
+ * {@link SyntheticBackend} for each node monitor.
+ *
+ * Jobs arrive as an open-loop Poisson process, so a slow scheduler delays jobs rather than
+ * slowing down arrivals; latencies are measured from when each job was supposed to arrive.
+ * Jobs are submitted to the schedulers in turn. The harness reports the distribution of the
+ * time from a job's arrival until each of its tasks launches, and until its last task finishes.
+ *
+ * Ports are allocated from {@code --base-port}: scheduler i uses the base port + 10 * i (and
+ * {@link SchedulerThrift#getTaskPort} of that), the frontend uses the port after the last
+ * scheduler's, and each node monitor uses the next three ports for its node monitor and
+ * internal servers and its backend. Settings other than ports (probe ratio, task scheduler,
+ * and so on) are read from an optional Sparrow configuration file.
+ */
+public class LocalClusterHarness extends FrontendServer implements SyntheticBackend.Listener {
+  private static final Logger LOG = Logger.getLogger(LocalClusterHarness.class);
+  public static final String APP_ID = "harness";
+  private static final String HOST = "127.0.0.1";
+  private static final TUserGroupInfo USER = new TUserGroupInfo("user", "group", 0);
+
+  /** A job that has arrived, but not finished. */
+  private static class Job {
+    final long arrivalNanos;
+    final boolean measured;
+    final AtomicInteger remainingTasks;
+
+    Job(long arrivalNanos, boolean measured, int numTasks) {
+      this.arrivalNanos = arrivalNanos;
+      this.measured = measured;
+      this.remainingTasks = new AtomicInteger(numTasks);
+    }
+  }
+
+  private final Configuration conf;
+  private final int numSchedulers;
+  private final int numNodeMonitors;
+  private final int basePort;
+  private final SyntheticBackend.TaskType taskType;
+
+  private final List<SparrowFrontendClient> clients = Lists.newArrayList();
+  private final ConcurrentMap<Long, Job> outstandingJobs = new ConcurrentHashMap<Long, Job>();
+  private final AtomicLong jobsCompleted = new AtomicLong();
+  private final AtomicLong tasksLaunched = new AtomicLong();
+  private final AtomicLong failedSubmissions = new AtomicLong();
+  private final Histogram launchLatencyMicros = new Histogram();
+  private final Histogram responseTimeMicros = new Histogram();
+
+  public LocalClusterHarness(Configuration conf, int numSchedulers, int numNodeMonitors,
+      int basePort, SyntheticBackend.TaskType taskType) {
+    this.conf = conf;
+    this.numSchedulers = numSchedulers;
+    this.numNodeMonitors = numNodeMonitors;
+    this.basePort = basePort;
+    this.taskType = taskType;
+  }
+
+  private int schedulerPort(int scheduler) {
+    return basePort + 10 * scheduler;
+  }
+
+  private int frontendPort() {
+    return schedulerPort(numSchedulers);
+  }
+
+  private int nodeMonitorPort(int nodeMonitor) {
+    return frontendPort() + 1 + 3 * nodeMonitor;
+  }
+
+  /** Starts the node monitors, backends and schedulers, and connects to each scheduler. */
+  public void start() throws Exception {
+    conf.setProperty(SparrowConf.DEPLYOMENT_MODE, "standalone");
+    conf.setProperty(SparrowConf.HOSTNAME, HOST);
+    conf.clearProperty(SparrowConf.GET_TASK_PORT);
+    Trace.setSampleRate(conf.getDouble(SparrowConf.TRACE_SAMPLE_RATE,
+        SparrowConf.DEFAULT_TRACE_SAMPLE_RATE));
+    ThriftClientPool.NUM_SELECTOR_THREADS = conf.getInt(
+        SparrowConf.THRIFT_CLIENT_SELECTOR_THREADS, ThriftClientPool.NUM_SELECTOR_THREADS);
+
+    int slots = Resources.getSystemCPUCount(conf);
+    ScheduledExecutorService sleepExecutor = Executors.newScheduledThreadPool(
+        Runtime.getRuntime().availableProcessors(), daemonThreads());
+    ExecutorService cpuExecutor = Executors.newFixedThreadPool(
+        numNodeMonitors * slots, daemonThreads());
+    for (int i = 0; i < numNodeMonitors; i++) {
+      int port = nodeMonitorPort(i);
+      new NodeMonitorThrift().initialize(conf, port, port + 1);
+      new SyntheticBackend(taskType, this, sleepExecutor, cpuExecutor).initialize(
+          APP_ID, port + 2, HOST, port);
+    }
+
+    for (int i = 0; i < numSchedulers; i++) {
+      conf.setProperty(SparrowConf.SCHEDULER_THRIFT_PORT, schedulerPort(i));
+      new SchedulerThrift().initialize(conf);
+    }
+    // Give the thrift servers a moment to start listening.
+    Thread.sleep(500);
+    for (int i = 0; i < numSchedulers; i++) {
+      SparrowFrontendClient client = new SparrowFrontendClient();
+      client.initialize(new InetSocketAddress(HOST, schedulerPort(i)), APP_ID, this,
+                        frontendPort());
+      clients.add(client);
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    final ThreadFactory factory = Executors.defaultThreadFactory();
+    return new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = factory.newThread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  /**
+   * Submits jobs at the given average rate for {@code durationMillis}, and then waits up to
+   * {@code drainMillis} for the outstanding jobs to finish. Only jobs that arrive after
+   * {@code warmupMillis} are measured.
+   */
+  public void run(double jobsPerSecond, int tasksPerJob, long taskMicros, long warmupMillis,
+      long durationMillis, long drainMillis, Random random) throws InterruptedException {
+    double meanInterarrivalNanos = 1e9 / jobsPerSecond;
+    long start = System.nanoTime();
+    long end = start + durationMillis * 1000000;
+    long measureStart = start + warmupMillis * 1000000;
+    long arrival = start;
+    long jobId = 0;
+    while (true) {
+      arrival += Math.round(-meanInterarrivalNanos * Math.log(1 - random.nextDouble()));
+      if (arrival >= end) {
+        break;
+      }
+      long now;
+      while ((now = System.nanoTime()) < arrival) {
+        LockSupport.parkNanos(arrival - now);
+      }
+      final long id = jobId++;
+      SparrowFrontendClient client = clients.get((int) (id % clients.size()));
+      List<TTaskSpec> tasks = Lists.newArrayListWithCapacity(tasksPerJob);
+      for (int i = 0; i < tasksPerJob; i++) {
+        TTaskSpec task = new TTaskSpec();
+        task.setTaskId(Integer.toString(i));
+        task.setMessage(SyntheticBackend.makeMessage(id, taskMicros));
+        tasks.add(task);
+      }
+      outstandingJobs.put(id, new Job(arrival, arrival >= measureStart, tasksPerJob));
+      TSchedulingRequest request = new TSchedulingRequest(APP_ID, tasks, USER);
+      Futures.addCallback(client.submitRequestAsync(request), new FutureCallback<Void>() {
+        @Override
+        public void onSuccess(Void result) {}
+
+        @Override
+        public void onFailure(Throwable t) {
+          LOG.error("Error submitting job " + id, t);
+          failedSubmissions.incrementAndGet();
+          outstandingJobs.remove(id);
+        }
+      });
+    }
+    long drainEnd = System.currentTimeMillis() + drainMillis;
+    while (!outstandingJobs.isEmpty() && System.currentTimeMillis() < drainEnd) {
+      Thread.sleep(10);
+    }
+  }
+
+  @Override
+  public void taskLaunched(long jobId) {
+    Job job = outstandingJobs.get(jobId);
+    if (job == null) {
+      return;
+    }
+    if (job.measured) {
+      tasksLaunched.incrementAndGet();
+      launchLatencyMicros.record((System.nanoTime() - job.arrivalNanos) / 1000);
+    }
+  }
+
+  @Override
+  public void taskFinished(long jobId) {
+    Job job = outstandingJobs.get(jobId);
+    if (job == null || job.remainingTasks.decrementAndGet() > 0) {
+      return;
+    }
+    outstandingJobs.remove(jobId);
+    if (job.measured) {
+      jobsCompleted.incrementAndGet();
+      responseTimeMicros.record((System.nanoTime() - job.arrivalNanos) / 1000);
+    }
+  }
+
+  @Override
+  public void frontendMessage(TFullTaskId taskId, int status, ByteBuffer message)
+      throws TException {
+    // Synthetic tasks don't send messages.
+  }
+
+  /** Returns the number of measured jobs that finished. */
+  public long getJobsCompleted() {
+    return jobsCompleted.get();
+  }
+
+  /** Returns the number of jobs that haven't finished (including unmeasured ones). */
+  public int getNumOutstandingJobs() {
+    return outstandingJobs.size();
+  }
+
+  public long getFailedSubmissions() {
+    return failedSubmissions.get();
+  }
+
+  /** Returns the time from arrival until launch, in microseconds, of each measured task. */
+  public Histogram.Snapshot getLaunchLatencies() {
+    return launchLatencyMicros.snapshot();
+  }
+
+  /** Returns the time from arrival until completion, in microseconds, of each measured job. */
+  public Histogram.Snapshot getResponseTimes() {
+    return responseTimeMicros.snapshot();
+  }
+
+  public void printResults(long measuredMillis) {
+    System.out.println(String.format(
+        "%d jobs (%d tasks) completed in %.1f measured seconds: %.1f tasks/s",
+        jobsCompleted.get(), tasksLaunched.get(), measuredMillis / 1000.0,
+        tasksLaunched.get() / (measuredMillis / 1000.0)));
+    if (failedSubmissions.get() > 0) {
+      System.out.println("WARNING: " + failedSubmissions.get() + " jobs could not be submitted");
+    }
+    if (!outstandingJobs.isEmpty()) {
+      System.out.println("WARNING: " + outstandingJobs.size() + " jobs never finished");
+    }
+    printDistribution("Submit to launch (ms)", launchLatencyMicros.snapshot());
+    printDistribution("End to end (ms)", responseTimeMicros.snapshot());
+  }
+
+  private static void printDistribution(String name, Histogram.Snapshot snapshot) {
+    System.out.println(String.format(
+        "%-22s mean %.2f, p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f",
+        name, snapshot.getMean() / 1000, snapshot.getPercentile(50) / 1000.0,
+        snapshot.getPercentile(90) / 1000.0, snapshot.getPercentile(99) / 1000.0,
+        snapshot.getPercentile(99.9) / 1000.0, snapshot.getMax() / 1000.0));
+  }
+
+  public static void main(String[] args) throws Exception {
+    OptionParser parser = new OptionParser();
+    parser.accepts("c", "Sparrow configuration file with scheduler and node monitor settings").
+      withRequiredArg().ofType(String.class);
+    parser.accepts("schedulers", "number of schedulers").
+      withRequiredArg().ofType(Integer.class).defaultsTo(1);
+    parser.accepts("node-monitors", "number of node monitors").
+      withRequiredArg().ofType(Integer.class).defaultsTo(10);
+    parser.accepts("slots", "slots per node monitor (overrides the configuration file)").
+      withRequiredArg().ofType(Integer.class);
+    parser.accepts("backend", "task type: sleep, cpu or noop").
+      withRequiredArg().ofType(String.class).defaultsTo("sleep");
+    parser.accepts("rate", "job arrival rate, in jobs per second").
+      withRequiredArg().ofType(Double.class).defaultsTo(100.0);
+    parser.accepts("tasks", "tasks per job").
+      withRequiredArg().ofType(Integer.class).defaultsTo(1);
+    parser.accepts("task-ms", "task duration in milliseconds").
+      withRequiredArg().ofType(Double.class).defaultsTo(10.0);
+    parser.accepts("warmup-s", "seconds of arrivals to exclude from the results").
+      withRequiredArg().ofType(Integer.class).defaultsTo(5);
+    parser.accepts("duration-s", "seconds of arrivals, including the warmup").
+      withRequiredArg().ofType(Integer.class).defaultsTo(35);
+    parser.accepts("base-port", "first port to use").
+      withRequiredArg().ofType(Integer.class).defaultsTo(30000);
+    parser.accepts("seed", "random seed").
+      withRequiredArg().ofType(Long.class).defaultsTo(1L);
+    parser.accepts("help", "print help statement");
+    OptionSet options = parser.parse(args);
+
+    if (options.has("help")) {
+      parser.printHelpOn(System.out);
+      System.exit(-1);
+    }
+
+    BasicConfigurator.configure();
+    Configuration conf = options.has("c") ?
+        new PropertiesConfiguration((String) options.valueOf("c")) :
+        new PropertiesConfiguration();
+    Logger.getRootLogger().setLevel(
+        Level.toLevel(conf.getString(SparrowConf.LOG_LEVEL, ""), Level.WARN));
+    if (options.has("slots")) {
+      conf.setProperty(SparrowConf.SYSTEM_CPUS, options.valueOf("slots"));
+    }
+    // The default thread counts are sized for one node monitor per machine.
+    if (!conf.containsKey(SparrowConf.NM_THRIFT_THREADS)) {
+      conf.setProperty(SparrowConf.NM_THRIFT_THREADS, 2);
+    }
+    if (!conf.containsKey(SparrowConf.INTERNAL_THRIFT_THREADS)) {
+      conf.setProperty(SparrowConf.INTERNAL_THRIFT_THREADS, 2);
+    }
+
+    int numSchedulers = (Integer) options.valueOf("schedulers");
+    LocalClusterHarness harness = new LocalClusterHarness(conf, numSchedulers,
+        (Integer) options.valueOf("node-monitors"), (Integer) options.valueOf("base-port"),
+        SyntheticBackend.TaskType.valueOf(((String) options.valueOf("backend")).toUpperCase()));
+    harness.start();
+
+    long warmupMillis = (Integer) options.valueOf("warmup-s") * 1000L;
+    long durationMillis = (Integer) options.valueOf("duration-s") * 1000L;
+    harness.run((Double) options.valueOf("rate"), (Integer) options.valueOf("tasks"),
+        Math.round((Double) options.valueOf("task-ms") * 1000), warmupMillis, durationMillis,
+        30000, new Random((Long) options.valueOf("seed")));
+    harness.printResults(durationMillis - warmupMillis);
+    System.exit(0);
+  }
+}
@@ -17,12 +17,10 @@
 package edu.berkeley.sparrow.examples;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.Random;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import joptsimple.OptionParser;
@@ -36,13 +34,8 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
-import com.google.common.collect.Lists;
-
+import edu.berkeley.sparrow.api.SparrowBackendClient;
 import edu.berkeley.sparrow.daemon.nodemonitor.NodeMonitorThrift;
-import edu.berkeley.sparrow.daemon.util.TClients;
-import edu.berkeley.sparrow.daemon.util.TServers;
-import edu.berkeley.sparrow.thrift.BackendService;
-import edu.berkeley.sparrow.thrift.NodeMonitorService.Client;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 
@@ -50,13 +43,10 @@ import edu.berkeley.sparrow.thrift.TUserGroupInfo;
  * A prototype Sparrow backend.
  *
  * This backend is capable of performing a number of benchmark tasks, each representing
- * distinct resource consumption profiles. It initiates a thrift server with a bounded
- * size thread pool (of at most {@code WORKER_THREADS} threads). To makes sure that
- * we never queue tasks, we additionally spawn a new thread each time a task is launched.
- * In the future, we will have launchTask() directly execute the task and rely on queuing
- * in the underlying thread pool to queue if task launches exceed capacity.
+ * distinct resource consumption profiles. Tasks run on a pool of {@code TASK_WORKER_THREADS}
+ * threads, managed by a {@link SparrowBackendClient}.
  */
-public class ProtoBackend implements BackendService.Iface {
+public class ProtoBackend implements SparrowBackendClient.TaskRunner {
   /** Benchmark which, on each iteration, runs 1 million random floating point
    *  multiplications.*/
   public static int BENCHMARK_TYPE_FP_CPU = 1;
@@ -76,13 +66,9 @@ public class ProtoBackend implements BackendService.Iface {
   private static final int DEFAULT_LISTEN_PORT = 20101;
 
   /**
-   * This indicates how many threads can concurrently be answering function calls
-   * from the NM. Each task is launched in a new thread from one of these threads. If tasks
-   * launches arrive fast enough that all worker threads are concurrently executing
-   * a task, this will queue. We currently launch new threads for each task to prevent
-   * this from happening.
+   * How many tasks can run concurrently. If task launches arrive fast enough that all worker
+   * threads are concurrently executing a task, tasks will queue.
    */
-  private static final int THRIFT_WORKER_THREADS = 16;
   private static final int TASK_WORKER_THREADS = 16;
   private static final String APP_ID = "testApp";
 
@@ -90,80 +76,42 @@ public class ProtoBackend implements BackendService.Iface {
   private static final String NM_HOST = "localhost";
   private static int NM_PORT;
 
-  private static Client client;
-
   private static final Logger LOG = Logger.getLogger(ProtoBackend.class);
-  private static final ExecutorService executor =
-      Executors.newFixedThreadPool(TASK_WORKER_THREADS);
-
-  /**
-   * Keeps track of finished tasks.
-   *
-   *  A single thread pulls items off of this queue and uses
-   * the client to notify the node monitor that tasks have finished.
-   */
-  private final BlockingQueue<TFullTaskId> finishedTasks = new LinkedBlockingQueue<TFullTaskId>();
 
   /**
-   * Thread that sends taskFinished() RPCs to the node monitor.
-   *
-   * We do this in a single thread so that we just need a single client to the node monitor
-   * and don't need to create a new client for each task.
+   * Client that runs tasks and reports them to the node monitor when they finish. Finished
+   * tasks are batched, so that we don't need an RPC for each task.
    */
-  private class TasksFinishedRpcRunnable implements Runnable {
-	  @Override
-	  public void run() {
-		  while (true) {
-		  	try {
-		  		TFullTaskId task = finishedTasks.take();
-					client.tasksFinished(Lists.newArrayList(task));
-				} catch (InterruptedException e) {
-					LOG.error("Error taking a task from the queue: " + e.getMessage());
-				} catch (TException e) {
-					LOG.error("Error with tasksFinished() RPC:" + e.getMessage());
-				}
-		  }
-	  }
-  }
+  private final SparrowBackendClient client = new SparrowBackendClient(
+      Executors.newFixedThreadPool(TASK_WORKER_THREADS), SparrowBackendClient.DEFAULT_MAX_DELAY_US,
+      SparrowBackendClient.DEFAULT_MAX_BATCH_SIZE);
 
   /**
-   * Thread spawned for each task. It runs for a given amount of time (and adds
-   * its resources to the total resources for that time) then stops. It updates
-   * the NodeMonitor when it launches and again when it finishes.
+   * Runs a task. The task's message gives the benchmark to run and the number of iterations to
+   * run it for.
    */
-  private class TaskRunnable implements Runnable {
-    private int benchmarkId;
-    private int benchmarkIterations;
-    private TFullTaskId taskId;
-
-    public TaskRunnable(String requestId, TFullTaskId taskId, ByteBuffer message) {
-      this.benchmarkId = message.getInt();
-      this.benchmarkIterations = message.getInt();
-      this.taskId = taskId;
+  @Override
+  public void runTask(TFullTaskId taskId, TUserGroupInfo user, ByteBuffer message) {
+    // Note we ignore user here
+    int benchmarkId = message.getInt();
+    int benchmarkIterations = message.getInt();
+    if (startTime == -1) {
+      startTime = System.currentTimeMillis();
     }
 
-    @Override
-    public void run() {
-      if (startTime == -1) {
-        startTime = System.currentTimeMillis();
-      }
-
-      long taskStart = System.currentTimeMillis();
+    long taskStart = System.currentTimeMillis();
 
-      int tasks = numTasks.addAndGet(1);
-      double taskRate = ((double) tasks) * 1000 /
-          (System.currentTimeMillis() - startTime);
-      LOG.debug("Aggregate task rate: " + taskRate + " (" + tasks + " launched)");
+    int tasks = numTasks.addAndGet(1);
+    double taskRate = ((double) tasks) * 1000 /
+        (System.currentTimeMillis() - startTime);
+    LOG.debug("Aggregate task rate: " + taskRate + " (" + tasks + " launched)");
 
-      Random r = new Random();
+    Random r = new Random();
 
-      long benchmarkStart = System.currentTimeMillis();
-      runBenchmark(benchmarkId, benchmarkIterations, r);
-      LOG.debug("Benchmark runtime: " + (System.currentTimeMillis() - benchmarkStart));
-
-      finishedTasks.add(taskId);
-      LOG.debug("Task running for " + (System.currentTimeMillis() - taskStart) + " ms");
-    }
+    long benchmarkStart = System.currentTimeMillis();
+    runBenchmark(benchmarkId, benchmarkIterations, r);
+    LOG.debug("Benchmark runtime: " + (System.currentTimeMillis() - benchmarkStart));
+    LOG.debug("Task running for " + (System.currentTimeMillis() - taskStart) + " ms");
   }
 
   /**
@@ -231,35 +179,11 @@ public class ProtoBackend implements BackendService.Iface {
 
   /**
    * Initializes the backend by registering with the node monitor.
-   *
-   * Also starts a thread that handles finished tasks (by sending an RPC to the node monitor).
    */
-  public void initialize(int listenPort) {
-    // Register server.
-    try {
-			client = TClients.createBlockingNmClient(NM_HOST, NM_PORT);
-		} catch (IOException e) {
-			LOG.debug("Error creating Thrift client: " + e.getMessage());
-		}
-
-    try {
-      client.registerBackend(APP_ID, "localhost:" + listenPort);
-      LOG.debug("Client successfully registered");
-    } catch (TException e) {
-      LOG.debug("Error while registering backend: " + e.getMessage());
-    }
-
-    new Thread(new TasksFinishedRpcRunnable()).start();
-  }
-
-  @Override
-  public void launchTask(ByteBuffer message, TFullTaskId taskId,
-      TUserGroupInfo user) throws TException {
-    LOG.info("Submitting task " + taskId.getTaskId() + " at " + System.currentTimeMillis());
-
-    // Note we ignore user here
-    executor.submit(new TaskRunnable(
-        taskId.requestId, taskId, message));
+  public void initialize(int listenPort) throws IOException, TException {
+    client.initializeWithRunner(new InetSocketAddress(NM_HOST, NM_PORT), APP_ID, this,
+                                listenPort);
+    LOG.debug("Client successfully registered");
   }
 
   public static void main(String[] args) throws IOException, TException {
@@ -287,14 +211,9 @@ public class ProtoBackend implements BackendService.Iface {
         conf = new PropertiesConfiguration(configFile);
       } catch (ConfigurationException e) {}
     }
-    // Start backend server
     ProtoBackend protoBackend = new ProtoBackend();
-    BackendService.Processor<BackendService.Iface> processor =
-        new BackendService.Processor<BackendService.Iface>(protoBackend);
-
     int listenPort = conf.getInt("listen_port", DEFAULT_LISTEN_PORT);
     NM_PORT = conf.getInt("node_monitor_port", NodeMonitorThrift.DEFAULT_NM_THRIFT_PORT);
-    TServers.launchThreadedThriftServer(listenPort, THRIFT_WORKER_THREADS, processor);
     protoBackend.initialize(listenPort);
   }
 }
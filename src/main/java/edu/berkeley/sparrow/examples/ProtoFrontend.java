@@ -34,19 +34,23 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+import edu.berkeley.sparrow.api.FrontendServer;
 import edu.berkeley.sparrow.api.SparrowFrontendClient;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
 import edu.berkeley.sparrow.daemon.util.Serialization;
-import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
 import edu.berkeley.sparrow.thrift.TTaskSpec;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 
 /**
  * Frontend for the prototype implementation.
  */
-public class ProtoFrontend implements FrontendService.Iface {
+public class ProtoFrontend extends FrontendServer {
   /** Jobs/second during warmup period. */
   public static final double DEFAULT_WARMUP_JOB_ARRIVAL_RATE_S = 10;
 
@@ -95,31 +99,25 @@ public class ProtoFrontend implements FrontendService.Iface {
   public final static long startTime = System.currentTimeMillis();
   public static AtomicInteger tasksLaunched = new AtomicInteger(0);
 
-  /** A runnable which Spawns a new thread to launch a scheduling request. */
-  private class JobLaunchRunnable implements Runnable {
-    private List<TTaskSpec> request;
-    private SparrowFrontendClient client;
-    UserInfo user;
-
-    public JobLaunchRunnable(List<TTaskSpec> request, UserInfo user, SparrowFrontendClient client) {
-      this.request = request;
-      this.client = client;
-      this.user = user;
-    }
-
-    @Override
-    public void run() {
-      long start = System.currentTimeMillis();
-      TUserGroupInfo userInfo = new TUserGroupInfo(user.user, "*", user.priority);
-      try {
-        client.submitJob(APPLICATION_ID, request, userInfo);
+  /** Submits a job without waiting for the scheduler, and logs the outcome. */
+  private void launchJob(final List<TTaskSpec> request, UserInfo user,
+      SparrowFrontendClient client) throws InterruptedException {
+    final long start = System.currentTimeMillis();
+    final TUserGroupInfo userInfo = new TUserGroupInfo(user.user, "*", user.priority);
+    Futures.addCallback(client.submitRequestAsync(
+        new TSchedulingRequest(APPLICATION_ID, request, userInfo)), new FutureCallback<Void>() {
+      @Override
+      public void onSuccess(Void result) {
         LOG.debug("Submitted job: " + request + " for user " + userInfo);
-      } catch (TException e) {
-        LOG.error("Scheduling request failed!", e);
+        long end = System.currentTimeMillis();
+        LOG.debug("Scheduling request duration " + (end - start));
       }
-      long end = System.currentTimeMillis();
-      LOG.debug("Scheduling request duration " + (end - start));
-    }
+
+      @Override
+      public void onFailure(Throwable t) {
+        LOG.error("Scheduling request failed!", t);
+      }
+    });
   }
 
   public static class UserInfo {
@@ -318,11 +316,9 @@ public class ProtoFrontend implements FrontendService.Iface {
       LOG.debug("Launching task for user " + user.user + " (" + user.totalTasksLaunched +
           " total tasks launched for this user)");
 
-      Runnable runnable =  new JobLaunchRunnable(
-          generateJob(tasksPerJob, numPreferredNodes, backends, benchmarkId,
-                      benchmarkIterations),
-          user, client);
-      new Thread(runnable).start();
+      launchJob(generateJob(tasksPerJob, numPreferredNodes, backends, benchmarkId,
+                            benchmarkIterations),
+                user, client);
       int launched = tasksLaunched.addAndGet(1);
       double launchRate = (double) launched * 1000.0 /
           (System.currentTimeMillis() - startTime);
@@ -17,11 +17,9 @@
 package edu.berkeley.sparrow.examples;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
@@ -34,26 +32,21 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
-import com.google.common.collect.Lists;
-
+import edu.berkeley.sparrow.api.SparrowBackendClient;
 import edu.berkeley.sparrow.daemon.nodemonitor.NodeMonitorThrift;
-import edu.berkeley.sparrow.daemon.util.TClients;
-import edu.berkeley.sparrow.daemon.util.TServers;
-import edu.berkeley.sparrow.thrift.BackendService;
-import edu.berkeley.sparrow.thrift.NodeMonitorService.Client;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 
 /**
  * A prototype Sparrow backend that runs sleep tasks.
  */
-public class SimpleBackend implements BackendService.Iface {
+public class SimpleBackend implements SparrowBackendClient.TaskRunner {
 
   private static final String LISTEN_PORT = "listen_port";
   private static final int DEFAULT_LISTEN_PORT = 20101;
 
   /**
-   * Each task is launched in its own thread from a thread pool with WORKER_THREADS threads,
+   * Each task runs in its own thread from a thread pool with WORKER_THREADS threads,
    * so this should be set equal to the maximum number of tasks that can be running on a worker.
    */
   private static final int WORKER_THREADS = 16;
@@ -64,99 +57,34 @@ public class SimpleBackend implements BackendService.Iface {
   private static final String DEFAULT_NODE_MONITOR_HOST = "localhost";
   private static String NODE_MONITOR_PORT = "node_monitor_port";
 
-  private static Client client;
-
   private static final Logger LOG = Logger.getLogger(SimpleBackend.class);
-  private static final ExecutorService executor =
-      Executors.newFixedThreadPool(WORKER_THREADS);
-
-  /**
-   * Keeps track of finished tasks.
-   *
-   * A single thread pulls items off of this queue and uses
-   * the client to notify the node monitor that tasks have finished.
-   */
-  private final BlockingQueue<TFullTaskId> finishedTasks = new LinkedBlockingQueue<TFullTaskId>();
 
   /**
-   * Thread that sends taskFinished() RPCs to the node monitor.
-   *
-   * We do this in a single thread so that we just need a single client to the node monitor
-   * and don't need to create a new client for each task.
+   * Client that runs tasks and reports them to the node monitor when they finish. Finished
+   * tasks are batched, so that we don't need an RPC for each task.
    */
-  private class TasksFinishedRpcRunnable implements Runnable {
-	  @Override
-	  public void run() {
-		  while (true) {
-		  	try {
-		  		TFullTaskId task = finishedTasks.take();
-					client.tasksFinished(Lists.newArrayList(task));
-				} catch (InterruptedException e) {
-					LOG.error("Error taking a task from the queue: " + e.getMessage());
-				} catch (TException e) {
-					LOG.error("Error with tasksFinished() RPC:" + e.getMessage());
-				}
-		  }
-	  }
-  }
-
-  /**
-   * Thread spawned for each task. It runs for a given amount of time (and adds
-   * its resources to the total resources for that time) then stops. It updates
-   * the NodeMonitor when it launches and again when it finishes.
-   */
-  private class TaskRunnable implements Runnable {
-    private int taskDurationMillis;
-    private TFullTaskId taskId;
-
-    public TaskRunnable(String requestId, TFullTaskId taskId, ByteBuffer message) {
-      this.taskDurationMillis = message.getInt();
-      this.taskId = taskId;
-    }
-
-    @Override
-    public void run() {
-      long startTime = System.currentTimeMillis();
-      try {
-        Thread.sleep(taskDurationMillis);
-      } catch (InterruptedException e) {
-        LOG.error("Interrupted while sleeping: " + e.getMessage());
-      }
-      LOG.debug("Task completed in " + (System.currentTimeMillis() - startTime) + "ms");
-      finishedTasks.add(taskId);
-    }
-  }
+  private final SparrowBackendClient client = new SparrowBackendClient(
+      Executors.newFixedThreadPool(WORKER_THREADS), SparrowBackendClient.DEFAULT_MAX_DELAY_US,
+      SparrowBackendClient.DEFAULT_MAX_BATCH_SIZE);
 
   /**
    * Initializes the backend by registering with the node monitor.
-   *
-   * Also starts a thread that handles finished tasks (by sending an RPC to the node monitor).
    */
-  public void initialize(int listenPort, String nodeMonitorHost, int nodeMonitorPort) {
-    // Register server.
-    try {
-			client = TClients.createBlockingNmClient(nodeMonitorHost, nodeMonitorPort);
-		} catch (IOException e) {
-			LOG.debug("Error creating Thrift client: " + e.getMessage());
-		}
-
-    try {
-      client.registerBackend(APP_ID, "localhost:" + listenPort);
-      LOG.debug("Client successfully registered");
-    } catch (TException e) {
-      LOG.debug("Error while registering backend: " + e.getMessage());
-    }
-
-    new Thread(new TasksFinishedRpcRunnable()).start();
+  public void initialize(int listenPort, String nodeMonitorHost, int nodeMonitorPort)
+      throws IOException, TException {
+    client.initializeWithRunner(new InetSocketAddress(nodeMonitorHost, nodeMonitorPort), APP_ID,
+                                this, listenPort);
+    LOG.debug("Client successfully registered");
   }
 
+  /** Runs a task, which sleeps for the number of milliseconds given in its message. */
   @Override
-  public void launchTask(ByteBuffer message, TFullTaskId taskId,
-      TUserGroupInfo user) throws TException {
-    LOG.info("Submitting task " + taskId.getTaskId() + " at " + System.currentTimeMillis());
-
-    executor.submit(new TaskRunnable(
-        taskId.requestId, taskId, message));
+  public void runTask(TFullTaskId taskId, TUserGroupInfo user, ByteBuffer message)
+      throws InterruptedException {
+    LOG.info("Running task " + taskId.getTaskId() + " at " + System.currentTimeMillis());
+    long startTime = System.currentTimeMillis();
+    Thread.sleep(message.getInt());
+    LOG.debug("Task completed in " + (System.currentTimeMillis() - startTime) + "ms");
   }
 
   public static void main(String[] args) throws IOException, TException {
@@ -184,15 +112,10 @@ public class SimpleBackend implements BackendService.Iface {
         conf = new PropertiesConfiguration(configFile);
       } catch (ConfigurationException e) {}
     }
-    // Start backend server
     SimpleBackend protoBackend = new SimpleBackend();
-    BackendService.Processor<BackendService.Iface> processor =
-        new BackendService.Processor<BackendService.Iface>(protoBackend);
-
     int listenPort = conf.getInt(LISTEN_PORT, DEFAULT_LISTEN_PORT);
     int nodeMonitorPort = conf.getInt(NODE_MONITOR_PORT, NodeMonitorThrift.DEFAULT_NM_THRIFT_PORT);
     String nodeMonitorHost = conf.getString(NODE_MONITOR_HOST, DEFAULT_NODE_MONITOR_HOST);
-    TServers.launchSingleThreadThriftServer(listenPort, processor);
     protoBackend.initialize(listenPort, nodeMonitorHost, nodeMonitorPort);
   }
 }
@@ -33,10 +33,10 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
+import edu.berkeley.sparrow.api.FrontendServer;
 import edu.berkeley.sparrow.api.SparrowFrontendClient;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
 import edu.berkeley.sparrow.daemon.util.Serialization;
-import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TTaskSpec;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
@@ -44,7 +44,7 @@ import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 /**
  * Simple frontend that runs jobs composed of sleep tasks.
  */
-public class SimpleFrontend implements FrontendService.Iface {
+public class SimpleFrontend extends FrontendServer {
   /** Amount of time to launch tasks for. */
   public static final String EXPERIMENT_S = "experiment_s";
   public static final int DEFAULT_EXPERIMENT_S = 300;
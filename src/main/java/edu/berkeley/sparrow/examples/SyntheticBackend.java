@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.examples;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.apache.thrift.TException;
+
+import edu.berkeley.sparrow.api.SparrowBackendClient;
+import edu.berkeley.sparrow.thrift.BackendService;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * A backend that runs synthetic tasks, for measuring Sparrow itself rather than an
+ * application: each task either sleeps, spins on the CPU, or does nothing, for a duration given
+ * in its message (see {@link #makeMessage}).
+ *
+ * Many backends can run in one process: they share the executors that run their tasks, and
+ * tell a {@link Listener} when tasks launch and finish. Finished tasks are reported to the node
+ * monitor by a {@link SparrowBackendClient}.
+ */
+public class SyntheticBackend implements BackendService.Iface {
+  private static final Logger LOG = Logger.getLogger(SyntheticBackend.class);
+
+  public enum TaskType { SLEEP, CPU, NOOP }
+
+  /** Notified when this backend launches and finishes tasks; must be thread safe. */
+  public interface Listener {
+    public void taskLaunched(long jobId);
+    public void taskFinished(long jobId);
+  }
+
+  private final TaskType taskType;
+  private final Listener listener;
+  private final ScheduledExecutorService sleepExecutor;
+  private final ExecutorService cpuExecutor;
+  private final SparrowBackendClient client = new SparrowBackendClient();
+
+  /**
+   * Creates a backend whose sleep tasks are timed by {@code sleepExecutor} and whose CPU tasks
+   * run on {@code cpuExecutor}.
+   */
+  public SyntheticBackend(TaskType taskType, Listener listener,
+      ScheduledExecutorService sleepExecutor, ExecutorService cpuExecutor) {
+    this.taskType = taskType;
+    this.listener = listener;
+    this.sleepExecutor = sleepExecutor;
+    this.cpuExecutor = cpuExecutor;
+  }
+
+  /** Returns the message for a task of the given job that runs for {@code durationMicros}. */
+  public static byte[] makeMessage(long jobId, long durationMicros) {
+    ByteBuffer message = ByteBuffer.allocate(16);
+    message.putLong(jobId);
+    message.putLong(durationMicros);
+    return message.array();
+  }
+
+  /**
+   * Starts serving on {@code listenPort}, and registers with the node monitor for {@code appId}.
+   */
+  public void initialize(String appId, int listenPort, String nodeMonitorHost,
+      int nodeMonitorPort) throws IOException, TException {
+    client.initialize(new InetSocketAddress(nodeMonitorHost, nodeMonitorPort), appId, this,
+                      listenPort);
+  }
+
+  @Override
+  public void launchTask(ByteBuffer message, final TFullTaskId taskId, TUserGroupInfo user)
+      throws TException {
+    final long jobId = message.getLong(message.position());
+    final long durationMicros = message.getLong(message.position() + 8);
+    listener.taskLaunched(jobId);
+    Runnable finish = new Runnable() {
+      @Override
+      public void run() {
+        listener.taskFinished(jobId);
+        client.taskFinished(taskId);
+      }
+    };
+    switch (taskType) {
+    case SLEEP:
+      sleepExecutor.schedule(finish, durationMicros, TimeUnit.MICROSECONDS);
+      break;
+    case CPU:
+      cpuExecutor.submit(new SpinRunnable(durationMicros, finish));
+      break;
+    case NOOP:
+      finish.run();
+      break;
+    }
+  }
+
+  /** Keeps a CPU busy for the given duration, and then runs {@code finish}. */
+  private static class SpinRunnable implements Runnable {
+    private final long durationMicros;
+    private final Runnable finish;
+
+    SpinRunnable(long durationMicros, Runnable finish) {
+      this.durationMicros = durationMicros;
+      this.finish = finish;
+    }
+
+    @Override
+    public void run() {
+      long end = System.nanoTime() + durationMicros * 1000;
+      long spins = 0;
+      while (System.nanoTime() < end) {
+        spins++;
+      }
+      LOG.trace("Spun " + spins + " times");
+      finish.run();
+    }
+  }
+}
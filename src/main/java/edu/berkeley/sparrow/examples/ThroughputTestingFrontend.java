@@ -30,10 +30,10 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.thrift.TException;
 
+import edu.berkeley.sparrow.api.FrontendServer;
 import edu.berkeley.sparrow.api.SparrowFrontendClient;
 import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
 import edu.berkeley.sparrow.daemon.util.Serialization;
-import edu.berkeley.sparrow.thrift.FrontendService;
 import edu.berkeley.sparrow.thrift.TFullTaskId;
 import edu.berkeley.sparrow.thrift.TTaskSpec;
 import edu.berkeley.sparrow.thrift.TUserGroupInfo;
@@ -41,7 +41,7 @@ import edu.berkeley.sparrow.thrift.TUserGroupInfo;
 /**
  * Frontend that submits large jobs, for the purpose of testing throughput.
  */
-public class ThroughputTestingFrontend implements FrontendService.Iface {
+public class ThroughputTestingFrontend extends FrontendServer {
 
   // Type of benchmark to run, see ProtoBackend static constant for benchmark types
   public static final int DEFAULT_TASK_BENCHMARK = ProtoBackend.BENCHMARK_TYPE_FP_CPU;
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.simulation;
+
+import java.util.PriorityQueue;
+
+/**
+ * A virtual clock and the queue of events scheduled against it. Events run one at a time, in
+ * order of their scheduled time; events scheduled for the same time run in the order they were
+ * scheduled, so simulations are deterministic.
+ */
+public class EventQueue {
+  private static class Event implements Comparable<Event> {
+    final long timeMicros;
+    final long sequenceNumber;
+    final Runnable action;
+
+    Event(long timeMicros, long sequenceNumber, Runnable action) {
+      this.timeMicros = timeMicros;
+      this.sequenceNumber = sequenceNumber;
+      this.action = action;
+    }
+
+    @Override
+    public int compareTo(Event other) {
+      if (timeMicros != other.timeMicros) {
+        return timeMicros < other.timeMicros ? -1 : 1;
+      }
+      return sequenceNumber < other.sequenceNumber ? -1 :
+          (sequenceNumber == other.sequenceNumber ? 0 : 1);
+    }
+  }
+
+  private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+  private long nowMicros = 0;
+  private long numEvents = 0;
+  private long nextSequenceNumber = 0;
+
+  /** Returns the current simulated time, in microseconds. */
+  public long now() {
+    return nowMicros;
+  }
+
+  /** Returns the number of events that have run. */
+  public long getNumEvents() {
+    return numEvents;
+  }
+
+  /** Schedules {@code action} to run {@code delayMicros} after the current simulated time. */
+  public void schedule(long delayMicros, Runnable action) {
+    if (delayMicros < 0) {
+      throw new IllegalArgumentException("Events can't be scheduled in the past");
+    }
+    events.add(new Event(nowMicros + delayMicros, nextSequenceNumber++, action));
+  }
+
+  /** Runs events until there are none left. */
+  public void run() {
+    Event event;
+    while ((event = events.poll()) != null) {
+      nowMicros = event.timeMicros;
+      numEvents++;
+      event.action.run();
+    }
+  }
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.simulation;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.metrics.Histogram;
+import edu.berkeley.sparrow.daemon.nodemonitor.SimulatedNodeMonitor;
+import edu.berkeley.sparrow.daemon.nodemonitor.SimulatedNodeMonitor.Reservation;
+import edu.berkeley.sparrow.daemon.scheduler.SimulatedScheduler;
+import edu.berkeley.sparrow.daemon.util.Logging;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+/**
+ * A discrete-event simulation of a Sparrow cluster, which uses the real task placers (through
+ * {@link SimulatedScheduler}) and the real node monitor task schedulers (through
+ * {@link SimulatedNodeMonitor}) so that it doesn't drift from the Java implementation, unlike
+ * the Python simulators in simulation/.
+ *
+ * Time is simulated, and every RPC between schedulers and node monitors takes a fixed one-way
+ * network delay; all other processing is instantaneous. Jobs arrive either as a Poisson process
+ * (at the rate that keeps the given fraction of the cluster's slots busy) or from a trace file,
+ * in which each line gives a job's arrival time and the durations of its tasks, in
+ * milliseconds: "arrival_ms task_ms [task_ms ...]". Scheduler settings (probe ratios,
+ * cancellation, and so on) are read from an optional Sparrow configuration file.
+ *
+ * The simulation prints the distribution of job response times (from arrival until the job's
+ * last task finishes) and of task wait times (from arrival until a task is launched).
+ */
+public class Simulation {
+  private final static Logger LOG = Logger.getLogger(Simulation.class);
+  private final static String APP_ID = "simulation";
+  private final static int NODE_MONITOR_PORT = 20501;
+  private final static int SCHEDULER_PORT = 20503;
+
+  /** A job that has arrived, but not finished. */
+  private static class Job {
+    final long arrivalMicros;
+    int remainingTasks;
+
+    Job(long arrivalMicros, int numTasks) {
+      this.arrivalMicros = arrivalMicros;
+      this.remainingTasks = numTasks;
+    }
+  }
+
+  /** Generates the jobs to simulate. */
+  interface Workload {
+    /**
+     * Returns the delay until the next job arrives (relative to the arrival of the previous
+     * job), in microseconds, or -1 if there are no more jobs.
+     */
+    long nextArrival() throws IOException;
+
+    /** Returns the task durations, in microseconds, of the job that just arrived. */
+    long[] taskDurations();
+  }
+
+  /** Jobs with a fixed number of tasks that arrive as a Poisson process. */
+  static class PoissonWorkload implements Workload {
+    private final Random random;
+    private final int numJobs;
+    private final int tasksPerJob;
+    private final long meanTaskMicros;
+    private final boolean exponentialTasks;
+    private final double meanInterarrivalMicros;
+    private int jobsGenerated = 0;
+
+    PoissonWorkload(Random random, int numJobs, int tasksPerJob, long meanTaskMicros,
+        boolean exponentialTasks, double load, int totalSlots) {
+      this.random = random;
+      this.numJobs = numJobs;
+      this.tasksPerJob = tasksPerJob;
+      this.meanTaskMicros = meanTaskMicros;
+      this.exponentialTasks = exponentialTasks;
+      double jobsPerMicro = load * totalSlots / ((double) tasksPerJob * meanTaskMicros);
+      meanInterarrivalMicros = 1 / jobsPerMicro;
+    }
+
+    @Override
+    public long nextArrival() {
+      if (jobsGenerated == numJobs) {
+        return -1;
+      }
+      jobsGenerated++;
+      return exponential(meanInterarrivalMicros);
+    }
+
+    @Override
+    public long[] taskDurations() {
+      long[] durations = new long[tasksPerJob];
+      for (int i = 0; i < tasksPerJob; i++) {
+        durations[i] = exponentialTasks ? Math.max(1, exponential(meanTaskMicros)) :
+            meanTaskMicros;
+      }
+      return durations;
+    }
+
+    private long exponential(double mean) {
+      return Math.round(-mean * Math.log(1 - random.nextDouble()));
+    }
+  }
+
+  /** Jobs read from a trace file, one per line: "arrival_ms task_ms [task_ms ...]". */
+  private static class TraceWorkload implements Workload {
+    private final BufferedReader reader;
+    private long lastArrivalMicros = 0;
+    private long[] durations;
+
+    TraceWorkload(String filename) throws IOException {
+      reader = new BufferedReader(new FileReader(filename));
+    }
+
+    @Override
+    public long nextArrival() throws IOException {
+      String line = reader.readLine();
+      while (line != null && line.trim().isEmpty()) {
+        line = reader.readLine();
+      }
+      if (line == null) {
+        reader.close();
+        return -1;
+      }
+      String[] parts = line.trim().split("\\s+");
+      if (parts.length < 2) {
+        throw new IOException("Trace line should have an arrival time and at least one task: " +
+                              line);
+      }
+      long arrivalMicros = Math.round(Double.parseDouble(parts[0]) * 1000);
+      if (arrivalMicros < lastArrivalMicros) {
+        throw new IOException("Trace jobs should be sorted by arrival time: " + line);
+      }
+      durations = new long[parts.length - 1];
+      for (int i = 1; i < parts.length; i++) {
+        durations[i - 1] = Math.max(1, Math.round(Double.parseDouble(parts[i]) * 1000));
+      }
+      long delay = arrivalMicros - lastArrivalMicros;
+      lastArrivalMicros = arrivalMicros;
+      return delay;
+    }
+
+    @Override
+    public long[] taskDurations() {
+      return durations;
+    }
+  }
+
+  private final EventQueue events = new EventQueue();
+  private final Random random;
+  private final Workload workload;
+  private final long networkDelayMicros;
+  private final double constrainedFraction;
+  private final int constraintCandidates;
+
+  private final List<SimulatedScheduler> schedulers = Lists.newArrayList();
+  private final Map<InetSocketAddress, SimulatedScheduler> schedulersByAddress = Maps.newHashMap();
+  private final List<InetSocketAddress> nodeMonitorAddresses = Lists.newArrayList();
+  private final Map<String, SimulatedNodeMonitor> nodeMonitorsByHost = Maps.newHashMap();
+  private final Map<String, Job> outstandingJobs = Maps.newHashMap();
+  private final TUserGroupInfo user = new TUserGroupInfo("user", "group", 0);
+  private int nextScheduler = 0;
+
+  private long jobsCompleted = 0;
+  private long tasksLaunched = 0;
+  private final Histogram responseTimesMicros = new Histogram();
+  private final Histogram taskWaitsMicros = new Histogram();
+
+  Simulation(Configuration conf, Workload workload, Random random, int numNodeMonitors,
+      int slotsPerNodeMonitor, String taskSchedulerType, int numSchedulers,
+      long networkDelayMicros, double constrainedFraction, int constraintCandidates) {
+    this.workload = workload;
+    this.random = random;
+    this.networkDelayMicros = networkDelayMicros;
+    this.constrainedFraction = constrainedFraction;
+    this.constraintCandidates = constraintCandidates;
+    for (int i = 0; i < numNodeMonitors; i++) {
+      InetSocketAddress address = new InetSocketAddress(ipAddress(10, i), NODE_MONITOR_PORT);
+      nodeMonitorAddresses.add(address);
+      nodeMonitorsByHost.put(address.getAddress().getHostAddress(),
+          new SimulatedNodeMonitor(conf, taskSchedulerType, slotsPerNodeMonitor, address));
+    }
+    for (int i = 0; i < numSchedulers; i++) {
+      InetSocketAddress address = new InetSocketAddress(ipAddress(11, i), SCHEDULER_PORT);
+      SimulatedScheduler scheduler = new SimulatedScheduler(conf, address);
+      schedulers.add(scheduler);
+      schedulersByAddress.put(address, scheduler);
+    }
+  }
+
+  private static String ipAddress(int firstOctet, int index) {
+    return firstOctet + "." + ((index >> 16) & 0xff) + "." + ((index >> 8) & 0xff) + "." +
+           (index & 0xff);
+  }
+
+  /** Runs the simulation until all jobs have finished. */
+  public void run() throws IOException {
+    scheduleNextArrival();
+    events.run();
+  }
+
+  private void scheduleNextArrival() throws IOException {
+    long delay = workload.nextArrival();
+    if (delay < 0) {
+      return;
+    }
+    final long[] taskDurations = workload.taskDurations();
+    events.schedule(delay, new Runnable() {
+      @Override
+      public void run() {
+        submitJob(taskDurations);
+        try {
+          scheduleNextArrival();
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+  }
+
+  private void submitJob(long[] taskDurations) {
+    List<TTaskSpec> tasks = Lists.newArrayListWithCapacity(taskDurations.length);
+    boolean constrained = random.nextDouble() < constrainedFraction;
+    for (int i = 0; i < taskDurations.length; i++) {
+      TPlacementPreference preference = new TPlacementPreference();
+      if (constrained) {
+        List<String> nodes = Lists.newArrayList();
+        for (int j = 0; j < constraintCandidates; j++) {
+          InetSocketAddress node =
+              nodeMonitorAddresses.get(random.nextInt(nodeMonitorAddresses.size()));
+          nodes.add(node.getAddress().getHostAddress());
+        }
+        preference.setNodes(nodes);
+      }
+      ByteBuffer duration = ByteBuffer.allocate(8);
+      duration.putLong(0, taskDurations[i]);
+      tasks.add(new TTaskSpec(Integer.toString(i), preference, duration));
+    }
+    TSchedulingRequest request = new TSchedulingRequest(APP_ID, tasks, user);
+
+    SimulatedScheduler scheduler = schedulers.get(nextScheduler);
+    nextScheduler = (nextScheduler + 1) % schedulers.size();
+    String requestId = scheduler.nextRequestId();
+    outstandingJobs.put(requestId, new Job(events.now(), taskDurations.length));
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+        scheduler.submitJob(requestId, request, nodeMonitorAddresses);
+    for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry : requests.entrySet()) {
+      final SimulatedNodeMonitor nodeMonitor =
+          nodeMonitorsByHost.get(entry.getKey().getAddress().getHostAddress());
+      final TEnqueueTaskReservationsRequest enqueueRequest = entry.getValue();
+      events.schedule(networkDelayMicros, new Runnable() {
+        @Override
+        public void run() {
+          nodeMonitor.enqueueTaskReservations(enqueueRequest);
+          requestTasks(nodeMonitor);
+        }
+      });
+    }
+  }
+
+  /** Sends a getTask() call for each of the node monitor's runnable reservations. */
+  private void requestTasks(final SimulatedNodeMonitor nodeMonitor) {
+    for (final Reservation reservation : nodeMonitor.takeRunnableReservations()) {
+      final SimulatedScheduler scheduler =
+          schedulersByAddress.get(reservation.getSchedulerAddress());
+      events.schedule(networkDelayMicros, new Runnable() {
+        @Override
+        public void run() {
+          getTask(scheduler, nodeMonitor, reservation);
+        }
+      });
+    }
+  }
+
+  private void getTask(SimulatedScheduler scheduler, final SimulatedNodeMonitor nodeMonitor,
+      final Reservation reservation) {
+    InetSocketAddress address = nodeMonitor.getAddress();
+    List<THostPort> nodeMonitorsToCancel = Lists.newArrayList();
+    final List<TTaskLaunchSpec> tasks = scheduler.getTasks(reservation.getRequestHandle(),
+        new THostPort(address.getAddress().getHostAddress(), address.getPort()), 1,
+        nodeMonitorsToCancel);
+    for (THostPort nodeMonitorToCancel : nodeMonitorsToCancel) {
+      final SimulatedNodeMonitor cancelled = nodeMonitorsByHost.get(nodeMonitorToCancel.getHost());
+      events.schedule(networkDelayMicros, new Runnable() {
+        @Override
+        public void run() {
+          cancelled.cancelTaskReservations(reservation.getRequestId());
+        }
+      });
+    }
+    events.schedule(networkDelayMicros, new Runnable() {
+      @Override
+      public void run() {
+        if (tasks.isEmpty()) {
+          nodeMonitor.noTaskForReservation(reservation);
+        } else {
+          launchTask(nodeMonitor, reservation, tasks.get(0));
+        }
+        requestTasks(nodeMonitor);
+      }
+    });
+  }
+
+  private void launchTask(final SimulatedNodeMonitor nodeMonitor, final Reservation reservation,
+      TTaskLaunchSpec task) {
+    nodeMonitor.taskLaunched(reservation, task);
+    tasksLaunched++;
+    final String requestId = reservation.getRequestId();
+    final Job job = outstandingJobs.get(requestId);
+    taskWaitsMicros.record(events.now() - job.arrivalMicros);
+    long durationMicros = ByteBuffer.wrap(task.getMessage()).getLong();
+    events.schedule(durationMicros, new Runnable() {
+      @Override
+      public void run() {
+        nodeMonitor.taskFinished(reservation);
+        if (--job.remainingTasks == 0) {
+          outstandingJobs.remove(requestId);
+          responseTimesMicros.record(events.now() - job.arrivalMicros);
+          jobsCompleted++;
+        }
+        requestTasks(nodeMonitor);
+      }
+    });
+  }
+
+  public void printResults() {
+    System.out.println(String.format("Simulated %d jobs (%d tasks) over %.1f simulated seconds",
+        jobsCompleted, tasksLaunched, events.now() / 1e6));
+    if (!outstandingJobs.isEmpty()) {
+      System.out.println("WARNING: " + outstandingJobs.size() + " jobs never finished");
+    }
+    printDistribution("Job response time (ms)", responseTimesMicros.snapshot());
+    printDistribution("Task wait time (ms)", taskWaitsMicros.snapshot());
+  }
+
+  private static void printDistribution(String name, Histogram.Snapshot snapshot) {
+    System.out.println(String.format("%-24s mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f",
+        name, snapshot.getMean() / 1000, snapshot.getPercentile(50) / 1000.0,
+        snapshot.getPercentile(90) / 1000.0, snapshot.getPercentile(99) / 1000.0,
+        snapshot.getMax() / 1000.0));
+  }
+
+  public long getJobsCompleted() {
+    return jobsCompleted;
+  }
+
+  public long getNumEvents() {
+    return events.getNumEvents();
+  }
+
+  public Histogram.Snapshot getResponseTimes() {
+    return responseTimesMicros.snapshot();
+  }
+
+  public static void main(String[] args) throws Exception {
+    OptionParser parser = new OptionParser();
+    parser.accepts("c", "Sparrow configuration file with scheduler settings").
+      withRequiredArg().ofType(String.class);
+    parser.accepts("trace", "trace file to replay, instead of generating Poisson arrivals").
+      withRequiredArg().ofType(String.class);
+    parser.accepts("jobs", "number of jobs to generate").
+      withRequiredArg().ofType(Integer.class).defaultsTo(100000);
+    parser.accepts("tasks", "tasks per generated job").
+      withRequiredArg().ofType(Integer.class).defaultsTo(10);
+    parser.accepts("task-ms", "mean task duration in milliseconds").
+      withRequiredArg().ofType(Double.class).defaultsTo(100.0);
+    parser.accepts("exponential", "use exponentially distributed task durations");
+    parser.accepts("load", "fraction of slots that generated jobs keep busy").
+      withRequiredArg().ofType(Double.class).defaultsTo(0.8);
+    parser.accepts("workers", "number of node monitors").
+      withRequiredArg().ofType(Integer.class).defaultsTo(1000);
+    parser.accepts("slots", "slots per node monitor").
+      withRequiredArg().ofType(Integer.class).defaultsTo(1);
+    parser.accepts("task-scheduler", "fifo, priority, round_robin or noqueue").
+      withRequiredArg().ofType(String.class).defaultsTo("fifo");
+    parser.accepts("schedulers", "number of schedulers").
+      withRequiredArg().ofType(Integer.class).defaultsTo(10);
+    parser.accepts("network-ms", "one-way network delay in milliseconds").
+      withRequiredArg().ofType(Double.class).defaultsTo(0.5);
+    parser.accepts("probe-ratio", "probe ratio (overrides the configuration file)").
+      withRequiredArg().ofType(Double.class);
+    parser.accepts("constrained", "fraction of jobs with placement constraints").
+      withRequiredArg().ofType(Double.class).defaultsTo(0.0);
+    parser.accepts("candidates", "preferred nodes per constrained task").
+      withRequiredArg().ofType(Integer.class).defaultsTo(3);
+    parser.accepts("seed", "random seed").
+      withRequiredArg().ofType(Long.class).defaultsTo(1L);
+    parser.accepts("help", "print help statement");
+    OptionSet options = parser.parse(args);
+
+    if (options.has("help")) {
+      parser.printHelpOn(System.out);
+      System.exit(-1);
+    }
+
+    BasicConfigurator.configure();
+    Logger.getRootLogger().setLevel(Level.WARN);
+    // Formatting audit events would dominate the simulation's running time.
+    Logging.setAuditSampleRate(0);
+
+    Configuration conf = options.has("c") ?
+        new PropertiesConfiguration((String) options.valueOf("c")) :
+        new PropertiesConfiguration();
+    conf.setProperty(SparrowConf.HOSTNAME, "127.0.0.1");
+    if (options.has("probe-ratio")) {
+      conf.setProperty(SparrowConf.SAMPLE_RATIO, options.valueOf("probe-ratio"));
+      conf.setProperty(SparrowConf.SAMPLE_RATIO_CONSTRAINED, options.valueOf("probe-ratio"));
+    }
+
+    Random random = new Random((Long) options.valueOf("seed"));
+    int workers = (Integer) options.valueOf("workers");
+    int slots = (Integer) options.valueOf("slots");
+    Workload workload;
+    if (options.has("trace")) {
+      workload = new TraceWorkload((String) options.valueOf("trace"));
+    } else {
+      workload = new PoissonWorkload(random, (Integer) options.valueOf("jobs"),
+          (Integer) options.valueOf("tasks"),
+          Math.round((Double) options.valueOf("task-ms") * 1000), options.has("exponential"),
+          (Double) options.valueOf("load"), workers * slots);
+    }
+
+    Simulation simulation = new Simulation(conf, workload, random, workers, slots,
+        (String) options.valueOf("task-scheduler"), (Integer) options.valueOf("schedulers"),
+        Math.round((Double) options.valueOf("network-ms") * 1000),
+        (Double) options.valueOf("constrained"), (Integer) options.valueOf("candidates"));
+    long start = System.currentTimeMillis();
+    simulation.run();
+    long elapsed = System.currentTimeMillis() - start;
+    simulation.printResults();
+    LOG.warn(String.format("Simulation took %.1f seconds (%d events)", elapsed / 1000.0,
+                           simulation.getNumEvents()));
+  }
+}
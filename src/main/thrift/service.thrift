@@ -27,12 +27,19 @@ service SchedulerService {
   # Submit a job composed of a list of individual tasks.
   void submitJob(1: types.TSchedulingRequest req) throws (1: types.IncompleteRequestException e);
 
+  # Submit several jobs at once. Returns one result per job, in the same order as requests; a
+  # job that is not accepted does not prevent the others from being scheduled.
+  list<types.TSubmitJobResult> submitJobs(1: list<types.TSchedulingRequest> requests);
+
   # Send a message to be delivered to the frontend for {app} pertaining
   # to the task {taskId}. The {status} field allows for application-specific
   # status enumerations. Right now this is used only for Spark, which relies on
   # the scheduler to send task completion messages to frontends.
   void sendFrontendMessage(1: string app, 2: types.TFullTaskId taskId,
                            3: i32 status, 4: binary message);
+
+  # Like sendFrontendMessage(), but sends many messages at once.
+  void sendFrontendMessages(1: list<types.TFrontendMessage> messages);
 }
 
 service GetTaskService {
@@ -40,10 +47,22 @@ service GetTaskService {
   # response to an enqueueTask() request from this scheduler, requestId specifies the ID given
   # in that enqueueTask() request. Currently, we only support returning 0 or 1 task
   # specs, where 0 signals that the given request has no more tasks that can be launched on the
-  # node.
-  # TODO: Add a numTasks parameter to signal how many slots are free, and support
-  #       returning more than 1 tasks.
-  list<types.TTaskLaunchSpec> getTask(1: string requestId, 2: types.THostPort nodeMonitorAddress);
+  # node. requestHandle is the numeric form of requestId given in the enqueueTask() request, or -1
+  # if that request did not include one. nodeMonitorLoad is the node monitor's current load (or
+  # null, if unknown), which the scheduler uses to inform future placement decisions.
+  list<types.TTaskLaunchSpec> getTask(1: string requestId, 2: types.THostPort nodeMonitorAddress,
+                                      3: i64 requestHandle = -1,
+                                      4: types.TNodeMonitorLoad nodeMonitorLoad);
+
+  # Like getTask(), but called when the node monitor has maxTasks free slots, each of which
+  # holds a reservation for requestId. Returns between 0 and maxTasks task specs; the node
+  # monitor treats each of the maxTasks reservations that did not receive a task as though
+  # getTask() had returned no task for it.
+  list<types.TTaskLaunchSpec> getTasks(1: string requestId,
+                                       2: types.THostPort nodeMonitorAddress,
+                                       3: i32 maxTasks,
+                                       4: i64 requestHandle = -1,
+                                       5: types.TNodeMonitorLoad nodeMonitorLoad);
 }
 
 # A service used by application backends to coordinate with Sparrow.
@@ -57,6 +76,9 @@ service NodeMonitorService {
   # See SchedulerService.sendFrontendMessage
   void sendFrontendMessage(1: string app, 2: types.TFullTaskId taskId,
                            3: i32 status, 4: binary message);
+
+  # See SchedulerService.sendFrontendMessages
+  void sendFrontendMessages(1: list<types.TFrontendMessage> messages);
 }
 
 # A service that backends are expected to extend. Handles communication
@@ -74,15 +96,32 @@ service FrontendService {
                        3: binary message);
 }
 
+# A frontend that accepts messages in batches. Sparrow sends frontendMessages() to every
+# frontend, and falls back to frontendMessage() for frontends that only implement
+# FrontendService.
+service BatchingFrontendService extends FrontendService {
+  # See SchedulerService.sendFrontendMessages.
+  void frontendMessages(1: list<types.TFrontendMessage> messages);
+}
+
 # The InternalService exposes state about application backends to other Sparrow daemons.
 service InternalService {
   # Enqueues a reservation to launch the given number of tasks. The NodeMonitor sends
   # a GetTask() RPC to the given schedulerAddress when it is ready to launch a task, for each
-  # enqueued task reservation. Returns whether or not the task was successfully enqueued.
+  # enqueued task reservation. Returns whether or not the task was successfully enqueued. (Use
+  # enqueueTaskReservationsBatch() to also learn the NodeMonitor's resulting load.)
   bool enqueueTaskReservations(1: types.TEnqueueTaskReservationsRequest request);
 
   # Cancels reservations for jobs for which all tasks have already been launched.
   void cancelTaskReservations(1: types.TCancelTaskReservationsRequest request);
+
+  # Like cancelTaskReservations(), but cancels reservations for many jobs at once.
+  void cancelTaskReservationsBatch(1: list<types.TCancelTaskReservationsRequest> requests);
+
+  # Like enqueueTaskReservations(), but enqueues reservations for many jobs at once. Returns one
+  # response for each request, in the same order.
+  list<types.TEnqueueTaskReservationsResponse> enqueueTaskReservationsBatch(
+      1: list<types.TEnqueueTaskReservationsRequest> requests);
 }
 
 service SchedulerStateStoreService {
@@ -45,6 +45,16 @@ struct TFullTaskId {
   2: string requestId; // Scheduling request ID as assigned by the FE
   3: string appId;     // ID of the application
   4: THostPort schedulerAddress; // Address of the scheduler that scheduled the task.
+  5: optional i64 requestHandle; // Numeric form of requestId (see RequestIds).
+}
+
+# A message for the frontend of {app}, pertaining to the task {taskId}. See
+# SchedulerService.sendFrontendMessage.
+struct TFrontendMessage {
+  1: string app;
+  2: TFullTaskId taskId;
+  3: i32 status;
+  4: binary message;
 }
 
 struct TUserGroupInfo {
@@ -71,12 +81,45 @@ struct TSchedulingRequest {
   5: optional double probeRatio;
 }
 
+# The outcome of one of the jobs passed to SchedulerService.submitJobs().
+struct TSubmitJobResult {
+  1: bool accepted;
+  # Why the job was not accepted; null if it was.
+  2: IncompleteRequestException error;
+}
+
 struct TEnqueueTaskReservationsRequest {
   1: string appId;
   2: TUserGroupInfo user;
   3: string requestId;
   4: THostPort schedulerAddress;
   5: i32 numTasks;
+  # Compact numeric form of requestId, used for lookups on the getTask() path. The string
+  # requestId is still used for logging.
+  6: optional i64 requestHandle;
+  # If true, the numTasks reservations are re-armed: each time the node monitor receives a task
+  # for one of them, it enqueues the reservation again, until the scheduler returns no task.
+  # Used to place very large jobs with one reservation per node monitor.
+  7: optional bool rearmReservations;
+  # Address of the application's frontend. If set, the node monitor sends frontend messages for
+  # the request's tasks directly to the frontend, rather than by way of the scheduler.
+  8: optional THostPort frontendAddress;
+}
+
+# A node monitor's current load. Node monitors piggyback this on messages to schedulers, so
+# that schedulers can prefer lightly loaded node monitors when placing reservations.
+struct TNodeMonitorLoad {
+  # Number of reservations waiting for a free slot.
+  1: i32 queuedReservations;
+  # Number of slots in use.
+  2: i32 activeTasks;
+}
+
+struct TEnqueueTaskReservationsResponse {
+  # Whether the reservations were successfully enqueued.
+  1: bool enqueued;
+  # The node monitor's load after enqueueing the reservations.
+  2: TNodeMonitorLoad load;
 }
 
 struct TCancelTaskReservationsRequest {
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.thrift.TException;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.util.TServers;
+import edu.berkeley.sparrow.thrift.BackendService;
+import edu.berkeley.sparrow.thrift.NodeMonitorService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+public class TestSparrowBackendClient {
+  private static final String APP_ID = "test app";
+
+  /**
+   * A node monitor that records each tasksFinished() call. The first {@code numFailures} calls
+   * fail, and the first call blocks until {@code release} is counted down.
+   */
+  private static class RecordingNodeMonitor implements NodeMonitorService.Iface {
+    final LinkedBlockingQueue<List<TFullTaskId>> tasksFinishedCalls =
+        new LinkedBlockingQueue<List<TFullTaskId>>();
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger numCalls = new AtomicInteger();
+    final AtomicInteger numFailures = new AtomicInteger();
+    volatile String registeredApp;
+
+    @Override
+    public boolean registerBackend(String app, String listenSocket) {
+      registeredApp = app;
+      return true;
+    }
+
+    @Override
+    public void tasksFinished(List<TFullTaskId> tasks) throws TException {
+      tasksFinishedCalls.add(tasks);
+      if (numFailures.getAndDecrement() > 0) {
+        throw new TException("Failing tasksFinished() call");
+      }
+      if (numCalls.getAndIncrement() == 0) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new TException(e);
+        }
+      }
+    }
+
+    @Override
+    public void sendFrontendMessage(String app, TFullTaskId taskId, int status,
+        ByteBuffer message) {
+    }
+
+    @Override
+    public void sendFrontendMessages(List<TFrontendMessage> messages) {
+    }
+  }
+
+  private static int getFreePort() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    return port;
+  }
+
+  private static TFullTaskId makeTaskId(int i) {
+    TFullTaskId taskId = new TFullTaskId();
+    taskId.taskId = Integer.toString(i);
+    taskId.requestId = "request";
+    return taskId;
+  }
+
+  /**
+   * Ensures that the client registers with the node monitor, and that tasks that finish while
+   * a tasksFinished() RPC is outstanding are reported together once it completes.
+   */
+  @Test
+  public void testBatchedTasksFinished() throws Exception {
+    RecordingNodeMonitor nodeMonitor = new RecordingNodeMonitor();
+    int nodeMonitorPort = getFreePort();
+    TServers.launchThreadedThriftServer(nodeMonitorPort, 2,
+        new NodeMonitorService.Processor<NodeMonitorService.Iface>(nodeMonitor));
+    // The server may take a moment to start listening.
+    Thread.sleep(200);
+
+    final int numTasks = 4;
+    // Use a long maximum delay, so that only the outstanding RPC's completion sends the batch.
+    SparrowBackendClient client = new SparrowBackendClient(
+        Executors.newSingleThreadExecutor(), TimeUnit.SECONDS.toMicros(60), 16);
+    client.initialize(new InetSocketAddress("127.0.0.1", nodeMonitorPort), APP_ID,
+        new BackendService.Iface() {
+          @Override
+          public void launchTask(ByteBuffer message, TFullTaskId taskId, TUserGroupInfo user) {
+          }
+        }, getFreePort());
+    assertEquals(APP_ID, nodeMonitor.registeredApp);
+
+    // The first task is reported right away; the node monitor holds on to that RPC.
+    client.taskFinished(makeTaskId(0));
+    List<TFullTaskId> firstCall = nodeMonitor.tasksFinishedCalls.poll(10, TimeUnit.SECONDS);
+    assertEquals(Lists.newArrayList(makeTaskId(0)), firstCall);
+    for (int i = 1; i < numTasks; i++) {
+      client.taskFinished(makeTaskId(i));
+    }
+    nodeMonitor.release.countDown();
+
+    List<TFullTaskId> secondCall = nodeMonitor.tasksFinishedCalls.poll(10, TimeUnit.SECONDS);
+    assertEquals(numTasks - 1, secondCall.size());
+    for (int i = 1; i < numTasks; i++) {
+      assertEquals(makeTaskId(i), secondCall.get(i - 1));
+    }
+    assertTrue(nodeMonitor.tasksFinishedCalls.isEmpty());
+    client.close();
+  }
+
+  /** Ensures that finished tasks that fail to reach the node monitor are reported again. */
+  @Test
+  public void testTasksFinishedRetry() throws Exception {
+    long retryMillis = SparrowBackendClient.TASKS_FINISHED_RETRY_MS;
+    SparrowBackendClient.TASKS_FINISHED_RETRY_MS = 50;
+    try {
+      RecordingNodeMonitor nodeMonitor = new RecordingNodeMonitor();
+      nodeMonitor.numFailures.set(1);
+      nodeMonitor.release.countDown();
+      int nodeMonitorPort = getFreePort();
+      TServers.launchThreadedThriftServer(nodeMonitorPort, 2,
+          new NodeMonitorService.Processor<NodeMonitorService.Iface>(nodeMonitor));
+      Thread.sleep(200);
+
+      SparrowBackendClient client = new SparrowBackendClient(
+          Executors.newSingleThreadExecutor(), 0, 16);
+      client.initialize(new InetSocketAddress("127.0.0.1", nodeMonitorPort), APP_ID,
+          new BackendService.Iface() {
+            @Override
+            public void launchTask(ByteBuffer message, TFullTaskId taskId,
+                TUserGroupInfo user) {
+            }
+          }, getFreePort());
+      client.taskFinished(makeTaskId(0));
+      // The first call fails, and the same task is sent again.
+      for (int i = 0; i < 2; i++) {
+        assertEquals(Lists.newArrayList(makeTaskId(0)),
+            nodeMonitor.tasksFinishedCalls.poll(10, TimeUnit.SECONDS));
+      }
+      client.close();
+    } finally {
+      SparrowBackendClient.TASKS_FINISHED_RETRY_MS = retryMillis;
+    }
+  }
+}
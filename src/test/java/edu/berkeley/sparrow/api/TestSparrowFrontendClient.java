@@ -0,0 +1,283 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.ProcessFunction;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import edu.berkeley.sparrow.daemon.util.TServers;
+import edu.berkeley.sparrow.thrift.FrontendService;
+import edu.berkeley.sparrow.thrift.IncompleteRequestException;
+import edu.berkeley.sparrow.thrift.SchedulerService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TSubmitJobResult;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+public class TestSparrowFrontendClient {
+  private static final String APP_ID = "test app";
+  /** Jobs with this description are rejected by {@link RecordingScheduler}. */
+  private static final String REJECTED = "rejected";
+  /** A batch with a job with this description makes {@link RecordingScheduler} fail the call. */
+  private static final String FAILED = "failed";
+
+  /**
+   * A scheduler that records the jobs it is given. submitJobs() calls wait until
+   * {@code release} is counted down.
+   */
+  private static class RecordingScheduler implements SchedulerService.Iface {
+    final LinkedBlockingQueue<TSchedulingRequest> submitJobCalls =
+        new LinkedBlockingQueue<TSchedulingRequest>();
+    /** The descriptions of the jobs in each submitJobs() call. */
+    final LinkedBlockingQueue<List<String>> submitJobsCalls =
+        new LinkedBlockingQueue<List<String>>();
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public boolean registerFrontend(String app, String socketAddress) {
+      return true;
+    }
+
+    @Override
+    public void submitJob(TSchedulingRequest req) throws IncompleteRequestException {
+      submitJobCalls.add(req);
+      if (REJECTED.equals(req.getDescription())) {
+        throw new IncompleteRequestException("rejected");
+      }
+    }
+
+    @Override
+    public List<TSubmitJobResult> submitJobs(List<TSchedulingRequest> requests)
+        throws TException {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new TException(e);
+      }
+      List<String> descriptions = Lists.newArrayList();
+      List<TSubmitJobResult> results = Lists.newArrayList();
+      for (TSchedulingRequest request : requests) {
+        descriptions.add(request.getDescription());
+        TSubmitJobResult result = new TSubmitJobResult();
+        if (REJECTED.equals(request.getDescription())) {
+          result.setAccepted(false);
+          result.setError(new IncompleteRequestException("rejected"));
+        } else {
+          result.setAccepted(true);
+        }
+        results.add(result);
+      }
+      submitJobsCalls.add(descriptions);
+      if (descriptions.contains(FAILED)) {
+        // Fails the call by closing the connection.
+        throw new TException("Failing submitJobs() call");
+      }
+      return results;
+    }
+
+    @Override
+    public void sendFrontendMessage(String app, TFullTaskId taskId, int status,
+        ByteBuffer message) {
+    }
+
+    @Override
+    public void sendFrontendMessages(List<TFrontendMessage> messages) {
+    }
+  }
+
+  private static class NoOpFrontend implements FrontendService.Iface {
+    @Override
+    public void frontendMessage(TFullTaskId taskId, int status, ByteBuffer message) {
+    }
+  }
+
+  private static int getFreePort() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    return port;
+  }
+
+  /** Launches {@code scheduler} and returns a client that is connected to it. */
+  private static SparrowFrontendClient makeClient(RecordingScheduler scheduler,
+      int numConnections, int maxInFlight, int maxBatchSize) throws Exception {
+    int schedulerPort = getFreePort();
+    TServers.launchThreadedThriftServer(schedulerPort, 2,
+        new SchedulerService.Processor<SchedulerService.Iface>(scheduler));
+    // The server may take a moment to start listening.
+    Thread.sleep(200);
+    SparrowFrontendClient client =
+        new SparrowFrontendClient(numConnections, maxInFlight, maxBatchSize);
+    client.initialize(new InetSocketAddress("127.0.0.1", schedulerPort), APP_ID,
+        new NoOpFrontend(), getFreePort());
+    return client;
+  }
+
+  private static TSchedulingRequest makeRequest(String description) {
+    TSchedulingRequest request = new TSchedulingRequest(APP_ID, Lists.<TTaskSpec>newArrayList(),
+        new TUserGroupInfo("user", "group", 0));
+    request.setDescription(description);
+    return request;
+  }
+
+  /**
+   * Ensures that jobs are submitted one at a time with submitJob() to a scheduler that predates
+   * submitJobs(), and that each job's future reports whether it was accepted.
+   */
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testUnbatchedScheduler() throws Exception {
+    RecordingScheduler scheduler = new RecordingScheduler();
+    int schedulerPort = getFreePort();
+    // A processor without submitJobs(), which it rejects as an unknown method.
+    HashMap<String, ProcessFunction<SchedulerService.Iface, ? extends TBase>> processMap =
+        new HashMap<String, ProcessFunction<SchedulerService.Iface, ? extends TBase>>() {
+      @Override
+      public ProcessFunction<SchedulerService.Iface, ? extends TBase> put(
+          String method, ProcessFunction<SchedulerService.Iface, ? extends TBase> function) {
+        return method.equals("submitJobs") ? null : super.put(method, function);
+      }
+    };
+    TServers.launchThreadedThriftServer(schedulerPort, 2,
+        new SchedulerService.Processor<SchedulerService.Iface>(scheduler, processMap) { });
+    // The server may take a moment to start listening.
+    Thread.sleep(200);
+
+    SparrowFrontendClient client = new SparrowFrontendClient(1, 16, 16);
+    client.initialize(new InetSocketAddress("127.0.0.1", schedulerPort), APP_ID,
+        new NoOpFrontend(), getFreePort());
+    List<ListenableFuture<Void>> futures = Lists.newArrayList();
+    futures.add(client.submitRequestAsync(makeRequest("job 0")));
+    futures.add(client.submitRequestAsync(makeRequest(REJECTED)));
+    futures.add(client.submitRequestAsync(makeRequest("job 2")));
+
+    futures.get(0).get(10, TimeUnit.SECONDS);
+    try {
+      futures.get(1).get(10, TimeUnit.SECONDS);
+      fail("Expected the job to be rejected");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IncompleteRequestException);
+    }
+    futures.get(2).get(10, TimeUnit.SECONDS);
+    List<String> descriptions = Lists.newArrayList();
+    for (int i = 0; i < 3; i++) {
+      descriptions.add(scheduler.submitJobCalls.poll(10, TimeUnit.SECONDS).getDescription());
+    }
+    assertEquals(Lists.newArrayList("job 0", REJECTED, "job 2"), descriptions);
+    assertEquals(0, client.getNumInFlight());
+    client.close();
+  }
+
+  /**
+   * Ensures that each job's future completes once the scheduler accepts the job, and fails if
+   * the scheduler rejects it.
+   */
+  @Test
+  public void testFutures() throws Exception {
+    RecordingScheduler scheduler = new RecordingScheduler();
+    scheduler.release.countDown();
+    SparrowFrontendClient client = makeClient(scheduler, 1, 16, 16);
+    ListenableFuture<Void> accepted = client.submitRequestAsync(makeRequest("job 0"));
+    ListenableFuture<Void> rejected = client.submitRequestAsync(makeRequest(REJECTED));
+
+    accepted.get(10, TimeUnit.SECONDS);
+    try {
+      rejected.get(10, TimeUnit.SECONDS);
+      fail("Expected the job to be rejected");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IncompleteRequestException);
+    }
+    assertEquals(0, client.getNumInFlight());
+    client.close();
+  }
+
+  /**
+   * Ensures that the jobs in a call that fails fail with the call's error, and that they no
+   * longer count against the in-flight limit.
+   */
+  @Test
+  public void testFailedBatch() throws Exception {
+    RecordingScheduler scheduler = new RecordingScheduler();
+    scheduler.release.countDown();
+    SparrowFrontendClient client = makeClient(scheduler, 1, 1, 16);
+    ListenableFuture<Void> failed = client.submitRequestAsync(makeRequest(FAILED));
+    try {
+      failed.get(10, TimeUnit.SECONDS);
+      fail("Expected the submission to fail");
+    } catch (ExecutionException e) {
+      assertFalse(e.getCause() instanceof IncompleteRequestException);
+    }
+    // The client allows only one submission in flight, so this would block if the failed
+    // submission hadn't released its permit.
+    assertEquals(0, client.getNumInFlight());
+    client.submitRequestAsync(makeRequest("job 1")).get(10, TimeUnit.SECONDS);
+    assertEquals(0, client.getNumInFlight());
+    client.close();
+  }
+
+  /**
+   * Ensures that jobs submitted while a batch is outstanding are sent once it completes, or as
+   * soon as they fill a batch.
+   */
+  @Test
+  public void testBatching() throws Exception {
+    RecordingScheduler scheduler = new RecordingScheduler();
+    SparrowFrontendClient client = makeClient(scheduler, 1, 16, 3);
+    List<ListenableFuture<Void>> futures = Lists.newArrayList();
+    // The scheduler holds on to the first batch, so the next jobs wait for it.
+    for (int i = 0; i < 5; i++) {
+      futures.add(client.submitRequestAsync(makeRequest("job " + i)));
+    }
+    assertEquals(5, client.getNumInFlight());
+    scheduler.release.countDown();
+    for (ListenableFuture<Void> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+
+    // Jobs 1 to 3 fill a batch, so they are sent without waiting for the first batch; job 4 is
+    // sent once the first batch completes.
+    assertEquals(Lists.newArrayList("job 0"), scheduler.submitJobsCalls.poll());
+    assertEquals(Lists.newArrayList("job 1", "job 2", "job 3"),
+        scheduler.submitJobsCalls.poll());
+    assertEquals(Lists.newArrayList("job 4"), scheduler.submitJobsCalls.poll());
+    assertTrue(scheduler.submitJobsCalls.isEmpty());
+    assertEquals(0, client.getNumInFlight());
+    client.close();
+  }
+}
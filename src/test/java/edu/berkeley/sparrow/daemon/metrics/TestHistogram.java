@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.metrics;
+import static org.junit.Assert.*;
+
+import java.util.SortedMap;
+
+import org.junit.Test;
+
+public class TestHistogram {
+  private static final double EPSILON = 0.00001;
+
+  /** Ensures that every value falls within the bounds of its bucket. */
+  @Test
+  public void testBucketBounds() {
+    long[] values = {0, 1, 15, 16, 31, 32, 33, 100, 1000, 123456789, Long.MAX_VALUE};
+    for (long value : values) {
+      int index = Histogram.bucketIndex(value);
+      assertTrue(Histogram.bucketLowerBound(index) <= value);
+      assertTrue(Histogram.bucketUpperBound(index) >= value);
+    }
+    // Small values are recorded exactly.
+    for (int i = 0; i < 2 * Histogram.SUB_BUCKETS; i++) {
+      int index = Histogram.bucketIndex(i);
+      assertEquals(i, Histogram.bucketLowerBound(index));
+      assertEquals(i, Histogram.bucketUpperBound(index));
+    }
+    // Consecutive buckets are contiguous.
+    for (int index = 0; index < 500; index++) {
+      assertEquals(Histogram.bucketUpperBound(index) + 1, Histogram.bucketLowerBound(index + 1));
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    Histogram histogram = new Histogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    Histogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(500.5, snapshot.getMean(), EPSILON);
+    assertWithinError(500, snapshot.getPercentile(50));
+    assertWithinError(900, snapshot.getPercentile(90));
+    assertWithinError(990, snapshot.getPercentile(99));
+    assertWithinError(1000, snapshot.getMax());
+  }
+
+  @Test
+  public void testEmptyAndNegative() {
+    Histogram histogram = new Histogram();
+    assertEquals(0, histogram.snapshot().getPercentile(99));
+    assertEquals(0, histogram.snapshot().getMax());
+    assertEquals(0, histogram.snapshot().getMean(), EPSILON);
+
+    histogram.record(-5);
+    assertEquals(1, histogram.snapshot().getCount());
+    assertEquals(0, histogram.snapshot().getMax());
+  }
+
+  /** Ensures that snapshots can be subtracted to find the values recorded in an interval. */
+  @Test
+  public void testSnapshotDifference() {
+    Histogram histogram = new Histogram();
+    for (int i = 0; i < 100; i++) {
+      histogram.record(10000);
+    }
+    Histogram.Snapshot first = histogram.snapshot();
+    for (int i = 0; i < 10; i++) {
+      histogram.record(5);
+    }
+    Histogram.Snapshot interval = histogram.snapshot().minus(first);
+    assertEquals(10, interval.getCount());
+    assertEquals(5, interval.getPercentile(99));
+    assertEquals(5, interval.getMax());
+    assertEquals(5.0, interval.getMean(), EPSILON);
+  }
+
+  /** Ensures that the registry reports histograms over the last interval. */
+  @Test
+  public void testRegistryIntervals() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Histogram histogram = registry.histogram("test.latency");
+    assertSame(histogram, registry.histogram("test.latency"));
+    registry.counter("test.count").add(3);
+    registry.registerGauge("test.gauge", new Gauge() {
+      @Override
+      public long getValue() {
+        return 7;
+      }
+    });
+
+    histogram.record(1000);
+    registry.endInterval();
+    histogram.record(3);
+    registry.endInterval();
+
+    SortedMap<String, Number> values = registry.getValues();
+    assertEquals(2L, values.get("test.latency.count"));
+    assertEquals(3L, values.get("test.latency.max"));
+    assertEquals(3L, values.get("test.latency.p99"));
+    assertEquals(3L, values.get("test.count"));
+    assertEquals(7L, values.get("test.gauge"));
+    assertTrue(registry.toText().contains("test.gauge 7\n"));
+  }
+
+  /** Asserts that {@code actual} is within the histogram's relative error of {@code expected}. */
+  private void assertWithinError(long expected, long actual) {
+    assertTrue("Expected " + expected + " but got " + actual,
+        Math.abs(actual - expected) <= expected / Histogram.SUB_BUCKETS);
+  }
+}
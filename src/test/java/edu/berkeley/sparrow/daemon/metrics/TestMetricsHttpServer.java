@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.metrics;
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+public class TestMetricsHttpServer {
+  /** Ensures that the metrics endpoint listens only on loopback by default, and serves text. */
+  @Test
+  public void testHttpServerBindsToLoopback() throws Exception {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test.count").add(3);
+    MetricsHttpServer server = MetricsHttpServer.start(0, registry);
+    try {
+      assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+      InputStream body = new URL(
+          "http://127.0.0.1:" + server.getPort() + MetricsHttpServer.PATH).openStream();
+      try {
+        assertEquals("test.count 3", new Scanner(body, "UTF-8").nextLine());
+      } finally {
+        body.close();
+      }
+    } finally {
+      server.stop();
+    }
+  }
+}
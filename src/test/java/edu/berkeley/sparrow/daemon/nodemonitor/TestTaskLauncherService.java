@@ -0,0 +1,212 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.nodemonitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.thrift.TException;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.scheduler.SchedulerThrift;
+import edu.berkeley.sparrow.daemon.util.TServers;
+import edu.berkeley.sparrow.thrift.BackendService;
+import edu.berkeley.sparrow.thrift.GetTaskService;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+public class TestTaskLauncherService {
+  /** getTask() and getTasks() calls for this request fail. */
+  private static final String FAILED_REQUEST = "failed";
+
+  /**
+   * A scheduler that records each getTask() and getTasks() call in {@code events}, and returns
+   * one task for each getTask() call and all but one of the requested tasks for each getTasks()
+   * call. Tasks are named after their request.
+   */
+  private static class RecordingScheduler implements GetTaskService.Iface {
+    final LinkedBlockingQueue<String> events;
+
+    RecordingScheduler(LinkedBlockingQueue<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public List<TTaskLaunchSpec> getTask(String requestId, THostPort nodeMonitorAddress,
+        long requestHandle, TNodeMonitorLoad nodeMonitorLoad) throws TException {
+      return getTasks(requestId, nodeMonitorAddress, 2, requestHandle, nodeMonitorLoad);
+    }
+
+    @Override
+    public List<TTaskLaunchSpec> getTasks(String requestId, THostPort nodeMonitorAddress,
+        int maxTasks, long requestHandle, TNodeMonitorLoad nodeMonitorLoad) throws TException {
+      events.add("get " + requestId);
+      if (requestId.equals(FAILED_REQUEST)) {
+        // Fails the call by closing the connection.
+        throw new TException("Failing getTask() call");
+      }
+      List<TTaskLaunchSpec> tasks = Lists.newArrayList();
+      for (int i = 0; i < maxTasks - 1; i++) {
+        tasks.add(new TTaskLaunchSpec(requestId + "." + i, ByteBuffer.allocate(1)));
+      }
+      return tasks;
+    }
+  }
+
+  /** A backend that records each task it launches in {@code events}. */
+  private static class RecordingBackend implements BackendService.Iface {
+    final LinkedBlockingQueue<String> events;
+
+    RecordingBackend(LinkedBlockingQueue<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void launchTask(ByteBuffer message, TFullTaskId taskId, TUserGroupInfo user) {
+      events.add("launch " + taskId.getTaskId());
+    }
+  }
+
+  /** A task scheduler that records the reservations that didn't receive a task. */
+  private static class RecordingTaskScheduler extends FifoTaskScheduler {
+    final LinkedBlockingQueue<String> noTaskRequestIds = new LinkedBlockingQueue<String>();
+
+    RecordingTaskScheduler(int maxActiveTasks) {
+      super(maxActiveTasks);
+    }
+
+    @Override
+    void noTaskForReservation(TaskSpec taskReservation) {
+      noTaskRequestIds.add(taskReservation.requestId);
+      super.noTaskForReservation(taskReservation);
+    }
+  }
+
+  private static int getFreePort() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    return port;
+  }
+
+  private LinkedBlockingQueue<String> events = new LinkedBlockingQueue<String>();
+  private THostPort schedulerAddress;
+  private InetSocketAddress backendAddress;
+  private PropertiesConfiguration conf;
+  private RecordingTaskScheduler taskScheduler;
+
+  /** Launches a scheduler's getTask() server and a backend, and creates a task scheduler. */
+  private void setUp(int maxActiveTasks) throws Exception {
+    int getTaskPort = getFreePort();
+    TServers.launchThreadedThriftServer(getTaskPort, 2,
+        new GetTaskService.Processor<GetTaskService.Iface>(new RecordingScheduler(events)));
+    // The node monitor sends getTask() calls to getTaskPort(schedulerPort).
+    schedulerAddress = new THostPort("127.0.0.1", getTaskPort -
+        (SchedulerThrift.DEFAULT_GET_TASK_PORT - SchedulerThrift.DEFAULT_SCHEDULER_THRIFT_PORT));
+    int backendPort = getFreePort();
+    TServers.launchThreadedThriftServer(backendPort, 2,
+        new BackendService.Processor<BackendService.Iface>(new RecordingBackend(events)));
+    backendAddress = new InetSocketAddress("127.0.0.1", backendPort);
+    // The servers may take a moment to start listening.
+    Thread.sleep(200);
+
+    conf = new PropertiesConfiguration();
+    // Use a single launcher thread and channel, so that getTask() calls are made in order.
+    conf.setProperty(SparrowConf.NM_TASK_LAUNCHER_THREADS, 1);
+    conf.setProperty(SparrowConf.NM_GET_TASK_CHANNELS, 1);
+    taskScheduler = new RecordingTaskScheduler(maxActiveTasks);
+    taskScheduler.initialize(conf, getFreePort());
+  }
+
+  /** Starts a TaskLauncherService that launches the task scheduler's tasks. */
+  private void startLauncher() throws Exception {
+    new TaskLauncherService().initialize(conf, taskScheduler, getFreePort());
+  }
+
+  private void enqueue(String requestId, int numTasks) {
+    taskScheduler.submitTaskReservations(new TEnqueueTaskReservationsRequest("appId",
+        new TUserGroupInfo("user", "group", 0), requestId, schedulerAddress, numTasks),
+        backendAddress);
+  }
+
+  /**
+   * Ensures that requests' tasks are fetched in the order that their reservations became
+   * runnable, that each task is launched after it has been fetched, and that reservations
+   * that don't receive a task are reported to the task scheduler.
+   */
+  @Test
+  public void testLaunchOrder() throws Exception {
+    setUp(4);
+    // Both reservations for request "a" are fetched with one getTasks() call, which returns
+    // one task.
+    enqueue("a", 2);
+    enqueue("b", 1);
+    startLauncher();
+
+    List<String> received = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      String event = events.poll(10, TimeUnit.SECONDS);
+      assertTrue("Expected 4 events, got " + received, event != null);
+      received.add(event);
+    }
+    assertEquals(Sets.newHashSet("get a", "launch a.0", "get b", "launch b.0"),
+        Sets.newHashSet(received));
+    assertTrue(received.indexOf("get a") < received.indexOf("get b"));
+    assertTrue(received.indexOf("get a") < received.indexOf("launch a.0"));
+    assertTrue(received.indexOf("get b") < received.indexOf("launch b.0"));
+    assertEquals("a", taskScheduler.noTaskRequestIds.poll(10, TimeUnit.SECONDS));
+    assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    assertTrue(taskScheduler.noTaskRequestIds.isEmpty());
+  }
+
+  /**
+   * Ensures that reservations whose getTask() call fails are reported to the task scheduler
+   * as having received no task, and that later requests' tasks are still launched.
+   */
+  @Test
+  public void testGetTaskError() throws Exception {
+    // A single slot, so that request "b" only runs once the failed reservation frees it.
+    setUp(1);
+    enqueue(FAILED_REQUEST, 1);
+    enqueue("b", 1);
+    startLauncher();
+
+    assertEquals("get " + FAILED_REQUEST, events.poll(10, TimeUnit.SECONDS));
+    assertEquals(FAILED_REQUEST, taskScheduler.noTaskRequestIds.poll(10, TimeUnit.SECONDS));
+    assertEquals("get b", events.poll(10, TimeUnit.SECONDS));
+    assertEquals("launch b.0", events.poll(10, TimeUnit.SECONDS));
+    assertNull(events.poll(200, TimeUnit.MILLISECONDS));
+    assertTrue(taskScheduler.noTaskRequestIds.isEmpty());
+  }
+}
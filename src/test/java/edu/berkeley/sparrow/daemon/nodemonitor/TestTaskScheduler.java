@@ -411,4 +411,124 @@ public class TestTaskScheduler {
     assertEquals("1", task.requestId);
     assertEquals(0, scheduler.runnableTasks());
   }
+
+  /**
+   * Tests that getNextTasks() batches runnable reservations for the same request.
+   */
+  @Test
+  public void testGetNextTasks() {
+    TaskScheduler scheduler = new FifoTaskScheduler(4);
+    scheduler.initialize(new PropertiesConfiguration(), 12345);
+
+    final InetSocketAddress appBackendAddress = new InetSocketAddress("localhost", 1);
+    final String user = "user";
+
+    scheduler.submitTaskReservations(
+        createTaskReservationRequest(3, scheduler, user), appBackendAddress);
+    scheduler.submitTaskReservations(
+        createTaskReservationRequest(2, scheduler, user), appBackendAddress);
+    assertEquals(4, scheduler.runnableTasks());
+
+    List<TaskSpec> tasks = scheduler.getNextTasks();
+    assertEquals(3, tasks.size());
+    for (TaskSpec task : tasks) {
+      assertEquals("1", task.requestId);
+    }
+    assertEquals(1, scheduler.runnableTasks());
+
+    // The queued reservation for request 2 should be made runnable when a task finishes.
+    TFullTaskId fullTaskId = new TFullTaskId();
+    fullTaskId.taskId = "";
+    fullTaskId.requestId = "1";
+    List<TFullTaskId> completedTasks = Lists.newArrayList();
+    completedTasks.add(fullTaskId);
+    scheduler.tasksFinished(completedTasks);
+
+    tasks = scheduler.getNextTasks();
+    assertEquals(2, tasks.size());
+    for (TaskSpec task : tasks) {
+      assertEquals("2", task.requestId);
+    }
+    assertEquals(0, scheduler.runnableTasks());
+  }
+
+  /**
+   * Tests that submitting the reservations for many requests at once enqueues them in order,
+   * each with its own backend address.
+   */
+  @Test
+  public void testBatchedSubmission() {
+    TaskScheduler scheduler = new FifoTaskScheduler(2);
+    scheduler.initialize(new PropertiesConfiguration(), 12345);
+
+    List<TEnqueueTaskReservationsRequest> requests = Lists.newArrayList();
+    List<InetSocketAddress> backendAddresses = Lists.newArrayList();
+    for (int i = 0; i < 3; i++) {
+      requests.add(createTaskReservationRequest(1, scheduler, "user"));
+      backendAddresses.add(new InetSocketAddress("localhost", i + 1));
+    }
+    scheduler.submitTaskReservations(requests, backendAddresses);
+    assertEquals(2, scheduler.runnableTasks());
+
+    TaskSpec task = scheduler.getNextTask();
+    assertEquals("1", task.requestId);
+    assertEquals(1, task.appBackendAddress.getPort());
+    task = scheduler.getNextTask();
+    assertEquals("2", task.requestId);
+    assertEquals(2, task.appBackendAddress.getPort());
+
+    TFullTaskId fullTaskId = new TFullTaskId();
+    fullTaskId.taskId = "";
+    fullTaskId.requestId = "1";
+    List<TFullTaskId> completedTasks = Lists.newArrayList();
+    completedTasks.add(fullTaskId);
+    scheduler.tasksFinished(completedTasks);
+    task = scheduler.getNextTask();
+    assertEquals("3", task.requestId);
+    assertEquals(3, task.appBackendAddress.getPort());
+  }
+
+  /**
+   * Tests that cancelling reservations removes only the queued reservations for the given
+   * request, and that request IDs are compared by value.
+   */
+  @Test
+  public void testCancellation() {
+    TaskScheduler[] schedulers = {new FifoTaskScheduler(1), new PriorityTaskScheduler(1),
+                                  new RoundRobinTaskScheduler(1)};
+    for (TaskScheduler scheduler : schedulers) {
+      requestId = 1;
+      scheduler.initialize(new PropertiesConfiguration(), 12345);
+      final InetSocketAddress appBackendAddress = new InetSocketAddress("localhost", 1);
+
+      // Request 1 fills the only slot; the remaining reservations are queued.
+      scheduler.submitTaskReservations(
+          createTaskReservationRequest(2, scheduler, "user1"), appBackendAddress);
+      scheduler.submitTaskReservations(
+          createTaskReservationRequest(3, scheduler, "user2"), appBackendAddress);
+      scheduler.submitTaskReservations(
+          createTaskReservationRequest(1, scheduler, "user1"), appBackendAddress);
+      assertEquals(1, scheduler.runnableTasks());
+      assertEquals("1", scheduler.getNextTask().requestId);
+
+      // Use a new String, so that the cancellation can't match using reference equality.
+      assertEquals(3, scheduler.cancelTaskReservations(new String("2")));
+      assertEquals(0, scheduler.cancelTaskReservations(new String("2")));
+
+      TFullTaskId fullTaskId = new TFullTaskId();
+      fullTaskId.taskId = "";
+      fullTaskId.requestId = "1";
+      List<TFullTaskId> completedTasks = Lists.newArrayList();
+      completedTasks.add(fullTaskId);
+
+      scheduler.tasksFinished(completedTasks);
+      assertEquals("1", scheduler.getNextTask().requestId);
+      scheduler.tasksFinished(completedTasks);
+      assertEquals("3", scheduler.getNextTask().requestId);
+      // No reservations remain, so finishing a task shouldn't make anything runnable.
+      fullTaskId.requestId = "3";
+      scheduler.tasksFinished(completedTasks);
+      assertEquals(0, scheduler.runnableTasks());
+    }
+  }
 }
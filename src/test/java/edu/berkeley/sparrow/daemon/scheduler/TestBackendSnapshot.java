@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class TestBackendSnapshot {
+
+  /**
+   * Ensures that sample() returns the requested number of distinct backends, and that every
+   * backend is eventually chosen.
+   */
+  @Test
+  public void testSample() {
+    final int NUM_BACKENDS = 20;
+    List<InetSocketAddress> backends = Lists.newArrayList();
+    for (int i = 0; i < NUM_BACKENDS; i++) {
+      backends.add(new InetSocketAddress("127.0.0.1", 20000 + i));
+    }
+    BackendSnapshot snapshot = new BackendSnapshot(1, backends);
+    assertEquals(NUM_BACKENDS, snapshot.size());
+
+    Set<InetSocketAddress> chosen = Sets.newHashSet();
+    for (int trial = 0; trial < 200; trial++) {
+      for (int k = 1; k <= NUM_BACKENDS + 2; k++) {
+        List<InetSocketAddress> sample = snapshot.sample(k);
+        assertEquals(Math.min(k, NUM_BACKENDS), sample.size());
+        assertEquals(sample.size(), Sets.newHashSet(sample).size());
+        assertTrue(backends.containsAll(sample));
+        if (k == 1) {
+          chosen.addAll(sample);
+        }
+      }
+    }
+    assertEquals(NUM_BACKENDS, chosen.size());
+  }
+}
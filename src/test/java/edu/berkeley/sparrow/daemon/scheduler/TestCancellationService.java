@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TBase;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservationsBatch_args;
+import edu.berkeley.sparrow.thrift.InternalService.cancelTaskReservations_args;
+import edu.berkeley.sparrow.thrift.TCancelTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+
+public class TestCancellationService {
+  private static final THostPort NODE_MONITOR = new THostPort("10.0.0.1", 20502);
+  private static final InetSocketAddress NODE_MONITOR_ADDRESS =
+      new InetSocketAddress("10.0.0.1", 20502);
+
+  /**
+   * Ensures that cancellations for a node monitor that arrive while an earlier batch for it is
+   * in flight are sent together in a single RPC, and that the batches are reported as metrics.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testCancellationsCoalesce() throws Exception {
+    PipelinedChannelManager channels = mock(PipelinedChannelManager.class);
+    CancellationService cancellationService = new CancellationService(channels, 200);
+    Thread thread = new Thread(cancellationService);
+    thread.setDaemon(true);
+    thread.start();
+    long batchesBefore = getMetric("scheduler.cancellation_batch_size.count");
+    long cancellationsBefore = getMetric("scheduler.cancellations");
+
+    cancellationService.addCancellation("request_0", NODE_MONITOR);
+    // The mock channel never completes the call, so the first batch stays in flight.
+    verify(channels, timeout(5000)).call(eq(NODE_MONITOR_ADDRESS),
+        eq("cancelTaskReservationsBatch"), any(TBase.class), any(TBase.class),
+        any(PipelinedChannel.Callback.class));
+    final int numCancellations = 3;
+    for (int i = 1; i <= numCancellations; i++) {
+      cancellationService.addCancellation("request_" + i, NODE_MONITOR);
+    }
+
+    ArgumentCaptor<TBase> args = ArgumentCaptor.forClass(TBase.class);
+    verify(channels, timeout(5000).times(2)).call(eq(NODE_MONITOR_ADDRESS),
+        eq("cancelTaskReservationsBatch"), args.capture(), any(TBase.class),
+        any(PipelinedChannel.Callback.class));
+    List<String> requestIds = Lists.newArrayList();
+    for (TCancelTaskReservationsRequest request :
+         ((cancelTaskReservationsBatch_args) args.getAllValues().get(1)).getRequests()) {
+      requestIds.add(request.getRequestId());
+    }
+    assertEquals(Lists.newArrayList("request_1", "request_2", "request_3"), requestIds);
+    assertEquals(batchesBefore + 2, getMetric("scheduler.cancellation_batch_size.count"));
+    assertEquals(cancellationsBefore + numCancellations + 1,
+                 getMetric("scheduler.cancellations"));
+  }
+
+  /**
+   * Ensures that cancellations for a node monitor that doesn't implement
+   * cancelTaskReservationsBatch() are sent with one cancelTaskReservations() RPC each, both for
+   * the batch that discovers this and for later batches.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testUnbatchedNodeMonitor() throws Exception {
+    PipelinedChannelManager channels = mock(PipelinedChannelManager.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        ((PipelinedChannel.Callback) invocation.getArguments()[4]).onError(
+            new TApplicationException(TApplicationException.UNKNOWN_METHOD, "unknown method"));
+        return null;
+      }
+    }).when(channels).call(eq(NODE_MONITOR_ADDRESS), eq("cancelTaskReservationsBatch"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+    final LinkedBlockingQueue<String> cancelledRequestIds = new LinkedBlockingQueue<String>();
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        cancelledRequestIds.add(((cancelTaskReservations_args) invocation.getArguments()[2])
+            .getRequest().getRequestId());
+        return null;
+      }
+    }).when(channels).call(eq(NODE_MONITOR_ADDRESS), eq("cancelTaskReservations"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+    CancellationService cancellationService = new CancellationService(channels, 0);
+    Thread thread = new Thread(cancellationService);
+    thread.setDaemon(true);
+    thread.start();
+
+    cancellationService.addCancellation("request_0", NODE_MONITOR);
+    assertEquals("request_0", cancelledRequestIds.poll(5, TimeUnit.SECONDS));
+    cancellationService.addCancellation("request_1", NODE_MONITOR);
+    assertEquals("request_1", cancelledRequestIds.poll(5, TimeUnit.SECONDS));
+    verify(channels).call(eq(NODE_MONITOR_ADDRESS), eq("cancelTaskReservationsBatch"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+  }
+
+  private static long getMetric(String name) {
+    Number value = MetricsRegistry.getInstance().getValues().get(name);
+    return value == null ? 0 : value.longValue();
+  }
+}
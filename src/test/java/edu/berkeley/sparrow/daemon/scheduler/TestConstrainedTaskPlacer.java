@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -333,4 +334,48 @@ public class TestConstrainedTaskPlacer {
 
   }
 
+  /**
+   * Creates a scheduling request whose tasks prefer only hosts that the node monitor index
+   * hasn't resolved, and ensures that the tasks are placed as unconstrained tasks rather than
+   * lost.
+   */
+  @Test
+  public void testUnresolvedPreferences() {
+    List<InetSocketAddress> backendNodes = Arrays.asList(
+        new InetSocketAddress("1.2.3.4", 345), new InetSocketAddress("5.6.7.81", 2000),
+        new InetSocketAddress("9.0.0.0", 204));
+    NodeMonitorIndex.View view =
+        new NodeMonitorIndex().getView(APP_ID, new BackendSnapshot(1, backendNodes));
+
+    ByteBuffer message = ByteBuffer.allocate(1);
+    List<TTaskSpec> tasks = new ArrayList<TTaskSpec>();
+    Set<String> taskIds = new HashSet<String>();
+    final int NUM_TASKS = 2;
+    for (int i = 0; i < NUM_TASKS; ++i) {
+      TPlacementPreference placementPreference = new TPlacementPreference();
+      // The index resolves host names in the background, so these are unknown the first time.
+      placementPreference.addToNodes("unresolved-" + i + ".invalid");
+      String id = "test task " + i;
+      taskIds.add(id);
+      tasks.add(new TTaskSpec(id, placementPreference, message));
+    }
+    TSchedulingRequest schedulingRequest = new TSchedulingRequest(APP_ID, tasks, user);
+
+    ConstrainedTaskPlacer taskPlacer = new ConstrainedTaskPlacer(REQUEST_ID, 1, view);
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+        taskPlacer.getEnqueueTaskReservationsRequests(schedulingRequest, REQUEST_ID,
+                                                      backendNodes, SCHEDULER_ADDRESS);
+    assertEquals(NUM_TASKS, requests.size());
+
+    Set<String> launchedTaskIds = new HashSet<String>();
+    for (InetSocketAddress nodeMonitor : requests.keySet()) {
+      assertTrue(backendNodes.contains(nodeMonitor));
+      for (TTaskLaunchSpec spec : taskPlacer.assignTask(
+               Network.socketAddressToThrift(nodeMonitor))) {
+        launchedTaskIds.add(spec.getTaskId());
+      }
+    }
+    assertEquals(taskIds, launchedTaskIds);
+    assertTrue(taskPlacer.allTasksPlaced());
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TBase;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservations_result;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsResponse;
+
+public class TestEnqueueService {
+  private static final InetSocketAddress NODE_MONITOR_ADDRESS =
+      new InetSocketAddress("10.0.0.1", 20502);
+
+  /** Records the requests and responses reported for each batch. */
+  private static class RecordingCallback implements EnqueueService.BatchCallback {
+    final List<TEnqueueTaskReservationsRequest> requests = Lists.newArrayList();
+    final List<TEnqueueTaskReservationsResponse> responses = Lists.newArrayList();
+
+    @Override
+    public void onComplete(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests,
+        List<TEnqueueTaskReservationsResponse> responses, long startNanos) {
+      this.requests.addAll(requests);
+      this.responses.addAll(responses);
+    }
+
+    @Override
+    public void onError(InetSocketAddress nodeMonitorAddress,
+        List<TEnqueueTaskReservationsRequest> requests, Exception exception) {
+      throw new AssertionError("Unexpected error: " + exception);
+    }
+  }
+
+  private static TEnqueueTaskReservationsRequest makeRequest(String requestId) {
+    TEnqueueTaskReservationsRequest request = new TEnqueueTaskReservationsRequest();
+    request.setRequestId(requestId);
+    return request;
+  }
+
+  /**
+   * Ensures that reservations for a node monitor that doesn't implement
+   * enqueueTaskReservationsBatch() are sent with one enqueueTaskReservations() RPC each, both
+   * for the batch that discovers this and for later batches.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testUnbatchedNodeMonitor() throws Exception {
+    PipelinedChannelManager channels = mock(PipelinedChannelManager.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        ((PipelinedChannel.Callback) invocation.getArguments()[4]).onError(
+            new TApplicationException(TApplicationException.UNKNOWN_METHOD, "unknown method"));
+        return null;
+      }
+    }).when(channels).call(eq(NODE_MONITOR_ADDRESS), eq("enqueueTaskReservationsBatch"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        enqueueTaskReservations_result result =
+            (enqueueTaskReservations_result) invocation.getArguments()[3];
+        result.setSuccess(true);
+        ((PipelinedChannel.Callback) invocation.getArguments()[4]).onComplete(result);
+        return null;
+      }
+    }).when(channels).call(eq(NODE_MONITOR_ADDRESS), eq("enqueueTaskReservations"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+
+    RecordingCallback callback = new RecordingCallback();
+    EnqueueService enqueueService = new EnqueueService(channels, 0, 16, callback);
+    List<TEnqueueTaskReservationsRequest> firstBatch =
+        Lists.newArrayList(makeRequest("request_0"), makeRequest("request_1"));
+    enqueueService.enqueue(NODE_MONITOR_ADDRESS, firstBatch);
+    enqueueService.enqueue(NODE_MONITOR_ADDRESS, Lists.newArrayList(makeRequest("request_2")));
+
+    verify(channels, times(1)).call(eq(NODE_MONITOR_ADDRESS),
+        eq("enqueueTaskReservationsBatch"), any(TBase.class), any(TBase.class),
+        any(PipelinedChannel.Callback.class));
+    verify(channels, times(3)).call(eq(NODE_MONITOR_ADDRESS), eq("enqueueTaskReservations"),
+        any(TBase.class), any(TBase.class), any(PipelinedChannel.Callback.class));
+    assertEquals(3, callback.requests.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("request_" + i, callback.requests.get(i).getRequestId());
+      assertTrue(callback.responses.get(i).isEnqueued());
+    }
+  }
+}
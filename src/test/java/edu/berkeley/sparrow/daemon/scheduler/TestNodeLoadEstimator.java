@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.thrift.TNodeMonitorLoad;
+
+public class TestNodeLoadEstimator {
+  /** Half life long enough that estimates do not noticeably decay during the test. */
+  private static final double HALF_LIFE_MILLIS = 1000000;
+
+  /**
+   * Ensures that, when all of the node monitors are candidates, sample() picks the node
+   * monitors with the lowest estimated load.
+   */
+  @Test
+  public void testSamplePrefersLightlyLoadedNodes() {
+    InetSocketAddress busyNode = new InetSocketAddress("127.0.0.1", 20000);
+    InetSocketAddress idleNode = new InetSocketAddress("127.0.0.1", 20001);
+    InetSocketAddress reservedNode = new InetSocketAddress("127.0.0.1", 20002);
+    List<InetSocketAddress> nodes = Lists.newArrayList(busyNode, idleNode, reservedNode);
+    BackendSnapshot snapshot = new BackendSnapshot(1, nodes);
+
+    NodeLoadEstimator estimator = new NodeLoadEstimator(HALF_LIFE_MILLIS, 3);
+    estimator.reportLoad(busyNode, new TNodeMonitorLoad(10, 4));
+    estimator.addReservations(reservedNode, 2);
+    assertEquals(14, estimator.getLoad(busyNode), 0.01);
+    assertEquals(0, estimator.getLoad(idleNode), 0.01);
+    assertEquals(2, estimator.getLoad(reservedNode), 0.01);
+
+    for (int i = 0; i < 20; i++) {
+      assertEquals(Lists.newArrayList(idleNode), estimator.sample(snapshot, 1));
+      assertEquals(Lists.newArrayList(idleNode, reservedNode), estimator.sample(snapshot, 2));
+    }
+
+    // A new report replaces the previous estimate.
+    estimator.reportLoad(busyNode, new TNodeMonitorLoad(0, 0));
+    assertEquals(0, estimator.getLoad(busyNode), 0.01);
+  }
+}
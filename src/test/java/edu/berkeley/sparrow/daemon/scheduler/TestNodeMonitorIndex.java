@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestNodeMonitorIndex {
+  private static final String APP_ID = "test app";
+
+  /**
+   * Ensures that preferences given as IP addresses are matched immediately, that host names are
+   * matched once they have been resolved in the background, and that views are only rebuilt
+   * when the set of backends changes.
+   */
+  @Test
+  public void testLookup() throws Exception {
+    InetSocketAddress local = new InetSocketAddress("127.0.0.1", 20502);
+    InetSocketAddress remote = new InetSocketAddress("10.0.0.1", 20502);
+    List<InetSocketAddress> backends = Lists.newArrayList(local, remote);
+    BackendSnapshot snapshot = new BackendSnapshot(1, backends);
+
+    NodeMonitorIndex index = new NodeMonitorIndex();
+    NodeMonitorIndex.View view = index.getView(APP_ID, snapshot);
+    assertSame(view, index.getView(APP_ID, snapshot));
+    assertEquals(local, view.lookup("127.0.0.1"));
+    assertEquals(remote, view.lookup("10.0.0.1"));
+    assertNull(view.lookup("10.0.0.2"));
+
+    InetSocketAddress resolved = view.lookup("localhost");
+    for (int i = 0; i < 100 && resolved == null; i++) {
+      Thread.sleep(50);
+      resolved = view.lookup("localhost");
+    }
+    assertEquals(local, resolved);
+
+    BackendSnapshot newSnapshot = new BackendSnapshot(2, backends.subList(1, 2));
+    NodeMonitorIndex.View newView = index.getView(APP_ID, newSnapshot);
+    assertNotSame(view, newView);
+    assertNull(newView.lookup("127.0.0.1"));
+    assertNull(newView.lookup("localhost"));
+    assertEquals(remote, newView.lookup("10.0.0.1"));
+  }
+}
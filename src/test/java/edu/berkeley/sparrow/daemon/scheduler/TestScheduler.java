@@ -0,0 +1,286 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.thrift.TBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.verification.VerificationMode;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannel;
+import edu.berkeley.sparrow.daemon.util.PipelinedChannelManager;
+import edu.berkeley.sparrow.thrift.InternalService.enqueueTaskReservationsBatch_args;
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TSubmitJobResult;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+public class TestScheduler {
+  private static final String APP_ID = "test app";
+  private static final int NUM_NODES = 4;
+  private static final TUserGroupInfo USER = new TUserGroupInfo("user", "group", 0);
+
+  private Scheduler scheduler;
+  private PipelinedChannelManager nodeMonitorChannels;
+
+  @Before
+  public void setUp() throws Exception {
+    BasicConfigurator.configure();
+    createScheduler(makeConf());
+  }
+
+  private static Configuration makeConf() {
+    Configuration conf = new PropertiesConfiguration();
+    conf.setProperty(SparrowConf.DEPLYOMENT_MODE, "configbased");
+    conf.setProperty(SparrowConf.STATIC_APP_NAME, APP_ID);
+    List<String> nodes = Lists.newArrayList();
+    for (int i = 0; i < NUM_NODES; i++) {
+      nodes.add("10.0.0." + i + ":20502");
+    }
+    conf.setProperty(SparrowConf.STATIC_NODE_MONITORS, nodes);
+    conf.setProperty(SparrowConf.WARM_NODE_MONITOR_CONNECTIONS, false);
+    conf.setProperty(SparrowConf.CANCELLATION, false);
+    conf.setProperty(SparrowConf.SAMPLE_RATIO, 2.0);
+    return conf;
+  }
+
+  private void createScheduler(Configuration conf) throws Exception {
+    nodeMonitorChannels = mock(PipelinedChannelManager.class);
+    scheduler = new Scheduler();
+    scheduler.nodeMonitorChannels = nodeMonitorChannels;
+    scheduler.initialize(conf, new InetSocketAddress("localhost", 20503));
+  }
+
+  private static TSchedulingRequest makeRequest(String name, int numTasks) {
+    List<TTaskSpec> tasks = Lists.newArrayList();
+    for (int i = 0; i < numTasks; i++) {
+      tasks.add(new TTaskSpec(name + " task " + i, null, ByteBuffer.allocate(1)));
+    }
+    return new TSchedulingRequest(APP_ID, tasks, USER);
+  }
+
+  /**
+   * Returns the requests the scheduler sent in enqueueTaskReservationsBatch() RPCs, by node
+   * monitor.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> getEnqueueRequests() {
+    ArgumentCaptor<InetSocketAddress> addresses = ArgumentCaptor.forClass(InetSocketAddress.class);
+    ArgumentCaptor<TBase> args = ArgumentCaptor.forClass(TBase.class);
+    verify(nodeMonitorChannels, atLeastOnce()).call(addresses.capture(),
+        eq("enqueueTaskReservationsBatch"), args.capture(), any(TBase.class),
+        any(PipelinedChannel.Callback.class));
+    Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> requests = Maps.newHashMap();
+    for (int i = 0; i < addresses.getAllValues().size(); i++) {
+      InetSocketAddress address = addresses.getAllValues().get(i);
+      if (!requests.containsKey(address)) {
+        requests.put(address, Lists.<TEnqueueTaskReservationsRequest>newArrayList());
+      }
+      requests.get(address).addAll(
+          ((enqueueTaskReservationsBatch_args) args.getAllValues().get(i)).getRequests());
+    }
+    return requests;
+  }
+
+  /**
+   * Ensures that submitJobs() reports a result for each job, in order, and rejects only the
+   * malformed job.
+   */
+  @Test
+  public void testSubmitJobsResults() throws Exception {
+    TSchedulingRequest malformed = new TSchedulingRequest();
+    malformed.setApp(APP_ID);
+    List<TSubmitJobResult> results = scheduler.submitJobs(Lists.newArrayList(
+        makeRequest("a", 2), malformed, makeRequest("empty", 0), makeRequest("b", 1)));
+    assertEquals(4, results.size());
+    assertTrue(results.get(0).isAccepted());
+    assertFalse(results.get(1).isAccepted());
+    assertNotNull(results.get(1).getError());
+    assertTrue(results.get(2).isAccepted());
+    assertTrue(results.get(3).isAccepted());
+  }
+
+  /**
+   * Ensures that a job that fails while its reservations are being created is rejected on its
+   * own, and that the other jobs in the batch are still placed.
+   */
+  @Test
+  public void testSubmitJobsPlacementError() throws Exception {
+    TSchedulingRequest unplaceable = makeRequest("unplaceable", 1);
+    // A task whose message can't be read, which is only noticed once the job is being placed.
+    unplaceable.getTasks().set(0, new TTaskSpec("unplaceable task", null, ByteBuffer.allocate(1)) {
+      @Override
+      public ByteBuffer bufferForMessage() {
+        throw new IllegalStateException("Unable to read task message");
+      }
+    });
+    List<TSubmitJobResult> results = scheduler.submitJobs(Lists.newArrayList(
+        makeRequest("a", 1), unplaceable, makeRequest("b", 1)));
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isAccepted());
+    assertFalse(results.get(1).isAccepted());
+    assertNotNull(results.get(1).getError());
+    assertTrue(results.get(2).isAccepted());
+
+    // With a probe ratio of 2, each of the other jobs places two reservations.
+    int numRequests = 0;
+    for (List<TEnqueueTaskReservationsRequest> nodeRequests : getEnqueueRequests().values()) {
+      numRequests += nodeRequests.size();
+    }
+    assertEquals(4, numRequests);
+  }
+
+  /**
+   * Ensures that jobs placed together still each place their reservations on distinct node
+   * monitors, and that each job's tasks can then be fetched from those node monitors.
+   */
+  @Test
+  public void testBatchedPlacement() throws Exception {
+    final int numJobs = 3;
+    final int tasksPerJob = 2;
+    List<TSchedulingRequest> requests = Lists.newArrayList();
+    for (int i = 0; i < numJobs; i++) {
+      requests.add(makeRequest("job " + i, tasksPerJob));
+    }
+    for (TSubmitJobResult result : scheduler.submitJobs(requests)) {
+      assertTrue(result.isAccepted());
+    }
+
+    // With a probe ratio of 2, each job should have one reservation on each node monitor.
+    Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests =
+        getEnqueueRequests();
+    assertEquals(NUM_NODES, enqueueRequests.size());
+    Map<String, Long> requestHandles = Maps.newHashMap();
+    for (List<TEnqueueTaskReservationsRequest> nodeRequests : enqueueRequests.values()) {
+      assertEquals(numJobs, nodeRequests.size());
+      Set<String> requestIds = Sets.newHashSet();
+      for (TEnqueueTaskReservationsRequest request : nodeRequests) {
+        assertEquals(1, request.getNumTasks());
+        assertTrue(request.isSetRequestHandle());
+        requestIds.add(request.getRequestId());
+        requestHandles.put(request.getRequestId(), request.getRequestHandle());
+      }
+      assertEquals(numJobs, requestIds.size());
+    }
+
+    Set<String> launchedTasks = Sets.newHashSet();
+    for (Map.Entry<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> entry :
+         enqueueRequests.entrySet()) {
+      THostPort nodeMonitor = new THostPort(
+          entry.getKey().getAddress().getHostAddress(), entry.getKey().getPort());
+      for (TEnqueueTaskReservationsRequest request : entry.getValue()) {
+        for (TTaskLaunchSpec task : scheduler.getTask(request.getRequestId(), nodeMonitor,
+            requestHandles.get(request.getRequestId()), null)) {
+          assertTrue(launchedTasks.add(task.getTaskId()));
+        }
+      }
+    }
+    assertEquals(numJobs * tasksPerJob, launchedTasks.size());
+  }
+
+  /**
+   * Ensures that reservations for jobs submitted separately are coalesced per node monitor until
+   * the batching window closes, and that a batch is sent early once it reaches the size cap.
+   */
+  @Test
+  public void testEnqueueBatchWindow() throws Exception {
+    Configuration conf = makeConf();
+    conf.setProperty(SparrowConf.ENQUEUE_BATCH_WINDOW_US, 500 * 1000);
+    conf.setProperty(SparrowConf.ENQUEUE_MAX_BATCH_SIZE, 3);
+    createScheduler(conf);
+
+    // With a probe ratio of 2, each job places one reservation on each node monitor.
+    final int numJobs = 4;
+    for (int i = 0; i < numJobs; i++) {
+      scheduler.submitJob(makeRequest("job " + i, NUM_NODES / 2));
+    }
+    // The first 3 reservations for each node monitor fill a batch, which is sent immediately.
+    verifyEnqueueRpcs(times(NUM_NODES));
+    // The remaining reservation is sent once its window closes.
+    verifyEnqueueRpcs(timeout(5000).times(2 * NUM_NODES));
+
+    Map<InetSocketAddress, List<TEnqueueTaskReservationsRequest>> enqueueRequests =
+        getEnqueueRequests();
+    assertEquals(NUM_NODES, enqueueRequests.size());
+    for (List<TEnqueueTaskReservationsRequest> nodeRequests : enqueueRequests.values()) {
+      assertEquals(numJobs, nodeRequests.size());
+    }
+  }
+
+  /**
+   * Ensures that reservations carry the frontend's address only if node monitors should send
+   * frontend messages directly to the frontend.
+   */
+  @Test
+  public void testDirectFrontendMessages() throws Exception {
+    assertTrue(scheduler.registerFrontend(APP_ID, "10.0.1.1:20505"));
+    scheduler.submitJob(makeRequest("relayed", 1));
+    for (List<TEnqueueTaskReservationsRequest> nodeRequests : getEnqueueRequests().values()) {
+      for (TEnqueueTaskReservationsRequest request : nodeRequests) {
+        assertFalse(request.isSetFrontendAddress());
+      }
+    }
+
+    Configuration conf = makeConf();
+    conf.setProperty(SparrowConf.DIRECT_FRONTEND_MESSAGES, true);
+    createScheduler(conf);
+    assertTrue(scheduler.registerFrontend(APP_ID, "10.0.1.1:20505"));
+    scheduler.submitJob(makeRequest("direct", 1));
+    for (List<TEnqueueTaskReservationsRequest> nodeRequests : getEnqueueRequests().values()) {
+      for (TEnqueueTaskReservationsRequest request : nodeRequests) {
+        assertEquals(new THostPort("10.0.1.1", 20505), request.getFrontendAddress());
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void verifyEnqueueRpcs(VerificationMode mode) {
+    verify(nodeMonitorChannels, mode).call(any(InetSocketAddress.class),
+        eq("enqueueTaskReservationsBatch"), any(TBase.class), any(TBase.class),
+        any(PipelinedChannel.Callback.class));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.BasicConfigurator;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.thrift.TEnqueueTaskReservationsRequest;
+import edu.berkeley.sparrow.thrift.THostPort;
+import edu.berkeley.sparrow.thrift.TPlacementPreference;
+import edu.berkeley.sparrow.thrift.TSchedulingRequest;
+import edu.berkeley.sparrow.thrift.TTaskLaunchSpec;
+import edu.berkeley.sparrow.thrift.TTaskSpec;
+import edu.berkeley.sparrow.thrift.TUserGroupInfo;
+
+public class TestStreamingTaskPlacer {
+  private static final String APP_ID = "test app";
+  private static final String REQUEST_ID = "request id";
+  private static final THostPort SCHEDULER_ADDRESS = new THostPort("localhost", 12345);
+  private static final int NUM_TASKS = 100;
+  private static final int NUM_NODES = 6;
+  private static TUserGroupInfo user = new TUserGroupInfo("user", "group", 0);
+  private static List<TTaskSpec> tasks;
+  Set<String> taskIds;
+  private static List<InetSocketAddress> backendNodes;
+
+  @Before
+  public void setUp() throws Exception {
+    // Set up a simple configuration that logs on the console.
+    BasicConfigurator.configure();
+    tasks = Lists.newArrayList();
+    taskIds = Sets.newHashSet();
+    ByteBuffer message = ByteBuffer.allocate(1);
+    TPlacementPreference placementPreference = new TPlacementPreference();
+    for (int i = 0; i < NUM_TASKS; ++i) {
+      String id = "test task " + i;
+      taskIds.add(id);
+      tasks.add(new TTaskSpec(id, placementPreference, message));
+    }
+
+    backendNodes = Lists.newArrayList();
+    for (int i = 0; i < NUM_NODES; ++i) {
+      backendNodes.add(new InetSocketAddress("10.0.0." + i, 20502));
+    }
+  }
+
+  /**
+   * Ensures that the placer enqueues a single re-armed reservation per node monitor, and that
+   * repeatedly calling assignTask() for those reservations (as the node monitors would after
+   * re-arming them) drains all of the job's tasks exactly once.
+   */
+  @Test
+  public void testDrainWithRearmedReservations() {
+    TSchedulingRequest schedulingRequest = new TSchedulingRequest(APP_ID, tasks, user);
+    StreamingTaskPlacer taskPlacer = new StreamingTaskPlacer(REQUEST_ID, 1.5, null);
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+        taskPlacer.getEnqueueTaskReservationsRequests(schedulingRequest, REQUEST_ID, backendNodes,
+                                                      SCHEDULER_ADDRESS);
+    assertEquals(NUM_NODES, requests.size());
+    List<THostPort> armedNodes = Lists.newArrayList();
+    for (Map.Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry :
+         requests.entrySet()) {
+      assertEquals(1, entry.getValue().getNumTasks());
+      assertTrue(entry.getValue().isRearmReservations());
+      armedNodes.add(new THostPort(entry.getKey().getAddress().getHostAddress(),
+                                   entry.getKey().getPort()));
+    }
+
+    Set<String> taskIdsCopy = Sets.newHashSet(taskIds);
+    while (!taskPlacer.allTasksPlaced()) {
+      for (THostPort node : armedNodes) {
+        if (taskPlacer.allTasksPlaced()) {
+          break;
+        }
+        List<TTaskLaunchSpec> specs = taskPlacer.assignTask(node);
+        assertEquals(1, specs.size());
+        for (TTaskLaunchSpec spec : specs) {
+          assertTrue("Expect list of unlaunched tasks to contain " + spec.getTaskId(),
+                     taskIdsCopy.remove(spec.getTaskId()));
+        }
+      }
+    }
+    assertEquals(0, taskIdsCopy.size());
+
+    // Every node monitor still holds an armed reservation, so all of them should be cancelled.
+    assertEquals(NUM_NODES, taskPlacer.getOutstandingNodeMonitorsForCancellation().size());
+    assertEquals(0, taskPlacer.getOutstandingNodeMonitorsForCancellation().size());
+  }
+
+  /**
+   * Ensures that a reservation that doesn't receive a task is no longer considered outstanding.
+   */
+  @Test
+  public void testReservationDoneWhenNoTask() {
+    TSchedulingRequest schedulingRequest = new TSchedulingRequest(
+        APP_ID, tasks.subList(0, 1), user);
+    StreamingTaskPlacer taskPlacer = new StreamingTaskPlacer(REQUEST_ID, 2, null);
+    Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+        taskPlacer.getEnqueueTaskReservationsRequests(schedulingRequest, REQUEST_ID, backendNodes,
+                                                      SCHEDULER_ADDRESS);
+    assertEquals(2, requests.size());
+    List<InetSocketAddress> nodes = Lists.newArrayList(requests.keySet());
+    THostPort first = new THostPort(nodes.get(0).getAddress().getHostAddress(),
+                                    nodes.get(0).getPort());
+    THostPort second = new THostPort(nodes.get(1).getAddress().getHostAddress(),
+                                     nodes.get(1).getPort());
+    assertFalse(taskPlacer.allTasksPlaced());
+    assertEquals(1, taskPlacer.assignTask(first).size());
+    assertTrue(taskPlacer.allTasksPlaced());
+    assertEquals(0, taskPlacer.assignTask(first).size());
+    // Only the second node monitor's reservation is still outstanding.
+    Set<THostPort> toCancel = taskPlacer.getOutstandingNodeMonitorsForCancellation();
+    assertEquals(Sets.newHashSet(second), toCancel);
+  }
+}
@@ -243,6 +243,52 @@ public class TestUnconstrainedTaskPlacer {
     }
   }
 
+  /**
+   * Calls getEnqueueTaskReservationsRequests() for a job with more reservations than nodes, and
+   * then ensures that assignTask() returns multiple tasks when a node monitor asks for tasks for
+   * several of its reservations at once.
+   */
+  @Test
+  public void testAssignMultipleTasks() {
+    final double PROBE_RATIO = 2;
+    final int NUM_TASKS = 14;
+
+    ByteBuffer message = ByteBuffer.allocate(1);
+    TPlacementPreference placementPreference = new TPlacementPreference();
+    while (tasks.size() < NUM_TASKS) {
+      String id = "test task " + tasks.size();
+      taskIds.add(id);
+      tasks.add(new TTaskSpec(id, placementPreference, message));
+    }
+    TSchedulingRequest schedulingRequest = new TSchedulingRequest(APP_ID, tasks, user);
+
+    final int numIterations = 100;
+    for (int i = 0; i < numIterations; ++i) {
+      UnconstrainedTaskPlacer taskPlacer = new UnconstrainedTaskPlacer(REQUEST_ID, PROBE_RATIO);
+      Map<InetSocketAddress, TEnqueueTaskReservationsRequest> requests =
+          taskPlacer.getEnqueueTaskReservationsRequests(schedulingRequest, REQUEST_ID, backendNodes,
+                                                        SCHEDULER_ADDRESS);
+
+      Set<String> taskIdsCopy = Sets.newHashSet(taskIds);
+      for (Entry<InetSocketAddress, TEnqueueTaskReservationsRequest> entry : requests.entrySet()) {
+        THostPort hostPort = new THostPort(entry.getKey().getAddress().getHostAddress(),
+                                           entry.getKey().getPort());
+        int numReservations = entry.getValue().getNumTasks();
+        int expectedTasks = Math.min(numReservations, taskIdsCopy.size());
+        List<TTaskLaunchSpec> specs = taskPlacer.assignTask(hostPort, numReservations);
+        assertEquals(expectedTasks, specs.size());
+        for (TTaskLaunchSpec spec : specs) {
+          assertTrue("Expect list of unlaunched tasks to contain " + spec.getTaskId(),
+                     taskIdsCopy.remove(spec.getTaskId()));
+        }
+      }
+      assertEquals(0, taskIdsCopy.size());
+      assertTrue(taskPlacer.allTasksPlaced());
+      // All reservations were used, so there should be nothing left to cancel.
+      assertEquals(0, taskPlacer.getOutstandingNodeMonitorsForCancellation().size());
+    }
+  }
+
   @Test
   public void testCancellation() {
     TSchedulingRequest schedulingRequest = new TSchedulingRequest(APP_ID, tasks, user);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class TestBinaryAuditLog {
+  /** Ensures that converted binary logs match the text format written by log4j. */
+  @Test
+  public void testConvertToText() throws Exception {
+    File file = File.createTempFile("sparrow_audit", ".bin");
+    file.deleteOnExit();
+    BinaryAuditLog log = new BinaryAuditLog(file.getPath(), 100);
+    log.log("audit.Scheduler", 1000L,
+        new Object[] {"arrived", "10.0.0.1_5", 3, "10.0.0.1", 20503, "user", "", false});
+    log.log("audit.TaskScheduler", 1001L,
+        new Object[] {"reservation_enqueued", "10.0.0.2", "10.0.0.1_5", 7L});
+    log.log("audit.Scheduler", 1002L,
+        new Object[] {"scheduler_get_task_no_task", "10.0.0.1_5", null});
+    log.close();
+    // Closing the log again (e.g. from the shutdown hook) has no effect.
+    log.close();
+
+    StringWriter text = new StringWriter();
+    InputStream in = new FileInputStream(file);
+    try {
+      assertEquals(3, BinaryAuditLogConverter.convert(in, text));
+    } finally {
+      in.close();
+    }
+    assertEquals(
+        "audit.Scheduler\t1000\tarrived:10.0.0.1_5:3:10.0.0.1:20503:user::false\n" +
+        "audit.TaskScheduler\t1001\treservation_enqueued:10.0.0.2:10.0.0.1_5:7\n" +
+        "audit.Scheduler\t1002\tscheduler_get_task_no_task:10.0.0.1_5:null\n",
+        text.toString());
+  }
+
+  /** Ensures that sampling depends only on the request id. */
+  @Test
+  public void testSampling() {
+    try {
+      Logging.setAuditSampleRate(0.1);
+      int sampled = 0;
+      for (int i = 0; i < 10000; i++) {
+        String requestId = "10.0.0.1_" + i;
+        boolean isSampled = Logging.isAuditSampled(requestId);
+        assertEquals(isSampled, Logging.isAuditSampled(requestId));
+        if (isSampled) {
+          sampled++;
+        }
+      }
+      assertTrue(sampled > 500 && sampled < 1500);
+
+      Logging.setAuditSampleRate(0);
+      assertFalse(Logging.isAuditSampled("10.0.0.1_0"));
+    } finally {
+      Logging.setAuditSampleRate(1);
+    }
+    assertTrue(Logging.isAuditSampled("10.0.0.1_0"));
+  }
+}
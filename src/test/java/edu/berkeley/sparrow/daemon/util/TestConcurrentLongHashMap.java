@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TestConcurrentLongHashMap {
+
+  /** Applies a random sequence of operations to the map and to a HashMap, and compares them. */
+  @Test
+  public void testMatchesHashMap() {
+    ConcurrentLongHashMap<String> map = new ConcurrentLongHashMap<String>(4);
+    Map<Long, String> expected = new HashMap<Long, String>();
+    Random r = new Random(12345);
+    for (int i = 0; i < 100000; i++) {
+      // Use a small key space so that keys are frequently re-inserted and removed.
+      long key = RequestIds.makeHandle(r.nextInt(4), r.nextInt(500));
+      int op = r.nextInt(3);
+      if (op == 0) {
+        String value = Integer.toString(i);
+        assertEquals(expected.put(key, value), map.put(key, value));
+      } else if (op == 1) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        assertEquals(expected.get(key), map.get(key));
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Long, String> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.sparrow.api.FrontendServer;
+import edu.berkeley.sparrow.thrift.BatchingFrontendService;
+import edu.berkeley.sparrow.thrift.FrontendService;
+import edu.berkeley.sparrow.thrift.TFrontendMessage;
+import edu.berkeley.sparrow.thrift.TFullTaskId;
+
+public class TestFrontendMessageBatcher {
+  private static final String APP_ID = "test app";
+
+  /** A frontend that only implements the single-message frontendMessage() RPC. */
+  private static class UnbatchedFrontend implements FrontendService.Iface {
+    final LinkedBlockingQueue<String> taskIds = new LinkedBlockingQueue<String>();
+
+    @Override
+    public void frontendMessage(TFullTaskId taskId, int status, ByteBuffer message) {
+      taskIds.add(taskId.getTaskId());
+    }
+  }
+
+  /** A frontend that records each batch of messages it receives. */
+  private static class BatchingFrontend extends FrontendServer {
+    final LinkedBlockingQueue<List<TFrontendMessage>> batches =
+        new LinkedBlockingQueue<List<TFrontendMessage>>();
+
+    @Override
+    public void frontendMessages(List<TFrontendMessage> messages) {
+      batches.add(messages);
+    }
+
+    @Override
+    public void frontendMessage(TFullTaskId taskId, int status, ByteBuffer message) {
+    }
+  }
+
+  private static int getFreePort() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    return port;
+  }
+
+  private static TFrontendMessage makeMessage(int i) {
+    TFullTaskId taskId = new TFullTaskId();
+    taskId.taskId = Integer.toString(i);
+    taskId.requestId = "request";
+    return new TFrontendMessage(APP_ID, taskId, 0, ByteBuffer.allocate(1));
+  }
+
+  /**
+   * Ensures that messages reach a frontend that doesn't accept batches, both in the batch that
+   * discovers this and in later batches.
+   */
+  @Test
+  public void testUnbatchedFrontend() throws Exception {
+    UnbatchedFrontend frontend = new UnbatchedFrontend();
+    int port = getFreePort();
+    TServers.launchThreadedThriftServer(port, 2,
+        new FrontendService.Processor<FrontendService.Iface>(frontend));
+    // The server may take a moment to start listening.
+    Thread.sleep(200);
+
+    PipelinedChannelManager channels = new PipelinedChannelManager("test");
+    FrontendMessageBatcher batcher = new FrontendMessageBatcher("test", channels, 0, 16);
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+    final int numMessages = 3;
+    List<TFrontendMessage> messages = Lists.newArrayList();
+    for (int i = 0; i < numMessages; i++) {
+      messages.add(makeMessage(i));
+    }
+    batcher.addAll(address, messages);
+    batcher.add(address, makeMessage(numMessages));
+
+    // Requests are handled by several threads, so the messages may arrive in any order.
+    Set<String> received = Sets.newHashSet();
+    for (int i = 0; i <= numMessages; i++) {
+      String taskId = frontend.taskIds.poll(10, TimeUnit.SECONDS);
+      assertNotNull(taskId);
+      received.add(taskId);
+    }
+    assertEquals(Sets.newHashSet("0", "1", "2", "3"), received);
+    batcher.close();
+    channels.close();
+  }
+
+  /** Ensures that a frontend that accepts batches gets each batch in a single call. */
+  @Test
+  public void testBatchingFrontend() throws Exception {
+    BatchingFrontend frontend = new BatchingFrontend();
+    int port = getFreePort();
+    TServers.launchThreadedThriftServer(port, 2,
+        new BatchingFrontendService.Processor<BatchingFrontendService.Iface>(frontend));
+    Thread.sleep(200);
+
+    PipelinedChannelManager channels = new PipelinedChannelManager("test");
+    FrontendMessageBatcher batcher = new FrontendMessageBatcher("test", channels, 0, 16);
+    List<TFrontendMessage> messages = Lists.newArrayList(makeMessage(0), makeMessage(1));
+    batcher.addAll(new InetSocketAddress("127.0.0.1", port), messages);
+    assertEquals(messages, frontend.batches.poll(10, TimeUnit.SECONDS));
+    batcher.close();
+    channels.close();
+  }
+}
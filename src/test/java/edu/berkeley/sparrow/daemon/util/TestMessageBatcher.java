@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class TestMessageBatcher {
+  private static final InetSocketAddress DEST_A = new InetSocketAddress("10.0.0.1", 1);
+  private static final InetSocketAddress DEST_B = new InetSocketAddress("10.0.0.2", 1);
+
+  /** Records each batch, and leaves it in flight until the test calls batchFinished(). */
+  private static class RecordingBatcher extends MessageBatcher<Integer> {
+    final LinkedBlockingQueue<List<Integer>> batches = new LinkedBlockingQueue<List<Integer>>();
+
+    RecordingBatcher(long maxDelayMicros, int maxBatchSize) {
+      super("test", maxDelayMicros, maxBatchSize);
+    }
+
+    @Override
+    protected void sendBatch(InetSocketAddress destination, List<Integer> batch) {
+      batches.add(batch);
+    }
+
+    void finish(InetSocketAddress destination) {
+      batchFinished(destination);
+    }
+  }
+
+  /**
+   * Ensures that messages are sent right away when nothing is in flight, and otherwise wait for
+   * the batch in flight to finish, or for the batch to fill up.
+   */
+  @Test
+  public void testBatchesWhileInFlight() {
+    RecordingBatcher batcher = new RecordingBatcher(TimeUnit.SECONDS.toMicros(60), 3);
+    batcher.add(DEST_A, 0);
+    assertEquals(Lists.newArrayList(0), batcher.batches.poll());
+
+    // Destinations are batched independently.
+    batcher.add(DEST_B, 10);
+    assertEquals(Lists.newArrayList(10), batcher.batches.poll());
+
+    batcher.add(DEST_A, 1);
+    batcher.add(DEST_A, 2);
+    assertNull(batcher.batches.poll());
+    batcher.finish(DEST_A);
+    assertEquals(Lists.newArrayList(1, 2), batcher.batches.poll());
+
+    batcher.addAll(DEST_A, Lists.newArrayList(3, 4, 5, 6));
+    assertEquals(Lists.newArrayList(3, 4, 5), batcher.batches.poll());
+    assertNull(batcher.batches.poll());
+    // Both batches in flight must finish before the rest are sent.
+    batcher.finish(DEST_A);
+    assertNull(batcher.batches.poll());
+    batcher.finish(DEST_A);
+    assertEquals(Lists.newArrayList(6), batcher.batches.poll());
+    batcher.close();
+  }
+
+  /** Ensures that messages wait no longer than the maximum delay. */
+  @Test
+  public void testMaxDelay() throws Exception {
+    RecordingBatcher batcher = new RecordingBatcher(TimeUnit.MILLISECONDS.toMicros(10), 100);
+    batcher.add(DEST_A, 0);
+    assertEquals(Lists.newArrayList(0), batcher.batches.poll());
+    batcher.add(DEST_A, 1);
+    batcher.add(DEST_A, 2);
+    assertEquals(Lists.newArrayList(1, 2), batcher.batches.poll(10, TimeUnit.SECONDS));
+    batcher.close();
+  }
+}
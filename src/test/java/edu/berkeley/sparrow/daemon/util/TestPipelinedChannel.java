@@ -0,0 +1,264 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TException;
+import org.junit.Test;
+
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.thrift.PongService;
+import edu.berkeley.sparrow.thrift.PongService.ping_args;
+import edu.berkeley.sparrow.thrift.PongService.ping_result;
+
+public class TestPipelinedChannel {
+  private static final int NUM_CALLS = 200;
+
+  private static class EchoPongService implements PongService.Iface {
+    @Override
+    public String ping(String data) throws TException {
+      return data;
+    }
+  }
+
+  /** Answers pings once {@link #release} is counted down, except for "fast" pings. */
+  private static class BlockingPongService implements PongService.Iface {
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public String ping(String data) throws TException {
+      if (!data.equals("fast")) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new TException(e);
+        }
+      }
+      return data;
+    }
+  }
+
+  private static int getFreePort() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    return port;
+  }
+
+  /**
+   * Ensures that many concurrent calls to the same peer share a single connection, and that
+   * each call receives its own response.
+   */
+  @Test
+  public void testPipelinedCalls() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+    TServers.launchThreadedThriftServer(port, 2,
+        new PongService.Processor<PongService.Iface>(new EchoPongService()));
+
+    PipelinedChannelManager manager = new PipelinedChannelManager("test");
+    manager.registerMetrics("test.pipelined.");
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+    final Map<String, String> responses = new ConcurrentHashMap<String, String>();
+    final CountDownLatch latch = new CountDownLatch(NUM_CALLS);
+    // The server may take a moment to start listening.
+    Thread.sleep(200);
+    for (int i = 0; i < NUM_CALLS; i++) {
+      final String data = "ping " + i;
+      manager.call(address, "ping", new ping_args(data), new ping_result(),
+          new PipelinedChannel.Callback<ping_result>() {
+        @Override
+        public void onComplete(ping_result result) {
+          responses.put(data, result.getSuccess());
+          latch.countDown();
+        }
+
+        @Override
+        public void onError(Exception exception) {
+          fail("Unexpected error: " + exception);
+        }
+      });
+    }
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertEquals(NUM_CALLS, responses.size());
+    for (Map.Entry<String, String> entry : responses.entrySet()) {
+      assertEquals(entry.getKey(), entry.getValue());
+    }
+    assertEquals(1, manager.getNumChannels());
+    assertEquals(0, manager.getChannel(address).getNumPendingCalls());
+    Map<String, Number> metrics = MetricsRegistry.getInstance().getValues();
+    assertEquals(1L, metrics.get("test.pipelined.channels"));
+    assertEquals((long) NUM_CALLS, metrics.get("test.pipelined.calls"));
+  }
+
+  /**
+   * Ensures that a manager with several channels per peer sends a call on a new channel rather
+   * than behind a call that the peer is still handling.
+   */
+  @Test
+  public void testSeveralChannelsPerPeer() throws Exception {
+    int port = getFreePort();
+    BlockingPongService service = new BlockingPongService();
+    TServers.launchThreadedThriftServer(port, 2,
+        new PongService.Processor<PongService.Iface>(service));
+    Thread.sleep(200);
+
+    PipelinedChannelManager manager = new PipelinedChannelManager("test", 2);
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+    final LinkedBlockingQueue<String> responses = new LinkedBlockingQueue<String>();
+    PipelinedChannel.Callback<ping_result> callback = new PipelinedChannel.Callback<ping_result>() {
+      @Override
+      public void onComplete(ping_result result) {
+        responses.add(result.getSuccess());
+      }
+
+      @Override
+      public void onError(Exception exception) {
+        fail("Unexpected error: " + exception);
+      }
+    };
+    manager.call(address, "ping", new ping_args("slow"), new ping_result(), callback);
+    manager.call(address, "ping", new ping_args("fast"), new ping_result(), callback);
+    assertEquals("fast", responses.poll(10, TimeUnit.SECONDS));
+    assertEquals(2, manager.getNumChannels());
+    service.release.countDown();
+    assertEquals("slow", responses.poll(10, TimeUnit.SECONDS));
+    manager.close();
+  }
+
+  /**
+   * Ensures that calls on a channel that can't be established fail, and that the channel has
+   * been removed from the manager by the time they do.
+   */
+  @Test
+  public void testFailedConnection() throws Exception {
+    ServerSocket unused = new ServerSocket(0);
+    int port = unused.getLocalPort();
+    unused.close();
+
+    PipelinedChannelManager manager = new PipelinedChannelManager("test");
+    InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+    // The call can fail either on the selector thread or, if the channel fails first, on this
+    // thread; repeat the call so that both orders are likely to be seen.
+    for (int i = 0; i < 20; i++) {
+      final CountDownLatch latch = new CountDownLatch(1);
+      manager.call(address, "ping", new ping_args("data"), new ping_result(),
+          new PipelinedChannel.Callback<ping_result>() {
+        @Override
+        public void onComplete(ping_result result) {
+          fail("Expected call to fail");
+        }
+
+        @Override
+        public void onError(Exception exception) {
+          latch.countDown();
+        }
+      });
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals(0, manager.getNumChannels());
+    }
+    manager.close();
+  }
+
+  /** Ensures that a call to a peer that never answers fails once it times out. */
+  @Test
+  public void testCallTimeout() throws Exception {
+    int callTimeoutMillis = PipelinedChannelManager.CALL_TIMEOUT_MILLIS;
+    PipelinedChannelManager.CALL_TIMEOUT_MILLIS = 200;
+    // Accepts connections, but never reads from them.
+    ServerSocket peer = new ServerSocket(0);
+    try {
+      PipelinedChannelManager manager = new PipelinedChannelManager("test");
+      final CountDownLatch latch = new CountDownLatch(1);
+      final Exception[] error = new Exception[1];
+      manager.call(new InetSocketAddress("127.0.0.1", peer.getLocalPort()), "ping",
+          new ping_args("data"), new ping_result(), new PipelinedChannel.Callback<ping_result>() {
+        @Override
+        public void onComplete(ping_result result) {
+          fail("Expected call to time out");
+        }
+
+        @Override
+        public void onError(Exception exception) {
+          error[0] = exception;
+          latch.countDown();
+        }
+      });
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertTrue(error[0] instanceof SocketTimeoutException);
+      assertEquals(0, manager.getNumChannels());
+      manager.close();
+    } finally {
+      PipelinedChannelManager.CALL_TIMEOUT_MILLIS = callTimeoutMillis;
+      peer.close();
+    }
+  }
+
+  /**
+   * Ensures that failed channels to warm addresses are re-opened, and that an address stops
+   * being re-opened once it is left out of a later call to keepWarm().
+   */
+  @Test
+  public void testKeepWarm() throws Exception {
+    int reconnectIntervalMillis = PipelinedChannelManager.RECONNECT_INTERVAL_MILLIS;
+    PipelinedChannelManager.RECONNECT_INTERVAL_MILLIS = 50;
+    ServerSocket oldPeer = new ServerSocket(0);
+    ServerSocket newPeer = new ServerSocket(0);
+    oldPeer.setSoTimeout(10000);
+    newPeer.setSoTimeout(10000);
+    InetSocketAddress oldAddress = new InetSocketAddress("127.0.0.1", oldPeer.getLocalPort());
+    InetSocketAddress newAddress = new InetSocketAddress("127.0.0.1", newPeer.getLocalPort());
+    try {
+      PipelinedChannelManager manager = new PipelinedChannelManager("test");
+      manager.keepWarm(Collections.singletonList(oldAddress));
+      Socket oldConnection = oldPeer.accept();
+      manager.keepWarm(Collections.singletonList(newAddress));
+      Socket newConnection = newPeer.accept();
+
+      // Closing the connection to the warm address causes it to be re-opened.
+      newConnection.close();
+      newPeer.accept().close();
+
+      // The other address is no longer warm, so it isn't re-opened.
+      oldConnection.close();
+      oldPeer.setSoTimeout(500);
+      try {
+        oldPeer.accept();
+        fail("Expected no new connection to an address that is no longer warm");
+      } catch (SocketTimeoutException e) {
+        // Expected.
+      }
+      manager.close();
+    } finally {
+      PipelinedChannelManager.RECONNECT_INTERVAL_MILLIS = reconnectIntervalMillis;
+      oldPeer.close();
+      newPeer.close();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.berkeley.sparrow.thrift.GetTaskService;
+
+public class TestRequestIds {
+
+  @Test
+  public void testRoundTrip() {
+    String ipAddress = "10.1.2.3";
+    int schedulerId = RequestIds.schedulerIdFromAddress(ipAddress);
+    long handle = RequestIds.makeHandle(schedulerId, 42);
+    String requestId = RequestIds.toString(ipAddress, handle);
+    assertEquals("10.1.2.3_42", requestId);
+    assertEquals(handle, RequestIds.parseHandle(requestId));
+
+    assertEquals(RequestIds.NO_HANDLE, RequestIds.parseHandle("42"));
+    assertEquals(RequestIds.NO_HANDLE, RequestIds.parseHandle("IP UNKNOWN_42"));
+  }
+
+  /**
+   * Ensures that no assigned handle, including those of a scheduler without an IPv4 address, is
+   * mistaken for the absence of a handle.
+   */
+  @Test
+  public void testNoHandleIsNeverAssigned() {
+    int schedulerId = RequestIds.schedulerIdFromAddress("IP UNKNOWN");
+    assertEquals(0, schedulerId);
+    assertTrue(RequestIds.makeHandle(schedulerId, 0) != RequestIds.NO_HANDLE);
+    assertTrue(RequestIds.makeHandle(RequestIds.schedulerIdFromAddress("10.255.255.255"), -1) !=
+               RequestIds.NO_HANDLE);
+    assertEquals(RequestIds.NO_HANDLE, new GetTaskService.getTask_args().getRequestHandle());
+  }
+}
@@ -19,14 +19,21 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
 
-import org.apache.commons.pool.impl.GenericKeyedObjectPool.Config;
 import org.apache.thrift.async.TAsyncClient;
 import org.apache.thrift.async.TAsyncClientManager;
 import org.apache.thrift.protocol.TProtocolFactory;
 import org.apache.thrift.transport.TNonblockingTransport;
 import org.junit.Test;
 
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.metrics.MetricsRegistry;
+import edu.berkeley.sparrow.daemon.util.ThriftClientPool.BorrowCallback;
+import edu.berkeley.sparrow.daemon.util.ThriftClientPool.Config;
 import edu.berkeley.sparrow.daemon.util.ThriftClientPool.MakerFactory;
 
 public class TestThriftClientPool {
@@ -101,4 +108,87 @@ public class TestThriftClientPool {
     assertEquals(0, pool.getNumIdle(sock));
     assertEquals(0, pool.getNumActive(sock));
   }
+
+  /**
+   * Ensures that, once the maximum number of clients for an address are borrowed, borrowing
+   * without a callback fails immediately, while borrowing with a callback is queued until a
+   * client is returned.
+   */
+  @Test
+  public void testExhaustedPool() throws Exception {
+    Config conf = ThriftClientPool.getPoolConfig();
+    conf.maxActive = 1;
+    InetSocketAddress sock = new InetSocketAddress(12345);
+    ThriftClientPool<TAsyncClient> pool = new ThriftClientPool<TAsyncClient>(
+        new MockedMakerFactory(), conf);
+
+    TAsyncClient client = pool.borrowClient(sock);
+    try {
+      pool.borrowClient(sock);
+      fail("Expected borrowing from an exhausted pool to fail");
+    } catch (NoSuchElementException e) {
+      // Expected.
+    }
+
+    final List<TAsyncClient> borrowed = Lists.newArrayList();
+    pool.borrowClient(sock, new BorrowCallback<TAsyncClient>() {
+      @Override
+      public void onBorrow(TAsyncClient client) {
+        borrowed.add(client);
+      }
+
+      @Override
+      public void onError(Exception exception) {
+        fail("Unexpected error: " + exception);
+      }
+    });
+    assertEquals(0, borrowed.size());
+    assertEquals(1, pool.getNumWaiting(sock));
+
+    pool.returnClient(sock, client);
+    assertEquals(Lists.newArrayList(client), borrowed);
+    assertEquals(0, pool.getNumWaiting(sock));
+    assertEquals(1, pool.getNumActive(sock));
+    assertEquals(0, pool.getNumIdle(sock));
+    assertEquals(2, pool.getNumBorrows(sock));
+
+    // An invalidated client frees its slot without going back on the free list.
+    pool.invalidateClient(sock, client);
+    assertEquals(0, pool.getNumActive(sock));
+    assertEquals(0, pool.getNumIdle(sock));
+  }
+
+  /** Ensures that the pool's gauges report borrows and waiting callers. */
+  @Test
+  public void testMetrics() throws Exception {
+    Config conf = ThriftClientPool.getPoolConfig();
+    conf.maxActive = 1;
+    InetSocketAddress sock = new InetSocketAddress(12345);
+    ThriftClientPool<TAsyncClient> pool = new ThriftClientPool<TAsyncClient>(
+        new MockedMakerFactory(), conf);
+    pool.registerMetrics("test.pool.");
+
+    TAsyncClient client = pool.borrowClient(sock);
+    final List<TAsyncClient> borrowed = Lists.newArrayList();
+    pool.borrowClient(sock, new BorrowCallback<TAsyncClient>() {
+      @Override
+      public void onBorrow(TAsyncClient client) {
+        borrowed.add(client);
+      }
+
+      @Override
+      public void onError(Exception exception) {
+        fail("Unexpected error: " + exception);
+      }
+    });
+    SortedMap<String, Number> metrics = MetricsRegistry.getInstance().getValues();
+    assertEquals(1L, metrics.get("test.pool.borrows"));
+    assertEquals(1L, metrics.get("test.pool.waiting"));
+
+    pool.returnClient(sock, client);
+    assertEquals(Lists.newArrayList(client), borrowed);
+    metrics = MetricsRegistry.getInstance().getValues();
+    assertEquals(2L, metrics.get("test.pool.borrows"));
+    assertEquals(0L, metrics.get("test.pool.waiting"));
+  }
 }
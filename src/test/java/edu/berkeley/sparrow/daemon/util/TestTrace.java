@@ -0,0 +1,74 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.daemon.util;
+import static org.junit.Assert.*;
+
+import java.io.StringWriter;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.junit.Test;
+
+public class TestTrace {
+  /** A parameter that counts how many times it has been rendered. */
+  private static class CountingParam {
+    int numRenders = 0;
+
+    @Override
+    public String toString() {
+      numRenders++;
+      return "param";
+    }
+  }
+
+  /** Ensures that parameters are only rendered for traced calls. */
+  @Test
+  public void testLazyRendering() {
+    Logger logger = Logger.getLogger(TestTrace.class);
+    StringWriter output = new StringWriter();
+    logger.addAppender(new WriterAppender(new PatternLayout("%m%n"), output));
+    logger.setAdditivity(false);
+    Trace trace = Trace.forMethod(TestTrace.class, "tracedMethod");
+    CountingParam param = new CountingParam();
+
+    try {
+      logger.setLevel(Level.INFO);
+      trace.call("request", param, 1);
+      assertEquals(0, param.numRenders);
+
+      logger.setLevel(Level.DEBUG);
+      Trace.setSampleRate(0);
+      trace.call("request", param, 1);
+      assertEquals(0, param.numRenders);
+      // Calls that aren't associated with a request aren't sampled.
+      trace.call(null, param);
+      assertEquals(1, param.numRenders);
+
+      Trace.setSampleRate(1);
+      trace.call("request", param, 1);
+      assertEquals(2, param.numRenders);
+      assertEquals("tracedMethod: [param]\ntracedMethod: [param,1]\n", output.toString());
+    } finally {
+      Trace.setSampleRate(1);
+      logger.removeAllAppenders();
+      logger.setLevel(null);
+      logger.setAdditivity(true);
+    }
+  }
+}
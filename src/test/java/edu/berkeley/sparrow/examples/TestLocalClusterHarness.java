@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package edu.berkeley.sparrow.examples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Test;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+
+public class TestLocalClusterHarness {
+  /**
+   * Runs a few jobs through a cluster with two schedulers (which share a host, so node monitors
+   * must find each scheduler's getTask() server from its address) and ensures they all finish.
+   */
+  @Test
+  public void testJobsFinish() throws Exception {
+    BasicConfigurator.configure();
+    Logger.getRootLogger().setLevel(Level.WARN);
+    PropertiesConfiguration conf = new PropertiesConfiguration();
+    conf.setProperty(SparrowConf.SYSTEM_CPUS, 2);
+    conf.setProperty(SparrowConf.NM_THRIFT_THREADS, 2);
+    conf.setProperty(SparrowConf.INTERNAL_THRIFT_THREADS, 2);
+    LocalClusterHarness harness = new LocalClusterHarness(conf, 2, 3, 31000,
+        SyntheticBackend.TaskType.SLEEP);
+    harness.start();
+    harness.run(20, 2, 1000, 0, 2000, 10000, new Random(1));
+
+    assertEquals(0, harness.getFailedSubmissions());
+    assertEquals(0, harness.getNumOutstandingJobs());
+    assertTrue(harness.getJobsCompleted() > 0);
+    assertEquals(harness.getJobsCompleted(), harness.getResponseTimes().getCount());
+    assertEquals(2 * harness.getJobsCompleted(), harness.getLaunchLatencies().getCount());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 The Regents of The University California
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package edu.berkeley.sparrow.simulation;
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+import edu.berkeley.sparrow.daemon.SparrowConf;
+import edu.berkeley.sparrow.daemon.util.Logging;
+
+public class TestSimulation {
+  private static final int NUM_JOBS = 2000;
+
+  @Before
+  public void setUp() {
+    BasicConfigurator.configure();
+    Logger.getRootLogger().setLevel(Level.WARN);
+    Logging.setAuditSampleRate(0);
+  }
+
+  @Test
+  public void testEventOrder() {
+    final EventQueue events = new EventQueue();
+    final List<String> order = Lists.newArrayList();
+    events.schedule(20, new Runnable() {
+      @Override
+      public void run() {
+        order.add("b@" + events.now());
+      }
+    });
+    events.schedule(10, new Runnable() {
+      @Override
+      public void run() {
+        order.add("a@" + events.now());
+        events.schedule(10, new Runnable() {
+          @Override
+          public void run() {
+            order.add("c@" + events.now());
+          }
+        });
+      }
+    });
+    events.run();
+    // Events at the same time run in the order they were scheduled.
+    assertEquals(Lists.newArrayList("a@10", "b@20", "c@20"), order);
+    assertEquals(3, events.getNumEvents());
+  }
+
+  /**
+   * Ensures that a lightly loaded cluster runs single-task jobs without queueing: each job
+   * takes three network delays (enqueueTaskReservations(), getTask(), and its response) plus
+   * the task's duration.
+   */
+  @Test
+  public void testUnloadedResponseTime() throws Exception {
+    Simulation simulation = makeSimulation(1, 0.01, 1);
+    simulation.run();
+    assertEquals(NUM_JOBS, simulation.getJobsCompleted());
+    // The histogram reports percentiles as the upper bound of their bucket.
+    long median = simulation.getResponseTimes().getPercentile(50);
+    assertTrue(median >= 3 * 500 + 10000);
+    assertTrue(median <= (3 * 500 + 10000) * 17 / 16);
+  }
+
+  /** Ensures that all jobs finish when the cluster is busy and reservations queue. */
+  @Test
+  public void testLoadedClusterFinishesAllJobs() throws Exception {
+    Simulation simulation = makeSimulation(10, 0.9, 0.2);
+    simulation.run();
+    assertEquals(NUM_JOBS, simulation.getJobsCompleted());
+    assertTrue(simulation.getResponseTimes().getMean() >= 3 * 500 + 10000);
+  }
+
+  /** Ensures that the command line entry point parses every option and runs a small simulation. */
+  @Test
+  public void testMain() throws Exception {
+    Simulation.main(new String[] {
+        "--jobs", "100", "--tasks", "2", "--task-ms", "10", "--exponential", "--load", "0.5",
+        "--workers", "20", "--slots", "2", "--task-scheduler", "fifo", "--schedulers", "2",
+        "--network-ms", "0.5", "--probe-ratio", "2", "--constrained", "0.2", "--candidates", "3",
+        "--seed", "2"});
+  }
+
+  private Simulation makeSimulation(int tasksPerJob, double load, double constrainedFraction) {
+    PropertiesConfiguration conf = new PropertiesConfiguration();
+    conf.setProperty(SparrowConf.HOSTNAME, "127.0.0.1");
+    Random random = new Random(1);
+    int numNodeMonitors = 100;
+    Simulation.Workload workload = new Simulation.PoissonWorkload(random, NUM_JOBS, tasksPerJob,
+        10000, false, load, numNodeMonitors);
+    return new Simulation(conf, workload, random, numNodeMonitors, 1, "fifo", 5, 500,
+        constrainedFraction, 3);
+  }
+}